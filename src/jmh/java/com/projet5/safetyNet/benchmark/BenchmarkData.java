@@ -0,0 +1,127 @@
+package com.projet5.safetyNet.benchmark;
+
+import java.util.List;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.projet5.safetyNet.model.DataModel;
+import com.projet5.safetyNet.model.Firestation;
+import com.projet5.safetyNet.model.Person;
+import com.projet5.safetyNet.repository.DataRepository;
+import com.projet5.safetyNet.repository.FirestationRepository;
+import com.projet5.safetyNet.repository.MedicalrecordRepository;
+import com.projet5.safetyNet.repository.PersonRepository;
+import com.projet5.safetyNet.service.FirestationService;
+import com.projet5.safetyNet.service.MedicalrecordService;
+import com.projet5.safetyNet.service.PersonService;
+
+/**
+ * Jeu de données synthétique et services construits au-dessus, sans contexte
+ * Spring ni accès au fichier data.json.
+ *
+ * <p>
+ * Les données sont produites par {@link SyntheticDataGenerator} avec la graine
+ * par défaut : pour une taille donnée, le jeu est identique d'une exécution à
+ * l'autre. Les noms de famille sont rendus uniques par foyer, pour que
+ * /personInfolastName mesure une recherche et non la taille d'un nom très
+ * répandu. Les valeurs interrogées (caserne, adresse, nom, ville) sont celles
+ * de la personne située au milieu du jeu.
+ * </p>
+ */
+public final class BenchmarkData {
+
+	private final DataModel dataModel;
+	private final FirestationService firestationService;
+	private final PersonService personService;
+
+	private final String sampleStation;
+	private final String sampleAddress;
+	private final String sampleLastName;
+	private final String sampleCity;
+
+	private BenchmarkData(DataModel dataModel) {
+		this.dataModel = dataModel;
+		DataRepository dataRepository = new InMemoryDataRepository(dataModel);
+		PersonRepository personRepository = new PersonRepository(dataRepository);
+		MedicalrecordRepository medicalrecordRepository = new MedicalrecordRepository(dataRepository);
+		FirestationRepository firestationRepository = new FirestationRepository(dataRepository);
+		personRepository.load(dataModel);
+		medicalrecordRepository.load(dataModel);
+		firestationRepository.load(dataModel);
+		this.firestationService = new FirestationService(firestationRepository, personRepository,
+				medicalrecordRepository);
+		this.personService = new PersonService(personRepository,
+				new MedicalrecordService(medicalrecordRepository, personRepository));
+
+		List<Person> persons = dataModel.getPersonsList();
+		Person sample = persons.get(persons.size() / 2);
+		this.sampleAddress = sample.getAddress();
+		this.sampleLastName = sample.getLastName();
+		this.sampleCity = sample.getCity();
+		this.sampleStation = dataModel.getFireStations().stream()
+				.filter(firestation -> firestation.getAddress().equals(sampleAddress)).findFirst()
+				.map(Firestation::getStation).orElseThrow();
+	}
+
+	/**
+	 * Génère un jeu de données et construit les services.
+	 *
+	 * @param personCount le nombre de personnes à générer
+	 * @return le jeu de données
+	 */
+	public static BenchmarkData generate(int personCount) {
+		return new BenchmarkData(
+				new SyntheticDataGenerator(personCount, SyntheticDataGenerator.DEFAULT_SEED, true).toDataModel());
+	}
+
+	public DataModel getDataModel() {
+		return dataModel;
+	}
+
+	public FirestationService getFirestationService() {
+		return firestationService;
+	}
+
+	public PersonService getPersonService() {
+		return personService;
+	}
+
+	public String getSampleStation() {
+		return sampleStation;
+	}
+
+	public String getSampleAddress() {
+		return sampleAddress;
+	}
+
+	public String getSampleLastName() {
+		return sampleLastName;
+	}
+
+	public String getSampleCity() {
+		return sampleCity;
+	}
+
+	/**
+	 * DataRepository qui sert un modèle en mémoire et n'écrit jamais sur le
+	 * disque.
+	 */
+	private static final class InMemoryDataRepository extends DataRepository {
+
+		private final DataModel dataModel;
+
+		InMemoryDataRepository(DataModel dataModel) {
+			super(new ObjectMapper());
+			this.dataModel = dataModel;
+		}
+
+		@Override
+		public DataModel readFile() {
+			return dataModel;
+		}
+
+		@Override
+		public void writeFile(DataModel updatedData) {
+			// Les benchmarks ne mesurent pas l'écriture du fichier.
+		}
+	}
+}
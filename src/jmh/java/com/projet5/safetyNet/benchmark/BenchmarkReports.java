@@ -0,0 +1,73 @@
+package com.projet5.safetyNet.benchmark;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/**
+ * Outils communs aux outils de mesure lancés par {@code main} : lecture des
+ * options {@code --nom=valeur} et écriture des rapports JSON.
+ */
+final class BenchmarkReports {
+
+	private static final ObjectMapper MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+	private BenchmarkReports() {
+	}
+
+	/**
+	 * Lit des arguments de la forme {@code --nom=valeur}.
+	 *
+	 * @param args les arguments de la ligne de commande
+	 * @return les valeurs par nom, dans l'ordre des arguments
+	 */
+	static Map<String, String> parseOptions(String[] args) {
+		Map<String, String> options = new LinkedHashMap<>();
+		for (String arg : args) {
+			if (!arg.startsWith("--") || !arg.contains("=")) {
+				throw new IllegalArgumentException("Argument invalide : " + arg);
+			}
+			options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+		}
+		return options;
+	}
+
+	/**
+	 * Écrit un rapport JSON indenté, en créant le répertoire parent si besoin.
+	 *
+	 * @param output le fichier du rapport
+	 * @param report le contenu du rapport
+	 * @throws IOException si le fichier ne peut pas être écrit
+	 */
+	static void write(Path output, Map<String, Object> report) throws IOException {
+		if (output.toAbsolutePath().getParent() != null) {
+			Files.createDirectories(output.toAbsolutePath().getParent());
+		}
+		MAPPER.writeValue(output.toFile(), report);
+	}
+
+	/**
+	 * Retourne le commit courant, pour comparer des rapports entre versions.
+	 *
+	 * @return l'identifiant court du commit, ou {@code unknown} hors d'un dépôt git
+	 */
+	static String gitCommit() {
+		try {
+			Process process = new ProcessBuilder("git", "rev-parse", "--short", "HEAD").redirectErrorStream(true)
+					.start();
+			String commit = new String(process.getInputStream().readAllBytes(), StandardCharsets.UTF_8).trim();
+			return process.waitFor() == 0 ? commit : "unknown";
+		} catch (IOException e) {
+			return "unknown";
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return "unknown";
+		}
+	}
+}
@@ -0,0 +1,40 @@
+package com.projet5.safetyNet.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Point d'entrée des benchmarks, utilisé par le profil Maven
+ * {@code benchmarks}.
+ *
+ * <p>
+ * Accepte les mêmes arguments que la ligne de commande JMH (filtre de
+ * benchmarks, {@code -p persons=1000,10000}, {@code -f}, ...). Le profiler GC
+ * est toujours ajouté pour mesurer le taux d'allocation, et les résultats sont
+ * écrits en JSON dans {@code target/jmh-result.json}.
+ * </p>
+ *
+ * <pre>
+ * ./mvnw -Pbenchmarks test-compile exec:exec -Djmh.args="PersonServiceBenchmark -p persons=1000,10000"
+ * </pre>
+ */
+public final class BenchmarkRunner {
+
+	private BenchmarkRunner() {
+	}
+
+	public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+		ChainedOptionsBuilder options = new OptionsBuilder().parent(new CommandLineOptions(args))
+				.addProfiler(GCProfiler.class).resultFormat(ResultFormatType.JSON).result("target/jmh-result.json");
+		if (args.length == 0) {
+			options.include("com\\.projet5\\.safetyNet\\.benchmark\\..*");
+		}
+		new Runner(options.build()).run();
+	}
+}
@@ -0,0 +1,70 @@
+package com.projet5.safetyNet.benchmark;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.projet5.safetyNet.service.FirestationService;
+
+/**
+ * Benchmarks des lectures de {@link FirestationService} : /firestation,
+ * /fire, /flood/stations et /phoneAlert.
+ *
+ * <p>
+ * Chaque méthode interroge une caserne ou une adresse existante du jeu de
+ * données synthétique ({@link BenchmarkData}), pour plusieurs tailles de jeu.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.AverageTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class FirestationServiceBenchmark {
+
+	@Param({ "1000", "10000", "100000", "1000000" })
+	public int persons;
+
+	private BenchmarkData data;
+	private FirestationService firestationService;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		data = BenchmarkData.generate(persons);
+		firestationService = data.getFirestationService();
+	}
+
+	@Benchmark
+	public List<String> personFromStationNumber() {
+		return firestationService.personFromStationNumber(data.getSampleStation());
+	}
+
+	@Benchmark
+	public List<Map<String, Object>> personAndFirestationFromAddress() {
+		return firestationService.personAndFirestationFromAddress(data.getSampleAddress());
+	}
+
+	@Benchmark
+	public List<Map<String, Object>> floodFromFirestation() {
+		return firestationService.floodFromFirestation(data.getSampleStation());
+	}
+
+	@Benchmark
+	public List<String> phoneAlert() {
+		return firestationService.phoneAlert(data.getSampleStation());
+	}
+}
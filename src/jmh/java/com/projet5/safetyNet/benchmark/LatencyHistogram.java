@@ -0,0 +1,116 @@
+package com.projet5.safetyNet.benchmark;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histogramme de latences en microsecondes, à précision relative constante.
+ *
+ * <p>
+ * Les valeurs inférieures à 128 µs sont exactes ; au-delà, chaque puissance de
+ * deux est découpée en 64 intervalles, soit une erreur relative inférieure à
+ * 1,6 %. L'enregistrement est sans verrou et peut être appelé depuis
+ * plusieurs threads.
+ * </p>
+ */
+public final class LatencyHistogram {
+
+	private static final int LINEAR_LIMIT = 128;
+	private static final int SUB_BUCKETS = 64;
+	private static final int MAX_EXPONENT = 40;
+	private static final int BUCKET_COUNT = LINEAR_LIMIT + (MAX_EXPONENT - 6) * SUB_BUCKETS;
+
+	private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+	private final LongAdder total = new LongAdder();
+	private final LongAdder sum = new LongAdder();
+
+	/**
+	 * Enregistre une latence.
+	 *
+	 * @param micros la latence en microsecondes
+	 */
+	public void record(long micros) {
+		long value = Math.max(0, Math.min(micros, (1L << MAX_EXPONENT) - 1));
+		counts.incrementAndGet(index(value));
+		total.increment();
+		sum.add(value);
+	}
+
+	/**
+	 * Retourne le nombre de valeurs enregistrées.
+	 *
+	 * @return le nombre de valeurs
+	 */
+	public long count() {
+		return total.sum();
+	}
+
+	/**
+	 * Retourne la moyenne des valeurs enregistrées.
+	 *
+	 * @return la moyenne en microsecondes, 0 si aucune valeur
+	 */
+	public double mean() {
+		long count = total.sum();
+		return count == 0 ? 0 : (double) sum.sum() / count;
+	}
+
+	/**
+	 * Retourne la valeur du percentile demandé.
+	 *
+	 * @param percentile le percentile, entre 0 et 100
+	 * @return la borne supérieure de l'intervalle contenant le percentile, en
+	 *         microsecondes, 0 si aucune valeur
+	 */
+	public long percentile(double percentile) {
+		long count = total.sum();
+		if (count == 0) {
+			return 0;
+		}
+		long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * count));
+		long seen = 0;
+		for (int i = 0; i < BUCKET_COUNT; i++) {
+			seen += counts.get(i);
+			if (seen >= rank) {
+				return upperBound(i);
+			}
+		}
+		return upperBound(BUCKET_COUNT - 1);
+	}
+
+	/**
+	 * Retourne la plus grande valeur enregistrée, à la précision de
+	 * l'histogramme.
+	 *
+	 * @return la valeur maximale en microsecondes, 0 si aucune valeur
+	 */
+	public long max() {
+		for (int i = BUCKET_COUNT - 1; i >= 0; i--) {
+			if (counts.get(i) > 0) {
+				return upperBound(i);
+			}
+		}
+		return 0;
+	}
+
+	private static int index(long value) {
+		if (value < LINEAR_LIMIT) {
+			return (int) value;
+		}
+		int exponent = 63 - Long.numberOfLeadingZeros(value);
+		int shift = exponent - 6;
+		int mantissa = (int) (value >>> shift);
+		return LINEAR_LIMIT + (exponent - 7) * SUB_BUCKETS + (mantissa - SUB_BUCKETS);
+	}
+
+	private static long upperBound(int index) {
+		if (index < LINEAR_LIMIT) {
+			return index;
+		}
+		int offset = index - LINEAR_LIMIT;
+		int exponent = offset / SUB_BUCKETS + 7;
+		int shift = exponent - 6;
+		long mantissa = offset % SUB_BUCKETS + SUB_BUCKETS;
+		return ((mantissa + 1) << shift) - 1;
+	}
+}
@@ -0,0 +1,374 @@
+package com.projet5.safetyNet.benchmark;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Phaser;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.projet5.safetyNet.SafetyNetApplication;
+import com.projet5.safetyNet.model.DataModel;
+import com.projet5.safetyNet.model.Firestation;
+import com.projet5.safetyNet.model.Person;
+
+/**
+ * Injecteur de charge HTTP exécuté dans le même processus que l'application.
+ *
+ * <p>
+ * Le harnais génère un jeu de données avec {@link SyntheticDataGenerator},
+ * démarre {@link SafetyNetApplication} sur un port aléatoire avec ce jeu, puis
+ * envoie des requêtes à débit constant selon un mélange configurable
+ * d'opérations. Le modèle est ouvert : la requête n est prévue à l'instant
+ * {@code début + n / débit}, qu'une réponse soit arrivée ou non, et sa latence
+ * est mesurée depuis cet instant prévu. Un serveur ralenti ne ralentit donc
+ * pas l'injecteur, et l'attente accumulée apparaît dans les percentiles
+ * (pas d'omission coordonnée).
+ * </p>
+ * <p>
+ * Les opérations disponibles sont {@code fire}, {@code flood},
+ * {@code phoneAlert}, {@code childAlert}, {@code communityEmail},
+ * {@code create}, {@code update} et {@code delete} (les trois dernières sur
+ * /persons ; {@code delete} supprime une personne créée par le harnais). Le
+ * rapport donne, par opération, le débit et les latences p50, p99, p999 et
+ * max. Il est écrit en JSON avec la configuration et le commit courant, pour
+ * comparer deux versions.
+ * </p>
+ *
+ * <pre>
+ * ./mvnw -Pbenchmarks test-compile exec:exec \
+ *     -Dbenchmark.main=com.projet5.safetyNet.benchmark.LoadTestHarness \
+ *     -Dbenchmark.args="--persons=100000 --rate=200 --duration=60 --mix=fire:30,childAlert:30,create:5,delete:5"
+ * </pre>
+ */
+public final class LoadTestHarness {
+
+	private static final String DEFAULT_MIX = "fire:25,flood:10,phoneAlert:15,childAlert:20,communityEmail:10,"
+			+ "create:8,update:8,delete:4";
+	private static final int SAMPLE_SIZE = 10_000;
+	private static final int MAX_IN_FLIGHT = 10_000;
+
+	private final long persons;
+	private final double rate;
+	private final Duration warmup;
+	private final Duration duration;
+	private final long seed;
+	private final Map<String, Integer> mix;
+	private final Path output;
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+	private final Map<String, OperationStats> stats = new ConcurrentHashMap<>();
+	private final ConcurrentLinkedQueue<Person> createdPersons = new ConcurrentLinkedQueue<>();
+	private final AtomicLong createdCounter = new AtomicLong();
+	private final AtomicInteger inFlight = new AtomicInteger();
+	private final LongAdder dropped = new LongAdder();
+
+	private List<Person> samplePersons;
+	private List<String> sampleStations;
+	private List<String> sampleCities;
+
+	/**
+	 * Statistiques d'une opération.
+	 */
+	private static final class OperationStats {
+		private final LatencyHistogram latencies = new LatencyHistogram();
+		private final Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+		private final LongAdder errors = new LongAdder();
+
+		void record(long micros, int status) {
+			latencies.record(micros);
+			statuses.computeIfAbsent(status, key -> new LongAdder()).increment();
+			if (status < 200 || status >= 300) {
+				errors.increment();
+			}
+		}
+	}
+
+	/**
+	 * Requête à envoyer, avec la personne qu'elle crée le cas échéant.
+	 */
+	private record Call(HttpRequest request, Person created) {
+	}
+
+	private LoadTestHarness(long persons, double rate, Duration warmup, Duration duration, long seed,
+			Map<String, Integer> mix, Path output) {
+		this.persons = persons;
+		this.rate = rate;
+		this.warmup = warmup;
+		this.duration = duration;
+		this.seed = seed;
+		this.mix = mix;
+		this.output = output;
+	}
+
+	/**
+	 * Lance un tir de charge depuis la ligne de commande.
+	 *
+	 * <pre>
+	 * LoadTestHarness [--persons=N] [--rate=req/s] [--warmup=s] [--duration=s] [--seed=N] [--mix=op:poids,...] [--output=fichier]
+	 * </pre>
+	 *
+	 * @param args les arguments de la ligne de commande
+	 * @throws Exception si le tir ne peut pas être exécuté
+	 */
+	public static void main(String[] args) throws Exception {
+		Map<String, String> options = BenchmarkReports.parseOptions(args);
+		LoadTestHarness harness = new LoadTestHarness(Long.parseLong(options.getOrDefault("persons", "10000")),
+				Double.parseDouble(options.getOrDefault("rate", "100")),
+				Duration.ofSeconds(Long.parseLong(options.getOrDefault("warmup", "10"))),
+				Duration.ofSeconds(Long.parseLong(options.getOrDefault("duration", "30"))),
+				Long.parseLong(options.getOrDefault("seed", String.valueOf(SyntheticDataGenerator.DEFAULT_SEED))),
+				parseMix(options.getOrDefault("mix", DEFAULT_MIX)),
+				Paths.get(options.getOrDefault("output", "target/loadtest-result.json")));
+		harness.run();
+		System.exit(0);
+	}
+
+	private static Map<String, Integer> parseMix(String value) {
+		Map<String, Integer> mix = new LinkedHashMap<>();
+		for (String entry : value.split(",")) {
+			String[] parts = entry.trim().split(":");
+			mix.put(parts[0], parts.length > 1 ? Integer.parseInt(parts[1]) : 1);
+		}
+		for (String operation : mix.keySet()) {
+			if (!List.of("fire", "flood", "phoneAlert", "childAlert", "communityEmail", "create", "update", "delete")
+					.contains(operation)) {
+				throw new IllegalArgumentException("Opération inconnue : " + operation);
+			}
+		}
+		return mix;
+	}
+
+	private void run() throws Exception {
+		Path dataFile = Files.createTempFile("safetynet-loadtest-", ".json");
+		SyntheticDataGenerator generator = new SyntheticDataGenerator(persons, seed, true);
+		sample(generator.toDataModel());
+		generator.writeJson(dataFile);
+		System.out.printf(Locale.ROOT, "Jeu de %d personnes écrit dans %s.%n", persons, dataFile);
+
+		ConfigurableApplicationContext context = new SpringApplicationBuilder(SafetyNetApplication.class)
+				.properties("server.port=0", "safetynet.data-file=" + dataFile.toAbsolutePath(),
+						"logging.level.com.projet5.safetyNet=WARN", "spring.devtools.restart.enabled=false")
+				.run();
+		ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+		try {
+			int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+			HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).executor(executor)
+					.connectTimeout(Duration.ofSeconds(5)).build();
+			String baseUrl = "http://localhost:" + port;
+
+			System.out.printf(Locale.ROOT, "Préchauffage %d s puis mesure %d s à %.1f req/s.%n", warmup.toSeconds(),
+					duration.toSeconds(), rate);
+			long measureStart = inject(client, baseUrl);
+			long measuredNanos = System.nanoTime() - measureStart;
+			writeReport(measuredNanos);
+		} finally {
+			executor.shutdownNow();
+			context.close();
+			Files.deleteIfExists(dataFile);
+		}
+	}
+
+	private void sample(DataModel dataModel) {
+		Random random = new Random(seed);
+		List<Person> allPersons = dataModel.getPersonsList();
+		samplePersons = new ArrayList<>(SAMPLE_SIZE);
+		for (int i = 0; i < SAMPLE_SIZE; i++) {
+			samplePersons.add(allPersons.get(random.nextInt(allPersons.size())));
+		}
+		sampleStations = dataModel.getFireStations().stream().map(Firestation::getStation).distinct().toList();
+		sampleCities = allPersons.stream().map(Person::getCity).distinct().toList();
+	}
+
+	/**
+	 * Envoie les requêtes du préchauffage puis de la mesure.
+	 *
+	 * @return l'instant (nanoTime) du début de la mesure
+	 */
+	private long inject(HttpClient client, String baseUrl) throws InterruptedException {
+		Random random = new Random(seed);
+		List<String> operations = new ArrayList<>();
+		mix.forEach((operation, weight) -> {
+			for (int i = 0; i < weight; i++) {
+				operations.add(operation);
+			}
+		});
+		long periodNanos = (long) (1_000_000_000L / rate);
+		long start = System.nanoTime();
+		long measureStart = start + warmup.toNanos();
+		long end = measureStart + duration.toNanos();
+		Phaser pending = new Phaser(1);
+
+		for (long n = 0;; n++) {
+			long intended = start + n * periodNanos;
+			if (intended >= end) {
+				break;
+			}
+			long wait;
+			while ((wait = intended - System.nanoTime()) > 0) {
+				LockSupport.parkNanos(wait);
+			}
+			String operation = operations.get(random.nextInt(operations.size()));
+			boolean measured = intended >= measureStart;
+			if (inFlight.get() >= MAX_IN_FLIGHT) {
+				if (measured) {
+					dropped.increment();
+				}
+				continue;
+			}
+			Call call = buildCall(baseUrl, operation, random);
+			inFlight.incrementAndGet();
+			pending.register();
+			client.sendAsync(call.request(), HttpResponse.BodyHandlers.discarding()).whenComplete((response, error) -> {
+				long micros = (System.nanoTime() - intended) / 1_000;
+				int status = error != null ? 0 : response.statusCode();
+				if (call.created() != null && status == 201) {
+					createdPersons.add(call.created());
+				}
+				if (measured) {
+					stats.computeIfAbsent(operation, key -> new OperationStats()).record(micros, status);
+				}
+				inFlight.decrementAndGet();
+				pending.arriveAndDeregister();
+			});
+		}
+		try {
+			pending.awaitAdvanceInterruptibly(pending.arrive(), 60, TimeUnit.SECONDS);
+		} catch (TimeoutException e) {
+			System.err.printf(Locale.ROOT, "%d requêtes toujours en cours après 60 s.%n", inFlight.get());
+		}
+		return measureStart;
+	}
+
+	private Call buildCall(String baseUrl, String operation, Random random) {
+		Person person = samplePersons.get(random.nextInt(samplePersons.size()));
+		String station = sampleStations.get(random.nextInt(sampleStations.size()));
+		return switch (operation) {
+		case "fire" -> get(baseUrl + "/fire?address=" + encode(person.getAddress()));
+		case "flood" -> get(baseUrl + "/flood/station?stationNumber=" + encode(station));
+		case "phoneAlert" -> get(baseUrl + "/phoneAlert?station=" + encode(station));
+		case "childAlert" -> get(baseUrl + "/childAlert?address=" + encode(person.getAddress()));
+		case "communityEmail" -> get(baseUrl + "/communityEmail?city="
+				+ encode(sampleCities.get(random.nextInt(sampleCities.size()))));
+		case "update" -> new Call(send(baseUrl + "/persons", "PUT", person), null);
+		case "delete" -> {
+			Person created = createdPersons.poll();
+			yield created != null ? new Call(send(baseUrl + "/persons", "DELETE", created), null)
+					: create(baseUrl, person);
+		}
+		default -> create(baseUrl, person);
+		};
+	}
+
+	private Call create(String baseUrl, Person template) {
+		Person person = newPerson(template);
+		return new Call(send(baseUrl + "/persons", "POST", person), person);
+	}
+
+	private Person newPerson(Person template) {
+		long id = createdCounter.incrementAndGet();
+		return new Person("Load", "Test-" + id, template.getAddress(), template.getCity(), template.getZip(),
+				String.format(Locale.ROOT, "555-%03d-%04d", id / 10_000 % 1000, id % 10_000),
+				"load.test" + id + "@email.com");
+	}
+
+	private static Call get(String url) {
+		return new Call(HttpRequest.newBuilder(URI.create(url)).timeout(Duration.ofSeconds(30)).GET().build(), null);
+	}
+
+	private HttpRequest send(String url, String method, Person person) {
+		try {
+			return HttpRequest.newBuilder(URI.create(url)).timeout(Duration.ofSeconds(30))
+					.header("Content-Type", "application/json")
+					.method(method, HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(person))).build();
+		} catch (IOException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private static String encode(String value) {
+		return URLEncoder.encode(value, StandardCharsets.UTF_8);
+	}
+
+	private void writeReport(long measuredNanos) throws IOException {
+		double seconds = measuredNanos / 1e9;
+		Map<String, Object> report = new LinkedHashMap<>();
+		report.put("timestamp", Instant.now().toString());
+		report.put("commit", BenchmarkReports.gitCommit());
+		report.put("javaVersion", System.getProperty("java.version"));
+		report.put("availableProcessors", Runtime.getRuntime().availableProcessors());
+		Map<String, Object> configuration = new LinkedHashMap<>();
+		configuration.put("persons", persons);
+		configuration.put("rate", rate);
+		configuration.put("warmupSeconds", warmup.toSeconds());
+		configuration.put("durationSeconds", duration.toSeconds());
+		configuration.put("seed", seed);
+		configuration.put("mix", mix);
+		report.put("configuration", configuration);
+		report.put("dropped", dropped.sum());
+
+		System.out.printf(Locale.ROOT, "%-15s %9s %9s %7s %10s %10s %10s %10s%n", "opération", "requêtes", "req/s",
+				"erreurs", "p50 (ms)", "p99 (ms)", "p999 (ms)", "max (ms)");
+		Map<String, Object> operations = new LinkedHashMap<>();
+		for (String operation : mix.keySet()) {
+			OperationStats operationStats = stats.get(operation);
+			if (operationStats == null) {
+				continue;
+			}
+			LatencyHistogram latencies = operationStats.latencies;
+			Map<String, Object> entry = new LinkedHashMap<>();
+			entry.put("requests", latencies.count());
+			entry.put("throughput", latencies.count() / seconds);
+			entry.put("errors", operationStats.errors.sum());
+			Map<String, Long> statuses = new LinkedHashMap<>();
+			operationStats.statuses.forEach((status, count) -> statuses.put(String.valueOf(status), count.sum()));
+			entry.put("statuses", statuses);
+			entry.put("meanMicros", latencies.mean());
+			entry.put("p50Micros", latencies.percentile(50));
+			entry.put("p99Micros", latencies.percentile(99));
+			entry.put("p999Micros", latencies.percentile(99.9));
+			entry.put("maxMicros", latencies.max());
+			operations.put(operation, entry);
+
+			System.out.printf(Locale.ROOT, "%-15s %9d %9.1f %7d %10.2f %10.2f %10.2f %10.2f%n", operation,
+					latencies.count(), latencies.count() / seconds, operationStats.errors.sum(),
+					latencies.percentile(50) / 1000.0, latencies.percentile(99) / 1000.0,
+					latencies.percentile(99.9) / 1000.0, latencies.max() / 1000.0);
+		}
+		report.put("operations", operations);
+		if (dropped.sum() > 0) {
+			System.out.printf(Locale.ROOT, "%d requêtes non envoyées (plus de %d requêtes en cours).%n", dropped.sum(),
+					MAX_IN_FLIGHT);
+		}
+
+		BenchmarkReports.write(output, report);
+		System.out.printf(Locale.ROOT, "Rapport écrit dans %s.%n", output);
+	}
+}
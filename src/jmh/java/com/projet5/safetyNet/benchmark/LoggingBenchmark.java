@@ -0,0 +1,87 @@
+package com.projet5.safetyNet.benchmark;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.logging.log4j.core.config.Configurator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.projet5.safetyNet.service.FirestationService;
+import com.projet5.safetyNet.service.PersonService;
+
+/**
+ * Coût des logs par requête, avec la configuration de production
+ * ({@code log4j2-prod.xml} : loggers asynchrones, fichier tamponné).
+ *
+ * <p>
+ * Les mêmes lectures sont mesurées avec les logs de l'application coupés
+ * ({@code OFF}), au niveau de production ({@code INFO}) et au niveau de
+ * développement ({@code DEBUG}). La différence avec {@code OFF} est le coût des
+ * logs sur le thread de la requête. Les fichiers sont écrits dans
+ * {@code target/benchmark-logs}.
+ * </p>
+ *
+ * <pre>
+ * ./mvnw -Pbenchmarks test-compile exec:exec -Djmh.args="LoggingBenchmark"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = { "-Xmx2g", "-Dlog4j2.configurationFile=log4j2-prod.xml",
+		"-Dlog4j2.asyncQueueFullPolicy=Discard", "-Dlog4j2.discardThreshold=INFO", "-Dlog4j2.isWebapp=false",
+		"-Dlog4j2.enableThreadlocals=true", "-Dsafetynet.log.dir=target/benchmark-logs" })
+public class LoggingBenchmark {
+
+	@Param({ "OFF", "INFO", "DEBUG" })
+	public String logLevel;
+
+	@Param({ "10000" })
+	public int persons;
+
+	private BenchmarkData data;
+	private PersonService personService;
+	private FirestationService firestationService;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		Configurator.setLevel("com.projet5.safetyNet", org.apache.logging.log4j.Level.toLevel(logLevel));
+		data = BenchmarkData.generate(persons);
+		personService = data.getPersonService();
+		firestationService = data.getFirestationService();
+	}
+
+	@Benchmark
+	public List<String> childAlert() {
+		return personService.getChildListFromAddress(data.getSampleAddress());
+	}
+
+	@Benchmark
+	public List<Map<String, Object>> fire() {
+		return firestationService.personAndFirestationFromAddress(data.getSampleAddress());
+	}
+
+	@Benchmark
+	public List<String> phoneAlert() {
+		return firestationService.phoneAlert(data.getSampleStation());
+	}
+
+	@Benchmark
+	public Map<String, Object> personInfo() {
+		return personService.personInfo(data.getSampleLastName());
+	}
+}
@@ -0,0 +1,177 @@
+package com.projet5.safetyNet.benchmark;
+
+import java.io.IOException;
+import java.lang.management.BufferPoolMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.ref.Reference;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.projet5.safetyNet.model.DataModel;
+import com.projet5.safetyNet.model.Firestation;
+import com.projet5.safetyNet.model.Medicalrecord;
+import com.projet5.safetyNet.model.Person;
+import com.projet5.safetyNet.repository.DataRepository;
+import com.projet5.safetyNet.repository.OffHeapMedicalrecordStore;
+import com.projet5.safetyNet.repository.index.StringDictionary;
+
+/**
+ * Mesure de la mémoire occupée par les données chargées, sans et avec le
+ * dictionnaire des valeurs répétées ({@link StringDictionary}), puis avec les
+ * dossiers médicaux stockés hors tas ({@link OffHeapMedicalrecordStore}).
+ *
+ * <p>
+ * Pour chaque taille, le jeu de données synthétique est écrit dans un fichier
+ * puis relu par {@link DataRepository#readFile()} : une fois tel quel
+ * (une chaîne par occurrence, comme avant le dictionnaire), une fois en
+ * faisant passer par un dictionnaire les mêmes champs que les repositories
+ * (adresse, ville, code postal, station, médicaments, allergies), une
+ * dernière fois en copiant en plus les dossiers médicaux dans le stockage hors
+ * tas, comme {@code MedicalrecordRepository}. La mémoire retenue est la
+ * différence de tas utilisé, après ramasse-miettes, avant et après le
+ * chargement ; les index des repositories ne sont pas comptés. La mémoire
+ * directe du stockage hors tas est donnée à part. Le rapport donne les octets
+ * par personne et est écrit en JSON, avec le commit courant, dans
+ * {@code target/memory-result.json}.
+ * </p>
+ *
+ * <pre>
+ * ./mvnw -Pbenchmarks test-compile exec:exec \
+ *     -Dbenchmark.main=com.projet5.safetyNet.benchmark.MemoryFootprintBenchmark \
+ *     -Dbenchmark.args="--sizes=10000,100000"
+ * </pre>
+ */
+public final class MemoryFootprintBenchmark {
+
+	private static final MemoryMXBean MEMORY = ManagementFactory.getMemoryMXBean();
+
+	private static final BufferPoolMXBean DIRECT = ManagementFactory.getPlatformMXBeans(BufferPoolMXBean.class)
+			.stream().filter(pool -> pool.getName().equals("direct")).findFirst().orElseThrow();
+
+	private MemoryFootprintBenchmark() {
+	}
+
+	/**
+	 * Lance la mesure depuis la ligne de commande.
+	 *
+	 * <pre>
+	 * MemoryFootprintBenchmark [--sizes=10000,100000] [--seed=N] [--output=fichier]
+	 * </pre>
+	 *
+	 * @param args les arguments de la ligne de commande
+	 * @throws Exception si le jeu de données ou le rapport ne peuvent pas être
+	 *                   écrits
+	 */
+	public static void main(String[] args) throws Exception {
+		Map<String, String> options = BenchmarkReports.parseOptions(args);
+		List<Integer> sizes = Arrays.stream(options.getOrDefault("sizes", "10000,100000").split(","))
+				.map(String::trim).map(Integer::valueOf).toList();
+		long seed = Long.parseLong(options.getOrDefault("seed", String.valueOf(SyntheticDataGenerator.DEFAULT_SEED)));
+
+		List<Map<String, Object>> results = new ArrayList<>();
+		System.out.printf(Locale.ROOT, "%9s %14s %14s %9s %14s %14s %11s%n", "personnes", "sans dict. o/p",
+				"avec dict. o/p", "gain", "hors tas o/p", "direct o/p", "valeurs");
+		for (int size : sizes) {
+			Path file = Files.createTempFile("safetynet-memory-", ".json");
+			try {
+				new SyntheticDataGenerator(size, seed, true).writeJson(file);
+				DataRepository dataRepository = new DataRepository(new ObjectMapper(), file.toString());
+				long raw = retained(dataRepository, null, false);
+				StringDictionary dictionary = new StringDictionary();
+				long encoded = retained(dataRepository, dictionary, false);
+				long directBefore = DIRECT.getMemoryUsed();
+				long offHeap = retained(dataRepository, new StringDictionary(), true);
+				long direct = DIRECT.getMemoryUsed() - directBefore;
+
+				Map<String, Object> result = new LinkedHashMap<>();
+				result.put("persons", size);
+				result.put("rawBytes", raw);
+				result.put("dictionaryBytes", encoded);
+				result.put("rawBytesPerPerson", (double) raw / size);
+				result.put("dictionaryBytesPerPerson", (double) encoded / size);
+				result.put("reduction", 1 - (double) encoded / raw);
+				result.put("offHeapHeapBytes", offHeap);
+				result.put("offHeapDirectBytes", direct);
+				result.put("offHeapHeapBytesPerPerson", (double) offHeap / size);
+				result.put("offHeapDirectBytesPerPerson", (double) direct / size);
+				result.put("distinctValues", dictionary.size());
+				results.add(result);
+				System.out.printf(Locale.ROOT, "%9d %14.1f %14.1f %8.1f%% %14.1f %14.1f %11d%n", size,
+						(double) raw / size, (double) encoded / size, 100 * (1 - (double) encoded / raw),
+						(double) offHeap / size, (double) direct / size, dictionary.size());
+			} finally {
+				Files.deleteIfExists(file);
+			}
+		}
+
+		Map<String, Object> report = new LinkedHashMap<>();
+		report.put("timestamp", Instant.now().toString());
+		report.put("commit", BenchmarkReports.gitCommit());
+		report.put("java", System.getProperty("java.vm.name") + " " + System.getProperty("java.version"));
+		report.put("results", results);
+		BenchmarkReports.write(Paths.get(options.getOrDefault("output", "target/memory-result.json")), report);
+	}
+
+	/**
+	 * Charge les données et retourne la mémoire qu'elles retiennent.
+	 *
+	 * @param dictionary le dictionnaire à appliquer, ou {@code null} pour garder
+	 *                   les chaînes lues
+	 * @param offHeap    {@code true} pour copier les dossiers médicaux dans le
+	 *                   stockage hors tas
+	 */
+	private static long retained(DataRepository dataRepository, StringDictionary dictionary, boolean offHeap)
+			throws InterruptedException {
+		long before = usedHeap();
+		DataModel dataModel = dataRepository.readFile();
+		if (dictionary != null) {
+			encode(dataModel, dictionary);
+		}
+		if (offHeap) {
+			OffHeapMedicalrecordStore store = new OffHeapMedicalrecordStore(dictionary);
+			dataModel.setMedicalrecords(dataModel.getMedicalrecords().stream().map(store::store).toList());
+		}
+		long after = usedHeap();
+		Reference.reachabilityFence(dataModel);
+		Reference.reachabilityFence(dictionary);
+		return after - before;
+	}
+
+	/**
+	 * Applique le dictionnaire aux champs que les repositories font passer par
+	 * celui du magasin de données.
+	 */
+	private static void encode(DataModel dataModel, StringDictionary dictionary) {
+		for (Person person : dataModel.getPersonsList()) {
+			person.setAddress(dictionary.intern(person.getAddress()));
+			person.setCity(dictionary.intern(person.getCity()));
+			person.setZip(dictionary.intern(person.getZip()));
+		}
+		for (Medicalrecord medicalrecord : dataModel.getMedicalrecords()) {
+			medicalrecord.setMedications(dictionary.internAll(medicalrecord.getMedications()));
+			medicalrecord.setAllergies(dictionary.internAll(medicalrecord.getAllergies()));
+		}
+		for (Firestation firestation : dataModel.getFireStations()) {
+			firestation.setAddress(dictionary.intern(firestation.getAddress()));
+			firestation.setStation(dictionary.intern(firestation.getStation()));
+		}
+	}
+
+	private static long usedHeap() throws InterruptedException {
+		for (int i = 0; i < 3; i++) {
+			System.gc();
+			Thread.sleep(100);
+		}
+		return MEMORY.getHeapMemoryUsage().getUsed();
+	}
+}
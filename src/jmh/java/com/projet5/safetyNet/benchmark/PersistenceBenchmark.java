@@ -0,0 +1,359 @@
+package com.projet5.safetyNet.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.stream.Stream;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.projet5.safetyNet.model.DataModel;
+import com.projet5.safetyNet.model.Person;
+import com.projet5.safetyNet.repository.DataRepository;
+import com.projet5.safetyNet.repository.FirestationRepository;
+import com.projet5.safetyNet.repository.MedicalrecordRepository;
+import com.projet5.safetyNet.repository.PersonRepository;
+
+/**
+ * Mesures du chemin d'entrée-sortie de {@link DataRepository}, pour plusieurs
+ * tailles de jeu de données.
+ *
+ * <p>
+ * Pour chaque taille et chaque mode de stockage, le benchmark mesure :
+ * </p>
+ * <ul>
+ * <li>le temps de chargement : lecture seule ({@code readFile}) et démarrage
+ * complet des trois repositories, index compris ;</li>
+ * <li>pour une suite de mutations unitaires (mise à jour, ajout, suppression
+ * d'une personne) : la distribution des latences d'écriture, les octets écrits
+ * par mutation et le nombre de fsync par mutation ;</li>
+ * <li>le temps de reprise après un arrêt brutal pendant une écriture, et la
+ * cohérence des données relues.</li>
+ * </ul>
+ * <p>
+ * Les octets écrits sont lus dans {@code /proc/self/io} (compteur
+ * {@code wchar} du processus) quand il existe, et sinon estimés par la taille
+ * du fichier de données. Les fsync sont comptés par le mode de stockage
+ * lui-même. Le rapport est écrit en JSON, avec le commit courant, dans
+ * {@code target/persistence-result.json}.
+ * </p>
+ *
+ * <pre>
+ * ./mvnw -Pbenchmarks test-compile exec:exec \
+ *     -Dbenchmark.main=com.projet5.safetyNet.benchmark.PersistenceBenchmark \
+ *     -Dbenchmark.args="--sizes=1000,10000,100000 --mutations=100"
+ * </pre>
+ */
+public final class PersistenceBenchmark {
+
+	private static final Path PROC_IO = Paths.get("/proc/self/io");
+
+	/**
+	 * Mode de stockage mesuré. Un nouveau mode (journal, fichier binaire, ...)
+	 * s'ajoute en implémentant cette interface et en l'enregistrant dans
+	 * {@link PersistenceBenchmark#MODES}.
+	 */
+	interface StorageMode {
+
+		/**
+		 * @return le nom du mode dans le rapport
+		 */
+		String name();
+
+		/**
+		 * Écrit le jeu de données initial dans le répertoire.
+		 *
+		 * @param directory le répertoire de stockage, vide
+		 * @param generator le générateur du jeu de données
+		 * @throws IOException si l'écriture échoue
+		 */
+		void initialize(Path directory, SyntheticDataGenerator generator) throws IOException;
+
+		/**
+		 * Crée le DataRepository qui lit et écrit dans le répertoire.
+		 *
+		 * @param directory le répertoire de stockage
+		 * @return le DataRepository
+		 */
+		DataRepository open(Path directory);
+
+		/**
+		 * Laisse le répertoire dans l'état d'un processus tué au milieu d'une
+		 * écriture.
+		 *
+		 * @param directory le répertoire de stockage
+		 * @throws IOException si l'état ne peut pas être reproduit
+		 */
+		void simulateCrash(Path directory) throws IOException;
+
+		/**
+		 * @return le nombre de fsync effectués depuis la création du mode
+		 */
+		long fsyncCount();
+
+		/**
+		 * @param directory le répertoire de stockage
+		 * @return la taille totale des fichiers de données, en octets
+		 * @throws IOException si le répertoire ne peut pas être lu
+		 */
+		default long storageSize(Path directory) throws IOException {
+			try (Stream<Path> files = Files.list(directory)) {
+				return files.mapToLong(file -> file.toFile().length()).sum();
+			}
+		}
+	}
+
+	/**
+	 * Mode actuel : un fichier data.json réécrit en entier à chaque mutation, via
+	 * un fichier temporaire et un déplacement atomique, sans fsync.
+	 */
+	static final class JsonFileStorage implements StorageMode {
+
+		private static final String FILE_NAME = "data.json";
+
+		@Override
+		public String name() {
+			return "json-file";
+		}
+
+		@Override
+		public void initialize(Path directory, SyntheticDataGenerator generator) throws IOException {
+			generator.writeJson(directory.resolve(FILE_NAME));
+		}
+
+		@Override
+		public DataRepository open(Path directory) {
+			return new DataRepository(new ObjectMapper(), directory.resolve(FILE_NAME).toString());
+		}
+
+		@Override
+		public void simulateCrash(Path directory) throws IOException {
+			// Un processus tué pendant writeFile laisse un fichier temporaire partiel à
+			// côté d'un data.json intact.
+			byte[] content = Files.readAllBytes(directory.resolve(FILE_NAME));
+			Path temporary = Files.createTempFile(directory, "data", ".json.tmp");
+			Files.write(temporary, Arrays.copyOf(content, content.length / 2));
+		}
+
+		@Override
+		public long fsyncCount() {
+			return 0;
+		}
+	}
+
+	private static final List<StorageMode> MODES = List.of(new JsonFileStorage());
+
+	private final List<Integer> sizes;
+	private final int mutations;
+	private final int repeats;
+	private final long seed;
+	private final Path output;
+
+	private PersistenceBenchmark(List<Integer> sizes, int mutations, int repeats, long seed, Path output) {
+		this.sizes = sizes;
+		this.mutations = mutations;
+		this.repeats = repeats;
+		this.seed = seed;
+		this.output = output;
+	}
+
+	/**
+	 * Lance le benchmark depuis la ligne de commande.
+	 *
+	 * <pre>
+	 * PersistenceBenchmark [--sizes=1000,10000] [--mutations=N] [--repeats=N] [--seed=N] [--output=fichier]
+	 * </pre>
+	 *
+	 * @param args les arguments de la ligne de commande
+	 * @throws IOException si le répertoire de travail ou le rapport ne peuvent
+	 *                     pas être écrits
+	 */
+	public static void main(String[] args) throws IOException {
+		Map<String, String> options = BenchmarkReports.parseOptions(args);
+		List<Integer> sizes = Arrays.stream(options.getOrDefault("sizes", "1000,10000,100000").split(","))
+				.map(String::trim).map(Integer::valueOf).toList();
+		new PersistenceBenchmark(sizes, Integer.parseInt(options.getOrDefault("mutations", "100")),
+				Integer.parseInt(options.getOrDefault("repeats", "5")),
+				Long.parseLong(options.getOrDefault("seed", String.valueOf(SyntheticDataGenerator.DEFAULT_SEED))),
+				Paths.get(options.getOrDefault("output", "target/persistence-result.json"))).run();
+	}
+
+	private void run() throws IOException {
+		List<Map<String, Object>> results = new ArrayList<>();
+		System.out.printf(Locale.ROOT, "%-10s %9s %11s %11s %11s %11s %11s %11s %8s %11s%n", "mode", "personnes",
+				"taille (o)", "lecture ms", "démarr. ms", "écr. p50", "écr. p99", "o/mutation", "fsync/m",
+				"reprise ms");
+		for (int size : sizes) {
+			SyntheticDataGenerator generator = new SyntheticDataGenerator(size, seed, true);
+			for (StorageMode mode : MODES) {
+				Path directory = Files.createTempDirectory("safetynet-persistence-");
+				try {
+					Map<String, Object> result = measure(mode, generator, size, directory);
+					results.add(result);
+					@SuppressWarnings("unchecked")
+					Map<String, Object> writes = (Map<String, Object>) result.get("writes");
+					System.out.printf(Locale.ROOT, "%-10s %9d %11d %11.1f %11.1f %11.2f %11.2f %11.0f %8.2f %11.1f%n",
+							mode.name(), size, result.get("storageBytes"), result.get("readMillis"),
+							result.get("startupMillis"), (long) writes.get("p50Micros") / 1000.0,
+							(long) writes.get("p99Micros") / 1000.0, writes.get("bytesPerMutation"),
+							writes.get("fsyncsPerMutation"), result.get("recoveryMillis"));
+				} finally {
+					deleteRecursively(directory);
+				}
+			}
+		}
+
+		Map<String, Object> report = new LinkedHashMap<>();
+		report.put("timestamp", Instant.now().toString());
+		report.put("commit", BenchmarkReports.gitCommit());
+		report.put("javaVersion", System.getProperty("java.version"));
+		report.put("bytesSource", Files.isReadable(PROC_IO) ? "proc-wchar" : "file-size");
+		Map<String, Object> configuration = new LinkedHashMap<>();
+		configuration.put("sizes", sizes);
+		configuration.put("mutations", mutations);
+		configuration.put("repeats", repeats);
+		configuration.put("seed", seed);
+		report.put("configuration", configuration);
+		report.put("results", results);
+		BenchmarkReports.write(output, report);
+		System.out.printf(Locale.ROOT, "Rapport écrit dans %s.%n", output);
+	}
+
+	private Map<String, Object> measure(StorageMode mode, SyntheticDataGenerator generator, int size,
+			Path directory) throws IOException {
+		mode.initialize(directory, generator);
+		Map<String, Object> result = new LinkedHashMap<>();
+		result.put("mode", mode.name());
+		result.put("persons", size);
+		result.put("storageBytes", mode.storageSize(directory));
+
+		long[] readNanos = new long[repeats];
+		long[] startupNanos = new long[repeats];
+		for (int i = 0; i < repeats; i++) {
+			long start = System.nanoTime();
+			mode.open(directory).readFile();
+			readNanos[i] = System.nanoTime() - start;
+			start = System.nanoTime();
+			startRepositories(mode.open(directory));
+			startupNanos[i] = System.nanoTime() - start;
+		}
+		result.put("readMillis", median(readNanos) / 1e6);
+		result.put("startupMillis", median(startupNanos) / 1e6);
+		result.put("writes", measureWrites(mode, directory));
+
+		mode.simulateCrash(directory);
+		long start = System.nanoTime();
+		PersonRepository recovered = startRepositories(mode.open(directory));
+		result.put("recoveryMillis", (System.nanoTime() - start) / 1e6);
+		result.put("recoveredPersons", recovered.getAllPerson().size());
+		result.put("recoveredConsistent", recovered.getAllPerson().size() == size);
+		return result;
+	}
+
+	/**
+	 * Applique des mutations unitaires en boucle (mise à jour d'une personne
+	 * existante, ajout d'une personne, suppression de cette personne), chacune
+	 * persistée par le repository. Le nombre de personnes est inchangé à la fin
+	 * d'un cycle complet.
+	 */
+	private Map<String, Object> measureWrites(StorageMode mode, Path directory) throws IOException {
+		PersonRepository repository = startRepositories(mode.open(directory));
+		List<Person> persons = List.copyOf(repository.getAllPerson());
+		SplittableRandom random = new SplittableRandom(seed);
+		LatencyHistogram latencies = new LatencyHistogram();
+		int count = mutations - mutations % 3;
+		long bytesBefore = writtenBytes();
+		long fsyncsBefore = mode.fsyncCount();
+		long fileBytes = 0;
+		Person added = null;
+		for (int i = 0; i < count; i++) {
+			long start = System.nanoTime();
+			switch (i % 3) {
+			case 0 -> {
+				Person person = persons.get(random.nextInt(persons.size()));
+				repository.updatePerson(new Person(person.getFirstName(), person.getLastName(), person.getAddress(),
+						person.getCity(), person.getZip(), String.format(Locale.ROOT, "555-%03d-%04d",
+								random.nextInt(1000), random.nextInt(10_000)),
+						person.getEmail()));
+			}
+			case 1 -> {
+				added = new Person("Persistence", "Benchmark-" + i, "1 Benchmark St", "Culver", "97451",
+						"555-000-0000", "persistence.benchmark@email.com");
+				repository.addPerson(added);
+			}
+			default -> repository.deletePerson(added.getFirstName(), added.getLastName(), added.getPhone());
+			}
+			latencies.record((System.nanoTime() - start) / 1_000);
+			fileBytes += mode.storageSize(directory);
+		}
+		long bytesAfter = writtenBytes();
+
+		Map<String, Object> writes = new LinkedHashMap<>();
+		writes.put("mutations", count);
+		writes.put("meanMicros", latencies.mean());
+		writes.put("p50Micros", latencies.percentile(50));
+		writes.put("p90Micros", latencies.percentile(90));
+		writes.put("p99Micros", latencies.percentile(99));
+		writes.put("maxMicros", latencies.max());
+		writes.put("bytesPerMutation",
+				count == 0 ? 0.0 : (double) (bytesBefore >= 0 ? bytesAfter - bytesBefore : fileBytes) / count);
+		writes.put("fsyncsPerMutation", count == 0 ? 0.0 : (double) (mode.fsyncCount() - fsyncsBefore) / count);
+		return writes;
+	}
+
+	/**
+	 * Démarre les trois repositories comme le fait le chargement des données au
+	 * démarrage de l'application : une lecture du fichier, partagée par les trois.
+	 *
+	 * @return le repository des personnes
+	 */
+	private static PersonRepository startRepositories(DataRepository dataRepository) {
+		DataModel dataModel = dataRepository.readFile();
+		PersonRepository personRepository = new PersonRepository(dataRepository);
+		personRepository.load(dataModel);
+		new MedicalrecordRepository(dataRepository).load(dataModel);
+		new FirestationRepository(dataRepository).load(dataModel);
+		return personRepository;
+	}
+
+	/**
+	 * @return les octets écrits par le processus depuis son démarrage, -1 si
+	 *         {@code /proc/self/io} n'est pas disponible
+	 */
+	private static long writtenBytes() {
+		try {
+			for (String line : Files.readAllLines(PROC_IO)) {
+				if (line.startsWith("wchar:")) {
+					return Long.parseLong(line.substring(6).trim());
+				}
+			}
+		} catch (IOException | RuntimeException e) {
+			// Système sans procfs : repli sur la taille du fichier.
+		}
+		return -1;
+	}
+
+	private static double median(long[] values) {
+		long[] sorted = values.clone();
+		Arrays.sort(sorted);
+		int middle = sorted.length / 2;
+		return sorted.length % 2 == 1 ? sorted[middle] : (sorted[middle - 1] + sorted[middle]) / 2.0;
+	}
+
+	private static void deleteRecursively(Path directory) throws IOException {
+		try (Stream<Path> files = Files.walk(directory)) {
+			for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+				Files.deleteIfExists(file);
+			}
+		}
+	}
+}
@@ -0,0 +1,87 @@
+package com.projet5.safetyNet.benchmark;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.projet5.safetyNet.model.Firestation;
+import com.projet5.safetyNet.model.Person;
+import com.projet5.safetyNet.repository.ColumnarPersonStore;
+import com.projet5.safetyNet.repository.index.StringDictionary;
+
+/**
+ * Benchmarks du parcours des personnes : liste d'objets {@link Person} contre
+ * {@link ColumnarPersonStore}.
+ *
+ * <p>
+ * Deux parcours sont mesurés, pour plusieurs tailles de jeu
+ * ({@link BenchmarkData}) : les habitants des adresses d'une caserne
+ * (/firestation) et les emails d'une ville (/communityEmail). Les méthodes
+ * {@code pojo*} filtrent la liste avec un stream, comme les services avant le
+ * stockage par colonnes ; les méthodes {@code columnar*} parcourent les
+ * colonnes de codes.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.AverageTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class PersonScanBenchmark {
+
+	@Param({ "1000", "10000", "100000", "1000000" })
+	public int persons;
+
+	private List<Person> personList;
+	private ColumnarPersonStore columns;
+	private Set<String> stationAddresses;
+	private String city;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		BenchmarkData data = BenchmarkData.generate(persons);
+		personList = data.getDataModel().getPersonsList();
+		columns = new ColumnarPersonStore(new StringDictionary());
+		columns.load(personList);
+		stationAddresses = data.getDataModel().getFireStations().stream()
+				.filter(firestation -> firestation.getStation().equals(data.getSampleStation()))
+				.map(Firestation::getAddress).collect(Collectors.toSet());
+		city = data.getSampleCity();
+	}
+
+	@Benchmark
+	public List<Person> pojoStationResidents() {
+		return personList.stream().filter(person -> stationAddresses.contains(person.getAddress())).toList();
+	}
+
+	@Benchmark
+	public List<Person> columnarStationResidents() {
+		return columns.findByAddress(stationAddresses::contains);
+	}
+
+	@Benchmark
+	public List<String> pojoCityEmails() {
+		return personList.stream().filter(person -> person.getCity().equalsIgnoreCase(city)).map(Person::getEmail)
+				.toList();
+	}
+
+	@Benchmark
+	public List<String> columnarCityEmails() {
+		return columns.findEmailsByCity(city::equalsIgnoreCase);
+	}
+}
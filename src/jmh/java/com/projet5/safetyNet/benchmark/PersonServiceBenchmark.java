@@ -0,0 +1,65 @@
+package com.projet5.safetyNet.benchmark;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.projet5.safetyNet.service.PersonService;
+
+/**
+ * Benchmarks des lectures de {@link PersonService} : /childAlert,
+ * /personInfolastName et /communityEmail.
+ *
+ * <p>
+ * Chaque méthode interroge une adresse, un nom ou une ville existant du jeu de
+ * données synthétique ({@link BenchmarkData}), pour plusieurs tailles de jeu.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.AverageTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class PersonServiceBenchmark {
+
+	@Param({ "1000", "10000", "100000", "1000000" })
+	public int persons;
+
+	private BenchmarkData data;
+	private PersonService personService;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		data = BenchmarkData.generate(persons);
+		personService = data.getPersonService();
+	}
+
+	@Benchmark
+	public List<String> getChildListFromAddress() {
+		return personService.getChildListFromAddress(data.getSampleAddress());
+	}
+
+	@Benchmark
+	public Map<String, Object> personInfo() {
+		return personService.personInfo(data.getSampleLastName());
+	}
+
+	@Benchmark
+	public List<String> getCommunityEmail() {
+		return personService.getCommunityEmail(data.getSampleCity());
+	}
+}
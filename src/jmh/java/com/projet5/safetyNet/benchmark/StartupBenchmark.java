@@ -0,0 +1,170 @@
+package com.projet5.safetyNet.benchmark;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Mesure du temps de démarrage de l'application, avant et après le profil
+ * Maven {@code cds} (Spring AOT et archive CDS).
+ *
+ * <p>
+ * Chaque configuration est démarrée {@code --runs} fois dans un nouveau
+ * processus, sur un port libre. Le démarrage est terminé quand Spring Boot
+ * écrit la ligne {@code Started SafetyNetApplication in ...} : le contexte est
+ * alors rafraîchi et les données chargées, l'application est prête. Le
+ * rapport contient, par configuration, le temps mesuré de l'extérieur (du
+ * lancement de la JVM à cette ligne) et les deux durées écrites par Spring
+ * Boot, en médiane, minimum et maximum. Il est écrit en JSON, avec le commit
+ * courant, dans {@code target/startup-result.json}.
+ * </p>
+ *
+ * <p>
+ * Le jar de référence est celui du build normal, copié avant le build du
+ * profil {@code cds} qui le remplace :
+ * </p>
+ *
+ * <pre>
+ * ./mvnw package -DskipTests &amp;&amp; cp target/SafetyNet-0.0.1-SNAPSHOT.jar target/baseline.jar
+ * ./mvnw -Dcds package -DskipTests
+ * ./mvnw -Pbenchmarks test-compile exec:exec \
+ *     -Dbenchmark.main=com.projet5.safetyNet.benchmark.StartupBenchmark \
+ *     -Dbenchmark.args="--baseline=target/baseline.jar --cds=target/cds --runs=10"
+ * </pre>
+ */
+public final class StartupBenchmark {
+
+	private static final Pattern STARTED = Pattern
+			.compile("Started \\S+ in ([0-9.]+) seconds \\(process running for ([0-9.]+)\\)");
+
+	private static final long TIMEOUT_SECONDS = 120;
+
+	private final int runs;
+
+	private StartupBenchmark(int runs) {
+		this.runs = runs;
+	}
+
+	/**
+	 * Point d'entrée. Options : {@code --baseline} (jar de référence),
+	 * {@code --cds} (répertoire produit par le profil {@code cds}),
+	 * {@code --runs} et {@code --output}.
+	 *
+	 * @param args les options
+	 * @throws Exception si une mesure échoue
+	 */
+	public static void main(String[] args) throws Exception {
+		Map<String, String> options = BenchmarkReports.parseOptions(args);
+		StartupBenchmark benchmark = new StartupBenchmark(Integer.parseInt(options.getOrDefault("runs", "5")));
+		Path baseline = Paths.get(options.getOrDefault("baseline", "target/baseline.jar"));
+		Path cds = Paths.get(options.getOrDefault("cds", "target/cds"));
+		Path cdsJar = findJar(cds);
+
+		Map<String, Object> configurations = new LinkedHashMap<>();
+		configurations.put("baseline", benchmark.measure(List.of("-jar", baseline.toString())));
+		configurations.put("aot", benchmark.measure(List.of("-Dspring.aot.enabled=true", "-jar", cdsJar.toString())));
+		configurations.put("aot+cds", benchmark.measure(List.of("-XX:SharedArchiveFile=" + cds.resolve("application.jsa"),
+				"-Dspring.aot.enabled=true", "-jar", cdsJar.toString())));
+
+		Map<String, Object> report = new LinkedHashMap<>();
+		report.put("timestamp", Instant.now().toString());
+		report.put("commit", BenchmarkReports.gitCommit());
+		report.put("java", System.getProperty("java.vm.name") + " " + System.getProperty("java.version"));
+		report.put("runs", benchmark.runs);
+		report.put("configurations", configurations);
+		BenchmarkReports.write(Paths.get(options.getOrDefault("output", "target/startup-result.json")), report);
+		System.out.println(configurations);
+	}
+
+	private static Path findJar(Path directory) throws IOException {
+		try (var files = Files.list(directory)) {
+			return files.filter(file -> file.getFileName().toString().endsWith(".jar")).findFirst()
+					.orElseThrow(() -> new IllegalArgumentException("Aucun jar dans " + directory));
+		}
+	}
+
+	/**
+	 * Démarre plusieurs fois une configuration et résume les durées.
+	 */
+	private Map<String, Object> measure(List<String> jvmArgs) throws Exception {
+		double[] wall = new double[runs];
+		double[] started = new double[runs];
+		double[] process = new double[runs];
+		for (int run = 0; run < runs; run++) {
+			double[] sample = startOnce(jvmArgs);
+			wall[run] = sample[0];
+			started[run] = sample[1];
+			process[run] = sample[2];
+		}
+		Map<String, Object> result = new LinkedHashMap<>();
+		result.put("jvmArgs", jvmArgs);
+		result.put("wallMillis", summary(wall));
+		result.put("startedMillis", summary(started));
+		result.put("processMillis", summary(process));
+		return result;
+	}
+
+	/**
+	 * @return le temps mesuré de l'extérieur, puis les durées de démarrage du
+	 *         contexte et du processus écrites par Spring Boot, en millisecondes
+	 */
+	private static double[] startOnce(List<String> jvmArgs) throws Exception {
+		List<String> command = new ArrayList<>();
+		command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+		command.add("-Dserver.port=0");
+		command.addAll(jvmArgs);
+		long start = System.nanoTime();
+		Process application = new ProcessBuilder(command).redirectErrorStream(true).start();
+		try {
+			CompletableFuture<double[]> startup = CompletableFuture.supplyAsync(() -> awaitStarted(application, start));
+			return startup.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+		} finally {
+			application.destroy();
+			if (!application.waitFor(30, TimeUnit.SECONDS)) {
+				application.destroyForcibly();
+			}
+		}
+	}
+
+	private static double[] awaitStarted(Process application, long start) {
+		try (BufferedReader output = new BufferedReader(
+				new InputStreamReader(application.getInputStream(), StandardCharsets.UTF_8))) {
+			String line;
+			while ((line = output.readLine()) != null) {
+				Matcher matcher = STARTED.matcher(line);
+				if (matcher.find()) {
+					double wall = (System.nanoTime() - start) / 1e6;
+					return new double[] { wall, Double.parseDouble(matcher.group(1)) * 1000,
+							Double.parseDouble(matcher.group(2)) * 1000 };
+				}
+			}
+			throw new IllegalStateException("L'application s'est arrêtée avant la fin du démarrage");
+		} catch (IOException e) {
+			throw new IllegalStateException("Lecture de la sortie de l'application impossible", e);
+		}
+	}
+
+	private static Map<String, Object> summary(double[] values) {
+		double[] sorted = values.clone();
+		Arrays.sort(sorted);
+		Map<String, Object> summary = new LinkedHashMap<>();
+		summary.put("median", sorted[sorted.length / 2]);
+		summary.put("min", sorted[0]);
+		summary.put("max", sorted[sorted.length - 1]);
+		return summary;
+	}
+}
@@ -0,0 +1,485 @@
+package com.projet5.safetyNet.benchmark;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.zip.GZIPOutputStream;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.projet5.safetyNet.model.DataModel;
+import com.projet5.safetyNet.model.Firestation;
+import com.projet5.safetyNet.model.Medicalrecord;
+import com.projet5.safetyNet.model.Person;
+
+/**
+ * Générateur déterministe de jeux de données au format de data.json.
+ *
+ * <p>
+ * Le jeu est construit adresse par adresse. Chaque adresse est générée à partir
+ * de la graine et de son numéro uniquement : elle peut donc être recalculée à
+ * l'identique à tout moment. Le fichier est écrit en flux, en trois passes
+ * (personnes, casernes, dossiers médicaux) qui recalculent chacune les
+ * adresses ; seule l'adresse courante est en mémoire, quelle que soit la
+ * taille demandée.
+ * </p>
+ * <p>
+ * Le jeu imite des données réelles :
+ * </p>
+ * <ul>
+ * <li>La plupart des adresses abritent un foyer, environ 15 % sont des
+ * immeubles de 2 à 12 foyers.</li>
+ * <li>Les foyers comptent de 1 à 7 personnes (surtout 1 ou 2) et partagent un
+ * nom de famille et un numéro de téléphone.</li>
+ * <li>Les âges suivent une pyramide proche de la population française
+ * (environ 20 % de mineurs), les enfants vivant avec des parents d'âge
+ * compatible.</li>
+ * <li>Chaque caserne couvre environ {@value #ADDRESSES_PER_STATION} adresses
+ * consécutives, et environ 3 % des adresses sont aussi couvertes par la
+ * caserne voisine.</li>
+ * <li>Les villes, noms, médicaments et allergies sont tirés de vocabulaires
+ * fixes, selon une loi de Zipf pour les villes et les noms de famille.</li>
+ * </ul>
+ * <p>
+ * Les âges sont calculés par rapport à une date de référence fixe
+ * ({@link #DEFAULT_REFERENCE_DATE} par défaut) afin que le fichier produit soit
+ * identique d'un jour à l'autre.
+ * </p>
+ *
+ * <pre>
+ * ./mvnw -Pbenchmarks test-compile exec:exec \
+ *     -Dbenchmark.main=com.projet5.safetyNet.benchmark.SyntheticDataGenerator \
+ *     -Dbenchmark.args="10000000 target/data-10m.json.gz --seed=42"
+ * </pre>
+ */
+public final class SyntheticDataGenerator {
+
+	/**
+	 * Graine utilisée par défaut.
+	 */
+	public static final long DEFAULT_SEED = 42L;
+
+	/**
+	 * Date de référence utilisée par défaut pour le calcul des dates de
+	 * naissance.
+	 */
+	public static final LocalDate DEFAULT_REFERENCE_DATE = LocalDate.of(2025, 1, 1);
+
+	/**
+	 * Nombre moyen d'adresses couvertes par une caserne.
+	 */
+	public static final int ADDRESSES_PER_STATION = 250;
+
+	private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+	private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+	private static final String[] CITIES = { "Culver", "Paris", "Lyon", "Marseille", "Toulouse", "Nice", "Nantes",
+			"Strasbourg", "Montpellier", "Bordeaux", "Lille", "Rennes", "Reims", "Toulon", "Grenoble", "Dijon",
+			"Angers", "Nîmes", "Brest", "Limoges", "Tours", "Amiens", "Metz", "Perpignan", "Besançon", "Orléans",
+			"Rouen", "Mulhouse", "Caen", "Nancy" };
+	private static final String[] STREETS = { "Culver St", "Main St", "Oak Ave", "Maple Dr", "Cedar Ln", "Elm St",
+			"Pine Rd", "Lake Ct", "Hill Pl", "River Rd", "Park Ave", "Church St", "Mill Ln", "Station Rd",
+			"Victoria St", "Green Ln", "Manor Rd", "Steppes Pl", "Ash St", "Birch Ct" };
+	private static final String[] FIRST_NAMES = { "John", "Jacob", "Tenley", "Roger", "Felicia", "Jonanathan",
+			"Tessa", "Eric", "Peter", "Reginold", "Jamie", "Sophia", "Warren", "Zach", "Ron", "Allison", "Brian",
+			"Shawna", "Kendrik", "Clive", "Lily", "Emma", "Louise", "Jade", "Alice", "Chloé", "Léa", "Manon", "Inès",
+			"Camille", "Lucas", "Hugo", "Louis", "Gabriel", "Arthur", "Jules", "Adam", "Raphaël", "Nathan", "Léo",
+			"Paul", "Marie", "Nicolas", "Julie", "Thomas", "Sarah", "Antoine", "Laura", "Pierre", "Claire" };
+	private static final String[] LAST_NAMES = { "Boyd", "Marrack", "Zemicks", "Duncan", "Ferguson", "Peters",
+			"Walker", "Shepard", "Cadigan", "Stelzer", "Martin", "Bernard", "Thomas", "Petit", "Robert", "Richard",
+			"Durand", "Dubois", "Moreau", "Laurent", "Simon", "Michel", "Lefebvre", "Leroy", "Roux", "David",
+			"Bertrand", "Morel", "Fournier", "Girard", "Bonnet", "Dupont", "Lambert", "Fontaine", "Rousseau",
+			"Vincent", "Muller", "Lefevre", "Faure", "Andre", "Mercier", "Blanc", "Guerin", "Boyer", "Garnier",
+			"Chevalier", "Francois", "Legrand", "Gauthier", "Garcia", "Perrin", "Robin", "Clement", "Morin",
+			"Nicolas", "Henry", "Roussel", "Mathieu", "Gautier", "Masson" };
+	private static final String[] MEDICATIONS = { "aznol:350mg", "hydrapermazol:100mg", "pharmacol:5000mg",
+			"terazine:10mg", "noznazol:250mg", "tetracyclaz:650mg", "thradox:700mg", "dodoxadin:30mg",
+			"ibupurr:200mg", "hydroxyzine:25mg", "doliprane:1000mg", "levothyrox:75mcg", "metformine:850mg",
+			"amlodipine:5mg", "atorvastatine:20mg", "omeprazole:20mg", "ventoline:100mcg", "kardegic:75mg" };
+	private static final String[] ALLERGIES = { "nillacilan", "peanut", "shellfish", "xilliathal", "pollen", "latex",
+			"penicillin", "gluten", "lactose", "dust mites" };
+
+	private static final double[] CITY_WEIGHTS = zipfCumulative(CITIES.length);
+	private static final double[] LAST_NAME_WEIGHTS = zipfCumulative(LAST_NAMES.length);
+
+	private final long personCount;
+	private final long seed;
+	private final boolean uniqueNames;
+	private final LocalDate referenceDate;
+
+	/**
+	 * Un résident d'une adresse, avec les champs de sa personne et de son dossier
+	 * médical.
+	 */
+	private record Resident(String firstName, String lastName, String phone, String email, String birthdate,
+			List<String> medications, List<String> allergies) {
+	}
+
+	/**
+	 * Une adresse, ses casernes et ses résidents.
+	 */
+	private record Address(String address, String city, String zip, List<String> stations, int households,
+			List<Resident> residents) {
+	}
+
+	@FunctionalInterface
+	private interface AddressVisitor {
+		void visit(Address address) throws IOException;
+	}
+
+	/**
+	 * Constructeur du générateur.
+	 *
+	 * @param personCount   le nombre de personnes à générer
+	 * @param seed          la graine du générateur
+	 * @param uniqueNames   {@code true} pour garantir l'unicité du couple prénom
+	 *                      et nom en suffixant le nom de famille par le numéro du
+	 *                      foyer
+	 * @param referenceDate la date par rapport à laquelle les âges sont calculés
+	 */
+	public SyntheticDataGenerator(long personCount, long seed, boolean uniqueNames, LocalDate referenceDate) {
+		if (personCount < 1) {
+			throw new IllegalArgumentException("Le nombre de personnes doit être positif.");
+		}
+		this.personCount = personCount;
+		this.seed = seed;
+		this.uniqueNames = uniqueNames;
+		this.referenceDate = referenceDate;
+	}
+
+	/**
+	 * Constructeur du générateur avec la date de référence par défaut.
+	 *
+	 * @param personCount le nombre de personnes à générer
+	 * @param seed        la graine du générateur
+	 * @param uniqueNames {@code true} pour garantir l'unicité du couple prénom et
+	 *                    nom
+	 */
+	public SyntheticDataGenerator(long personCount, long seed, boolean uniqueNames) {
+		this(personCount, seed, uniqueNames, DEFAULT_REFERENCE_DATE);
+	}
+
+	/**
+	 * Construit le jeu de données en mémoire. Réservé aux tailles qui tiennent en
+	 * mémoire (benchmarks).
+	 *
+	 * @return le modèle de données généré
+	 */
+	public DataModel toDataModel() {
+		if (personCount > Integer.MAX_VALUE - 8) {
+			throw new IllegalStateException("Jeu trop grand pour être construit en mémoire : " + personCount);
+		}
+		List<Person> persons = new ArrayList<>((int) personCount);
+		List<Medicalrecord> medicalrecords = new ArrayList<>((int) personCount);
+		List<Firestation> firestations = new ArrayList<>();
+		try {
+			forEachAddress(address -> {
+				for (String station : address.stations()) {
+					firestations.add(new Firestation(address.address(), station));
+				}
+				for (Resident resident : address.residents()) {
+					persons.add(new Person(resident.firstName(), resident.lastName(), address.address(),
+							address.city(), address.zip(), resident.phone(), resident.email()));
+					medicalrecords.add(new Medicalrecord(resident.firstName(), resident.lastName(),
+							resident.birthdate(), new ArrayList<>(resident.medications()),
+							new ArrayList<>(resident.allergies())));
+				}
+			});
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		DataModel dataModel = new DataModel();
+		dataModel.setPersonsList(persons);
+		dataModel.setFireStations(firestations);
+		dataModel.setMedicalrecords(medicalrecords);
+		return dataModel;
+	}
+
+	/**
+	 * Ecrit le jeu de données dans un fichier. Le fichier est compressé en gzip si
+	 * son nom se termine par {@code .gz}.
+	 *
+	 * @param file le fichier de destination
+	 * @throws IOException si l'écriture échoue
+	 */
+	public void writeJson(Path file) throws IOException {
+		if (file.toAbsolutePath().getParent() != null) {
+			Files.createDirectories(file.toAbsolutePath().getParent());
+		}
+		try (OutputStream output = file.toString().endsWith(".gz")
+				? new GZIPOutputStream(Files.newOutputStream(file), 1 << 16)
+				: new BufferedOutputStream(Files.newOutputStream(file), 1 << 16)) {
+			writeJson(output);
+		}
+	}
+
+	/**
+	 * Ecrit le jeu de données en JSON, au format de data.json.
+	 *
+	 * @param output le flux de destination, qui n'est pas fermé
+	 * @throws IOException si l'écriture échoue
+	 */
+	public void writeJson(OutputStream output) throws IOException {
+		JsonFactory factory = new JsonFactory();
+		factory.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+		try (JsonGenerator generator = factory.createGenerator(output, JsonEncoding.UTF8)) {
+			generator.writeStartObject();
+
+			generator.writeArrayFieldStart("persons");
+			forEachAddress(address -> {
+				for (Resident resident : address.residents()) {
+					generator.writeStartObject();
+					generator.writeStringField("firstName", resident.firstName());
+					generator.writeStringField("lastName", resident.lastName());
+					generator.writeStringField("address", address.address());
+					generator.writeStringField("city", address.city());
+					generator.writeStringField("zip", address.zip());
+					generator.writeStringField("phone", resident.phone());
+					generator.writeStringField("email", resident.email());
+					generator.writeEndObject();
+				}
+			});
+			generator.writeEndArray();
+
+			generator.writeArrayFieldStart("firestations");
+			forEachAddress(address -> {
+				for (String station : address.stations()) {
+					generator.writeStartObject();
+					generator.writeStringField("address", address.address());
+					generator.writeStringField("station", station);
+					generator.writeEndObject();
+				}
+			});
+			generator.writeEndArray();
+
+			generator.writeArrayFieldStart("medicalrecords");
+			forEachAddress(address -> {
+				for (Resident resident : address.residents()) {
+					generator.writeStartObject();
+					generator.writeStringField("firstName", resident.firstName());
+					generator.writeStringField("lastName", resident.lastName());
+					generator.writeStringField("birthdate", resident.birthdate());
+					writeStringArray(generator, "medications", resident.medications());
+					writeStringArray(generator, "allergies", resident.allergies());
+					generator.writeEndObject();
+				}
+			});
+			generator.writeEndArray();
+
+			generator.writeEndObject();
+		}
+	}
+
+	private static void writeStringArray(JsonGenerator generator, String field, List<String> values)
+			throws IOException {
+		generator.writeArrayFieldStart(field);
+		for (String value : values) {
+			generator.writeString(value);
+		}
+		generator.writeEndArray();
+	}
+
+	private void forEachAddress(AddressVisitor visitor) throws IOException {
+		long remaining = personCount;
+		long household = 0;
+		for (long index = 0; remaining > 0; index++) {
+			Address address = address(index, household, remaining);
+			household += address.households();
+			remaining -= address.residents().size();
+			visitor.visit(address);
+		}
+	}
+
+	private SplittableRandom random(long index) {
+		return new SplittableRandom(mix64(seed + index * GOLDEN_GAMMA));
+	}
+
+	private Address address(long index, long firstHousehold, long remaining) {
+		SplittableRandom random = random(index);
+		int households = random.nextInt(100) < 85 ? 1 : 2 + random.nextInt(11);
+		int cityIndex = pick(random, CITY_WEIGHTS);
+		String street = (index + 1) + " " + STREETS[random.nextInt(STREETS.length)];
+		String city = CITIES[cityIndex];
+		String zip = String.valueOf(10000 + cityIndex * 37);
+
+		long station = index / ADDRESSES_PER_STATION + 1;
+		List<String> stations = random.nextInt(100) < 3 ? List.of(String.valueOf(station), String.valueOf(station + 1))
+				: List.of(String.valueOf(station));
+
+		List<Resident> residents = new ArrayList<>();
+		for (int h = 0; h < households && residents.size() < remaining; h++) {
+			addHousehold(random, firstHousehold + h, residents, remaining);
+		}
+		return new Address(street, city, zip, stations, households, residents);
+	}
+
+	private void addHousehold(SplittableRandom random, long household, List<Resident> residents, long remaining) {
+		String lastName = LAST_NAMES[pick(random, LAST_NAME_WEIGHTS)];
+		if (uniqueNames) {
+			lastName = lastName + "-" + Long.toString(household, 36).toUpperCase(Locale.ROOT);
+		}
+		String phone = String.format(Locale.ROOT, "%03d-%03d-%04d", 100 + random.nextInt(900), random.nextInt(1000),
+				random.nextInt(10000));
+		int size = householdSize(random);
+		int headAge = householderAge(random);
+		List<String> firstNames = new ArrayList<>(size);
+		for (int member = 0; member < size && residents.size() < remaining; member++) {
+			int age;
+			if (member == 0) {
+				age = headAge;
+			} else if (member == 1) {
+				age = Math.max(18, headAge - 5 + random.nextInt(11));
+			} else if (headAge >= 22 && headAge <= 58) {
+				age = random.nextInt(Math.min(18, headAge - 18));
+			} else {
+				age = 18 + random.nextInt(Math.max(1, headAge - 35));
+			}
+			String firstName = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+			while (firstNames.contains(firstName)) {
+				firstName = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+			}
+			firstNames.add(firstName);
+
+			LocalDate birthdate = referenceDate.minusYears(age).minusDays(1 + random.nextInt(364));
+			String email = (firstName + "." + lastName).toLowerCase(Locale.ROOT) + "@email.com";
+			residents.add(new Resident(firstName, lastName, phone, email, birthdate.format(DATE_FORMATTER),
+					medications(random, age), allergies(random)));
+		}
+	}
+
+	private static int householdSize(SplittableRandom random) {
+		int draw = random.nextInt(100);
+		if (draw < 28) {
+			return 1;
+		}
+		if (draw < 63) {
+			return 2;
+		}
+		if (draw < 78) {
+			return 3;
+		}
+		if (draw < 91) {
+			return 4;
+		}
+		if (draw < 97) {
+			return 5;
+		}
+		return 6 + random.nextInt(2);
+	}
+
+	private static int householderAge(SplittableRandom random) {
+		int draw = random.nextInt(100);
+		if (draw < 12) {
+			return 18 + random.nextInt(12);
+		}
+		if (draw < 40) {
+			return 30 + random.nextInt(15);
+		}
+		if (draw < 68) {
+			return 45 + random.nextInt(15);
+		}
+		if (draw < 90) {
+			return 60 + random.nextInt(15);
+		}
+		return 75 + random.nextInt(25);
+	}
+
+	private static List<String> medications(SplittableRandom random, int age) {
+		int count = random.nextInt(100) < 20 + age / 2 ? 1 + random.nextInt(1 + age / 25) : 0;
+		return draw(random, MEDICATIONS, Math.min(count, 5));
+	}
+
+	private static List<String> allergies(SplittableRandom random) {
+		int draw = random.nextInt(100);
+		return draw(random, ALLERGIES, draw < 70 ? 0 : draw < 95 ? 1 : 2);
+	}
+
+	private static List<String> draw(SplittableRandom random, String[] vocabulary, int count) {
+		List<String> values = new ArrayList<>(count);
+		while (values.size() < count) {
+			String value = vocabulary[random.nextInt(vocabulary.length)];
+			if (!values.contains(value)) {
+				values.add(value);
+			}
+		}
+		return values;
+	}
+
+	private static int pick(SplittableRandom random, double[] cumulativeWeights) {
+		double draw = random.nextDouble();
+		for (int i = 0; i < cumulativeWeights.length; i++) {
+			if (draw < cumulativeWeights[i]) {
+				return i;
+			}
+		}
+		return cumulativeWeights.length - 1;
+	}
+
+	private static double[] zipfCumulative(int size) {
+		double[] cumulative = new double[size];
+		double total = 0;
+		for (int i = 0; i < size; i++) {
+			total += 1.0 / (i + 1);
+			cumulative[i] = total;
+		}
+		for (int i = 0; i < size; i++) {
+			cumulative[i] /= total;
+		}
+		return cumulative;
+	}
+
+	private static long mix64(long z) {
+		z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+		z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+		return z ^ (z >>> 31);
+	}
+
+	/**
+	 * Génère un fichier depuis la ligne de commande.
+	 *
+	 * <pre>
+	 * SyntheticDataGenerator &lt;personnes&gt; &lt;fichier&gt; [--seed=N] [--unique-names] [--reference-date=yyyy-MM-dd]
+	 * </pre>
+	 *
+	 * @param args les arguments de la ligne de commande
+	 * @throws IOException si l'écriture échoue
+	 */
+	public static void main(String[] args) throws IOException {
+		if (args.length < 2) {
+			System.err.println("Usage : SyntheticDataGenerator <personnes> <fichier[.gz]> [--seed=N] [--unique-names]"
+					+ " [--reference-date=yyyy-MM-dd]");
+			System.exit(1);
+		}
+		long personCount = Long.parseLong(args[0].replace("_", ""));
+		Path file = Paths.get(args[1]);
+		long seed = DEFAULT_SEED;
+		boolean uniqueNames = false;
+		LocalDate referenceDate = DEFAULT_REFERENCE_DATE;
+		for (int i = 2; i < args.length; i++) {
+			if (args[i].startsWith("--seed=")) {
+				seed = Long.parseLong(args[i].substring("--seed=".length()));
+			} else if (args[i].equals("--unique-names")) {
+				uniqueNames = true;
+			} else if (args[i].startsWith("--reference-date=")) {
+				referenceDate = LocalDate.parse(args[i].substring("--reference-date=".length()));
+			} else {
+				throw new IllegalArgumentException("Argument inconnu : " + args[i]);
+			}
+		}
+		long start = System.nanoTime();
+		new SyntheticDataGenerator(personCount, seed, uniqueNames, referenceDate).writeJson(file);
+		System.out.printf(Locale.ROOT, "%d personnes écrites dans %s en %d ms (%d octets).%n", personCount, file,
+				(System.nanoTime() - start) / 1_000_000, Files.size(file));
+	}
+}
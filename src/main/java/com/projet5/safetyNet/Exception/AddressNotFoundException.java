@@ -0,0 +1,19 @@
+package com.projet5.safetyNet.Exception;
+
+/**
+ * Exception levée lorsqu'une adresse saisie ne désigne aucune adresse connue,
+ * mais que des adresses proches peuvent être proposées.
+ */
+public class AddressNotFoundException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Constructeur de l'exception avec un message personnalisé.
+     *
+     * @param message le message décrivant l'erreur et les adresses proposées
+     */
+    public AddressNotFoundException(String message) {
+        super(message);
+    }
+}
@@ -9,12 +9,15 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 
+import com.projet5.safetyNet.metrics.SafetyNetMetrics;
+
 /**
  * Gestionnaire global des exceptions dans l'application.
  * 
  * Cette classe capte les différentes exceptions pouvant survenir dans l'application, les enregistre dans les logs et renvoie une réponse appropriée au client, 
  * avec un code de statut HTTP correspondant à l'exception.
  * Elle est utilisée dans le cadre de l'annotation {@link ControllerAdvice} de Spring.
+ * Chaque erreur est comptée dans la métrique {@code safetynet.errors}, par type d'exception et code de statut.
  */
 @ControllerAdvice
 public class GlobalExceptionHandler {
@@ -30,6 +33,7 @@ public class GlobalExceptionHandler {
     @ExceptionHandler(Exception.class)
     public ResponseEntity<String> handleGlobalException(Exception e) {
         logger.error("Une erreur interne est survenue : {}", e.getMessage(), e);
+        SafetyNetMetrics.countError(e, HttpStatus.INTERNAL_SERVER_ERROR.value());
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Une erreur interne est survenue.");
     }
 
@@ -42,6 +46,7 @@ public class GlobalExceptionHandler {
     @ExceptionHandler(RuntimeException.class)
     public ResponseEntity<String> handleGlobalRuntimeException(RuntimeException e) {
         logger.error("Une erreur interne est survenue : {}", e.getMessage(), e);
+        SafetyNetMetrics.countError(e, HttpStatus.INTERNAL_SERVER_ERROR.value());
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Une erreur interne est survenue.");
     }
 
@@ -54,6 +59,7 @@ public class GlobalExceptionHandler {
     @ExceptionHandler(DateTimeParseException.class)
     public ResponseEntity<String> handleDateTimeParseException(DateTimeParseException e) {
         logger.error("Format de date invalide : {}", e.getParsedString(), e);
+        SafetyNetMetrics.countError(e, HttpStatus.BAD_REQUEST.value());
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Format de date invalide.");
     }
 
@@ -66,6 +72,7 @@ public class GlobalExceptionHandler {
     @ExceptionHandler(IllegalArgumentException.class)
     public ResponseEntity<String> handleIllegalArgumentException(IllegalArgumentException e) {
         logger.error("Requête invalide : {}", e.getMessage());
+        SafetyNetMetrics.countError(e, HttpStatus.BAD_REQUEST.value());
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
     }
 
@@ -78,6 +85,7 @@ public class GlobalExceptionHandler {
     @ExceptionHandler(InvalidRequestException.class)
     public ResponseEntity<String> handleInvalidRequestException(InvalidRequestException e) {
         logger.error("Requête invalide : {}", e.getMessage());
+        SafetyNetMetrics.countError(e, HttpStatus.BAD_REQUEST.value());
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
     }
 
@@ -90,9 +98,23 @@ public class GlobalExceptionHandler {
     @ExceptionHandler(InvalidDateFormatException.class)
     public ResponseEntity<String> handleInvalidDateFormatException(InvalidDateFormatException e) {
         logger.error("Format de date invalide : {}", e.getMessage());
+        SafetyNetMetrics.countError(e, HttpStatus.BAD_REQUEST.value());
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
     }
 
+    /**
+     * Gère les exceptions levées lorsqu'une adresse saisie ne désigne aucune adresse connue.
+     *
+     * @param e l'exception AddressNotFoundException qui a été levée
+     * @return une réponse HTTP avec le code de statut 404 (non trouvé) et un message listant les adresses proches
+     */
+    @ExceptionHandler(AddressNotFoundException.class)
+    public ResponseEntity<String> handleAddressNotFoundException(AddressNotFoundException e) {
+        logger.error("Adresse non trouvée : {}", e.getMessage());
+        SafetyNetMetrics.countError(e, HttpStatus.NOT_FOUND.value());
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+    }
+
     // Gestion des exceptions liées aux Personnes
 
     /**
@@ -104,6 +126,7 @@ public class GlobalExceptionHandler {
     @ExceptionHandler(PersonNotFoundException.class)
     public ResponseEntity<String> handlePersonNotFoundException(PersonNotFoundException e) {
         logger.error("Personne non trouvée : {}", e.getMessage());
+        SafetyNetMetrics.countError(e, HttpStatus.NOT_FOUND.value());
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
     }
 
@@ -116,6 +139,7 @@ public class GlobalExceptionHandler {
     @ExceptionHandler(PersonExistingException.class)
     public ResponseEntity<String> handlePersonExistingException(PersonExistingException e) {
         logger.error("Personne déjà existante : {}", e.getMessage());
+        SafetyNetMetrics.countError(e, HttpStatus.CONFLICT.value());
         return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
     }
 
@@ -130,6 +154,7 @@ public class GlobalExceptionHandler {
     @ExceptionHandler(FirestationExistingException.class)
     public ResponseEntity<String> handleFirestationExistingException(FirestationExistingException e) {
         logger.error("Caserne déjà existante : {}", e.getMessage());
+        SafetyNetMetrics.countError(e, HttpStatus.CONFLICT.value());
         return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
     }
 
@@ -142,6 +167,7 @@ public class GlobalExceptionHandler {
     @ExceptionHandler(FirestationNotFoundException.class)
     public ResponseEntity<String> handleFirestationNotFoundException(FirestationNotFoundException e) {
         logger.error("Caserne non trouvée : {}", e.getMessage());
+        SafetyNetMetrics.countError(e, HttpStatus.NOT_FOUND.value());
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
     }
 
@@ -156,6 +182,7 @@ public class GlobalExceptionHandler {
     @ExceptionHandler(MedicalrecordNotFoundException.class)
     public ResponseEntity<String> handleMedicalrecordNotFoundException(MedicalrecordNotFoundException e) {
         logger.error("Medicalrecord non trouvée : {}", e.getMessage());
+        SafetyNetMetrics.countError(e, HttpStatus.NOT_FOUND.value());
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
     }
 
@@ -168,6 +195,7 @@ public class GlobalExceptionHandler {
     @ExceptionHandler(MedicalRecordExistException.class)
     public ResponseEntity<String> handleMedicalRecordExistException(MedicalRecordExistException e) {
         logger.error("Un dossier médical existe déjà : {}", e.getMessage());
+        SafetyNetMetrics.countError(e, HttpStatus.CONFLICT.value());
         return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
     }
 
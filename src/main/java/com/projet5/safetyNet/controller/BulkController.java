@@ -0,0 +1,141 @@
+package com.projet5.safetyNet.controller;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.projet5.safetyNet.Exception.InvalidRequestException;
+import com.projet5.safetyNet.model.BulkOperation;
+import com.projet5.safetyNet.model.BulkReport;
+import com.projet5.safetyNet.model.Medicalrecord;
+import com.projet5.safetyNet.model.Person;
+import com.projet5.safetyNet.service.MedicalrecordService;
+import com.projet5.safetyNet.service.PersonService;
+
+/**
+ * Contrôleur REST pour les traitements par lot.
+ *
+ * Ce contrôleur fournit des points d'entrée pour :
+ * <ul>
+ * <li>Appliquer un lot d'ajouts, de mises à jour et de suppressions de
+ * personnes.</li>
+ * <li>Appliquer un lot d'ajouts, de mises à jour et de suppressions de
+ * dossiers médicaux.</li>
+ * </ul>
+ * Le lot peut être envoyé sous forme de tableau JSON
+ * ({@code application/json}) ou d'une opération par ligne
+ * ({@code application/x-ndjson}). Chaque lot est appliqué en une fois et
+ * persisté par une seule écriture. La réponse contient le résultat de chaque
+ * opération.
+ */
+@RestController
+public class BulkController {
+
+	private static final Logger logger = LogManager.getLogger(BulkController.class);
+
+	private final PersonService personService;
+	private final MedicalrecordService medicalrecordService;
+	private final ObjectMapper objectMapper;
+
+	/**
+	 * Constructeur du contrôleur des traitements par lot.
+	 *
+	 * @param personService        le service de gestion des personnes
+	 * @param medicalrecordService le service de gestion des dossiers médicaux
+	 * @param objectMapper         l'ObjectMapper utilisé pour lire les lots NDJSON
+	 */
+	public BulkController(PersonService personService, MedicalrecordService medicalrecordService,
+			ObjectMapper objectMapper) {
+		this.personService = personService;
+		this.medicalrecordService = medicalrecordService;
+		this.objectMapper = objectMapper;
+	}
+
+	/**
+	 * Applique un lot d'opérations sur les personnes envoyé sous forme de tableau
+	 * JSON.
+	 *
+	 * @param operations les opérations du lot
+	 * @return une réponse HTTP 200 contenant le compte rendu du lot
+	 */
+	@PostMapping(value = "/persons/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+	public ResponseEntity<BulkReport> bulkPersons(@RequestBody List<BulkOperation<Person>> operations) {
+		logger.debug("Réception d'un lot JSON de personnes.");
+		return ResponseEntity.ok(personService.applyBatch(operations));
+	}
+
+	/**
+	 * Applique un lot d'opérations sur les personnes envoyé au format NDJSON (une
+	 * opération par ligne).
+	 *
+	 * @param body le corps de la requête
+	 * @return une réponse HTTP 200 contenant le compte rendu du lot
+	 * @throws IOException si le corps de la requête ne peut pas être lu
+	 */
+	@PostMapping(value = "/persons/bulk", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+	public ResponseEntity<BulkReport> bulkPersonsNdjson(InputStream body) throws IOException {
+		logger.debug("Réception d'un lot NDJSON de personnes.");
+		return ResponseEntity.ok(personService.applyBatch(readNdjson(body, Person.class)));
+	}
+
+	/**
+	 * Applique un lot d'opérations sur les dossiers médicaux envoyé sous forme de
+	 * tableau JSON.
+	 *
+	 * @param operations les opérations du lot
+	 * @return une réponse HTTP 200 contenant le compte rendu du lot
+	 */
+	@PostMapping(value = "/medicalrecords/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+	public ResponseEntity<BulkReport> bulkMedicalrecords(
+			@RequestBody List<BulkOperation<Medicalrecord>> operations) {
+		logger.debug("Réception d'un lot JSON de dossiers médicaux.");
+		return ResponseEntity.ok(medicalrecordService.applyBatch(operations));
+	}
+
+	/**
+	 * Applique un lot d'opérations sur les dossiers médicaux envoyé au format
+	 * NDJSON (une opération par ligne).
+	 *
+	 * @param body le corps de la requête
+	 * @return une réponse HTTP 200 contenant le compte rendu du lot
+	 * @throws IOException si le corps de la requête ne peut pas être lu
+	 */
+	@PostMapping(value = "/medicalrecords/bulk", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+	public ResponseEntity<BulkReport> bulkMedicalrecordsNdjson(InputStream body) throws IOException {
+		logger.debug("Réception d'un lot NDJSON de dossiers médicaux.");
+		return ResponseEntity.ok(medicalrecordService.applyBatch(readNdjson(body, Medicalrecord.class)));
+	}
+
+	/**
+	 * Lit les opérations d'un corps NDJSON.
+	 *
+	 * @param <T>  le type des éléments des opérations
+	 * @param body le corps de la requête
+	 * @param type la classe des éléments des opérations
+	 * @return la liste des opérations lues
+	 * @throws IOException             si le corps de la requête ne peut pas être
+	 *                                 lu
+	 * @throws InvalidRequestException si une ligne n'est pas un JSON valide
+	 */
+	private <T> List<BulkOperation<T>> readNdjson(InputStream body, Class<T> type) throws IOException {
+		JavaType operationType = objectMapper.getTypeFactory().constructParametricType(BulkOperation.class, type);
+		try (MappingIterator<BulkOperation<T>> iterator = objectMapper.readerFor(operationType).readValues(body)) {
+			return iterator.readAll();
+		} catch (JsonProcessingException e) {
+			logger.error("Lot NDJSON invalide : {}", e.getOriginalMessage());
+			throw new InvalidRequestException("Le lot NDJSON est invalide : " + e.getOriginalMessage());
+		}
+	}
+}
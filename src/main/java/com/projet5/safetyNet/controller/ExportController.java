@@ -0,0 +1,60 @@
+package com.projet5.safetyNet.controller;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.projet5.safetyNet.service.ExportService;
+
+/**
+ * Contrôleur REST pour l'export des données.
+ *
+ * Ce contrôleur fournit un point d'entrée pour télécharger les personnes, les
+ * dossiers médicaux ou les casernes au format JSON, NDJSON ou CSV,
+ * éventuellement compressés en gzip. Les données sont copiées au moment de la
+ * requête puis écrites en flux, sans bloquer les écritures concurrentes.
+ */
+@RestController
+public class ExportController {
+
+	private static final Logger logger = LogManager.getLogger(ExportController.class);
+
+	private final ExportService exportService;
+
+	/**
+	 * Constructeur du contrôleur d'export.
+	 *
+	 * @param exportService le service d'export
+	 */
+	public ExportController(ExportService exportService) {
+		this.exportService = exportService;
+	}
+
+	/**
+	 * Exporte un type d'éléments.
+	 *
+	 * @param type   le type d'éléments : persons, medicalrecords ou firestations
+	 * @param format le format : json, ndjson (par défaut) ou csv
+	 * @param gzip   {@code true} pour compresser le contenu en gzip
+	 * @return une réponse HTTP 200 dont le corps est écrit en flux
+	 */
+	@GetMapping("/export/{type}")
+	public ResponseEntity<StreamingResponseBody> export(@PathVariable String type,
+			@RequestParam(defaultValue = "ndjson") String format, @RequestParam(defaultValue = "false") boolean gzip) {
+		logger.debug("Demande d'export de {} au format {} (gzip : {}).", type, format, gzip);
+		ExportService.Export export = exportService.prepareExport(type, format, gzip);
+		StreamingResponseBody body = output -> export.body().writeTo(output);
+		return ResponseEntity.ok()
+				.header(HttpHeaders.CONTENT_DISPOSITION,
+						ContentDisposition.attachment().filename(export.fileName()).build().toString())
+				.contentType(MediaType.parseMediaType(export.contentType())).body(body);
+	}
+}
@@ -0,0 +1,81 @@
+package com.projet5.safetyNet.controller;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.introspect.BeanPropertyDefinition;
+import com.projet5.safetyNet.Exception.InvalidRequestException;
+import com.projet5.safetyNet.model.CursorPage;
+
+/**
+ * Classe utilitaire appliquant une projection de champs ({@code fields=}) aux
+ * éléments d'une page.
+ *
+ * <p>
+ * Seuls les champs demandés sont conservés, dans l'ordre de la requête. Les noms
+ * de champs sont ceux de la représentation JSON de l'élément (par exemple
+ * {@code firstName,lastName,phone} pour une personne). Un champ inconnu
+ * provoque une {@link InvalidRequestException}.
+ * </p>
+ */
+public final class FieldProjection {
+
+	private static final TypeReference<Map<String, Object>> MAP_TYPE = new TypeReference<>() {
+	};
+
+	private FieldProjection() {
+	}
+
+	/**
+	 * Applique la projection aux éléments d'une page.
+	 *
+	 * @param <T>          le type des éléments de la page
+	 * @param objectMapper l'ObjectMapper utilisé pour lire les propriétés JSON
+	 * @param type         la classe des éléments de la page
+	 * @param page         la page à projeter
+	 * @param fields       la liste des champs séparés par des virgules
+	 * @return une page dont chaque élément ne contient que les champs demandés
+	 * @throws InvalidRequestException si un champ demandé n'existe pas
+	 */
+	public static <T> CursorPage<Map<String, Object>> project(ObjectMapper objectMapper, Class<T> type,
+			CursorPage<T> page, String fields) {
+		Set<String> requestedFields = parseFields(objectMapper, type, fields);
+		List<Map<String, Object>> projectedItems = new ArrayList<>(page.getItems().size());
+		for (T item : page.getItems()) {
+			Map<String, Object> properties = objectMapper.convertValue(item, MAP_TYPE);
+			Map<String, Object> projected = new LinkedHashMap<>();
+			for (String field : requestedFields) {
+				projected.put(field, properties.get(field));
+			}
+			projectedItems.add(projected);
+		}
+		return new CursorPage<>(projectedItems, page.getNextCursor());
+	}
+
+	private static Set<String> parseFields(ObjectMapper objectMapper, Class<?> type, String fields) {
+		Set<String> knownFields = objectMapper.getSerializationConfig().introspect(objectMapper.constructType(type))
+				.findProperties().stream().map(BeanPropertyDefinition::getName).collect(Collectors.toSet());
+		Set<String> requestedFields = new LinkedHashSet<>();
+		for (String field : fields.split(",")) {
+			String trimmed = field.trim();
+			if (trimmed.isEmpty()) {
+				continue;
+			}
+			if (!knownFields.contains(trimmed)) {
+				throw new InvalidRequestException("Champ inconnu dans le paramètre 'fields' : " + trimmed);
+			}
+			requestedFields.add(trimmed);
+		}
+		if (requestedFields.isEmpty()) {
+			throw new InvalidRequestException("Le paramètre 'fields' ne contient aucun champ.");
+		}
+		return requestedFields;
+	}
+}
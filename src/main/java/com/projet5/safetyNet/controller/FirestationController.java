@@ -6,10 +6,16 @@ import java.util.Map;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.projet5.safetyNet.logging.LogPreview;
+import com.projet5.safetyNet.model.CursorPage;
 import com.projet5.safetyNet.model.Firestation;
+import com.projet5.safetyNet.model.Person;
 import com.projet5.safetyNet.service.FirestationService;
 
 /**
@@ -37,13 +43,21 @@ public class FirestationController {
 	 */
 	private final FirestationService firestationService;
 
+	/**
+	 * ObjectMapper utilisé pour écrire les réponses en streaming.
+	 */
+	private final ObjectMapper objectMapper;
+
 	/**
 	 * Constructeur du contrôleur injectant le service {@link FirestationService}.
 	 * 
 	 * @param firestationService le service pour la gestion des casernes
+	 * @param objectMapper       l'ObjectMapper utilisé pour les réponses en
+	 *                           streaming
 	 */
-	public FirestationController(FirestationService firestationService) {
+	public FirestationController(FirestationService firestationService, ObjectMapper objectMapper) {
 		this.firestationService = firestationService;
+		this.objectMapper = objectMapper;
 	}
 
 	/**
@@ -61,6 +75,49 @@ public class FirestationController {
 		return ResponseEntity.ok(firestations);
 	}
 
+	/**
+	 * Récupère la liste de toutes les casernes de pompiers au format NDJSON.
+	 *
+	 * Cette méthode est sélectionnée lorsque le client envoie l'en-tête
+	 * {@code Accept: application/x-ndjson}. Les casernes sont écrites une par
+	 * ligne à partir d'un instantané cohérent de la liste.
+	 *
+	 * @return une réponse HTTP dont le corps est écrit en streaming
+	 */
+	@GetMapping(value = "/firestations", produces = MediaType.APPLICATION_NDJSON_VALUE)
+	public ResponseEntity<StreamingResponseBody> streamAllFireStation() {
+		logger.debug("Récupération en streaming de toutes les casernes de pompiers.");
+		List<Firestation> firestations = firestationService.getAllFireStations();
+		return NdjsonStreamWriter.stream(objectMapper, Firestation.class, firestations);
+	}
+
+	/**
+	 * Récupère une page de casernes de pompiers.
+	 *
+	 * Cette méthode est sélectionnée lorsque le paramètre {@code size} est
+	 * présent. Les casernes sont triées par numéro de station puis adresse. Le
+	 * paramètre {@code cursor} reprend la lecture après la page précédente et le
+	 * paramètre {@code fields} limite les champs retournés.
+	 *
+	 * @param size   le nombre de casernes par page
+	 * @param cursor le curseur {@code nextCursor} de la page précédente
+	 *               (optionnel)
+	 * @param fields la liste des champs à retourner, séparés par des virgules
+	 *               (optionnel)
+	 * @return une réponse HTTP contenant la page de casernes et le curseur de la
+	 *         page suivante
+	 */
+	@GetMapping(value = "/firestations", params = "size")
+	public ResponseEntity<CursorPage<?>> getFireStationsPage(@RequestParam int size,
+			@RequestParam(required = false) String cursor, @RequestParam(required = false) String fields) {
+		logger.debug("Récupération d'une page de {} casernes de pompiers.", size);
+		CursorPage<Firestation> page = firestationService.getFirestationsPage(cursor, size);
+		if (fields == null) {
+			return ResponseEntity.ok(page);
+		}
+		return ResponseEntity.ok(FieldProjection.project(objectMapper, Firestation.class, page, fields));
+	}
+
 	/**
 	 * Ajoute une nouvelle caserne de pompiers.
 	 *
@@ -138,10 +195,80 @@ public class FirestationController {
 		logger.debug("Recherche des personnes associées à la caserne : {}", stationNumber);
 		List<String> persons = firestationService.personFromStationNumber(stationNumber);
 		logger.info("La liste des personnes associées à la caserne a été récupérée avec succès");
-		logger.debug("Liste des personnes associées à la caserne {} : {}", stationNumber, persons);
+		logger.debug("Liste des personnes associées à la caserne {} : {}", stationNumber, LogPreview.of(persons));
 		return ResponseEntity.ok(persons);
 	}
 
+	/**
+	 * Récupère les résidents d'une ou plusieurs stations, filtrés par tranche d'âge
+	 * et par antécédents médicaux.
+	 *
+	 * Exemple : {@code /firestation/residents?stations=1,3&ageGroup=child&allergies=true}.
+	 *
+	 * @param stations    les numéros des stations, séparés par des virgules
+	 * @param ageGroup    {@code child} ou {@code adult}, facultatif
+	 * @param allergies   {@code true} pour les personnes avec allergies,
+	 *                    {@code false} pour celles sans, facultatif
+	 * @param medications {@code true} pour les personnes avec médicaments,
+	 *                    {@code false} pour celles sans, facultatif
+	 * @return une réponse HTTP contenant les résidents retenus
+	 */
+	@GetMapping("/firestation/residents")
+	public ResponseEntity<List<Person>> residentsOfStations(@RequestParam List<String> stations,
+			@RequestParam(required = false) String ageGroup, @RequestParam(required = false) Boolean allergies,
+			@RequestParam(required = false) Boolean medications) {
+		logger.debug("Recherche des résidents des stations : {}", stations);
+		List<Person> residents = firestationService.residentsOfStations(stations, ageGroup, allergies, medications);
+		logger.info("{} résidents récupérés pour les stations {}.", residents.size(), stations);
+		return ResponseEntity.ok(residents);
+	}
+
+	/**
+	 * Compte les résidents, enfants et adultes de chaque code postal d'une plage,
+	 * éventuellement restreints à une ville et à des stations.
+	 *
+	 * Exemple : {@code /region/statistics?zipFrom=97451&zipTo=97460&stations=1,2}.
+	 *
+	 * @param zipFrom  le premier code postal, inclus, facultatif
+	 * @param zipTo    le dernier code postal, inclus, facultatif
+	 * @param city     la ville, facultative
+	 * @param stations les numéros des stations, séparés par des virgules,
+	 *                 facultatifs
+	 * @return une réponse HTTP contenant une ligne de comptes par code postal
+	 */
+	@GetMapping("/region/statistics")
+	public ResponseEntity<List<Map<String, Object>>> regionStatistics(@RequestParam(required = false) String zipFrom,
+			@RequestParam(required = false) String zipTo, @RequestParam(required = false) String city,
+			@RequestParam(required = false) List<String> stations) {
+		logger.debug("Statistiques des codes postaux {} à {}.", zipFrom, zipTo);
+		List<Map<String, Object>> statistics = firestationService.regionStatistics(zipFrom, zipTo, city, stations);
+		logger.info("Statistiques récupérées pour {} codes postaux.", statistics.size());
+		return ResponseEntity.ok(statistics);
+	}
+
+	/**
+	 * Récupère les résidents d'une plage de codes postaux, d'une ville et de
+	 * stations. Au moins un critère est obligatoire.
+	 *
+	 * Exemple : {@code /region/residents?zipFrom=97451&zipTo=97460&city=Culver}.
+	 *
+	 * @param zipFrom  le premier code postal, inclus, facultatif
+	 * @param zipTo    le dernier code postal, inclus, facultatif
+	 * @param city     la ville, facultative
+	 * @param stations les numéros des stations, séparés par des virgules,
+	 *                 facultatifs
+	 * @return une réponse HTTP contenant les résidents retenus
+	 */
+	@GetMapping("/region/residents")
+	public ResponseEntity<List<Person>> regionResidents(@RequestParam(required = false) String zipFrom,
+			@RequestParam(required = false) String zipTo, @RequestParam(required = false) String city,
+			@RequestParam(required = false) List<String> stations) {
+		logger.debug("Recherche des résidents des codes postaux {} à {}.", zipFrom, zipTo);
+		List<Person> residents = firestationService.regionResidents(zipFrom, zipTo, city, stations);
+		logger.info("{} résidents récupérés pour les codes postaux {} à {}.", residents.size(), zipFrom, zipTo);
+		return ResponseEntity.ok(residents);
+	}
+
 	/**
 	 * Récupère la liste des numéros de téléphone associés à une caserne donnée.
 	 * 
@@ -161,7 +288,7 @@ public class FirestationController {
 		List<String> phoneListAlert = firestationService.phoneAlert(station);
 
 		logger.info("La liste des numéros de téléphone selon le numéro de station a été récupérée avec succès.");
-		logger.debug("Liste des numéros de téléphone associés à la caserne {} : {}", station, phoneListAlert);
+		logger.debug("Liste des numéros de téléphone associés à la caserne {} : {}", station, LogPreview.of(phoneListAlert));
 		return ResponseEntity.ok(phoneListAlert);
 	}
 	
@@ -186,6 +313,28 @@ public class FirestationController {
 	}
 
 	
+	/**
+	 * Récupère le foyer d'un appelant à partir de son numéro de téléphone ou de
+	 * son adresse email.
+	 * 
+	 * Exemple : {@code /household?phone=841-874-7784}. Le numéro peut être saisi
+	 * avec ou sans ponctuation. Pour chaque adresse de l'appelant, la réponse
+	 * contient les stations qui la desservent et les résidents avec leurs
+	 * antécédents médicaux.
+	 * 
+	 * @param phone le numéro de téléphone (optionnel si l'email est fourni)
+	 * @param email l'adresse email (optionnelle si le numéro est fourni)
+	 * @return une réponse HTTP contenant un foyer par adresse
+	 */
+	@GetMapping("/household")
+	public ResponseEntity<List<Map<String, Object>>> householdByContact(@RequestParam(required = false) String phone,
+			@RequestParam(required = false) String email) {
+		logger.debug("Recherche du foyer selon le téléphone ou l'email donné.");
+		List<Map<String, Object>> households = firestationService.householdByContact(phone, email);
+		logger.info("{} foyers récupérés.", households.size());
+		return ResponseEntity.ok(households);
+	}
+
 	/**
 	 * Récupère la liste des casernes associées à un numéro de station donné.
 	 * 
@@ -0,0 +1,105 @@
+package com.projet5.safetyNet.controller;
+
+import java.io.InputStream;
+import java.util.List;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.projet5.safetyNet.model.ImportReport;
+import com.projet5.safetyNet.service.ImportService;
+
+/**
+ * Contrôleur REST pour l'import en masse.
+ *
+ * Ce contrôleur fournit des points d'entrée pour :
+ * <ul>
+ * <li>Importer des personnes depuis un corps CSV ({@code text/csv}) ou NDJSON
+ * ({@code application/x-ndjson}).</li>
+ * <li>Importer des dossiers médicaux depuis un corps CSV ou NDJSON.</li>
+ * <li>Suivre l'avancement des imports en cours.</li>
+ * </ul>
+ * Le corps de la requête est lu en flux : sa taille n'est pas limitée par la
+ * mémoire du serveur.
+ */
+@RestController
+public class ImportController {
+
+	private static final Logger logger = LogManager.getLogger(ImportController.class);
+
+	private static final String TEXT_CSV_VALUE = "text/csv";
+
+	private final ImportService importService;
+
+	/**
+	 * Constructeur du contrôleur d'import.
+	 *
+	 * @param importService le service d'import
+	 */
+	public ImportController(ImportService importService) {
+		this.importService = importService;
+	}
+
+	/**
+	 * Importe des personnes au format CSV.
+	 *
+	 * @param body le corps de la requête
+	 * @return une réponse HTTP 200 contenant le compte rendu de l'import
+	 */
+	@PostMapping(value = "/import/persons", consumes = TEXT_CSV_VALUE)
+	public ResponseEntity<ImportReport> importPersonsCsv(InputStream body) {
+		logger.debug("Réception d'un import CSV de personnes.");
+		return ResponseEntity.ok(importService.importPersons(body, ImportService.Format.CSV));
+	}
+
+	/**
+	 * Importe des personnes au format NDJSON.
+	 *
+	 * @param body le corps de la requête
+	 * @return une réponse HTTP 200 contenant le compte rendu de l'import
+	 */
+	@PostMapping(value = "/import/persons", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+	public ResponseEntity<ImportReport> importPersonsNdjson(InputStream body) {
+		logger.debug("Réception d'un import NDJSON de personnes.");
+		return ResponseEntity.ok(importService.importPersons(body, ImportService.Format.NDJSON));
+	}
+
+	/**
+	 * Importe des dossiers médicaux au format CSV.
+	 *
+	 * @param body le corps de la requête
+	 * @return une réponse HTTP 200 contenant le compte rendu de l'import
+	 */
+	@PostMapping(value = "/import/medicalrecords", consumes = TEXT_CSV_VALUE)
+	public ResponseEntity<ImportReport> importMedicalrecordsCsv(InputStream body) {
+		logger.debug("Réception d'un import CSV de dossiers médicaux.");
+		return ResponseEntity.ok(importService.importMedicalrecords(body, ImportService.Format.CSV));
+	}
+
+	/**
+	 * Importe des dossiers médicaux au format NDJSON.
+	 *
+	 * @param body le corps de la requête
+	 * @return une réponse HTTP 200 contenant le compte rendu de l'import
+	 */
+	@PostMapping(value = "/import/medicalrecords", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+	public ResponseEntity<ImportReport> importMedicalrecordsNdjson(InputStream body) {
+		logger.debug("Réception d'un import NDJSON de dossiers médicaux.");
+		return ResponseEntity.ok(importService.importMedicalrecords(body, ImportService.Format.NDJSON));
+	}
+
+	/**
+	 * Retourne l'avancement des imports en cours.
+	 *
+	 * @return une réponse HTTP 200 contenant un compte rendu par import en cours
+	 */
+	@GetMapping("/import")
+	public ResponseEntity<List<ImportReport>> getRunningImports() {
+		return ResponseEntity.ok(importService.getRunningImports());
+	}
+}
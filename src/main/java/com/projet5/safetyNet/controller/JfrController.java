@@ -0,0 +1,90 @@
+package com.projet5.safetyNet.controller;
+
+import java.time.Duration;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.projet5.safetyNet.Exception.InvalidRequestException;
+import com.projet5.safetyNet.model.JfrRecordingStatus;
+import com.projet5.safetyNet.service.JfrRecordingService;
+
+/**
+ * Contrôleur REST d'administration des enregistrements JFR.
+ *
+ * Ce contrôleur fournit des points d'entrée pour :
+ * <ul>
+ * <li>Démarrer un enregistrement borné en durée et en taille.</li>
+ * <li>Arrêter l'enregistrement en cours et l'écrire dans son fichier.</li>
+ * <li>Consulter l'état du dernier enregistrement.</li>
+ * </ul>
+ * Les fichiers produits s'ouvrent avec JDK Mission Control ou
+ * {@code jfr print --categories SafetyNet}.
+ */
+@RestController
+public class JfrController {
+
+	private static final Logger logger = LogManager.getLogger(JfrController.class);
+
+	private final JfrRecordingService jfrRecordingService;
+
+	/**
+	 * Constructeur du contrôleur JFR.
+	 *
+	 * @param jfrRecordingService le service de pilotage des enregistrements
+	 */
+	public JfrController(JfrRecordingService jfrRecordingService) {
+		this.jfrRecordingService = jfrRecordingService;
+	}
+
+	/**
+	 * Démarre un enregistrement JFR.
+	 *
+	 * @param duration la durée de l'enregistrement (par exemple {@code 30s} ou
+	 *                 {@code PT2M}), la durée maximale configurée si absente
+	 * @return une réponse HTTP 200 contenant l'état de l'enregistrement
+	 */
+	@PostMapping("/admin/jfr/start")
+	public ResponseEntity<JfrRecordingStatus> start(@RequestParam(required = false) String duration) {
+		logger.debug("Demande de démarrage d'un enregistrement JFR, durée : {}", duration);
+		return ResponseEntity.ok(jfrRecordingService.start(parseDuration(duration)));
+	}
+
+	/**
+	 * Arrête l'enregistrement JFR en cours.
+	 *
+	 * @return une réponse HTTP 200 contenant l'état de l'enregistrement
+	 */
+	@PostMapping("/admin/jfr/stop")
+	public ResponseEntity<JfrRecordingStatus> stop() {
+		logger.debug("Demande d'arrêt de l'enregistrement JFR.");
+		return ResponseEntity.ok(jfrRecordingService.stop());
+	}
+
+	/**
+	 * Retourne l'état du dernier enregistrement JFR.
+	 *
+	 * @return une réponse HTTP 200 contenant l'état de l'enregistrement
+	 */
+	@GetMapping("/admin/jfr")
+	public ResponseEntity<JfrRecordingStatus> status() {
+		return ResponseEntity.ok(jfrRecordingService.status());
+	}
+
+	private static Duration parseDuration(String duration) {
+		if (duration == null || duration.isBlank()) {
+			return null;
+		}
+		try {
+			return DurationStyle.detectAndParse(duration);
+		} catch (IllegalArgumentException e) {
+			throw new InvalidRequestException("Durée invalide : " + duration);
+		}
+	}
+}
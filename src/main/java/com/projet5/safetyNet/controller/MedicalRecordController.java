@@ -5,13 +5,19 @@ import java.util.List;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.projet5.safetyNet.model.CursorPage;
 import com.projet5.safetyNet.model.Medicalrecord;
 import com.projet5.safetyNet.service.MedicalrecordService;
 
@@ -33,15 +39,19 @@ public class MedicalRecordController {
 
 	private static final Logger logger = LoggerFactory.getLogger(MedicalRecordController.class);
 	private final MedicalrecordService medicalrecordService;
+	private final ObjectMapper objectMapper;
 
 	/**
 	 * Constructeur du contrôleur des dossiers médicaux.
 	 *
 	 * @param medicalRecordService le service permettant de gérer les opérations sur
 	 *                             les dossiers médicaux.
+	 * @param objectMapper         l'ObjectMapper utilisé pour les réponses en
+	 *                             streaming.
 	 */
-	public MedicalRecordController(MedicalrecordService medicalRecordService) {
+	public MedicalRecordController(MedicalrecordService medicalRecordService, ObjectMapper objectMapper) {
 		this.medicalrecordService = medicalRecordService;
+		this.objectMapper = objectMapper;
 	}
 
 	/**
@@ -63,6 +73,77 @@ public class MedicalRecordController {
 		return ResponseEntity.ok(medicalrecordList);
 	}
 
+	/**
+	 * Récupère la liste des dossiers médicaux au format NDJSON.
+	 * <p>
+	 * Cette méthode est sélectionnée lorsque le client envoie l'en-tête
+	 * {@code Accept: application/x-ndjson}. Les dossiers sont écrits un par ligne
+	 * à partir d'un instantané cohérent, sans construire la réponse complète en
+	 * mémoire.
+	 * </p>
+	 *
+	 * @return ResponseEntity dont le corps est écrit en streaming.
+	 */
+	@GetMapping(value = "/medicalrecords", produces = MediaType.APPLICATION_NDJSON_VALUE)
+	public ResponseEntity<StreamingResponseBody> streamMedicalRecords() {
+		logger.debug("Requête GET NDJSON pour récupérer tous les dossiers médicaux.");
+		List<Medicalrecord> medicalrecordList = medicalrecordService.getAllMedicalrecord();
+		return NdjsonStreamWriter.stream(objectMapper, Medicalrecord.class, medicalrecordList);
+	}
+
+	/**
+	 * Récupère une page de dossiers médicaux.
+	 * <p>
+	 * Cette méthode est sélectionnée lorsque le paramètre {@code size} est présent.
+	 * Les dossiers sont triés par nom, prénom puis date de naissance. Le paramètre
+	 * {@code cursor} reprend la lecture après la page précédente et le paramètre
+	 * {@code fields} limite les champs retournés.
+	 * </p>
+	 *
+	 * @param size   le nombre de dossiers par page.
+	 * @param cursor le curseur {@code nextCursor} de la page précédente
+	 *               (optionnel).
+	 * @param fields la liste des champs à retourner, séparés par des virgules
+	 *               (optionnel).
+	 * @return ResponseEntity contenant la page de dossiers médicaux et le curseur
+	 *         de la page suivante.
+	 */
+	@GetMapping(value = "/medicalrecords", params = "size")
+	public ResponseEntity<CursorPage<?>> getMedicalRecordsPage(@RequestParam int size,
+			@RequestParam(required = false) String cursor, @RequestParam(required = false) String fields) {
+		logger.debug("Requête GET paginée pour récupérer {} dossiers médicaux.", size);
+		CursorPage<Medicalrecord> page = medicalrecordService.getMedicalrecordsPage(cursor, size);
+		if (fields == null) {
+			return ResponseEntity.ok(page);
+		}
+		return ResponseEntity.ok(FieldProjection.project(objectMapper, Medicalrecord.class, page, fields));
+	}
+
+	/**
+	 * Recherche des dossiers médicaux par médicament ou par allergie.
+	 * <p>
+	 * Exemple : {@code /medicalrecords/search?medication=aznol&station=1}. Le
+	 * médicament est comparé sans son dosage ; la station et l'adresse
+	 * restreignent la recherche à leurs résidents.
+	 * </p>
+	 *
+	 * @param medication le médicament recherché (optionnel).
+	 * @param allergy    l'allergie recherchée (optionnel).
+	 * @param station    le numéro de station (optionnel).
+	 * @param address    l'adresse (optionnel).
+	 * @return ResponseEntity contenant les dossiers médicaux retenus.
+	 */
+	@GetMapping("/medicalrecords/search")
+	public ResponseEntity<List<Medicalrecord>> searchMedicalRecords(@RequestParam(required = false) String medication,
+			@RequestParam(required = false) String allergy, @RequestParam(required = false) String station,
+			@RequestParam(required = false) String address) {
+		logger.debug("Requête GET de recherche des dossiers médicaux.");
+		List<Medicalrecord> medicalrecords = medicalrecordService.searchMedicalrecords(medication, allergy, station,
+				address);
+		logger.info("{} dossiers médicaux trouvés.", medicalrecords.size());
+		return ResponseEntity.ok(medicalrecords);
+	}
+
 	/**
 	 * Ajoute un nouveau dossier médical.
 	 * <p>
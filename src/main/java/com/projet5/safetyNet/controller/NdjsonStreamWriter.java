@@ -0,0 +1,91 @@
+package com.projet5.safetyNet.controller;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/**
+ * Classe utilitaire permettant d'écrire une collection au format NDJSON
+ * (application/x-ndjson) directement dans le flux de la réponse HTTP.
+ *
+ * <p>
+ * Chaque élément est sérialisé par le générateur de flux de Jackson puis suivi
+ * d'un retour à la ligne. Aucun tampon contenant la réponse complète n'est
+ * construit : la mémoire utilisée reste constante quelle que soit la taille de
+ * la collection.
+ * </p>
+ * <p>
+ * La collection fournie doit être un instantané cohérent, que les écritures
+ * concurrentes ne modifient pas. Les personnes et les dossiers médicaux sont
+ * lus dans la vue publiée par
+ * {@link com.projet5.safetyNet.repository.ChunkedList#view()} : une table de
+ * blocs immuables, qu'une écriture remplace sans la modifier. Les casernes sont
+ * lues dans une {@link java.util.concurrent.CopyOnWriteArrayList}, dont
+ * l'itérateur parcourt le tableau en place au moment de sa création.
+ * </p>
+ */
+public final class NdjsonStreamWriter {
+
+	private static final Logger logger = LogManager.getLogger(NdjsonStreamWriter.class);
+
+	private NdjsonStreamWriter() {
+	}
+
+	/**
+	 * Construit une réponse HTTP 200 dont le corps est écrit au fil de l'eau au
+	 * format NDJSON.
+	 *
+	 * @param <T>          le type des éléments à écrire
+	 * @param objectMapper l'ObjectMapper utilisé pour la sérialisation
+	 * @param type         la classe des éléments à écrire
+	 * @param snapshot     l'instantané des éléments à écrire
+	 * @return une réponse HTTP contenant le corps en streaming
+	 */
+	public static <T> ResponseEntity<StreamingResponseBody> stream(ObjectMapper objectMapper, Class<T> type,
+			Iterable<? extends T> snapshot) {
+		StreamingResponseBody body = outputStream -> write(objectMapper, type, snapshot, outputStream);
+		return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+	}
+
+	/**
+	 * Écrit les éléments un par un dans le flux de sortie, un objet JSON par ligne.
+	 * <p>
+	 * Le flux de sortie n'est pas fermé, sa fermeture reste à la charge du
+	 * conteneur de servlets.
+	 * </p>
+	 *
+	 * @param <T>          le type des éléments à écrire
+	 * @param objectMapper l'ObjectMapper utilisé pour la sérialisation
+	 * @param type         la classe des éléments à écrire
+	 * @param snapshot     l'instantané des éléments à écrire
+	 * @param outputStream le flux de sortie de la réponse
+	 * @return le nombre d'éléments écrits
+	 * @throws IOException si une erreur survient lors de l'écriture
+	 */
+	public static <T> long write(ObjectMapper objectMapper, Class<T> type, Iterable<? extends T> snapshot,
+			OutputStream outputStream) throws IOException {
+		ObjectWriter writer = objectMapper.writerFor(type).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+		long count = 0;
+		try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+			generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+			generator.setRootValueSeparator(null);
+			for (T item : snapshot) {
+				writer.writeValue(generator, item);
+				generator.writeRaw('\n');
+				count++;
+			}
+		}
+		logger.debug("{} éléments écrits au format NDJSON.", count);
+		return count;
+	}
+}
@@ -3,9 +3,14 @@ package com.projet5.safetyNet.controller;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.projet5.safetyNet.logging.LogPreview;
+import com.projet5.safetyNet.model.CursorPage;
 import com.projet5.safetyNet.model.Person;
 import com.projet5.safetyNet.service.PersonService;
 
@@ -43,14 +48,21 @@ public class PersonController {
 	 */
 	private final PersonService personService;
 
+	/**
+	 * ObjectMapper utilisé pour écrire les réponses en streaming.
+	 */
+	private final ObjectMapper objectMapper;
+
 	/**
 	 * Constructeur de la classe {@link PersonController}.
 	 * 
 	 * @param personService le service utilisé pour gérer les opérations sur les
 	 *                      personnes
+	 * @param objectMapper  l'ObjectMapper utilisé pour les réponses en streaming
 	 */
-	public PersonController(PersonService personService) {
+	public PersonController(PersonService personService, ObjectMapper objectMapper) {
 		this.personService = personService;
+		this.objectMapper = objectMapper;
 		logger.info("PersonCOntroller, initialisé avec succès.");
 	}
 
@@ -68,10 +80,52 @@ public class PersonController {
 		logger.debug("Entrée dans la méthode getAllPersons() de la classe PersonController.");
 		logger.debug("Appel de la méthode personService.getAllPersons()");
 		List<Person> persons = personService.getAllPersons();
-		logger.info("Récupération avec succès de la liste de personne : ", persons);
+		logger.info("Récupération avec succès de la liste de personnes : {} personnes.", persons.size());
 		return ResponseEntity.ok(persons);
 	}
 
+	/**
+	 * Récupère la liste de toutes les personnes au format NDJSON.
+	 *
+	 * Cette méthode est sélectionnée lorsque le client envoie l'en-tête
+	 * {@code Accept: application/x-ndjson}. Les personnes sont écrites une par
+	 * ligne, au fil de l'eau, à partir d'un instantané cohérent de la liste : la
+	 * réponse n'est jamais construite entièrement en mémoire.
+	 *
+	 * @return Une réponse HTTP dont le corps est écrit en streaming, avec un code
+	 *         de statut HTTP 200.
+	 */
+	@GetMapping(value = "/persons", produces = MediaType.APPLICATION_NDJSON_VALUE)
+	public ResponseEntity<StreamingResponseBody> streamAllPersons() {
+		logger.debug("Entrée dans la méthode streamAllPersons() de la classe PersonController.");
+		List<Person> persons = personService.getAllPersons();
+		return NdjsonStreamWriter.stream(objectMapper, Person.class, persons);
+	}
+
+	/**
+	 * Récupère une page de personnes, triées par nom, prénom puis téléphone.
+	 *
+	 * Cette méthode est sélectionnée lorsque le paramètre {@code size} est
+	 * présent. Le paramètre {@code cursor} reprend la lecture après la page
+	 * précédente et le paramètre {@code fields} limite les champs retournés (par
+	 * exemple {@code fields=firstName,lastName,phone}).
+	 *
+	 * @param size   Le nombre de personnes par page.
+	 * @param cursor Le curseur {@code nextCursor} de la page précédente (optionnel).
+	 * @param fields La liste des champs à retourner, séparés par des virgules (optionnel).
+	 * @return Une réponse HTTP contenant la page de personnes et le curseur de la page suivante.
+	 */
+	@GetMapping(value = "/persons", params = "size")
+	public ResponseEntity<CursorPage<?>> getPersonsPage(@RequestParam int size,
+			@RequestParam(required = false) String cursor, @RequestParam(required = false) String fields) {
+		logger.debug("Entrée dans la méthode getPersonsPage() de la classe PersonController, taille : {}", size);
+		CursorPage<Person> page = personService.getPersonsPage(cursor, size);
+		if (fields == null) {
+			return ResponseEntity.ok(page);
+		}
+		return ResponseEntity.ok(FieldProjection.project(objectMapper, Person.class, page, fields));
+	}
+
 	/**
 	 * Ajoute une nouvelle personne dans la base de données.
 	 *
@@ -162,10 +216,30 @@ public class PersonController {
 		logger.debug("Appel de la méthode personService.getChildListFromAddress(address).");
 		List<String> childList = personService.getChildListFromAddress(address);
 		logger.info("La liste d'enfant a été récupérée avec succès.");
-		logger.debug("Récupération avec succès de la liste d'enfant : {}", childList);
+		logger.debug("Récupération avec succès de la liste d'enfant : {}", LogPreview.of(childList));
 		return ResponseEntity.ok(childList);
 	}
 
+	/**
+	 * Recherche approchée des personnes par prénom et nom.
+	 * 
+	 * Exemple : {@code /persons/search?name=jon boid&limit=5}. Chaque terme peut
+	 * être complet, tronqué ou mal orthographié ; les résultats sont classés du
+	 * plus pertinent au moins pertinent.
+	 *
+	 * @param name La saisie libre.
+	 * @param limit Le nombre maximal de personnes distinctes, 10 par défaut.
+	 * @return Une réponse HTTP contenant les personnes retenues.
+	 */
+	@GetMapping("/persons/search")
+	public ResponseEntity<List<Person>> searchPersons(@RequestParam String name,
+			@RequestParam(defaultValue = "10") int limit) {
+		logger.debug("Recherche approchée des personnes pour : {}", name);
+		List<Person> persons = personService.searchPersonsByName(name, limit);
+		logger.info("{} personnes trouvées pour la recherche.", persons.size());
+		return ResponseEntity.ok(persons);
+	}
+
 	/**
 	 * Récupère les informations d'une personne en fonction de son nom de famille.
 	 * 
@@ -184,7 +258,7 @@ public class PersonController {
 		logger.debug("Appel de la méthode personInfo = personService.personInfo(lastName)");
 		Map<String, Object> personInfo = personService.personInfo(lastName);
 		logger.info("La liste d'information a été récupérée avec succès.");
-		logger.debug("La liste d'nformation a été récupéré et contient : ", personInfo);
+		logger.debug("La liste d'information a été récupérée et contient : {}", LogPreview.of(personInfo.get("personInfo")));
 		return ResponseEntity.ok(personInfo);
 	}
 }
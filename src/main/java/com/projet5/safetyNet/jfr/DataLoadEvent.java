@@ -0,0 +1,27 @@
+package com.projet5.safetyNet.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Événement JFR émis à chaque lecture du fichier de données par
+ * {@code DataRepository.readFile()}. La durée couvre la lecture et la
+ * désérialisation.
+ */
+@Name("safetynet.DataLoad")
+@Label("Chargement des données")
+@Category({ "SafetyNet", "Stockage" })
+@Description("Lecture et désérialisation du fichier data.json")
+public class DataLoadEvent extends Event {
+
+	@Label("Fichier")
+	public String path;
+
+	@Label("Taille lue")
+	@DataAmount
+	public long bytes;
+}
@@ -0,0 +1,31 @@
+package com.projet5.safetyNet.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Événement JFR émis à chaque écriture du fichier de données par
+ * {@code DataRepository.writeFile()}. La durée couvre la sérialisation,
+ * l'écriture du fichier temporaire et son déplacement.
+ */
+@Name("safetynet.DataWrite")
+@Label("Écriture des données")
+@Category({ "SafetyNet", "Stockage" })
+@Description("Sérialisation et réécriture du fichier data.json")
+public class DataWriteEvent extends Event {
+
+	@Label("Fichier")
+	public String path;
+
+	@Label("Taille écrite")
+	@DataAmount
+	public long bytes;
+
+	@Label("Version")
+	@Description("Version des données après l'écriture")
+	public long version;
+}
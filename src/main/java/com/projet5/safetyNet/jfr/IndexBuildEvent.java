@@ -0,0 +1,45 @@
+package com.projet5.safetyNet.jfr;
+
+import java.util.Collection;
+import java.util.function.Consumer;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Événement JFR émis à chaque construction complète d'un index.
+ */
+@Name("safetynet.IndexBuild")
+@Label("Construction d'index")
+@Category({ "SafetyNet", "Index" })
+@Description("Indexation de tous les éléments d'un repository")
+public class IndexBuildEvent extends Event {
+
+	@Label("Index")
+	public String index;
+
+	@Label("Éléments")
+	public long entries;
+
+	/**
+	 * Ajoute tous les éléments à un index et émet l'événement correspondant.
+	 *
+	 * @param <T>   le type des éléments
+	 * @param index le nom de l'index, par exemple {@code PersonRepository.nameIndex}
+	 * @param items les éléments à indexer
+	 * @param add   l'ajout d'un élément à l'index
+	 */
+	public static <T> void build(String index, Collection<T> items, Consumer<T> add) {
+		IndexBuildEvent event = new IndexBuildEvent();
+		event.begin();
+		items.forEach(add);
+		if (event.shouldCommit()) {
+			event.index = index;
+			event.entries = items.size();
+			event.commit();
+		}
+	}
+}
@@ -0,0 +1,32 @@
+package com.projet5.safetyNet.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Événement JFR émis quand une recherche dans un index de hachage ne trouve
+ * aucun élément. L'application n'a pas de cache : l'index de hachage est la
+ * structure qui en tient lieu, et un échec de recherche y est l'équivalent d'un
+ * défaut de cache.
+ *
+ * <p>
+ * Désactivé par défaut car potentiellement fréquent ; les enregistrements
+ * démarrés par l'endpoint d'administration l'activent.
+ * </p>
+ */
+@Name("safetynet.IndexMiss")
+@Label("Recherche d'index sans résultat")
+@Category({ "SafetyNet", "Index" })
+@Description("Clé absente d'un index de hachage")
+@Enabled(false)
+@StackTrace(false)
+public class IndexMissEvent extends Event {
+
+	@Label("Clé")
+	public String key;
+}
@@ -0,0 +1,96 @@
+package com.projet5.safetyNet.jfr;
+
+import java.util.Collection;
+
+import com.projet5.safetyNet.logging.RequestProfile;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Événement JFR émis pour chaque requête de lecture d'un contrôleur.
+ *
+ * <p>
+ * L'événement est ouvert à l'entrée du contrôleur et rattaché au thread
+ * courant : chaque liste renvoyée par un repository pendant la requête est
+ * ajoutée au nombre de lignes parcourues. Le nombre de lignes renvoyées est la
+ * cardinalité du résultat ({@link RequestProfile#cardinality(Object)}). Quand JFR n'enregistre pas cet événement, aucun
+ * objet n'est rattaché au thread.
+ * </p>
+ */
+@Name("safetynet.Query")
+@Label("Requête")
+@Category({ "SafetyNet", "Requêtes" })
+@Description("Exécution d'un endpoint de lecture")
+@StackTrace(false)
+public class QueryEvent extends Event {
+
+	private static final ThreadLocal<QueryEvent> CURRENT = new ThreadLocal<>();
+
+	@Label("Endpoint")
+	public String endpoint;
+
+	@Label("Clé")
+	@Description("Paramètres de la requête")
+	public String key;
+
+	@Label("Lignes parcourues")
+	public long rowsScanned;
+
+	@Label("Lignes renvoyées")
+	public long rowsReturned;
+
+	/**
+	 * Ouvre l'événement d'une requête sur le thread courant.
+	 *
+	 * @param endpoint le chemin de l'endpoint
+	 * @param key      les paramètres de la requête
+	 * @return l'événement ouvert, ou {@code null} si JFR ne l'enregistre pas
+	 */
+	public static QueryEvent begin(String endpoint, String key) {
+		QueryEvent event = new QueryEvent();
+		if (!event.isEnabled()) {
+			return null;
+		}
+		event.endpoint = endpoint;
+		event.key = key;
+		event.begin();
+		CURRENT.set(event);
+		return event;
+	}
+
+	/**
+	 * Ajoute le résultat d'un repository aux lignes parcourues par la requête
+	 * en cours.
+	 *
+	 * @param rows le résultat du repository
+	 */
+	public static void scanned(Object rows) {
+		QueryEvent event = CURRENT.get();
+		if (event != null && rows instanceof Collection<?> collection) {
+			event.rowsScanned += collection.size();
+		}
+	}
+
+	/**
+	 * Ferme l'événement et l'émet si sa durée dépasse le seuil configuré.
+	 *
+	 * @param event  l'événement retourné par {@link #begin(String, String)}
+	 * @param result le résultat du contrôleur
+	 */
+	public static void end(QueryEvent event, Object result) {
+		if (event == null) {
+			return;
+		}
+		CURRENT.remove();
+		event.end();
+		if (event.shouldCommit()) {
+			event.rowsReturned = RequestProfile.cardinality(result);
+			event.commit();
+		}
+	}
+}
@@ -0,0 +1,107 @@
+package com.projet5.safetyNet.logging;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+
+import org.apache.logging.log4j.util.StringBuilderFormattable;
+
+/**
+ * Aperçu borné d'une valeur à journaliser.
+ *
+ * <p>
+ * Un paramètre de log qui est une collection ou une map est remplacé par sa
+ * taille et ses {@value #MAX_ITEMS} premiers éléments, et le texte produit ne
+ * dépasse jamais {@value #MAX_CHARS} caractères. Une liste de plusieurs
+ * milliers de personnes n'est donc jamais convertie en chaîne en entier.
+ * </p>
+ * <p>
+ * Le formatage n'a lieu que si le message est effectivement écrit, et se fait
+ * directement dans le tampon de Log4j ({@link StringBuilderFormattable}).
+ * </p>
+ *
+ * <pre>
+ * logger.debug("Personnes trouvées à l'adresse {} : {}", address, LogPreview.of(persons));
+ * </pre>
+ */
+public final class LogPreview implements StringBuilderFormattable {
+
+	/**
+	 * Nombre maximal d'éléments d'une collection ou d'une map affichés.
+	 */
+	public static final int MAX_ITEMS = 5;
+
+	/**
+	 * Nombre maximal de caractères produits.
+	 */
+	public static final int MAX_CHARS = 256;
+
+	private static final String ELLIPSIS = "...";
+
+	private final Object value;
+
+	private LogPreview(Object value) {
+		this.value = value;
+	}
+
+	/**
+	 * Crée l'aperçu d'une valeur.
+	 *
+	 * @param value la valeur, éventuellement une collection ou une map
+	 * @return l'aperçu, formaté à la demande
+	 */
+	public static LogPreview of(Object value) {
+		return new LogPreview(value);
+	}
+
+	@Override
+	public void formatTo(StringBuilder buffer) {
+		int limit = buffer.length() + MAX_CHARS;
+		if (value instanceof Collection<?> collection) {
+			buffer.append(collection.size()).append(" éléments [");
+			appendItems(buffer, collection.iterator(), collection.size(), limit);
+			buffer.append(']');
+		} else if (value instanceof Map<?, ?> map) {
+			buffer.append(map.size()).append(" entrées {");
+			appendItems(buffer, map.entrySet().iterator(), map.size(), limit);
+			buffer.append('}');
+		} else {
+			buffer.append(value);
+			truncate(buffer, limit);
+		}
+	}
+
+	private static void appendItems(StringBuilder buffer, Iterator<?> items, int size, int limit) {
+		int shown = 0;
+		while (items.hasNext() && shown < MAX_ITEMS && buffer.length() < limit) {
+			if (shown > 0) {
+				buffer.append(", ");
+			}
+			buffer.append(items.next());
+			shown++;
+		}
+		truncate(buffer, limit);
+		if (shown < size && !endsWithEllipsis(buffer)) {
+			buffer.append(", ").append(ELLIPSIS);
+		}
+	}
+
+	private static void truncate(StringBuilder buffer, int limit) {
+		if (buffer.length() > limit) {
+			buffer.setLength(limit - ELLIPSIS.length());
+			buffer.append(ELLIPSIS);
+		}
+	}
+
+	private static boolean endsWithEllipsis(StringBuilder buffer) {
+		int length = buffer.length();
+		return length >= ELLIPSIS.length() && buffer.lastIndexOf(ELLIPSIS) == length - ELLIPSIS.length();
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder buffer = new StringBuilder();
+		formatTo(buffer);
+		return buffer.toString();
+	}
+}
@@ -0,0 +1,128 @@
+package com.projet5.safetyNet.logging;
+
+import java.util.Collection;
+import java.util.Map;
+
+import org.springframework.http.ResponseEntity;
+
+/**
+ * Décomposition du temps d'une requête, attachée au thread qui la traite.
+ *
+ * <p>
+ * Le profil est ouvert par {@link SlowQueryFilter} pour les requêtes
+ * surveillées, puis alimenté par les points de mesure existants : l'aspect des
+ * métriques (services et repositories) et le convertisseur JSON
+ * (sérialisation). Seul l'appel le plus externe de chaque couche est compté,
+ * pour qu'un service qui en appelle un autre ne soit pas compté deux fois. Hors
+ * d'une requête surveillée, toutes les méthodes sont sans effet.
+ * </p>
+ */
+public final class RequestProfile {
+
+	/**
+	 * Couche mesurée.
+	 */
+	public enum Layer {
+		SERVICE, REPOSITORY, SERIALIZATION
+	}
+
+	private static final ThreadLocal<RequestProfile> CURRENT = new ThreadLocal<>();
+
+	private final long[] nanos = new long[Layer.values().length];
+	private final int[] depth = new int[Layer.values().length];
+	private long resultSize = -1;
+
+	private RequestProfile() {
+	}
+
+	/**
+	 * Ouvre un profil pour la requête traitée par le thread courant.
+	 *
+	 * @return le profil ouvert
+	 */
+	static RequestProfile start() {
+		RequestProfile profile = new RequestProfile();
+		CURRENT.set(profile);
+		return profile;
+	}
+
+	/**
+	 * Ferme le profil du thread courant.
+	 */
+	static void end() {
+		CURRENT.remove();
+	}
+
+	/**
+	 * Signale l'entrée dans une couche.
+	 *
+	 * @param layer la couche
+	 */
+	public static void enter(Layer layer) {
+		RequestProfile profile = CURRENT.get();
+		if (profile != null) {
+			profile.depth[layer.ordinal()]++;
+		}
+	}
+
+	/**
+	 * Signale la sortie d'une couche et ajoute la durée de l'appel s'il
+	 * s'agissait de l'appel le plus externe.
+	 *
+	 * @param layer        la couche
+	 * @param elapsedNanos la durée de l'appel en nanosecondes
+	 */
+	public static void exit(Layer layer, long elapsedNanos) {
+		RequestProfile profile = CURRENT.get();
+		if (profile != null && --profile.depth[layer.ordinal()] == 0) {
+			profile.nanos[layer.ordinal()] += elapsedNanos;
+		}
+	}
+
+	/**
+	 * Enregistre le résultat retourné par le contrôleur, pour en déduire sa
+	 * cardinalité.
+	 *
+	 * @param result le résultat, éventuellement une {@link ResponseEntity}
+	 */
+	public static void result(Object result) {
+		RequestProfile profile = CURRENT.get();
+		if (profile != null) {
+			profile.resultSize = cardinality(result);
+		}
+	}
+
+	/**
+	 * Calcule la cardinalité d'un résultat de contrôleur : taille d'une
+	 * collection, entrée {@code count} d'une map qui en contient une, sinon 1
+	 * (0 pour une réponse vide).
+	 *
+	 * @param result le résultat, éventuellement une {@link ResponseEntity}
+	 * @return le nombre d'éléments du résultat
+	 */
+	public static long cardinality(Object result) {
+		Object body = result instanceof ResponseEntity<?> entity ? entity.getBody() : result;
+		if (body instanceof Collection<?> collection) {
+			return collection.size();
+		}
+		if (body instanceof Map<?, ?> map) {
+			return map.get("count") instanceof Number count ? count.longValue() : map.size();
+		}
+		return body == null ? 0 : 1;
+	}
+
+	/**
+	 * @param layer la couche
+	 * @return le temps passé dans la couche, en nanosecondes
+	 */
+	long nanos(Layer layer) {
+		return nanos[layer.ordinal()];
+	}
+
+	/**
+	 * @return le nombre d'éléments du résultat, -1 s'il n'est pas connu
+	 */
+	long resultSize() {
+		return resultSize;
+	}
+}
@@ -0,0 +1,51 @@
+package com.projet5.safetyNet.logging;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.projet5.safetyNet.repository.DataRepository;
+
+/**
+ * Configuration du journal des requêtes lentes.
+ *
+ * <p>
+ * Le filtre {@link SlowQueryFilter} est appliqué aux endpoints d'analyse
+ * (propriété {@code safetynet.slow-query.paths}) et journalise les requêtes
+ * plus longues que {@code safetynet.slow-query.threshold}. Il n'est actif
+ * qu'avec {@code safetynet.slow-query.enabled=true}, positionné par le profil
+ * {@code prod}.
+ * </p>
+ */
+@Configuration
+@ConditionalOnProperty(name = "safetynet.slow-query.enabled", havingValue = "true")
+public class SlowQueryConfiguration {
+
+	/**
+	 * Déclare le filtre des requêtes lentes.
+	 *
+	 * @param threshold      la durée au-delà de laquelle une requête est
+	 *                       journalisée
+	 * @param paths          les chemins surveillés
+	 * @param dataRepository le repository fournissant la version des données
+	 * @param objectMapper   l'ObjectMapper de l'application
+	 * @return l'enregistrement du filtre
+	 */
+	@Bean
+	public FilterRegistrationBean<SlowQueryFilter> slowQueryFilter(
+			@Value("${safetynet.slow-query.threshold:200ms}") Duration threshold,
+			@Value("${safetynet.slow-query.paths:/fire,/flood/station,/firestation/person,/personInfolastName}") List<String> paths,
+			DataRepository dataRepository, ObjectMapper objectMapper) {
+		FilterRegistrationBean<SlowQueryFilter> registration = new FilterRegistrationBean<>(
+				new SlowQueryFilter(threshold, dataRepository::getVersion, objectMapper));
+		registration.setUrlPatterns(paths);
+		registration.setName("slowQueryFilter");
+		return registration;
+	}
+}
@@ -0,0 +1,117 @@
+package com.projet5.safetyNet.logging;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.projet5.safetyNet.logging.RequestProfile.Layer;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Filtre qui écrit une ligne JSON dans le journal des requêtes lentes quand une
+ * requête dépasse le seuil configuré.
+ *
+ * <p>
+ * La ligne contient l'URI, les paramètres, le statut, la cardinalité du
+ * résultat, la version des données, le thread et la décomposition du temps :
+ * </p>
+ * <ul>
+ * <li>{@code lookupMs} : temps passé dans les repositories ;</li>
+ * <li>{@code joinMs} : temps passé dans les services, hors repositories
+ * (filtrage, croisement des personnes et des dossiers médicaux) ;</li>
+ * <li>{@code serializeMs} : conversion JSON de la réponse ;</li>
+ * <li>{@code otherMs} : le reste (contrôleur, Spring MVC, filtres).</li>
+ * </ul>
+ * <p>
+ * Les lignes sont envoyées au logger {@value #LOGGER_NAME}, configuré dans
+ * Log4j2 comme logger asynchrone vers un fichier tournant, indépendamment du
+ * niveau des logs de l'application.
+ * </p>
+ */
+public class SlowQueryFilter extends OncePerRequestFilter {
+
+	/**
+	 * Nom du logger du journal des requêtes lentes.
+	 */
+	public static final String LOGGER_NAME = "safetynet.slowquery";
+
+	private static final Logger slowQueryLogger = LogManager.getLogger(LOGGER_NAME);
+	private static final Logger logger = LogManager.getLogger(SlowQueryFilter.class);
+
+	private final long thresholdNanos;
+	private final LongSupplier dataVersion;
+	private final ObjectMapper objectMapper;
+
+	/**
+	 * Constructeur du filtre.
+	 *
+	 * @param threshold    la durée au-delà de laquelle une requête est journalisée
+	 * @param dataVersion  la version courante des données
+	 * @param objectMapper l'ObjectMapper utilisé pour écrire les lignes JSON
+	 */
+	public SlowQueryFilter(Duration threshold, LongSupplier dataVersion, ObjectMapper objectMapper) {
+		this.thresholdNanos = threshold.toNanos();
+		this.dataVersion = dataVersion;
+		this.objectMapper = objectMapper;
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+			throws ServletException, IOException {
+		RequestProfile profile = RequestProfile.start();
+		long start = System.nanoTime();
+		try {
+			filterChain.doFilter(request, response);
+		} finally {
+			long elapsed = System.nanoTime() - start;
+			RequestProfile.end();
+			if (elapsed >= thresholdNanos) {
+				write(request, response, profile, elapsed);
+			}
+		}
+	}
+
+	private void write(HttpServletRequest request, HttpServletResponse response, RequestProfile profile,
+			long elapsed) {
+		long service = profile.nanos(Layer.SERVICE);
+		long repository = profile.nanos(Layer.REPOSITORY);
+		long serialization = profile.nanos(Layer.SERIALIZATION);
+
+		Map<String, Object> entry = new LinkedHashMap<>();
+		entry.put("timestamp", Instant.now().toString());
+		entry.put("method", request.getMethod());
+		entry.put("uri", request.getRequestURI());
+		entry.put("params", request.getParameterMap());
+		entry.put("status", response.getStatus());
+		entry.put("resultSize", profile.resultSize());
+		entry.put("dataVersion", dataVersion.getAsLong());
+		entry.put("thread", Thread.currentThread().getName());
+		entry.put("durationMs", millis(elapsed));
+		entry.put("lookupMs", millis(repository));
+		entry.put("joinMs", millis(Math.max(0, service - repository)));
+		entry.put("serializeMs", millis(serialization));
+		entry.put("otherMs", millis(Math.max(0, elapsed - service - serialization)));
+		try {
+			slowQueryLogger.warn(objectMapper.writeValueAsString(entry));
+		} catch (JsonProcessingException e) {
+			logger.error("Impossible d'écrire la requête lente {} : {}", request.getRequestURI(), e.getMessage());
+		}
+	}
+
+	private static double millis(long nanos) {
+		return Math.round(nanos / 1_000.0) / 1_000.0;
+	}
+}
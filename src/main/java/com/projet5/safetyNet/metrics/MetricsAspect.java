@@ -0,0 +1,151 @@
+package com.projet5.safetyNet.metrics;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.annotation.GetMapping;
+
+import com.projet5.safetyNet.jfr.QueryEvent;
+import com.projet5.safetyNet.logging.RequestProfile;
+import com.projet5.safetyNet.logging.RequestProfile.Layer;
+
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Aspect qui chronomètre les méthodes publiques des contrôleurs, des services
+ * et des repositories.
+ *
+ * <p>
+ * Chaque appel est enregistré dans le timer de sa couche
+ * ({@link SafetyNetMetrics#CONTROLLER}, {@link SafetyNetMetrics#SERVICE},
+ * {@link SafetyNetMetrics#REPOSITORY}) avec les tags {@code class},
+ * {@code method} et {@code exception} (nom simple de l'exception levée, ou
+ * {@code none}). Les appels imbriqués sont mesurés à chaque couche : le temps
+ * propre d'un service est la différence entre son timer et celui des
+ * repositories qu'il appelle. Pendant une requête surveillée par le journal des
+ * requêtes lentes, les durées sont aussi ajoutées au {@link RequestProfile} de
+ * la requête. Les endpoints de lecture émettent en outre un événement JFR
+ * {@link QueryEvent} : lignes renvoyées par les repositories et lignes
+ * renvoyées au client.
+ * </p>
+ * <p>
+ * Les timers sont créés au premier appel de chaque méthode, puis réutilisés.
+ * Les recherches par clé appelées une fois par ligne d'un résultat sont
+ * marquées {@link Untimed} et ne sont pas chronométrées. Seul le timer des
+ * contrôleurs publie un histogramme (voir {@code application.properties}).
+ * </p>
+ */
+@Aspect
+@Component
+public class MetricsAspect {
+
+	/**
+	 * Timers de chaque méthode chronométrée, par valeur du tag {@code exception}.
+	 */
+	private final Map<Method, Map<String, Timer>> timers = new ConcurrentHashMap<>();
+
+	/**
+	 * Chronomètre une méthode d'un contrôleur.
+	 *
+	 * @param joinPoint l'appel intercepté
+	 * @return le résultat de la méthode
+	 * @throws Throwable l'exception levée par la méthode, inchangée
+	 */
+	@Around("execution(public * *(..)) && @within(org.springframework.web.bind.annotation.RestController)")
+	public Object timeController(ProceedingJoinPoint joinPoint) throws Throwable {
+		QueryEvent event = beginQuery(joinPoint);
+		Object result = null;
+		try {
+			result = time(SafetyNetMetrics.CONTROLLER, null, joinPoint);
+			RequestProfile.result(result);
+			return result;
+		} finally {
+			QueryEvent.end(event, result);
+		}
+	}
+
+	/**
+	 * Chronomètre une méthode d'un service.
+	 *
+	 * @param joinPoint l'appel intercepté
+	 * @return le résultat de la méthode
+	 * @throws Throwable l'exception levée par la méthode, inchangée
+	 */
+	@Around("execution(public * *(..)) && @within(org.springframework.stereotype.Service)")
+	public Object timeService(ProceedingJoinPoint joinPoint) throws Throwable {
+		return time(SafetyNetMetrics.SERVICE, Layer.SERVICE, joinPoint);
+	}
+
+	/**
+	 * Chronomètre une méthode d'un repository.
+	 *
+	 * @param joinPoint l'appel intercepté
+	 * @return le résultat de la méthode
+	 * @throws Throwable l'exception levée par la méthode, inchangée
+	 */
+	@Around("execution(public * *(..)) && @within(org.springframework.stereotype.Repository)"
+			+ " && !@annotation(com.projet5.safetyNet.metrics.Untimed)")
+	public Object timeRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+		Object result = time(SafetyNetMetrics.REPOSITORY, Layer.REPOSITORY, joinPoint);
+		QueryEvent.scanned(result);
+		return result;
+	}
+
+	/**
+	 * Ouvre l'événement JFR {@link QueryEvent} d'un endpoint de lecture
+	 * ({@link GetMapping}) ; l'endpoint est le chemin déclaré et la clé les
+	 * paramètres simples (chaînes, nombres, listes).
+	 */
+	private static QueryEvent beginQuery(ProceedingJoinPoint joinPoint) {
+		if (!(joinPoint.getSignature() instanceof MethodSignature signature)) {
+			return null;
+		}
+		GetMapping mapping = signature.getMethod().getAnnotation(GetMapping.class);
+		if (mapping == null) {
+			return null;
+		}
+		String endpoint = mapping.value().length > 0 ? mapping.value()[0] : signature.getName();
+		String key = Arrays.stream(joinPoint.getArgs())
+				.filter(arg -> arg instanceof String || arg instanceof Number || arg instanceof Collection<?>)
+				.map(String::valueOf).collect(Collectors.joining(","));
+		return QueryEvent.begin(endpoint, key);
+	}
+
+	private Object time(String name, Layer layer, ProceedingJoinPoint joinPoint) throws Throwable {
+		if (layer != null) {
+			RequestProfile.enter(layer);
+		}
+		long start = System.nanoTime();
+		String exception = SafetyNetMetrics.NO_EXCEPTION;
+		try {
+			return joinPoint.proceed();
+		} catch (Throwable e) {
+			exception = e.getClass().getSimpleName();
+			throw e;
+		} finally {
+			long elapsed = System.nanoTime() - start;
+			if (layer != null) {
+				RequestProfile.exit(layer, elapsed);
+			}
+			SafetyNetMetrics.record(timer(name, joinPoint, exception), elapsed);
+		}
+	}
+
+	private Timer timer(String name, ProceedingJoinPoint joinPoint, String exception) {
+		Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+		return timers.computeIfAbsent(method, key -> new ConcurrentHashMap<>()).computeIfAbsent(exception,
+				key -> Timer.builder(name).tag("class", joinPoint.getSignature().getDeclaringType().getSimpleName())
+						.tag("method", method.getName()).tag("exception", exception)
+						.register(Metrics.globalRegistry));
+	}
+}
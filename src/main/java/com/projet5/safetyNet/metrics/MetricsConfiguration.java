@@ -0,0 +1,32 @@
+package com.projet5.safetyNet.metrics;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Configuration des métriques de l'application.
+ *
+ * <p>
+ * Remplace le convertisseur JSON de Spring MVC par
+ * {@link TimedJacksonHttpMessageConverter}, pour mesurer séparément le temps
+ * de sérialisation des réponses. Spring Boot n'ajoute pas son propre
+ * convertisseur quand celui-ci est déclaré.
+ * </p>
+ */
+@Configuration
+public class MetricsConfiguration {
+
+	/**
+	 * Déclare le convertisseur JSON chronométré.
+	 *
+	 * @param objectMapper l'ObjectMapper configuré par Spring Boot
+	 * @return le convertisseur
+	 */
+	@Bean
+	public MappingJackson2HttpMessageConverter mappingJackson2HttpMessageConverter(ObjectMapper objectMapper) {
+		return new TimedJacksonHttpMessageConverter(objectMapper);
+	}
+}
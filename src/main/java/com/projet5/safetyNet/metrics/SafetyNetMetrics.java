@@ -0,0 +1,151 @@
+package com.projet5.safetyNet.metrics;
+
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Noms et fabriques des métriques de l'application.
+ *
+ * <p>
+ * Les métriques sont enregistrées dans le registre global de Micrometer, que
+ * Spring Boot relie au registre Prometheus exposé sur
+ * {@code /actuator/prometheus}. Les classes construites hors du contexte
+ * Spring (index, DataRepository des benchmarks) peuvent donc être mesurées
+ * sans dépendance supplémentaire ; sans registre, les mesures sont ignorées.
+ * </p>
+ * <p>
+ * Chaque étape d'une requête a son propre timer, pour séparer le temps passé
+ * dans le contrôleur, le service, le repository, la recherche dans un index, la
+ * persistance et la sérialisation JSON.
+ * </p>
+ * <p>
+ * Les durées sont enregistrées par {@link #record(Timer, long)}, qui les
+ * ignore pendant le préchauffage ({@link #warmUp(Runnable)}) : les requêtes
+ * jouées au démarrage ne se mêlent pas aux mesures du trafic réel.
+ * </p>
+ */
+public final class SafetyNetMetrics {
+
+	/**
+	 * Durée des méthodes des contrôleurs, hors sérialisation de la réponse.
+	 */
+	public static final String CONTROLLER = "safetynet.controller";
+
+	/**
+	 * Durée des méthodes des services.
+	 */
+	public static final String SERVICE = "safetynet.service";
+
+	/**
+	 * Durée des méthodes des repositories, lectures et mutations, hors recherches
+	 * par clé marquées {@link Untimed}.
+	 */
+	public static final String REPOSITORY = "safetynet.repository";
+
+	/**
+	 * Durée des recherches dans les index, par type d'index.
+	 */
+	public static final String INDEX_LOOKUP = "safetynet.index.lookup";
+
+	/**
+	 * Durée des étapes de persistance du fichier de données : lecture,
+	 * désérialisation, sérialisation, écriture.
+	 */
+	public static final String PERSISTENCE = "safetynet.persistence";
+
+	/**
+	 * Durée de la conversion JSON des corps de requête et de réponse.
+	 */
+	public static final String SERIALIZATION = "safetynet.serialization";
+
+	/**
+	 * Nombre d'erreurs renvoyées au client, par type d'exception et statut HTTP.
+	 */
+	public static final String ERRORS = "safetynet.errors";
+
+	/**
+	 * Valeur du tag {@code exception} quand aucune exception n'a été levée.
+	 */
+	public static final String NO_EXCEPTION = "none";
+
+	/**
+	 * Vaut {@code true} sur le thread qui exécute le préchauffage.
+	 */
+	private static final ThreadLocal<Boolean> warmingUp = ThreadLocal.withInitial(() -> false);
+
+	private SafetyNetMetrics() {
+	}
+
+	/**
+	 * Exécute une tâche sans enregistrer ses durées : les appels faits par la
+	 * tâche sur le thread courant ne modifient aucun timer.
+	 *
+	 * @param task la tâche, en général le préchauffage des requêtes
+	 */
+	public static void warmUp(Runnable task) {
+		warmingUp.set(true);
+		try {
+			task.run();
+		} finally {
+			warmingUp.remove();
+		}
+	}
+
+	/**
+	 * Indique si le thread courant exécute le préchauffage.
+	 *
+	 * @return {@code true} pendant {@link #warmUp(Runnable)}
+	 */
+	public static boolean isWarmingUp() {
+		return warmingUp.get();
+	}
+
+	/**
+	 * Enregistre une durée dans un timer, sauf pendant le préchauffage.
+	 *
+	 * @param timer   le timer
+	 * @param elapsed la durée, en nanosecondes
+	 */
+	public static void record(Timer timer, long elapsed) {
+		if (!warmingUp.get()) {
+			timer.record(elapsed, TimeUnit.NANOSECONDS);
+		}
+	}
+
+	/**
+	 * Retourne le timer d'une étape de persistance.
+	 *
+	 * @param phase l'étape : {@code read}, {@code parse}, {@code serialize} ou
+	 *              {@code write}
+	 * @return le timer
+	 */
+	public static Timer persistence(String phase) {
+		return Timer.builder(PERSISTENCE).tag("phase", phase).register(Metrics.globalRegistry);
+	}
+
+	/**
+	 * Retourne le timer des recherches dans un type d'index. Seules les
+	 * recherches faites une fois par requête (page, plage, recherche approchée)
+	 * sont mesurées, pas les accès par clé faits en boucle.
+	 *
+	 * @param index le type d'index, par exemple {@code ordered} ou {@code zip}
+	 * @return le timer
+	 */
+	public static Timer indexLookup(String index) {
+		return Timer.builder(INDEX_LOOKUP).tag("index", index).register(Metrics.globalRegistry);
+	}
+
+	/**
+	 * Compte une erreur renvoyée au client.
+	 *
+	 * @param exception l'exception à l'origine de l'erreur
+	 * @param status    le statut HTTP renvoyé
+	 */
+	public static void countError(Throwable exception, int status) {
+		Counter.builder(ERRORS).tag("exception", exception.getClass().getSimpleName())
+				.tag("status", String.valueOf(status)).register(Metrics.globalRegistry).increment();
+	}
+}
@@ -0,0 +1,72 @@
+package com.projet5.safetyNet.metrics;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.projet5.safetyNet.logging.RequestProfile;
+import com.projet5.safetyNet.logging.RequestProfile.Layer;
+
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Convertisseur JSON de Spring MVC qui chronomètre la lecture des corps de
+ * requête et l'écriture des corps de réponse.
+ *
+ * <p>
+ * Les mesures sont enregistrées dans {@link SafetyNetMetrics#SERIALIZATION}
+ * avec les tags {@code direction} ({@code read} ou {@code write}) et
+ * {@code type} (classe de l'objet converti). L'écriture inclut l'envoi des
+ * octets dans le tampon de la réponse, et donc une partie de l'envoi réseau
+ * pour les réponses plus grandes que ce tampon.
+ * </p>
+ */
+public class TimedJacksonHttpMessageConverter extends MappingJackson2HttpMessageConverter {
+
+	/**
+	 * Constructeur du convertisseur.
+	 *
+	 * @param objectMapper l'ObjectMapper de l'application
+	 */
+	public TimedJacksonHttpMessageConverter(ObjectMapper objectMapper) {
+		super(objectMapper);
+	}
+
+	@Override
+	public Object read(Type type, Class<?> contextClass, HttpInputMessage inputMessage)
+			throws IOException, HttpMessageNotReadableException {
+		long start = System.nanoTime();
+		try {
+			return super.read(type, contextClass, inputMessage);
+		} finally {
+			SafetyNetMetrics.record(timer("read", type), System.nanoTime() - start);
+		}
+	}
+
+	@Override
+	protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage)
+			throws IOException, HttpMessageNotWritableException {
+		RequestProfile.enter(Layer.SERIALIZATION);
+		long start = System.nanoTime();
+		try {
+			super.writeInternal(object, type, outputMessage);
+		} finally {
+			long elapsed = System.nanoTime() - start;
+			RequestProfile.exit(Layer.SERIALIZATION, elapsed);
+			SafetyNetMetrics.record(timer("write", object.getClass()), elapsed);
+		}
+	}
+
+	private Timer timer(String direction, Type type) {
+		String typeName = type instanceof Class<?> clazz ? clazz.getSimpleName() : type.getTypeName();
+		return Timer.builder(SafetyNetMetrics.SERIALIZATION).tag("direction", direction).tag("type", typeName)
+				.register(Metrics.globalRegistry);
+	}
+}
@@ -0,0 +1,22 @@
+package com.projet5.safetyNet.metrics;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Exclut une méthode publique du chronométrage de {@link MetricsAspect}.
+ *
+ * <p>
+ * Réservé aux recherches par clé que les services appellent une fois par ligne
+ * d'un résultat : leur coût est de l'ordre de la mesure elle-même, et il est
+ * déjà compté dans le timer du service appelant.
+ * </p>
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface Untimed {
+}
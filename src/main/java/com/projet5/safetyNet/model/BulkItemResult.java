@@ -0,0 +1,93 @@
+package com.projet5.safetyNet.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Classe `BulkItemResult` représentant le résultat d'une opération d'un lot.
+ * 
+ * Cette classe utilise :
+ * <ul>
+ * <li>L'annotation Lombok {@link Data} pour générer automatiquement les
+ * getters, setters, toString, equals, et hashCode.</li>
+ * <li>L'annotation {@link AllArgsConstructor} pour créer un constructeur
+ * exigeant toutes les propriétés.</li>
+ * <li>Les annotations Jackson {@link JsonProperty} pour mapper les noms des
+ * champs avec une structure JSON.</li>
+ * </ul>
+ * 
+ * Les propriétés de la classe sont :
+ * <ul>
+ * <li>index : la position de l'opération dans le lot (à partir de 0).</li>
+ * <li>op : le type d'opération demandé.</li>
+ * <li>status : le résultat de l'opération.</li>
+ * <li>message : le détail de l'erreur, absent si l'opération a réussi.</li>
+ * </ul>
+ */
+@Data
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BulkItemResult {
+
+	/**
+	 * Les résultats possibles d'une opération.
+	 */
+	public enum Status {
+		/**
+		 * L'élément n'existait pas et a été ajouté.
+		 */
+		CREATED,
+		/**
+		 * L'élément existait et a été mis à jour.
+		 */
+		UPDATED,
+		/**
+		 * L'élément a été supprimé.
+		 */
+		DELETED,
+		/**
+		 * L'élément à supprimer n'existe pas.
+		 */
+		NOT_FOUND,
+		/**
+		 * L'opération est invalide (champ obligatoire manquant, type inconnu).
+		 */
+		INVALID;
+
+		/**
+		 * Indique si ce résultat correspond à une opération appliquée.
+		 *
+		 * @return {@code true} si l'opération a été appliquée
+		 */
+		public boolean isApplied() {
+			return this == CREATED || this == UPDATED || this == DELETED;
+		}
+	}
+
+	/**
+	 * La position de l'opération dans le lot.
+	 */
+	@JsonProperty("index")
+	private int index;
+
+	/**
+	 * Le type d'opération demandé.
+	 */
+	@JsonProperty("op")
+	private BulkOperation.Type op;
+
+	/**
+	 * Le résultat de l'opération.
+	 */
+	@JsonProperty("status")
+	private Status status;
+
+	/**
+	 * Le détail de l'erreur, {@code null} si l'opération a réussi.
+	 */
+	@JsonProperty("message")
+	private String message;
+}
@@ -0,0 +1,62 @@
+package com.projet5.safetyNet.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Classe `BulkOperation` représentant une opération d'un lot envoyé aux
+ * points d'entrée de traitement par lot ({@code /persons/bulk},
+ * {@code /medicalrecords/bulk}).
+ * 
+ * Cette classe utilise :
+ * <ul>
+ * <li>L'annotation Lombok {@link Data} pour générer automatiquement les
+ * getters, setters, toString, equals, et hashCode.</li>
+ * <li>L'annotation {@link AllArgsConstructor} pour créer un constructeur
+ * exigeant toutes les propriétés.</li>
+ * <li>Les annotations Jackson {@link JsonProperty} pour mapper les noms des
+ * champs avec une structure JSON.</li>
+ * </ul>
+ * 
+ * Les propriétés de la classe sont :
+ * <ul>
+ * <li>op : le type d'opération, {@code UPSERT} (ajout ou mise à jour) ou
+ * {@code DELETE} (suppression).</li>
+ * <li>data : l'élément concerné par l'opération.</li>
+ * </ul>
+ * 
+ * @param <T> le type de l'élément concerné ({@link Person} ou
+ *            {@link Medicalrecord})
+ */
+@Data
+@AllArgsConstructor
+public class BulkOperation<T> {
+
+	/**
+	 * Les types d'opérations possibles dans un lot.
+	 */
+	public enum Type {
+		/**
+		 * Ajoute l'élément, ou le met à jour s'il existe déjà.
+		 */
+		UPSERT,
+		/**
+		 * Supprime l'élément.
+		 */
+		DELETE
+	}
+
+	/**
+	 * Le type d'opération.
+	 */
+	@JsonProperty("op")
+	private Type op;
+
+	/**
+	 * L'élément concerné par l'opération.
+	 */
+	@JsonProperty("data")
+	private T data;
+}
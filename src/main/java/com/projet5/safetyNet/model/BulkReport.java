@@ -0,0 +1,69 @@
+package com.projet5.safetyNet.model;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Classe `BulkReport` représentant le compte rendu d'un traitement par lot.
+ * 
+ * Cette classe utilise :
+ * <ul>
+ * <li>L'annotation Lombok {@link Data} pour générer automatiquement les
+ * getters, setters, toString, equals, et hashCode.</li>
+ * <li>L'annotation {@link AllArgsConstructor} pour créer un constructeur
+ * exigeant toutes les propriétés.</li>
+ * <li>Les annotations Jackson {@link JsonProperty} pour mapper les noms des
+ * champs avec une structure JSON.</li>
+ * </ul>
+ * 
+ * Les propriétés de la classe sont :
+ * <ul>
+ * <li>total : le nombre d'opérations reçues.</li>
+ * <li>applied : le nombre d'opérations appliquées.</li>
+ * <li>rejected : le nombre d'opérations rejetées (invalides ou introuvables).</li>
+ * <li>results : le résultat de chaque opération, dans l'ordre du lot.</li>
+ * </ul>
+ */
+@Data
+@AllArgsConstructor
+public class BulkReport {
+
+	/**
+	 * Le nombre d'opérations reçues.
+	 */
+	@JsonProperty("total")
+	private int total;
+
+	/**
+	 * Le nombre d'opérations appliquées.
+	 */
+	@JsonProperty("applied")
+	private int applied;
+
+	/**
+	 * Le nombre d'opérations rejetées.
+	 */
+	@JsonProperty("rejected")
+	private int rejected;
+
+	/**
+	 * Le résultat de chaque opération, dans l'ordre du lot.
+	 */
+	@JsonProperty("results")
+	private List<BulkItemResult> results;
+
+	/**
+	 * Construit le compte rendu à partir des résultats de chaque opération.
+	 *
+	 * @param results les résultats, dans l'ordre du lot
+	 * @return le compte rendu
+	 */
+	public static BulkReport of(List<BulkItemResult> results) {
+		int applied = (int) results.stream().filter(result -> result.getStatus().isApplied()).count();
+		return new BulkReport(results.size(), applied, results.size() - applied, results);
+	}
+}
@@ -0,0 +1,53 @@
+package com.projet5.safetyNet.model;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Classe `CursorPage` représentant une page de résultats d'une lecture
+ * paginée par curseur.
+ *
+ * Cette classe utilise :
+ * <ul>
+ * <li>L'annotation Lombok {@link Data} pour générer automatiquement les
+ * getters, setters, toString, equals, et hashCode.</li>
+ * <li>L'annotation {@link AllArgsConstructor} pour créer un constructeur
+ * exigeant toutes les propriétés.</li>
+ * <li>Les annotations Jackson {@link JsonProperty} pour mapper les noms des
+ * champs avec une structure JSON.</li>
+ * </ul>
+ *
+ * Les propriétés de la classe sont :
+ * <ul>
+ * <li>items : les éléments de la page, triés selon une clé stable.</li>
+ * <li>nextCursor : le curseur opaque à transmettre pour obtenir la page
+ * suivante, ou {@code null} s'il s'agit de la dernière page.</li>
+ * </ul>
+ *
+ * @param <T> le type des éléments de la page
+ */
+@Data
+@AllArgsConstructor
+public class CursorPage<T> {
+
+	/**
+	 * Taille maximale d'une page.
+	 */
+	public static final int MAX_PAGE_SIZE = 1000;
+
+	/**
+	 * Les éléments de la page.
+	 */
+	@JsonProperty("items")
+	private List<T> items;
+
+	/**
+	 * Le curseur de la page suivante, {@code null} s'il n'y a plus d'éléments.
+	 */
+	@JsonProperty("nextCursor")
+	private String nextCursor;
+}
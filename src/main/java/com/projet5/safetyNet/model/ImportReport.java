@@ -0,0 +1,115 @@
+package com.projet5.safetyNet.model;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Classe `ImportReport` représentant l'avancement ou le résultat d'un import
+ * en masse.
+ *
+ * Cette classe utilise :
+ * <ul>
+ * <li>L'annotation Lombok {@link Data} pour générer automatiquement les
+ * getters, setters, toString, equals, et hashCode.</li>
+ * <li>L'annotation {@link AllArgsConstructor} pour créer un constructeur
+ * exigeant toutes les propriétés.</li>
+ * <li>Les annotations Jackson {@link JsonProperty} pour mapper les noms des
+ * champs avec une structure JSON.</li>
+ * </ul>
+ *
+ * Les propriétés de la classe sont :
+ * <ul>
+ * <li>id : l'identifiant de l'import.</li>
+ * <li>type : le type d'éléments importés (persons ou medicalrecords).</li>
+ * <li>format : le format des données (csv ou ndjson).</li>
+ * <li>status : RUNNING, COMPLETED ou FAILED.</li>
+ * <li>linesRead : le nombre de lignes de données lues.</li>
+ * <li>imported : le nombre d'éléments ajoutés.</li>
+ * <li>duplicates : le nombre d'éléments ignorés car déjà présents.</li>
+ * <li>rejected : le nombre de lignes invalides.</li>
+ * <li>batches : le nombre de lots validés.</li>
+ * <li>elapsedMillis : la durée de l'import en millisecondes.</li>
+ * <li>linesPerSecond : le débit moyen de lecture.</li>
+ * <li>errors : les premiers messages d'erreur.</li>
+ * </ul>
+ */
+@Data
+@AllArgsConstructor
+public class ImportReport {
+
+	/**
+	 * L'identifiant de l'import.
+	 */
+	@JsonProperty("id")
+	private String id;
+
+	/**
+	 * Le type d'éléments importés.
+	 */
+	@JsonProperty("type")
+	private String type;
+
+	/**
+	 * Le format des données importées.
+	 */
+	@JsonProperty("format")
+	private String format;
+
+	/**
+	 * L'état de l'import.
+	 */
+	@JsonProperty("status")
+	private String status;
+
+	/**
+	 * Le nombre de lignes de données lues.
+	 */
+	@JsonProperty("linesRead")
+	private long linesRead;
+
+	/**
+	 * Le nombre d'éléments ajoutés.
+	 */
+	@JsonProperty("imported")
+	private long imported;
+
+	/**
+	 * Le nombre d'éléments ignorés car déjà présents.
+	 */
+	@JsonProperty("duplicates")
+	private long duplicates;
+
+	/**
+	 * Le nombre de lignes invalides.
+	 */
+	@JsonProperty("rejected")
+	private long rejected;
+
+	/**
+	 * Le nombre de lots validés.
+	 */
+	@JsonProperty("batches")
+	private long batches;
+
+	/**
+	 * La durée de l'import en millisecondes.
+	 */
+	@JsonProperty("elapsedMillis")
+	private long elapsedMillis;
+
+	/**
+	 * Le débit moyen de lecture, en lignes par seconde.
+	 */
+	@JsonProperty("linesPerSecond")
+	private long linesPerSecond;
+
+	/**
+	 * Les premiers messages d'erreur.
+	 */
+	@JsonProperty("errors")
+	private List<String> errors;
+}
@@ -0,0 +1,66 @@
+package com.projet5.safetyNet.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Classe `JfrRecordingStatus` représentant l'état de l'enregistrement JFR
+ * démarré par l'endpoint d'administration.
+ *
+ * Cette classe utilise :
+ * <ul>
+ * <li>L'annotation Lombok {@link Data} pour générer automatiquement les
+ * getters, setters, toString, equals, et hashCode.</li>
+ * <li>L'annotation {@link AllArgsConstructor} pour créer un constructeur
+ * exigeant toutes les propriétés.</li>
+ * <li>Les annotations Jackson {@link JsonProperty} pour mapper les noms des
+ * champs avec une structure JSON.</li>
+ * </ul>
+ *
+ * Les propriétés de la classe sont :
+ * <ul>
+ * <li>state : NONE, RUNNING ou STOPPED (enregistrement arrêté et écrit dans
+ * son fichier).</li>
+ * <li>file : le fichier de l'enregistrement.</li>
+ * <li>startTime : la date de démarrage, au format ISO-8601.</li>
+ * <li>maxDurationSeconds : la durée au-delà de laquelle l'enregistrement
+ * s'arrête.</li>
+ * <li>maxSizeBytes : la taille maximale de l'enregistrement.</li>
+ * </ul>
+ */
+@Data
+@AllArgsConstructor
+public class JfrRecordingStatus {
+
+	/**
+	 * L'état de l'enregistrement.
+	 */
+	@JsonProperty("state")
+	private String state;
+
+	/**
+	 * Le fichier de l'enregistrement.
+	 */
+	@JsonProperty("file")
+	private String file;
+
+	/**
+	 * La date de démarrage de l'enregistrement.
+	 */
+	@JsonProperty("startTime")
+	private String startTime;
+
+	/**
+	 * La durée maximale de l'enregistrement, en secondes.
+	 */
+	@JsonProperty("maxDurationSeconds")
+	private long maxDurationSeconds;
+
+	/**
+	 * La taille maximale de l'enregistrement, en octets.
+	 */
+	@JsonProperty("maxSizeBytes")
+	private long maxSizeBytes;
+}
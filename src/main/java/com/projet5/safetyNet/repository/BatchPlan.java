@@ -0,0 +1,233 @@
+package com.projet5.safetyNet.repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import com.projet5.safetyNet.repository.index.IdIndex;
+
+/**
+ * Plan d'un lot d'écritures, préparé sans modifier ni la liste publiée ni les
+ * index du repository.
+ *
+ * <p>
+ * Les opérations du lot sont appliquées à une modification non publiée de la
+ * liste ({@link ChunkedList.Edit}) et à une copie des seules entrées touchées de
+ * l'index par clé : une opération voit le résultat des précédentes, mais les
+ * lecteurs et les index ne voient rien tant que le repository n'a pas publié le
+ * plan. Si l'écriture du fichier échoue, le plan est simplement abandonné.
+ * </p>
+ * <p>
+ * Le plan tient le bilan net du lot par rapport à l'état publié : éléments
+ * retirés, éléments remplacés avec leur remplaçant final, éléments créés. Un
+ * élément créé puis remplacé n'apparaît qu'une fois, et un élément créé puis
+ * retiré n'apparaît pas. Les index sont ainsi mis à jour une fois par élément
+ * touché, et non une fois par opération.
+ * </p>
+ *
+ * @param <T> le type des éléments
+ */
+public class BatchPlan<T> {
+
+	private final ChunkedList<T>.Edit edit;
+
+	private final Function<T, String> keyExtractor;
+
+	private final Function<String, List<T>> publishedLookup;
+
+	/**
+	 * Etat courant des clés touchées par le lot.
+	 */
+	private final Map<String, List<T>> byKey = new HashMap<>();
+
+	/**
+	 * Dernier élément vu pour chaque clé touchée, dans l'ordre où les clés ont
+	 * été touchées.
+	 */
+	private final Map<String, T> representatives = new LinkedHashMap<>();
+
+	/**
+	 * Eléments publiés retirés ou remplacés, vers leur remplaçant final, ou
+	 * {@code null} s'ils ont été retirés.
+	 */
+	private final Map<T, T> replacements = new IdentityHashMap<>();
+
+	/**
+	 * Remplaçant courant vers l'élément publié qu'il remplace.
+	 */
+	private final Map<T, T> originOf = new IdentityHashMap<>();
+
+	/**
+	 * Position de chaque élément créé dans {@link #created}.
+	 */
+	private final Map<T, Integer> createdAt = new IdentityHashMap<>();
+
+	private final List<T> created = new ArrayList<>();
+
+	/**
+	 * Constructeur du plan.
+	 *
+	 * @param edit            la modification de la liste, non publiée
+	 * @param keyExtractor    la clé de regroupement des éléments
+	 * @param publishedLookup la recherche des éléments publiés par clé, par
+	 *                        exemple un {@link com.projet5.safetyNet.repository.index.HashIndex}
+	 */
+	public BatchPlan(ChunkedList<T>.Edit edit, Function<T, String> keyExtractor,
+			Function<String, List<T>> publishedLookup) {
+		this.edit = edit;
+		this.keyExtractor = keyExtractor;
+		this.publishedLookup = publishedLookup;
+	}
+
+	/**
+	 * Retourne les éléments de même clé qu'un élément, dans l'état du lot.
+	 *
+	 * @param item l'élément dont la clé est recherchée
+	 * @return une copie des éléments de même clé, dans l'ordre de l'index
+	 */
+	public List<T> find(T item) {
+		String key = keyExtractor.apply(item);
+		List<T> current = byKey.get(key);
+		return List.copyOf(current == null ? publishedLookup.apply(key) : current);
+	}
+
+	/**
+	 * Ajoute un élément.
+	 *
+	 * @param item l'élément à ajouter
+	 */
+	public void add(T item) {
+		edit.add(item);
+		createdAt.put(item, created.size());
+		created.add(item);
+		update(item, items -> items.add(item));
+	}
+
+	/**
+	 * Remplace un élément, de même clé, en gardant sa position dans la liste et
+	 * dans l'index.
+	 *
+	 * @param previous l'élément à remplacer, publié ou créé par le lot
+	 * @param updated  le nouvel élément
+	 */
+	public void replace(T previous, T updated) {
+		edit.replace(previous, updated);
+		Integer position = createdAt.remove(previous);
+		if (position != null) {
+			created.set(position, updated);
+			createdAt.put(updated, position);
+		} else {
+			T original = Objects.requireNonNullElse(originOf.remove(previous), previous);
+			replacements.put(original, updated);
+			originOf.put(updated, original);
+		}
+		update(previous, items -> items.set(IdIndex.indexOfSame(items, previous), updated));
+	}
+
+	/**
+	 * Retire un élément.
+	 *
+	 * @param item l'élément à retirer, publié ou créé par le lot
+	 */
+	public void remove(T item) {
+		edit.remove(item);
+		Integer position = createdAt.remove(item);
+		if (position != null) {
+			created.set(position, null);
+		} else {
+			replacements.put(Objects.requireNonNullElse(originOf.remove(item), item), null);
+		}
+		update(item, items -> items.remove(IdIndex.indexOfSame(items, item)));
+	}
+
+	/**
+	 * Indique si le lot ne modifie rien.
+	 *
+	 * @return {@code true} si aucune opération n'a modifié la liste
+	 */
+	public boolean isEmpty() {
+		return byKey.isEmpty();
+	}
+
+	/**
+	 * Retourne la liste modifiée par le lot, sans la publier.
+	 *
+	 * @return un instantané de la liste modifiée
+	 */
+	public List<T> view() {
+		return edit.view();
+	}
+
+	/**
+	 * Publie la liste modifiée en une seule affectation.
+	 */
+	public void publish() {
+		edit.publish();
+	}
+
+	/**
+	 * Retourne les éléments publiés que le lot retire.
+	 *
+	 * @return les éléments retirés
+	 */
+	public List<T> removed() {
+		List<T> removed = new ArrayList<>();
+		replacements.forEach((original, updated) -> {
+			if (updated == null) {
+				removed.add(original);
+			}
+		});
+		return removed;
+	}
+
+	/**
+	 * Retourne les éléments publiés que le lot remplace, vers leur remplaçant
+	 * final.
+	 *
+	 * @return les remplacements, par identité
+	 */
+	public Map<T, T> replaced() {
+		Map<T, T> replaced = new IdentityHashMap<>();
+		replacements.forEach((original, updated) -> {
+			if (updated != null) {
+				replaced.put(original, updated);
+			}
+		});
+		return replaced;
+	}
+
+	/**
+	 * Retourne les éléments créés par le lot et toujours présents, dans l'ordre
+	 * de création.
+	 *
+	 * @return les éléments créés
+	 */
+	public List<T> created() {
+		return created.stream().filter(Objects::nonNull).toList();
+	}
+
+	/**
+	 * Retourne un élément de chaque clé touchée par le lot, dans l'ordre où les
+	 * clés ont été touchées : les index dérivés de la clé sont ainsi recalculés
+	 * une fois par clé.
+	 *
+	 * @return un élément par clé touchée
+	 */
+	public Collection<T> touched() {
+		return representatives.values();
+	}
+
+	private void update(T item, Consumer<List<T>> change) {
+		String key = keyExtractor.apply(item);
+		List<T> current = byKey.computeIfAbsent(key, k -> new ArrayList<>(publishedLookup.apply(k)));
+		change.accept(current);
+		representatives.put(key, item);
+	}
+}
@@ -0,0 +1,426 @@
+package com.projet5.safetyNet.repository;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+
+/**
+ * Liste publiée par instantanés immuables, dont les écritures ne copient qu'un
+ * bloc.
+ *
+ * <p>
+ * Les éléments sont rangés dans des blocs d'au plus {@value #CHUNK_SIZE}
+ * éléments. Un instantané ({@link #view()}) est une table de blocs jamais
+ * modifiés : les lecteurs le parcourent sans verrou, comme une
+ * {@code CopyOnWriteArrayList}, mais une écriture ne recopie que le bloc
+ * modifié et la table des blocs, soit O(taille d'un bloc + n / taille d'un
+ * bloc) au lieu de O(n). Le bloc d'un élément est retrouvé par identité, sans
+ * parcourir la liste.
+ * </p>
+ * <p>
+ * Les écritures passent par un {@link Edit}, qui prépare ses blocs à l'écart
+ * des lecteurs puis les publie en une seule affectation : un lot de
+ * modifications est visible d'un coup, et un {@code Edit} abandonné ne laisse
+ * aucune trace. Les blocs vidés par les suppressions sont gardés pour que les
+ * blocs des autres éléments ne changent pas ; la liste est recompactée quand
+ * ses blocs sont en moyenne à moitié vides. Les écritures doivent être
+ * sérialisées par l'appelant ; les éléments {@code null} ne sont pas acceptés.
+ * </p>
+ *
+ * @param <T> le type des éléments
+ */
+public class ChunkedList<T> {
+
+	/**
+	 * Nombre maximal d'éléments d'un bloc.
+	 */
+	public static final int CHUNK_SIZE = 1024;
+
+	private static final Object[] EMPTY_CHUNK = new Object[0];
+
+	/**
+	 * Bloc de chaque élément de l'instantané publié, par identité.
+	 */
+	private final Map<T, Integer> chunkOf = new IdentityHashMap<>();
+
+	private volatile Snapshot<T> published = new Snapshot<>(new Object[0][]);
+
+	/**
+	 * Remplace le contenu de la liste.
+	 *
+	 * @param items les éléments, dans l'ordre
+	 */
+	public void load(Collection<? extends T> items) {
+		publishCompacted(new ArrayList<>(items));
+	}
+
+	/**
+	 * Retourne l'instantané publié : une liste non modifiable, qu'aucune écriture
+	 * ultérieure ne modifie.
+	 *
+	 * @return l'instantané courant
+	 */
+	public List<T> view() {
+		return published;
+	}
+
+	/**
+	 * Retourne le nombre d'éléments de l'instantané publié.
+	 *
+	 * @return le nombre d'éléments
+	 */
+	public int size() {
+		return published.size();
+	}
+
+	/**
+	 * Commence une modification de la liste, publiée par {@link Edit#publish()}.
+	 *
+	 * @return la modification, vide
+	 */
+	public Edit edit() {
+		return new Edit(published);
+	}
+
+	/**
+	 * Ajoute un élément à la fin de la liste et publie un nouvel instantané.
+	 *
+	 * @param item l'élément à ajouter
+	 */
+	public void add(T item) {
+		edit().add(item).publish();
+	}
+
+	/**
+	 * Remplace un élément, recherché par identité, et publie un nouvel instantané.
+	 * Si l'élément est absent, le nouvel élément est ajouté à la fin.
+	 *
+	 * @param previous l'élément à remplacer
+	 * @param updated  le nouvel élément
+	 */
+	public void replace(T previous, T updated) {
+		edit().replace(previous, updated).publish();
+	}
+
+	/**
+	 * Retire des éléments, recherchés par identité, et publie un nouvel
+	 * instantané.
+	 *
+	 * @param items les éléments à retirer
+	 */
+	public void removeAll(Collection<? extends T> items) {
+		Edit edit = edit();
+		items.forEach(edit::remove);
+		edit.publish();
+	}
+
+	/**
+	 * Publie une liste d'éléments en blocs pleins et reconstruit la table des
+	 * blocs.
+	 */
+	private void publishCompacted(List<? extends T> items) {
+		int count = (items.size() + CHUNK_SIZE - 1) / CHUNK_SIZE;
+		Object[][] chunks = new Object[count][];
+		chunkOf.clear();
+		for (int c = 0; c < count; c++) {
+			int from = c * CHUNK_SIZE;
+			chunks[c] = items.subList(from, Math.min(items.size(), from + CHUNK_SIZE)).toArray();
+			Integer chunk = c;
+			for (Object item : chunks[c]) {
+				chunkOf.put(cast(item), chunk);
+			}
+		}
+		published = new Snapshot<>(chunks);
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <T> T cast(Object item) {
+		return (T) item;
+	}
+
+	/**
+	 * Modification de la liste préparée à l'écart des lecteurs.
+	 *
+	 * <p>
+	 * Les blocs touchés sont copiés une fois par modification ; les éléments
+	 * ajoutés, déplacés ou retirés sont notés à part et reportés dans la table des
+	 * blocs au moment de la publication. Tant qu'elle n'est pas publiée, une
+	 * modification ne change ni l'instantané publié ni la table des blocs.
+	 * </p>
+	 */
+	public final class Edit {
+
+		private final List<Object[]> chunks;
+
+		private final Map<Integer, List<Object>> copied = new HashMap<>();
+
+		private final Map<T, Integer> moved = new IdentityHashMap<>();
+
+		private final Set<T> removed = Collections.newSetFromMap(new IdentityHashMap<>());
+
+		private Snapshot<T> snapshot;
+
+		private boolean published;
+
+		private Edit(Snapshot<T> base) {
+			this.chunks = new ArrayList<>(Arrays.asList(base.chunks));
+			this.snapshot = base;
+		}
+
+		/**
+		 * Ajoute un élément à la fin de la liste.
+		 *
+		 * @param item l'élément à ajouter
+		 * @return cette modification
+		 */
+		public Edit add(T item) {
+			Objects.requireNonNull(item);
+			int last = chunks.size() - 1;
+			if (last < 0 || chunkSize(last) >= CHUNK_SIZE) {
+				chunks.add(EMPTY_CHUNK);
+				last++;
+			}
+			copy(last).add(item);
+			place(item, last);
+			return this;
+		}
+
+		/**
+		 * Ajoute des éléments à la fin de la liste.
+		 *
+		 * @param items les éléments à ajouter, dans l'ordre
+		 * @return cette modification
+		 */
+		public Edit addAll(Collection<? extends T> items) {
+			items.forEach(this::add);
+			return this;
+		}
+
+		/**
+		 * Remplace un élément, recherché par identité, en gardant sa position. Si
+		 * l'élément est absent, le nouvel élément est ajouté à la fin.
+		 *
+		 * @param previous l'élément à remplacer
+		 * @param updated  le nouvel élément
+		 * @return cette modification
+		 */
+		public Edit replace(T previous, T updated) {
+			Objects.requireNonNull(updated);
+			int chunk = locate(previous);
+			if (chunk < 0) {
+				return add(updated);
+			}
+			List<Object> items = copy(chunk);
+			items.set(indexOfSame(items, previous), updated);
+			forget(previous);
+			place(updated, chunk);
+			return this;
+		}
+
+		/**
+		 * Retire un élément, recherché par identité.
+		 *
+		 * @param item l'élément à retirer
+		 * @return {@code true} si l'élément était présent
+		 */
+		public boolean remove(T item) {
+			int chunk = locate(item);
+			if (chunk < 0) {
+				return false;
+			}
+			List<Object> items = copy(chunk);
+			items.remove(indexOfSame(items, item));
+			forget(item);
+			return true;
+		}
+
+		/**
+		 * Indique si un élément, recherché par identité, figure dans la liste
+		 * modifiée.
+		 *
+		 * @param item l'élément recherché
+		 * @return {@code true} si l'élément est présent
+		 */
+		public boolean contains(T item) {
+			return locate(item) >= 0;
+		}
+
+		/**
+		 * Retourne la liste modifiée, sans la publier. L'instantané retourné n'est
+		 * plus modifié, même si cette modification continue.
+		 *
+		 * @return un instantané de la liste modifiée
+		 */
+		public List<T> view() {
+			if (snapshot == null) {
+				Object[][] result = new Object[chunks.size()][];
+				for (int c = 0; c < result.length; c++) {
+					List<Object> items = copied.get(c);
+					result[c] = items == null ? chunks.get(c) : items.toArray();
+				}
+				snapshot = new Snapshot<>(result);
+			}
+			return snapshot;
+		}
+
+		/**
+		 * Publie la liste modifiée en une seule affectation. Une modification ne
+		 * peut être publiée qu'une fois.
+		 *
+		 * @throws IllegalStateException si la modification a déjà été publiée
+		 */
+		public void publish() {
+			if (published) {
+				throw new IllegalStateException("Modification déjà publiée.");
+			}
+			published = true;
+			Snapshot<T> result = (Snapshot<T>) view();
+			if ((long) result.chunks.length * CHUNK_SIZE > 2L * result.size() + CHUNK_SIZE) {
+				publishCompacted(result);
+				return;
+			}
+			removed.forEach(ChunkedList.this.chunkOf::remove);
+			ChunkedList.this.chunkOf.putAll(moved);
+			ChunkedList.this.published = result;
+		}
+
+		private int locate(T item) {
+			Integer chunk = moved.get(item);
+			if (chunk == null && !removed.contains(item)) {
+				chunk = ChunkedList.this.chunkOf.get(item);
+			}
+			return chunk == null ? -1 : chunk;
+		}
+
+		private void place(T item, int chunk) {
+			removed.remove(item);
+			moved.put(item, chunk);
+		}
+
+		private void forget(T item) {
+			if (moved.remove(item) == null || ChunkedList.this.chunkOf.containsKey(item)) {
+				removed.add(item);
+			}
+		}
+
+		private int chunkSize(int chunk) {
+			List<Object> items = copied.get(chunk);
+			return items == null ? chunks.get(chunk).length : items.size();
+		}
+
+		/**
+		 * Retourne la copie de travail d'un bloc, créée à la première modification.
+		 */
+		private List<Object> copy(int chunk) {
+			if (published) {
+				throw new IllegalStateException("Modification déjà publiée.");
+			}
+			snapshot = null;
+			return copied.computeIfAbsent(chunk, c -> new ArrayList<>(Arrays.asList(chunks.get(c))));
+		}
+
+		private static int indexOfSame(List<Object> items, Object item) {
+			for (int i = 0; i < items.size(); i++) {
+				if (items.get(i) == item) {
+					return i;
+				}
+			}
+			throw new IllegalStateException("Élément absent de son bloc.");
+		}
+	}
+
+	/**
+	 * Instantané immuable : une table de blocs et la position du premier élément
+	 * de chaque bloc. Un accès par position est une recherche dichotomique dans
+	 * la table, O(log(n / taille d'un bloc)).
+	 */
+	private static final class Snapshot<T> extends AbstractList<T> implements RandomAccess {
+
+		private final Object[][] chunks;
+
+		private final int[] starts;
+
+		private Snapshot(Object[][] chunks) {
+			this.chunks = chunks;
+			this.starts = new int[chunks.length + 1];
+			for (int c = 0; c < chunks.length; c++) {
+				starts[c + 1] = starts[c] + chunks[c].length;
+			}
+		}
+
+		@Override
+		public T get(int index) {
+			Objects.checkIndex(index, size());
+			int chunk = Arrays.binarySearch(starts, 0, chunks.length, index);
+			if (chunk < 0) {
+				chunk = -chunk - 2;
+			} else {
+				while (chunks[chunk].length == 0) {
+					chunk++;
+				}
+			}
+			return cast(chunks[chunk][index - starts[chunk]]);
+		}
+
+		@Override
+		public int size() {
+			return starts[chunks.length];
+		}
+
+		@Override
+		public Iterator<T> iterator() {
+			return new Iterator<>() {
+
+				private int chunk;
+
+				private int offset;
+
+				@Override
+				public boolean hasNext() {
+					while (chunk < chunks.length && offset == chunks[chunk].length) {
+						chunk++;
+						offset = 0;
+					}
+					return chunk < chunks.length;
+				}
+
+				@Override
+				public T next() {
+					if (!hasNext()) {
+						throw new NoSuchElementException();
+					}
+					return cast(chunks[chunk][offset++]);
+				}
+			};
+		}
+
+		@Override
+		public void forEach(Consumer<? super T> action) {
+			for (Object[] chunk : chunks) {
+				for (Object item : chunk) {
+					action.accept(cast(item));
+				}
+			}
+		}
+
+		@Override
+		public Spliterator<T> spliterator() {
+			return Spliterators.spliterator(iterator(), size(),
+					Spliterator.ORDERED | Spliterator.IMMUTABLE | Spliterator.NONNULL);
+		}
+	}
+}
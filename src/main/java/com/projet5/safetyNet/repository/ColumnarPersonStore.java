@@ -0,0 +1,455 @@
+package com.projet5.safetyNet.repository;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Predicate;
+
+import com.projet5.safetyNet.model.Person;
+import com.projet5.safetyNet.repository.index.IndexKeys;
+import com.projet5.safetyNet.repository.index.StringDictionary;
+
+/**
+ * Stockage des personnes par colonnes (structure de tableaux).
+ *
+ * <p>
+ * L'adresse, la ville et le code postal sont rangés dans des tableaux
+ * d'entiers, sous forme de codes du {@link StringDictionary} du magasin de
+ * données ; le prénom, le nom, le téléphone et l'email dans des tableaux de
+ * chaînes. Un filtre sur l'adresse ou la ville est une boucle sur un tableau
+ * d'entiers : le prédicat n'est évalué qu'une fois par valeur distincte
+ * rencontrée, son résultat est mémorisé par code. Les personnes sont
+ * reconstruites uniquement pour les lignes retenues.
+ * </p>
+ * <p>
+ * Les colonnes sont découpées en blocs de {@value #CHUNK_SIZE} lignes et
+ * forment un instantané immuable pour les lecteurs, qui ne prennent aucun
+ * verrou. Un ajout écrit la ligne au-delà de la taille des instantanés publiés
+ * puis publie un nouvel instantané. Une suppression marque la ligne comme
+ * morte et un remplacement la réécrit en place, dans une copie du seul bloc
+ * touché, comme {@link ChunkedList}. La ligne d'une personne est retrouvée par
+ * un index des lignes par prénom et nom, sans parcourir les colonnes. Les
+ * colonnes sont recompactées quand les lignes mortes sont plus nombreuses que
+ * les vivantes. Les écritures doivent être sérialisées par l'appelant, comme
+ * celles de {@link PersonRepository}.
+ * </p>
+ */
+public class ColumnarPersonStore {
+
+	/**
+	 * Nombre de lignes d'un bloc.
+	 */
+	public static final int CHUNK_SIZE = 1024;
+
+	private static final int NO_CODE = -1;
+
+	private static final int[] NO_ROW = new int[0];
+
+	/**
+	 * Bloc de lignes. Un bloc publié n'est plus modifié, sauf au-delà de la
+	 * taille publiée, par les ajouts.
+	 */
+	private record Chunk(int[] address, int[] city, int[] zip, String[] firstName, String[] lastName,
+			String[] phone, String[] email, boolean[] dead) {
+
+		static Chunk empty() {
+			return new Chunk(new int[CHUNK_SIZE], new int[CHUNK_SIZE], new int[CHUNK_SIZE], new String[CHUNK_SIZE],
+					new String[CHUNK_SIZE], new String[CHUNK_SIZE], new String[CHUNK_SIZE], new boolean[CHUNK_SIZE]);
+		}
+
+		Chunk copy() {
+			return new Chunk(address.clone(), city.clone(), zip.clone(), firstName.clone(), lastName.clone(),
+					phone.clone(), email.clone(), dead.clone());
+		}
+	}
+
+	/**
+	 * Instantané des colonnes : seules les {@code size} premières lignes sont
+	 * valides, dont {@code dead} sont mortes.
+	 */
+	private record Columns(Chunk[] chunks, int size, int dead) {
+	}
+
+	private final StringDictionary dictionary;
+
+	private volatile Columns columns = new Columns(new Chunk[0], 0, 0);
+
+	/**
+	 * Lignes vivantes de chaque clé {@link IndexKeys} de prénom et nom, en ordre
+	 * croissant. Lu et modifié par les seules écritures.
+	 */
+	private final Map<String, int[]> rowsByName = new HashMap<>();
+
+	/**
+	 * Constructeur du stockage.
+	 *
+	 * @param dictionary le dictionnaire du magasin de données, qui fournit les
+	 *                   codes des adresses, villes et codes postaux
+	 */
+	public ColumnarPersonStore(StringDictionary dictionary) {
+		this.dictionary = dictionary;
+	}
+
+	/**
+	 * Remplace le contenu du stockage.
+	 *
+	 * @param persons les personnes à stocker
+	 */
+	public void load(List<Person> persons) {
+		rowsByName.clear();
+		columns = append(new Columns(new Chunk[0], 0, 0), persons);
+	}
+
+	/**
+	 * Ajoute une personne à la fin du stockage.
+	 *
+	 * @param person la personne à ajouter
+	 */
+	public void add(Person person) {
+		addAll(List.of(person));
+	}
+
+	/**
+	 * Ajoute plusieurs personnes en une seule publication.
+	 *
+	 * @param persons les personnes à ajouter
+	 */
+	public void addAll(List<Person> persons) {
+		columns = append(columns, persons);
+	}
+
+	/**
+	 * Retire la première ligne égale à une personne.
+	 *
+	 * @param person la personne à retirer
+	 * @return {@code true} si une ligne a été retirée
+	 */
+	public boolean remove(Person person) {
+		return apply(List.of(person), Map.of(), List.of()) > 0;
+	}
+
+	/**
+	 * Remplace la première ligne égale à une personne, ou ajoute la nouvelle
+	 * personne si aucune ligne ne correspond.
+	 *
+	 * @param previous la personne à remplacer
+	 * @param updated  la nouvelle personne
+	 */
+	public void replace(Person previous, Person updated) {
+		apply(List.of(), Map.of(previous, updated), List.of());
+	}
+
+	/**
+	 * Applique le bilan net d'un lot en une seule publication : chaque bloc
+	 * touché n'est copié qu'une fois.
+	 *
+	 * @param removed  les personnes retirées
+	 * @param replaced les personnes remplacées, vers leur remplaçant ; un
+	 *                 remplaçant sans ligne à remplacer est ajouté
+	 * @param created  les personnes ajoutées
+	 * @return le nombre de lignes retirées
+	 */
+	public int apply(Collection<Person> removed, Map<Person, Person> replaced, List<Person> created) {
+		Columns current = columns;
+		Chunk[] chunks = current.chunks().clone();
+		boolean[] copied = new boolean[chunks.length];
+		int removedRows = 0;
+		List<Person> appended = new ArrayList<>(created.size());
+		for (Person person : removed) {
+			int row = take(chunks, person);
+			if (row >= 0) {
+				Chunk chunk = writable(chunks, copied, row);
+				int offset = row % CHUNK_SIZE;
+				chunk.dead()[offset] = true;
+				chunk.firstName()[offset] = null;
+				chunk.lastName()[offset] = null;
+				chunk.phone()[offset] = null;
+				chunk.email()[offset] = null;
+				removedRows++;
+			}
+		}
+		for (Map.Entry<Person, Person> replacement : replaced.entrySet()) {
+			int row = take(chunks, replacement.getKey());
+			if (row < 0) {
+				appended.add(replacement.getValue());
+			} else {
+				write(writable(chunks, copied, row), row % CHUNK_SIZE, replacement.getValue());
+				index(replacement.getValue(), row);
+			}
+		}
+		appended.addAll(created);
+		Columns updated = append(new Columns(chunks, current.size(), current.dead() + removedRows), appended);
+		columns = updated.dead() > CHUNK_SIZE && updated.dead() * 2 > updated.size() ? compact(updated) : updated;
+		return removedRows;
+	}
+
+	/**
+	 * Retourne le nombre de personnes stockées.
+	 *
+	 * @return le nombre de lignes vivantes
+	 */
+	public int size() {
+		Columns current = columns;
+		return current.size() - current.dead();
+	}
+
+	/**
+	 * Reconstruit toutes les personnes, dans l'ordre des lignes.
+	 *
+	 * @return une nouvelle liste de personnes
+	 */
+	public List<Person> toList() {
+		Columns current = columns;
+		List<Person> persons = new ArrayList<>(current.size() - current.dead());
+		for (int row = 0; row < current.size(); row++) {
+			Chunk chunk = current.chunks()[row / CHUNK_SIZE];
+			if (!chunk.dead()[row % CHUNK_SIZE]) {
+				persons.add(person(chunk, row % CHUNK_SIZE));
+			}
+		}
+		return persons;
+	}
+
+	/**
+	 * Retourne les personnes dont l'adresse vérifie un prédicat.
+	 *
+	 * @param addressFilter le prédicat sur l'adresse, évalué une fois par
+	 *                      adresse distincte
+	 * @return les personnes retenues, dans l'ordre des lignes
+	 */
+	public List<Person> findByAddress(Predicate<String> addressFilter) {
+		Columns current = columns;
+		CodeMemo memo = new CodeMemo();
+		List<Person> persons = new ArrayList<>();
+		for (int row = 0; row < current.size(); row++) {
+			Chunk chunk = current.chunks()[row / CHUNK_SIZE];
+			int offset = row % CHUNK_SIZE;
+			if (!chunk.dead()[offset] && matches(chunk.address()[offset], addressFilter, memo)) {
+				persons.add(person(chunk, offset));
+			}
+		}
+		return persons;
+	}
+
+	/**
+	 * Retourne les emails des personnes dont la ville vérifie un prédicat.
+	 *
+	 * @param cityFilter le prédicat sur la ville, évalué une fois par ville
+	 *                   distincte
+	 * @return les emails retenus, dans l'ordre des lignes
+	 */
+	public List<String> findEmailsByCity(Predicate<String> cityFilter) {
+		Columns current = columns;
+		CodeMemo memo = new CodeMemo();
+		List<String> emails = new ArrayList<>();
+		for (int row = 0; row < current.size(); row++) {
+			Chunk chunk = current.chunks()[row / CHUNK_SIZE];
+			int offset = row % CHUNK_SIZE;
+			if (!chunk.dead()[offset] && matches(chunk.city()[offset], cityFilter, memo)) {
+				emails.add(chunk.email()[offset]);
+			}
+		}
+		return emails;
+	}
+
+	/**
+	 * Évalue le prédicat pour un code, en mémorisant le résultat.
+	 */
+	private boolean matches(int code, Predicate<String> filter, CodeMemo memo) {
+		if (code == NO_CODE) {
+			return false;
+		}
+		byte known = memo.get(code);
+		if (known == CodeMemo.UNKNOWN) {
+			known = filter.test(dictionary.value(code)) ? CodeMemo.MATCH : CodeMemo.NO_MATCH;
+			memo.put(code, known);
+		}
+		return known == CodeMemo.MATCH;
+	}
+
+	/**
+	 * Ecrit des personnes après les lignes d'un instantané, dans son dernier
+	 * bloc puis dans de nouveaux blocs, et retourne l'instantané agrandi. Les
+	 * lignes écrites sont au-delà de la taille publiée : aucun lecteur ne les
+	 * voit avant la publication.
+	 */
+	private Columns append(Columns target, List<Person> persons) {
+		Chunk[] chunks = target.chunks();
+		int required = (target.size() + persons.size() + CHUNK_SIZE - 1) / CHUNK_SIZE;
+		if (required > chunks.length) {
+			chunks = Arrays.copyOf(chunks, required);
+			for (int i = target.chunks().length; i < required; i++) {
+				chunks[i] = Chunk.empty();
+			}
+		}
+		int row = target.size();
+		for (Person person : persons) {
+			write(chunks[row / CHUNK_SIZE], row % CHUNK_SIZE, person);
+			index(person, row++);
+		}
+		return new Columns(chunks, row, target.dead());
+	}
+
+	/**
+	 * Recopie les seules lignes vivantes dans de nouveaux blocs et reconstruit
+	 * l'index des lignes.
+	 */
+	private Columns compact(Columns source) {
+		List<Person> live = new ArrayList<>(source.size() - source.dead());
+		for (int row = 0; row < source.size(); row++) {
+			Chunk chunk = source.chunks()[row / CHUNK_SIZE];
+			if (!chunk.dead()[row % CHUNK_SIZE]) {
+				live.add(person(chunk, row % CHUNK_SIZE));
+			}
+		}
+		rowsByName.clear();
+		return append(new Columns(new Chunk[0], 0, 0), live);
+	}
+
+	/**
+	 * Retourne le bloc d'une ligne, copié au premier accès du lot.
+	 */
+	private static Chunk writable(Chunk[] chunks, boolean[] copied, int row) {
+		int chunk = row / CHUNK_SIZE;
+		if (!copied[chunk]) {
+			chunks[chunk] = chunks[chunk].copy();
+			copied[chunk] = true;
+		}
+		return chunks[chunk];
+	}
+
+	/**
+	 * Retire de l'index la première ligne vivante égale à une personne et
+	 * retourne sa position, ou {@code -1}.
+	 */
+	private int take(Chunk[] chunks, Person person) {
+		String key = IndexKeys.key(person.getFirstName(), person.getLastName());
+		int[] rows = rowsByName.getOrDefault(key, NO_ROW);
+		for (int i = 0; i < rows.length; i++) {
+			if (sameRow(chunks[rows[i] / CHUNK_SIZE], rows[i] % CHUNK_SIZE, person)) {
+				int row = rows[i];
+				int[] remaining = new int[rows.length - 1];
+				System.arraycopy(rows, 0, remaining, 0, i);
+				System.arraycopy(rows, i + 1, remaining, i, rows.length - i - 1);
+				if (remaining.length == 0) {
+					rowsByName.remove(key);
+				} else {
+					rowsByName.put(key, remaining);
+				}
+				return row;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Ajoute une ligne à l'index, en gardant les lignes de chaque clé triées.
+	 */
+	private void index(Person person, int row) {
+		String key = IndexKeys.key(person.getFirstName(), person.getLastName());
+		int[] rows = rowsByName.getOrDefault(key, NO_ROW);
+		int position = Arrays.binarySearch(rows, row);
+		int insertion = position < 0 ? -position - 1 : position;
+		int[] updated = new int[rows.length + 1];
+		System.arraycopy(rows, 0, updated, 0, insertion);
+		updated[insertion] = row;
+		System.arraycopy(rows, insertion, updated, insertion + 1, rows.length - insertion);
+		rowsByName.put(key, updated);
+	}
+
+	private boolean sameRow(Chunk chunk, int offset, Person person) {
+		return !chunk.dead()[offset] && sameCode(chunk.address()[offset], person.getAddress())
+				&& sameCode(chunk.city()[offset], person.getCity()) && sameCode(chunk.zip()[offset], person.getZip())
+				&& Objects.equals(chunk.firstName()[offset], person.getFirstName())
+				&& Objects.equals(chunk.lastName()[offset], person.getLastName())
+				&& Objects.equals(chunk.phone()[offset], person.getPhone())
+				&& Objects.equals(chunk.email()[offset], person.getEmail());
+	}
+
+	private void write(Chunk target, int offset, Person person) {
+		target.address()[offset] = code(person.getAddress());
+		target.city()[offset] = code(person.getCity());
+		target.zip()[offset] = code(person.getZip());
+		target.firstName()[offset] = person.getFirstName();
+		target.lastName()[offset] = person.getLastName();
+		target.phone()[offset] = person.getPhone();
+		target.email()[offset] = person.getEmail();
+		target.dead()[offset] = false;
+	}
+
+	private int code(String value) {
+		return value == null ? NO_CODE : dictionary.code(value);
+	}
+
+	private boolean sameCode(int code, String value) {
+		return value == null ? code == NO_CODE : code != NO_CODE && code == dictionary.find(value);
+	}
+
+	private String value(int code) {
+		return code == NO_CODE ? null : dictionary.value(code);
+	}
+
+	private Person person(Chunk source, int offset) {
+		return new Person(source.firstName()[offset], source.lastName()[offset], value(source.address()[offset]),
+				value(source.city()[offset]), value(source.zip()[offset]), source.phone()[offset],
+				source.email()[offset]);
+	}
+
+	/**
+	 * Résultats d'un prédicat par code, en adressage ouvert : la table ne
+	 * grandit qu'avec les codes distincts rencontrés par la requête, et non avec
+	 * la taille du dictionnaire.
+	 */
+	private static final class CodeMemo {
+
+		private static final byte UNKNOWN = 0;
+		private static final byte MATCH = 1;
+		private static final byte NO_MATCH = 2;
+
+		private int[] codes = new int[16];
+
+		private byte[] results = new byte[16];
+
+		private int size;
+
+		private byte get(int code) {
+			int mask = codes.length - 1;
+			for (int slot = mix(code) & mask;; slot = (slot + 1) & mask) {
+				if (results[slot] == UNKNOWN || codes[slot] == code) {
+					return results[slot];
+				}
+			}
+		}
+
+		private void put(int code, byte result) {
+			if (2 * (size + 1) > codes.length) {
+				int[] previousCodes = codes;
+				byte[] previousResults = results;
+				codes = new int[previousCodes.length * 2];
+				results = new byte[previousCodes.length * 2];
+				size = 0;
+				for (int i = 0; i < previousCodes.length; i++) {
+					if (previousResults[i] != UNKNOWN) {
+						put(previousCodes[i], previousResults[i]);
+					}
+				}
+			}
+			int mask = codes.length - 1;
+			int slot = mix(code) & mask;
+			while (results[slot] != UNKNOWN) {
+				slot = (slot + 1) & mask;
+			}
+			codes[slot] = code;
+			results[slot] = result;
+			size++;
+		}
+
+		private static int mix(int code) {
+			return code * 0x9E3779B9;
+		}
+	}
+}
@@ -1,15 +1,31 @@
 package com.projet5.safetyNet.repository;
 
 import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Repository;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.projet5.safetyNet.jfr.DataLoadEvent;
+import com.projet5.safetyNet.jfr.DataWriteEvent;
+import com.projet5.safetyNet.metrics.SafetyNetMetrics;
 import com.projet5.safetyNet.model.DataModel;
+import com.projet5.safetyNet.repository.index.AddressIndex;
+import com.projet5.safetyNet.repository.index.PersonBitmapIndex;
+import com.projet5.safetyNet.repository.index.StringDictionary;
+import com.projet5.safetyNet.repository.index.SurrogateIds;
+
+import io.micrometer.core.instrument.Timer;
 
 /**
  * Classe Repository pour gérer les opérations de lecture et d'écriture du
@@ -25,21 +41,76 @@ import com.projet5.safetyNet.model.DataModel;
 public class DataRepository {
 
 	/**
-	 * Le chemin de la ressource qu'il faut lire et sur laquelle il faut écrire.
+	 * Le chemin par défaut de la ressource qu'il faut lire et sur laquelle il faut
+	 * écrire.
 	 */
-	private static final String FILE_PATH = "src/main/resources/data.json";
+	public static final String DEFAULT_FILE_PATH = "src/main/resources/data.json";
+
+	/**
+	 * Le chemin de la ressource qu'il faut lire et sur laquelle il faut écrire,
+	 * configurable par la propriété {@code safetynet.data-file}.
+	 */
+	private final String filePath;
 
 	private final ObjectMapper objectMapper;
 
+	/**
+	 * Nombre d'écritures réussies du fichier depuis le démarrage.
+	 */
+	private final AtomicLong version = new AtomicLong();
+
+	/**
+	 * Dictionnaire des valeurs répétées des données, partagé par les
+	 * repositories.
+	 */
+	private final StringDictionary dictionary = new StringDictionary();
+
+	/**
+	 * Identifiants entiers internes des personnes et des adresses, partagés par
+	 * les repositories pour leurs jointures.
+	 */
+	private final SurrogateIds ids = new SurrogateIds();
+
+	/**
+	 * Index bitmap des personnes par station et par critère démographique, tenu à
+	 * jour par les trois repositories.
+	 */
+	private final PersonBitmapIndex bitmaps = new PersonBitmapIndex();
+
+	/**
+	 * Index de résolution des adresses saisies librement, alimenté par les
+	 * adresses des personnes et des casernes.
+	 */
+	private final AddressIndex addresses = new AddressIndex();
+
 	private static final Logger logger = LogManager.getLogger(DataRepository.class);
 
+	private static final Timer readTimer = SafetyNetMetrics.persistence("read");
+	private static final Timer parseTimer = SafetyNetMetrics.persistence("parse");
+	private static final Timer serializeTimer = SafetyNetMetrics.persistence("serialize");
+	private static final Timer writeTimer = SafetyNetMetrics.persistence("write");
+
 	/**
 	 * Constructeur de DataRepository qui initialise l'ObjectMapper.
 	 * 
 	 * @param objectMapper L'ObjectMapper utilisé pour la conversion JSON
 	 */
 	public DataRepository(ObjectMapper objectMapper) {
+		this(objectMapper, DEFAULT_FILE_PATH);
+	}
+
+	/**
+	 * Constructeur de DataRepository qui initialise l'ObjectMapper et le chemin du
+	 * fichier de données.
+	 * 
+	 * @param objectMapper L'ObjectMapper utilisé pour la conversion JSON
+	 * @param filePath     Le chemin du fichier de données
+	 */
+	@Autowired
+	public DataRepository(ObjectMapper objectMapper,
+			@Value("${safetynet.data-file:" + DEFAULT_FILE_PATH + "}") String filePath) {
 		this.objectMapper = objectMapper;
+		this.filePath = filePath;
 		logger.info("DataRepository initialisé avec succès.");
 	}
 
@@ -47,8 +118,11 @@ public class DataRepository {
 	 * Lit le fichier JSON depuis un emplacement spécifié et le convertit en un
 	 * objet DataModel.
 	 * <p>
-	 * Cette méthode utilise le chemin de fichier défini dans {@link #FILE_PATH}
-	 * pour lire un fichier JSON et le désérialiser en un objet DataModel.
+	 * Cette méthode utilise le chemin de fichier défini dans {@link #filePath}
+	 * pour lire un fichier JSON et le désérialiser en un objet DataModel. La
+	 * lecture et la désérialisation sont mesurées séparément (métrique
+	 * {@code safetynet.persistence}, phases {@code read} et {@code parse}) ;
+	 * l'ensemble émet un événement JFR {@link DataLoadEvent}.
 	 * </p>
 	 * 
 	 * @return Un objet {@link DataModel} représentant le contenu du fichier JSON.
@@ -56,40 +130,170 @@ public class DataRepository {
 	 *                          fichier.
 	 */
 	public DataModel readFile() {
+		DataLoadEvent event = new DataLoadEvent();
+		event.begin();
 		try {
-			String contenuFichier = Files.readString(Paths.get(FILE_PATH));
+			long start = System.nanoTime();
+			byte[] contenuFichier = Files.readAllBytes(Paths.get(filePath));
+			event.bytes = contenuFichier.length;
+			SafetyNetMetrics.record(readTimer, System.nanoTime() - start);
 			logger.info("Lecture du fichier JSON réussie");
-			logger.debug("Lecture du fichier JSON réussie à l'emplacement : " + FILE_PATH);
-			return objectMapper.readValue(contenuFichier, DataModel.class);
+			logger.debug("Lecture du fichier JSON réussie à l'emplacement : {}", filePath);
+			start = System.nanoTime();
+			DataModel dataModel = objectMapper.readValue(contenuFichier, DataModel.class);
+			SafetyNetMetrics.record(parseTimer, System.nanoTime() - start);
+			event.path = filePath;
+			event.commit();
+			return dataModel;
 		} catch (IOException e) {
-			logger.error("Erreur lors de la lecture du fichier JSON à l'emplacement : " + FILE_PATH, e);
+			logger.error("Erreur lors de la lecture du fichier JSON à l'emplacement : {}", filePath, e);
 			throw new RuntimeException("Erreur lors de la lecture du fichier JSON", e);
 		}
 	}
 
+	/**
+	 * Écrit un lot non publié, puis le valide sans qu'aucune autre écriture ne
+	 * puisse s'intercaler.
+	 * <p>
+	 * Le fichier est écrit depuis une copie du modèle partagé, lue sous le verrou
+	 * des écritures, dont {@code pending} remplace la liste modifiée par le lot :
+	 * le modèle partagé ne contient jamais que des listes validées, si bien
+	 * qu'une écriture concurrente d'un autre repository ne peut pas enregistrer
+	 * un lot dont l'écriture échoue. {@code commit} publie le lot et met à jour le
+	 * modèle partagé sous le même verrou, après l'écriture réussie : l'écriture
+	 * suivante part du lot validé. Si l'écriture échoue, {@code commit} n'est pas
+	 * appelé et l'exception est propagée.
+	 * </p>
+	 * 
+	 * @param dataModel Le modèle partagé, qui n'est pas modifié par l'écriture.
+	 * @param pending   Le remplacement, dans la copie, de la liste modifiée par le lot.
+	 * @param commit    La publication du lot, appelée après l'écriture réussie.
+	 * @throws RuntimeException Si une erreur survient lors de l'écriture.
+	 */
+	public synchronized void writeBatch(DataModel dataModel, Consumer<DataModel> pending, Runnable commit) {
+		DataModel copy = new DataModel();
+		copy.setPersonsList(dataModel.getPersonsList());
+		copy.setFireStations(dataModel.getFireStations());
+		copy.setMedicalrecords(dataModel.getMedicalrecords());
+		pending.accept(copy);
+		writeFile(copy);
+		commit.run();
+	}
+
 	/**
 	 * Écrit un objet DataModel dans le fichier JSON.
 	 * <p>
 	 * Cette méthode remplace le contenu du fichier existant avec les données
 	 * passées en argument. Le fichier est écrit à l'emplacement spécifié par
-	 * {@link #FILE_PATH}.
+	 * {@link #filePath}.
+	 * </p>
+	 * <p>
+	 * Les données sont d'abord écrites dans un fichier temporaire du même
+	 * répertoire, qui remplace ensuite le fichier existant par un déplacement
+	 * atomique : une copie du fichier faite pendant l'écriture (sauvegarde) voit
+	 * soit l'ancien contenu, soit le nouveau, jamais un fichier partiel. Les
+	 * écritures concurrentes sont sérialisées. La sérialisation et l'écriture sont
+	 * mesurées séparément (métrique {@code safetynet.persistence}, phases
+	 * {@code serialize} et {@code write}) ; l'ensemble émet un événement JFR
+	 * {@link DataWriteEvent}.
 	 * </p>
 	 * 
 	 * @param updatedData L'objet {@link DataModel} à écrire dans le fichier.
 	 * @throws RuntimeException Si une erreur survient lors de l'écriture (problème
 	 *                          de permission, erreur de format, etc.).
 	 */
-	public void writeFile(DataModel updatedData) {
+	public synchronized void writeFile(DataModel updatedData) {
+		DataWriteEvent event = new DataWriteEvent();
+		event.begin();
 		try {
+			long start = System.nanoTime();
 			String jsonContent = objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(updatedData);
-			Files.write(Paths.get(FILE_PATH), jsonContent.getBytes());
+			SafetyNetMetrics.record(serializeTimer, System.nanoTime() - start);
+			start = System.nanoTime();
+			Path target = Paths.get(filePath);
+			Path temporary = Files.createTempFile(target.toAbsolutePath().getParent(), "data", ".json.tmp");
+			try {
+				byte[] bytes = jsonContent.getBytes();
+				Files.write(temporary, bytes);
+				event.bytes = bytes.length;
+				moveReplacing(temporary, target);
+			} finally {
+				Files.deleteIfExists(temporary);
+			}
+			SafetyNetMetrics.record(writeTimer, System.nanoTime() - start);
+			event.version = version.incrementAndGet();
+			event.path = filePath;
+			event.commit();
 			logger.info("Données écrites avec succès dans le fichier JSON");
-			logger.debug("Données écrites avec succès dans le fichier JSON à l'emplacement : " + FILE_PATH);
-			logger.debug("Le contenu de updateData {}. Le contenu de jsonContent : {}", updatedData, jsonContent);
+			logger.debug("{} caractères écrits dans le fichier JSON à l'emplacement : {}", jsonContent.length(), filePath);
 		} catch (IOException e) {
-			logger.error("Erreur lors de l'écriture dans le fichier JSON à l'emplacement : " + FILE_PATH, e);
-			throw new RuntimeException("Erreur lors de l'écriture dans le fichier JSON à l'emplacement : " + FILE_PATH,
+			logger.error("Erreur lors de l'écriture dans le fichier JSON à l'emplacement : {}", filePath, e);
+			throw new RuntimeException("Erreur lors de l'écriture dans le fichier JSON à l'emplacement : " + filePath,
 					e);
 		}
 	}
+
+	/**
+	 * Retourne la version des données persistées : le nombre d'écritures réussies
+	 * du fichier depuis le démarrage de l'application.
+	 * 
+	 * @return la version des données, 0 tant que le fichier n'a pas été réécrit
+	 */
+	public long getVersion() {
+		return version.get();
+	}
+
+	/**
+	 * Retourne le dictionnaire des valeurs répétées des données (villes, codes
+	 * postaux, adresses, stations, médicaments, allergies). Les repositories y
+	 * font passer chaque élément chargé ou ajouté.
+	 * 
+	 * @return le dictionnaire du magasin de données
+	 */
+	public StringDictionary getDictionary() {
+		return dictionary;
+	}
+
+	/**
+	 * Retourne les identifiants entiers internes des personnes et des adresses.
+	 * Une personne et son dossier médical y partagent le même identifiant.
+	 * 
+	 * @return les identifiants du magasin de données
+	 */
+	public SurrogateIds getIds() {
+		return ids;
+	}
+
+	/**
+	 * Retourne l'index bitmap des personnes, indexé par les identifiants de
+	 * {@link #getIds()}.
+	 * 
+	 * @return l'index bitmap du magasin de données
+	 */
+	public PersonBitmapIndex getBitmaps() {
+		return bitmaps;
+	}
+
+	/**
+	 * Retourne l'index de résolution des adresses saisies librement vers les
+	 * adresses connues des personnes et des casernes.
+	 * 
+	 * @return l'index des adresses du magasin de données
+	 */
+	public AddressIndex getAddresses() {
+		return addresses;
+	}
+
+	/**
+	 * Remplace le fichier cible par le fichier source, de manière atomique si le
+	 * système de fichiers le permet.
+	 */
+	private static void moveReplacing(Path source, Path target) throws IOException {
+		try {
+			Files.move(source, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} catch (AtomicMoveNotSupportedException e) {
+			logger.warn("Déplacement atomique non supporté, remplacement simple du fichier.");
+			Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+		}
+	}
 }
@@ -2,12 +2,21 @@ package com.projet5.safetyNet.repository;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.springframework.stereotype.Repository;
+import com.projet5.safetyNet.jfr.IndexBuildEvent;
+import com.projet5.safetyNet.metrics.Untimed;
+import com.projet5.safetyNet.model.CursorPage;
 import com.projet5.safetyNet.model.DataModel;
 import com.projet5.safetyNet.model.Firestation;
+import com.projet5.safetyNet.repository.index.IdIndex;
+import com.projet5.safetyNet.repository.index.IndexKeys;
+import com.projet5.safetyNet.repository.index.OrderedIndex;
+import com.projet5.safetyNet.repository.index.StringDictionary;
+import com.projet5.safetyNet.repository.index.SurrogateIds;
 
 /**
  * Class Repository pour gérer les opérations liées aux casernes de pompiers
@@ -33,32 +42,103 @@ public class FirestationRepository {
 	private static final Logger logger = LogManager.getLogger(FirestationRepository.class);
 
 	private final DataRepository dataRepository;
-	private final DataModel dataModel;
-	private List<Firestation> firestationList;
+	private volatile DataModel dataModel;
+	private volatile List<Firestation> firestationList;
+
+	/**
+	 * Index trié des casernes par numéro de station puis adresse, utilisé pour la
+	 * pagination par curseur.
+	 */
+	private final OrderedIndex<Firestation> firestationIndex = new OrderedIndex<>(
+			FirestationRepository::firestationKey);
+
+	/**
+	 * Index des casernes par identifiant d'adresse ({@link SurrogateIds}), utilisé
+	 * pour retrouver les casernes d'une adresse sans parcourir la liste.
+	 */
+	private final IdIndex<Firestation> addressIndex;
 
 	/**
 	 * Constructeur de la classe {@link FirestationRepository}
 	 * <p>
-	 * Ce constructeur initialise les données à partir du fichier JSON via le
-	 * DataRepository.
-	 * </p>
-	 * <p>
-	 * La méthode {@link DataRepository#readFile()} est appelée pour lire les
-	 * données et initialiser l'objet {@link DataModel}, qui contient la liste des
-	 * casernes à manipuler.
+	 * Le repository est vide tant que {@link #load(DataModel)} n'a pas été appelé :
+	 * les données sont chargées en arrière-plan par
+	 * {@link com.projet5.safetyNet.startup.DataStoreLoader}.
 	 * </p>
 	 * 
-	 * @param dataRepository le repository utilisé pour lire et écrire les données.
-	 *                       Il est injecté au moment de l'instanciation de la
-	 *                       classe.
+	 * @param dataRepository le repository utilisé pour écrire les données. Il est
+	 *                       injecté au moment de l'instanciation de la classe.
 	 */
 	public FirestationRepository(DataRepository dataRepository) {
 		this.dataRepository = dataRepository;
-		this.dataModel = dataRepository.readFile();
-		this.firestationList = dataModel.getFireStations();
+		this.firestationList = new CopyOnWriteArrayList<>();
+		SurrogateIds ids = dataRepository.getIds();
+		this.addressIndex = new IdIndex<>(firestation -> ids.address(firestation.getAddress()));
 		logger.info("FirestationRepository initialisé avec succès.");
 	}
 
+	/**
+	 * Charge la liste des casernes d'un {@link DataModel} et construit l'index. Le
+	 * modèle est partagé avec les autres repositories et reçoit la liste de ce
+	 * repository.
+	 * 
+	 * @param dataModel le modèle lu par {@link DataRepository#readFile()}
+	 */
+	public void load(DataModel dataModel) {
+		dataModel.getFireStations().forEach(this::encode);
+		List<Firestation> loaded = new CopyOnWriteArrayList<>(dataModel.getFireStations());
+		IndexBuildEvent.build("FirestationRepository.firestationIndex", loaded, firestationIndex::add);
+		IndexBuildEvent.build("FirestationRepository.addressIndex", loaded, addressIndex::add);
+		IndexBuildEvent.build("FirestationRepository.bitmaps", loaded, this::refreshStations);
+		dataModel.setFireStations(loaded);
+		this.dataModel = dataModel;
+		this.firestationList = loaded;
+		logger.info("{} casernes chargées.", loaded.size());
+	}
+
+	/**
+	 * Remplace l'adresse et le numéro de station d'une caserne par leurs
+	 * instances canoniques du dictionnaire des données.
+	 *
+	 * @param firestation la caserne chargée ou ajoutée
+	 * @return la même caserne
+	 */
+	private Firestation encode(Firestation firestation) {
+		StringDictionary dictionary = dataRepository.getDictionary();
+		firestation.setAddress(dictionary.intern(firestation.getAddress()));
+		firestation.setStation(dictionary.intern(firestation.getStation()));
+		return firestation;
+	}
+
+	/**
+	 * Met à jour les stations d'une adresse dans l'index bitmap, d'après toutes
+	 * les casernes de cette adresse, et l'adresse dans l'index des adresses :
+	 * elle y est enregistrée tant qu'une caserne la dessert, et retirée avec la
+	 * dernière caserne si personne n'y habite.
+	 *
+	 * @param firestation la caserne ajoutée, modifiée ou supprimée
+	 */
+	private void refreshStations(Firestation firestation) {
+		int addressId = dataRepository.getIds().address(firestation.getAddress());
+		List<String> stations = addressIndex.get(addressId).stream().map(Firestation::getStation).toList();
+		dataRepository.getBitmaps().setStations(addressId, stations);
+		if (stations.isEmpty() && !dataRepository.getBitmaps().hasResidents(addressId)) {
+			dataRepository.getAddresses().unregister(firestation.getAddress());
+		} else {
+			dataRepository.getAddresses().register(firestation.getAddress());
+		}
+	}
+
+	/**
+	 * Calcule la clé de tri stable d'une caserne : numéro de station puis adresse.
+	 *
+	 * @param firestation la caserne
+	 * @return la clé de tri de la caserne
+	 */
+	private static String firestationKey(Firestation firestation) {
+		return IndexKeys.key(firestation.getStation(), firestation.getAddress());
+	}
+
 
 	/**
 	 * Récupère la liste de toutes les casernes.
@@ -68,11 +148,39 @@ public class FirestationRepository {
 	 * @return une liste de toutes les casernes
 	 */
 	public List<Firestation> getAllFirestations() {
-		logger.info("Liste de toutes les casernes récupérée.");
-		logger.debug("Le contenu de la liste : {}", firestationList);
+		logger.debug("Liste de toutes les casernes récupérée : {} casernes.", firestationList.size());
 		return firestationList;
 	}
 
+	/**
+	 * Récupère une page de casernes triées par numéro de station puis adresse.
+	 *
+	 * @param cursor le curseur retourné par la page précédente, ou {@code null} pour la première page
+	 * @param size le nombre maximal de casernes dans la page
+	 * @return la page de casernes et le curseur de la page suivante
+	 * @throws IllegalArgumentException si le curseur n'est pas valide
+	 */
+	public CursorPage<Firestation> getFirestationPage(String cursor, int size) {
+		logger.debug("Lecture d'une page de {} casernes.", size);
+		return firestationIndex.page(cursor, size);
+	}
+
+	/**
+	 * Récupère les casernes desservant une adresse, sans distinction entre
+	 * majuscules et minuscules.
+	 *
+	 * La recherche passe par l'identifiant entier de l'adresse et ne parcourt pas
+	 * la liste.
+	 *
+	 * @param address l'adresse recherchée
+	 * @return les casernes de l'adresse, dans l'ordre d'ajout, vide si aucune ne la
+	 *         dessert
+	 */
+	@Untimed
+	public List<Firestation> findByAddress(String address) {
+		return addressIndex.get(dataRepository.getIds().findAddress(address));
+	}
+
 
 	/**
 	 * Ajoute une nouvelle caserne.
@@ -81,12 +189,16 @@ public class FirestationRepository {
 	 *
 	 * @param newFirestation la nouvelle caserne à ajouter
 	 */
-	public void addFirestation(Firestation newFirestation) {
+	public synchronized void addFirestation(Firestation newFirestation) {
+		encode(newFirestation);
 		firestationList.add(newFirestation);
+		firestationIndex.add(newFirestation);
+		addressIndex.add(newFirestation);
+		refreshStations(newFirestation);
 		dataModel.setFireStations(firestationList);
 		dataRepository.writeFile(dataModel);
 		logger.info("Nouvelle caserne ajoutée.");
-		logger.debug("La nouvelle caserne ajoutée : " + newFirestation);
+		logger.debug("La nouvelle caserne ajoutée : {}", newFirestation);
 	}
 
 
@@ -98,9 +210,15 @@ public class FirestationRepository {
 	 *
 	 * @param deletedFirestation la caserne à supprimer
 	 */
-	public void deleteFirestation(Firestation deletedFirestation) {
-		firestationList.removeIf(firestation -> firestation.getAddress().equals(deletedFirestation.getAddress())
-				&& firestation.getStation().equals(deletedFirestation.getStation()));
+	public synchronized void deleteFirestation(Firestation deletedFirestation) {
+		List<Firestation> deletedFirestations = findByAddress(deletedFirestation.getAddress()).stream()
+				.filter(firestation -> firestation.getAddress().equals(deletedFirestation.getAddress())
+						&& firestation.getStation().equals(deletedFirestation.getStation()))
+				.toList();
+		IdIndex.removeAllSame(firestationList, deletedFirestations);
+		deletedFirestations.forEach(firestationIndex::remove);
+		deletedFirestations.forEach(addressIndex::remove);
+		refreshStations(deletedFirestation);
 		dataModel.setFireStations(firestationList);
 		dataRepository.writeFile(dataModel);
 		logger.info("Caserne supprimée avec succès ");
@@ -115,14 +233,34 @@ public class FirestationRepository {
 	 *
 	 * @param updatedFirestation la caserne mise à jour
 	 */
-	public void updateFirestation(Firestation updatedFirestation) {
-	    Optional<Firestation> firestationOptional = firestationList.stream()
-	            .filter(firestation -> firestation.getAddress().equalsIgnoreCase(updatedFirestation.getAddress()))
+	public synchronized void updateFirestation(Firestation updatedFirestation) {
+		encode(updatedFirestation);
+	    Optional<Firestation> firestationOptional = findByAddress(updatedFirestation.getAddress()).stream()
 	            .findFirst();
         Firestation existingFirestation = firestationOptional.get();
-        firestationList.set(firestationList.indexOf(existingFirestation), updatedFirestation);
+        firestationList.set(IdIndex.indexOfSame(firestationList, existingFirestation), updatedFirestation);
+        firestationIndex.replace(existingFirestation, updatedFirestation);
+        addressIndex.replace(existingFirestation, updatedFirestation);
+        refreshStations(updatedFirestation);
         dataModel.setFireStations(firestationList);
         dataRepository.writeFile(dataModel);
         logger.info("Caserne mise à jour avec succès : {}", updatedFirestation);
 	}
+
+	/**
+	 * Retourne une copie figée de la liste des casernes.
+	 * 
+	 * La copie ne prend aucun verrou : les écritures concurrentes continuent
+	 * normalement et ne sont pas visibles dans la copie. Les casernes y apparaissent
+	 * dans l'état où elles étaient au moment de l'appel. Cette méthode est
+	 * utilisée pour les exports.
+	 * 
+	 * @return Une liste non modifiable des casernes.
+	 */
+	public List<Firestation> snapshot() {
+		List<Firestation> snapshot = List.copyOf(firestationList);
+		logger.debug("Copie de {} casernes effectuée.", snapshot.size());
+		return snapshot;
+	}
+
 }
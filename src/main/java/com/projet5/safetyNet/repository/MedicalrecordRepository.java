@@ -1,13 +1,30 @@
 package com.projet5.safetyNet.repository;
 
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.springframework.stereotype.Repository;
 
+import com.projet5.safetyNet.jfr.IndexBuildEvent;
+import com.projet5.safetyNet.metrics.Untimed;
+import com.projet5.safetyNet.model.BulkItemResult;
+import com.projet5.safetyNet.model.BulkOperation;
+import com.projet5.safetyNet.model.CursorPage;
 import com.projet5.safetyNet.model.DataModel;
 import com.projet5.safetyNet.model.Medicalrecord;
+import com.projet5.safetyNet.repository.index.HashIndex;
+import com.projet5.safetyNet.repository.index.IdIndex;
+import com.projet5.safetyNet.repository.index.IndexKeys;
+import com.projet5.safetyNet.repository.index.InvertedIndex;
+import com.projet5.safetyNet.repository.index.OrderedIndex;
+import com.projet5.safetyNet.repository.index.SurrogateIds;
 
 /**
  * Class Repository pour gérer les opérations liées aux dossiers médicaux
@@ -41,9 +58,11 @@ public class MedicalrecordRepository {
 	/**
 	 * Liste des dossiers médicaux associés. Cette liste contient des objets de type
 	 * {@link Medicalrecord} et est utilisée pour stocker et gérer les informations
-	 * relatives aux dossiers médicaux des personnes.
+	 * relatives aux dossiers médicaux des personnes. Les lecteurs reçoivent un
+	 * instantané immuable ; une écriture ne recopie qu'un bloc de la liste
+	 * ({@link ChunkedList}) et un traitement par lot est publié en une seule fois.
 	 */
-	public List<Medicalrecord> medicalrecordList;
+	private final ChunkedList<Medicalrecord> medicalrecordList = new ChunkedList<>();
 
 	/**
 	 * Modèle de données représentant la structure globale de l'application,
@@ -51,47 +70,235 @@ public class MedicalrecordRepository {
 	 * traitement des dossiers médicaux. Ce champ permet d'organiser les données et
 	 * de faciliter l'accès à différentes parties de l'application.
 	 */
-	public DataModel dataModel;
+	public volatile DataModel dataModel;
+
+	/**
+	 * Index trié des dossiers médicaux par nom, prénom puis date de naissance,
+	 * utilisé pour la pagination par curseur.
+	 */
+	private final OrderedIndex<Medicalrecord> medicalrecordIndex = new OrderedIndex<>(
+			MedicalrecordRepository::medicalrecordKey);
+
+	/**
+	 * Index de hachage des dossiers médicaux par prénom et nom, utilisé pour
+	 * valider et appliquer les lots sans parcourir la liste.
+	 */
+	private final HashIndex<Medicalrecord> nameIndex = new HashIndex<>(MedicalrecordRepository::nameKey);
+
+	/**
+	 * Stockage hors tas de la date de naissance, des médicaments et des allergies.
+	 * La liste et les index ne contiennent que des dossiers stockés, dont seuls le
+	 * prénom et le nom restent sur le tas.
+	 */
+	private final OffHeapMedicalrecordStore store;
+
+	/**
+	 * Index des dossiers médicaux par identifiant de personne
+	 * ({@link SurrogateIds}), utilisé pour les jointures avec les personnes et
+	 * pour retrouver un dossier sans parcourir la liste.
+	 */
+	private final IdIndex<Medicalrecord> idIndex;
+
+	/**
+	 * Index inversé des médicaments, sans dosage, vers les identifiants de
+	 * personnes.
+	 */
+	private final InvertedIndex medicationIndex = new InvertedIndex();
+
+	/**
+	 * Index inversé des allergies vers les identifiants de personnes.
+	 */
+	private final InvertedIndex allergyIndex = new InvertedIndex();
 
 	/**
 	 * Constructeur de la classe {@link MedicalrecordRepository}.
 	 * <p>
-	 * Ce constructeur initialise un objet {@link MedicalrecordRepository} en
-	 * utilisant un objet {@link DataRepository} pour lire les données. Il charge
-	 * ensuite ces données dans un {@link DataModel}, à partir duquel la liste des
-	 * personnes est extraite pour être utilisée dans la classe
-	 * {@link MedicalrecordRepository}.
-	 * </p>
-	 * <p>
-	 * La méthode {@link DataRepository#readFile()} est appelée pour lire les
-	 * données et initialiser l'objet {@link DataModel}, qui contient la liste des
-	 * dossiers médicaux à manipuler.
+	 * Le repository est vide tant que {@link #load(DataModel)} n'a pas été appelé :
+	 * les données sont chargées en arrière-plan par
+	 * {@link com.projet5.safetyNet.startup.DataStoreLoader}, en parallèle du
+	 * démarrage de l'application.
 	 * </p>
 	 * 
 	 * @param dataRepository L'objet {@link DataRepository} qui est responsable de
-	 *                       la lecture des données (par exemple, depuis un fichier
+	 *                       l'écriture des données (par exemple, dans un fichier
 	 *                       ou une base de données).
 	 */
 	public MedicalrecordRepository(DataRepository dataRepository) {
 		this.dataRepository = dataRepository;
-		this.dataModel = dataRepository.readFile();
-		this.medicalrecordList = dataModel.getMedicalrecords();
+		this.store = new OffHeapMedicalrecordStore(dataRepository.getDictionary());
+		SurrogateIds ids = dataRepository.getIds();
+		this.idIndex = new IdIndex<>(
+				medicalrecord -> ids.person(medicalrecord.getFirstName(), medicalrecord.getLastName()));
 		logger.info("MedicalrecordRepository, initialisé avec succès.");
 	}
 
+	/**
+	 * Charge la liste des dossiers médicaux d'un {@link DataModel} et construit
+	 * les index. Le modèle est partagé avec les autres repositories et reçoit la
+	 * liste de ce repository.
+	 * 
+	 * @param dataModel le modèle lu par {@link DataRepository#readFile()}
+	 */
+	public void load(DataModel dataModel) {
+		List<Medicalrecord> stored = new ArrayList<>(dataModel.getMedicalrecords().size());
+		dataModel.getMedicalrecords().forEach(medicalrecord -> stored.add(encode(medicalrecord)));
+		IndexBuildEvent.build("MedicalrecordRepository.medicalrecordIndex", stored, medicalrecordIndex::add);
+		IndexBuildEvent.build("MedicalrecordRepository.nameIndex", stored, nameIndex::add);
+		IndexBuildEvent.build("MedicalrecordRepository.idIndex", stored, idIndex::add);
+		IndexBuildEvent.build("MedicalrecordRepository.bitmaps", stored, this::refreshFlags);
+		medicalrecordList.load(stored);
+		dataModel.setMedicalrecords(medicalrecordList.view());
+		this.dataModel = dataModel;
+		logger.info("{} dossiers médicaux chargés, {} octets hors tas, {} médicaments et {} allergies indexés.",
+				medicalrecordList.size(), store.allocatedBytes(), medicationIndex.terms(), allergyIndex.terms());
+	}
+
+	/**
+	 * Copie un dossier médical dans le stockage hors tas. Les médicaments et les
+	 * allergies y sont codés par le dictionnaire des données.
+	 *
+	 * @param medicalrecord le dossier médical chargé ou ajouté, qui n'est pas
+	 *                      modifié
+	 * @return le dossier stocké, à placer dans la liste et les index
+	 */
+	private Medicalrecord encode(Medicalrecord medicalrecord) {
+		return store.store(medicalrecord);
+	}
+
+	/**
+	 * Met à jour les critères d'une personne dans l'index bitmap, d'après son
+	 * premier dossier médical, et ses termes dans les index inversés, d'après
+	 * tous ses dossiers.
+	 *
+	 * @param medicalrecord le dossier médical ajouté, modifié ou supprimé
+	 */
+	private void refreshFlags(Medicalrecord medicalrecord) {
+		int id = dataRepository.getIds().person(medicalrecord.getFirstName(), medicalrecord.getLastName());
+		List<Medicalrecord> sameName = idIndex.get(id);
+		dataRepository.getBitmaps().setMedicalrecord(id, sameName.isEmpty() ? null : sameName.get(0));
+		medicationIndex.set(id, terms(sameName, Medicalrecord::getMedications));
+		allergyIndex.set(id, terms(sameName, Medicalrecord::getAllergies));
+	}
+
+	/**
+	 * Rassemble les valeurs d'une liste de dossiers médicaux.
+	 */
+	private static List<String> terms(List<Medicalrecord> medicalrecords,
+			Function<Medicalrecord, List<String>> values) {
+		List<String> terms = new ArrayList<>();
+		for (Medicalrecord medicalrecord : medicalrecords) {
+			if (values.apply(medicalrecord) != null) {
+				terms.addAll(values.apply(medicalrecord));
+			}
+		}
+		return terms;
+	}
+
+	/**
+	 * Calcule la clé de tri stable d'un dossier médical : nom, prénom puis date de
+	 * naissance.
+	 *
+	 * @param medicalrecord le dossier médical
+	 * @return la clé de tri du dossier médical
+	 */
+	private static String medicalrecordKey(Medicalrecord medicalrecord) {
+		return IndexKeys.key(medicalrecord.getLastName(), medicalrecord.getFirstName(),
+				medicalrecord.getBirthdate());
+	}
+
+	/**
+	 * Calcule la clé d'identité d'un dossier médical : prénom et nom.
+	 *
+	 * @param medicalrecord le dossier médical
+	 * @return la clé d'identité du dossier médical
+	 */
+	private static String nameKey(Medicalrecord medicalrecord) {
+		return IndexKeys.key(medicalrecord.getFirstName(), medicalrecord.getLastName());
+	}
+
 	/**
 	 * Récupère la liste de tous les dossiers médicaux.
 	 *
-	 * Cette méthode retourne une liste contenant tous les dossiers médicaux
-	 * enregistrés dans le système.
+	 * Cette méthode retourne l'instantané courant des dossiers médicaux
+	 * enregistrés dans le système, sans copie. Il n'est pas modifiable.
 	 *
 	 * @return une liste de tous les dossiers médicaux
 	 */
 	public List<Medicalrecord> getAllMedicalrecord() {
-		logger.info("Liste de dossier médicaux récupérée.");
-		logger.debug("La liste récupérée : {}", medicalrecordList);
-		return medicalrecordList;
+		List<Medicalrecord> medicalrecords = medicalrecordList.view();
+		logger.debug("Liste de dossiers médicaux récupérée : {} dossiers.", medicalrecords.size());
+		return medicalrecords;
+
+	}
 
+	/**
+	 * Récupère une page de dossiers médicaux triés par nom, prénom puis date de
+	 * naissance.
+	 *
+	 * @param cursor le curseur retourné par la page précédente, ou {@code null}
+	 *               pour la première page
+	 * @param size   le nombre maximal de dossiers dans la page
+	 * @return la page de dossiers médicaux et le curseur de la page suivante
+	 * @throws IllegalArgumentException si le curseur n'est pas valide
+	 */
+	public CursorPage<Medicalrecord> getMedicalrecordPage(String cursor, int size) {
+		logger.debug("Lecture d'une page de {} dossiers médicaux.", size);
+		return medicalrecordIndex.page(cursor, size);
+	}
+
+	/**
+	 * Récupère les dossiers médicaux d'une personne, sans distinction entre
+	 * majuscules et minuscules.
+	 *
+	 * La recherche passe par l'identifiant entier de la personne : elle ne
+	 * parcourt pas la liste et ne compare aucune chaîne.
+	 *
+	 * @param firstName le prénom de la personne
+	 * @param lastName  le nom de la personne
+	 * @return les dossiers médicaux de la personne, dans l'ordre d'ajout, vide si
+	 *         elle n'en a aucun
+	 */
+	@Untimed
+	public List<Medicalrecord> findByName(String firstName, String lastName) {
+		return idIndex.get(dataRepository.getIds().findPerson(firstName, lastName));
+	}
+
+	/**
+	 * Récupère les identifiants des personnes dont un dossier médical contient un
+	 * médicament, quel que soit son dosage et sans distinction entre majuscules
+	 * et minuscules.
+	 *
+	 * @param medication le médicament recherché, avec ou sans dosage
+	 * @return un nouveau bitmap d'identifiants de personnes
+	 */
+	public BitSet findByMedication(String medication) {
+		return medicationIndex.get(medication);
+	}
+
+	/**
+	 * Récupère les identifiants des personnes dont un dossier médical contient une
+	 * allergie, sans distinction entre majuscules et minuscules.
+	 *
+	 * @param allergy l'allergie recherchée
+	 * @return un nouveau bitmap d'identifiants de personnes
+	 */
+	public BitSet findByAllergy(String allergy) {
+		return allergyIndex.get(allergy);
+	}
+
+	/**
+	 * Récupère les dossiers médicaux des personnes dont l'identifiant figure dans
+	 * un bitmap.
+	 *
+	 * @param personIds le bitmap d'identifiants
+	 * @return les dossiers médicaux retenus, par identifiant croissant
+	 */
+	public List<Medicalrecord> findByIds(BitSet personIds) {
+		List<Medicalrecord> medicalrecords = new ArrayList<>(personIds.cardinality());
+		for (int id = personIds.nextSetBit(0); id >= 0; id = personIds.nextSetBit(id + 1)) {
+			medicalrecords.addAll(idIndex.get(id));
+		}
+		return medicalrecords;
 	}
 
 	/**
@@ -102,11 +309,16 @@ public class MedicalrecordRepository {
 	 *
 	 * @param newMedicalrecord le dossier médical à ajouter
 	 */
-	public void addMedicalrecord(Medicalrecord newMedicalrecord) {
+	public synchronized void addMedicalrecord(Medicalrecord newMedicalrecord) {
 		logger.debug("Tentative d'ajout du dossier médical : {}", newMedicalrecord);
-		medicalrecordList.add(newMedicalrecord);
+		Medicalrecord stored = encode(newMedicalrecord);
+		medicalrecordList.add(stored);
+		medicalrecordIndex.add(stored);
+		nameIndex.add(stored);
+		idIndex.add(stored);
+		refreshFlags(stored);
 		logger.info("Le dossier médical a été ajouté avec succès.");
-		dataModel.setMedicalrecords(medicalrecordList);
+		dataModel.setMedicalrecords(medicalrecordList.view());
 		dataRepository.writeFile(dataModel);
 
 	}
@@ -119,13 +331,18 @@ public class MedicalrecordRepository {
 	 *
 	 * @param deletedMedicalrecord le dossier médical à supprimer
 	 */
-	public void deleteMedicalrecord(Medicalrecord deletedMedicalrecord) {
+	public synchronized void deleteMedicalrecord(Medicalrecord deletedMedicalrecord) {
 		logger.debug("Le dossier médical à supprimer : {}", deletedMedicalrecord);
 
-		medicalrecordList.removeIf(
-				medicalrecord -> medicalrecord.getFirstName().equalsIgnoreCase(deletedMedicalrecord.getFirstName())
-						&& medicalrecord.getLastName().equalsIgnoreCase(deletedMedicalrecord.getLastName()));
-		dataModel.setMedicalrecords(medicalrecordList);
+		List<Medicalrecord> deletedMedicalrecords = findByName(deletedMedicalrecord.getFirstName(),
+				deletedMedicalrecord.getLastName());
+		medicalrecordList.removeAll(deletedMedicalrecords);
+		deletedMedicalrecords.forEach(medicalrecordIndex::remove);
+		deletedMedicalrecords.forEach(nameIndex::remove);
+		deletedMedicalrecords.forEach(idIndex::remove);
+		deletedMedicalrecords.forEach(store::release);
+		refreshFlags(deletedMedicalrecord);
+		dataModel.setMedicalrecords(medicalrecordList.view());
 		dataRepository.writeFile(dataModel);
 		logger.info("Le dossier médical a été supprimé avec succès.");
 
@@ -139,18 +356,172 @@ public class MedicalrecordRepository {
 	 *
 	 * @param updatedMedicalrecord le dossier médical à mettre à jour
 	 */
-	public void updateMedicalrecord(Medicalrecord updatedMedicalrecord) {
+	public synchronized void updateMedicalrecord(Medicalrecord updatedMedicalrecord) {
 		logger.debug("Tentative de mise à jour du dossier médical : {}", updatedMedicalrecord);
-		medicalrecordList.stream()
+		// Le dossier n'est copié hors tas qu'une fois l'existant trouvé : une mise à
+		// jour sans dossier existant n'occupe aucune place dans le stockage.
+		findByName(updatedMedicalrecord.getFirstName(), updatedMedicalrecord.getLastName()).stream()
 				.filter(medicalrecord -> medicalrecord.getFirstName().equals(updatedMedicalrecord.getFirstName())
 						&& medicalrecord.getLastName().equals(updatedMedicalrecord.getLastName()))
 				.findFirst().map(medicalrecord -> {
-					medicalrecordList.set(medicalrecordList.indexOf(medicalrecord), updatedMedicalrecord);
+					Medicalrecord stored = encode(updatedMedicalrecord);
+					medicalrecordList.replace(medicalrecord, stored);
+					medicalrecordIndex.replace(medicalrecord, stored);
+					nameIndex.replace(medicalrecord, stored);
+					idIndex.replace(medicalrecord, stored);
+					store.release(medicalrecord);
+					refreshFlags(stored);
 					return true;
 				}).orElse(false);
-		dataModel.setMedicalrecords(medicalrecordList);
+		dataModel.setMedicalrecords(medicalrecordList.view());
 		dataRepository.writeFile(dataModel);
 		logger.info("Le dossier médical a été mis à jour.");
 	}
 
+	/**
+	 * Applique un lot d'opérations d'ajout, de mise à jour et de suppression, puis
+	 * écrit le fichier une seule fois.
+	 *
+	 * Chaque opération est résolue grâce à l'index de hachage par prénom et nom :
+	 * {@code UPSERT} met à jour le dossier existant ou l'ajoute, {@code DELETE}
+	 * supprime les dossiers portant ce prénom et ce nom. Les opérations sont
+	 * appliquées dans l'ordre du lot. Le lot est préparé à l'écart
+	 * ({@link BatchPlan}) puis écrit dans le fichier depuis une copie du modèle
+	 * ({@link DataRepository#writeBatch}), que les autres repositories ne voient
+	 * pas avant l'écriture réussie ; si l'écriture échoue, il
+	 * est abandonné, la place prise dans le stockage hors tas est rendue et
+	 * l'exception propagée. Sinon la nouvelle liste est publiée en une seule
+	 * affectation, chaque index est mis à jour une fois par dossier touché et les
+	 * dossiers sortis des données sont rendus au stockage hors tas.
+	 *
+	 * @param operations les opérations à appliquer, déjà validées par le service
+	 * @return le résultat de chaque opération, dans l'ordre du lot
+	 */
+	public synchronized List<BulkItemResult.Status> applyBatch(List<BulkOperation<Medicalrecord>> operations) {
+		logger.debug("Application d'un lot de {} opérations sur les dossiers médicaux.", operations.size());
+		BatchPlan<Medicalrecord> plan = new BatchPlan<>(medicalrecordList.edit(), MedicalrecordRepository::nameKey,
+				nameIndex::get);
+		OffHeapMedicalrecordStore.Mark mark = store.mark();
+		List<BulkItemResult.Status> statuses = new ArrayList<>(operations.size());
+		List<Medicalrecord> encoded = new ArrayList<>();
+
+		for (BulkOperation<Medicalrecord> operation : operations) {
+			Medicalrecord medicalrecord = operation.getData();
+			if (operation.getOp() == BulkOperation.Type.UPSERT) {
+				medicalrecord = encode(medicalrecord);
+				encoded.add(medicalrecord);
+			}
+			List<Medicalrecord> sameName = plan.find(medicalrecord);
+			if (operation.getOp() == BulkOperation.Type.UPSERT) {
+				if (sameName.isEmpty()) {
+					plan.add(medicalrecord);
+					statuses.add(BulkItemResult.Status.CREATED);
+				} else {
+					plan.replace(sameName.get(0), medicalrecord);
+					statuses.add(BulkItemResult.Status.UPDATED);
+				}
+			} else if (sameName.isEmpty()) {
+				statuses.add(BulkItemResult.Status.NOT_FOUND);
+			} else {
+				sameName.forEach(plan::remove);
+				statuses.add(BulkItemResult.Status.DELETED);
+			}
+		}
+
+		if (plan.isEmpty()) {
+			store.rewind(mark);
+		} else {
+			try {
+				dataRepository.writeBatch(dataModel, pending -> pending.setMedicalrecords(plan.view()), () -> {
+					plan.publish();
+					dataModel.setMedicalrecords(medicalrecordList.view());
+				});
+			} catch (RuntimeException e) {
+				store.rewind(mark);
+				logger.error("Echec de l'écriture du lot de dossiers médicaux, aucune modification appliquée.");
+				throw e;
+			}
+			for (Medicalrecord medicalrecord : plan.removed()) {
+				medicalrecordIndex.remove(medicalrecord);
+				nameIndex.remove(medicalrecord);
+				idIndex.remove(medicalrecord);
+			}
+			plan.replaced().forEach((previous, updated) -> {
+				medicalrecordIndex.replace(previous, updated);
+				nameIndex.replace(previous, updated);
+				idIndex.replace(previous, updated);
+			});
+			for (Medicalrecord medicalrecord : plan.created()) {
+				medicalrecordIndex.add(medicalrecord);
+				nameIndex.add(medicalrecord);
+				idIndex.add(medicalrecord);
+			}
+			plan.touched().forEach(this::refreshFlags);
+			// Les dossiers sortis des données, y compris ceux copiés puis remplacés dans
+			// le même lot, rendent leur place au stockage hors tas.
+			Set<Medicalrecord> kept = Collections.newSetFromMap(new IdentityHashMap<>());
+			kept.addAll(plan.created());
+			kept.addAll(plan.replaced().values());
+			plan.removed().forEach(store::release);
+			plan.replaced().keySet().forEach(store::release);
+			encoded.stream().filter(medicalrecord -> !kept.contains(medicalrecord)).forEach(store::release);
+			logger.info("Le lot de dossiers médicaux a été appliqué.");
+		}
+		return statuses;
+	}
+
+	/**
+	 * Importe un lot de dossiers médicaux sans écrire le fichier.
+	 * 
+	 * Les dossiers médicaux déjà présents (même prénom et même nom, dans les données ou
+	 * plus tôt dans l'import) sont ignorés grâce à l'index de hachage. Les
+	 * autres sont ajoutés à la liste en une seule publication, ce qui rend le lot
+	 * visible d'un coup pour les lectures concurrentes. L'écriture du fichier est
+	 * faite une seule fois à la fin de l'import par {@link #persist()}.
+	 * 
+	 * @param medicalrecords Les dossiers médicaux à importer, déjà validés.
+	 * @return Le nombre de dossiers médicaux effectivement importés.
+	 */
+	public synchronized int importBatch(List<Medicalrecord> medicalrecords) {
+		List<Medicalrecord> accepted = new ArrayList<>(medicalrecords.size());
+		for (Medicalrecord medicalrecord : medicalrecords) {
+			if (nameIndex.get(nameKey(medicalrecord)).isEmpty()) {
+				Medicalrecord stored = encode(medicalrecord);
+				accepted.add(stored);
+				medicalrecordIndex.add(stored);
+				nameIndex.add(stored);
+				idIndex.add(stored);
+			}
+		}
+		medicalrecordList.edit().addAll(accepted).publish();
+		accepted.forEach(this::refreshFlags);
+		logger.debug("Lot importé : {} reçus, {} ajoutés.", medicalrecords.size(), accepted.size());
+		return accepted.size();
+	}
+
+	/**
+	 * Ecrit l'état courant des dossiers médicaux dans le fichier de données.
+	 */
+	public synchronized void persist() {
+		dataModel.setMedicalrecords(medicalrecordList.view());
+		dataRepository.writeFile(dataModel);
+		logger.info("Les dossiers médicaux ont été écrits dans le fichier.");
+	}
+
+	/**
+	 * Retourne un instantané figé de la liste des dossiers médicaux.
+	 * 
+	 * L'instantané ne prend aucun verrou et n'est pas une copie : les écritures
+	 * concurrentes publient de nouveaux instantanés sans modifier celui-ci. Les dossiers médicaux y
+	 * apparaissent dans l'état où ils étaient au moment de l'appel. Cette méthode est
+	 * utilisée pour les exports.
+	 * 
+	 * @return Une liste non modifiable des dossiers médicaux.
+	 */
+	public List<Medicalrecord> snapshot() {
+		List<Medicalrecord> snapshot = medicalrecordList.view();
+		logger.debug("Instantané de {} dossiers médicaux.", snapshot.size());
+		return snapshot;
+	}
+
 }
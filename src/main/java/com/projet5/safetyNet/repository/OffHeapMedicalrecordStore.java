@@ -0,0 +1,368 @@
+package com.projet5.safetyNet.repository;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+import com.projet5.safetyNet.model.Medicalrecord;
+import com.projet5.safetyNet.repository.index.StringDictionary;
+
+/**
+ * Stockage hors tas du contenu des dossiers médicaux.
+ *
+ * <p>
+ * Un dossier stocké est un {@link Medicalrecord} réduit à sa clé : le prénom et
+ * le nom restent sur le tas, car ils servent aux index et aux recherches des
+ * services. La date de naissance, les médicaments et les allergies sont écrits
+ * dans des blocs de mémoire directe ({@link ByteBuffer#allocateDirect(int)}) et
+ * décodés à chaque lecture. Les médicaments et allergies y sont rangés sous
+ * forme de codes du {@link StringDictionary} du magasin de données : leur
+ * décodage ne crée aucune chaîne.
+ * </p>
+ * <p>
+ * Les blocs ne sont jamais réécrits, sauf la place rendue par
+ * {@link #rewind(Mark)} lorsqu'un lot est abandonné. Un dossier supprimé ou
+ * remplacé est rendu par {@link #release(Medicalrecord)} ; lorsque la place
+ * des dossiers rendus dépasse celle des dossiers vivants (et au moins un
+ * bloc), les dossiers vivants sont recopiés dans des blocs neufs et les
+ * anciens blocs ne sont plus référencés que par les dossiers rendus, encore
+ * lisibles par les instantanés en cours. Le ramasse-miettes libère un bloc
+ * lorsque plus aucun dossier ne le référence. La mémoire occupée reste ainsi
+ * bornée par deux fois celle des dossiers vivants, plus un bloc. Les lectures
+ * ne prennent aucun verrou : un dossier lit son emplacement, remplacé en une
+ * seule affectation par le compactage. La mémoire directe est bornée par
+ * {@code -XX:MaxDirectMemorySize}, qui vaut par défaut la taille maximale du
+ * tas.
+ * </p>
+ */
+public class OffHeapMedicalrecordStore {
+
+	private static final int CHUNK_SIZE = 64 * 1024;
+
+	private static final int ABSENT = -1;
+
+	private final StringDictionary dictionary;
+
+	private ByteBuffer chunk = ByteBuffer.allocateDirect(CHUNK_SIZE);
+
+	private long allocatedBytes = CHUNK_SIZE;
+
+	/**
+	 * Octets écrits dans les blocs courants, dossiers rendus compris.
+	 */
+	private long writtenBytes;
+
+	/**
+	 * Octets des dossiers vivants.
+	 */
+	private long liveBytes;
+
+	/**
+	 * Nombre de compactages, qui invalident les positions retenues par
+	 * {@link #mark()}.
+	 */
+	private int generation;
+
+	/**
+	 * Numéro du prochain dossier stocké, qui ordonne les dossiers pour
+	 * {@link #rewind(Mark)}.
+	 */
+	private long sequence;
+
+	private final Set<StoredMedicalrecord> live = Collections.newSetFromMap(new IdentityHashMap<>());
+
+	/**
+	 * Constructeur du stockage.
+	 *
+	 * @param dictionary le dictionnaire du magasin de données, qui fournit les
+	 *                   codes des médicaments et des allergies
+	 */
+	public OffHeapMedicalrecordStore(StringDictionary dictionary) {
+		this.dictionary = dictionary;
+	}
+
+	/**
+	 * Copie un dossier médical dans le stockage.
+	 *
+	 * @param medicalrecord le dossier médical à copier, qui n'est pas modifié
+	 * @return le dossier stocké, dont le contenu est lu hors tas
+	 */
+	public synchronized Medicalrecord store(Medicalrecord medicalrecord) {
+		byte[] birthdate = medicalrecord.getBirthdate() == null ? null
+				: medicalrecord.getBirthdate().getBytes(StandardCharsets.UTF_8);
+		int[] medications = codes(medicalrecord.getMedications());
+		int[] allergies = codes(medicalrecord.getAllergies());
+		int length = Integer.BYTES * 3 + (birthdate == null ? 0 : birthdate.length)
+				+ Integer.BYTES * (length(medications) + length(allergies));
+
+		ByteBuffer target = reserve(length);
+		int offset = target.position();
+		if (birthdate == null) {
+			target.putInt(ABSENT);
+		} else {
+			target.putInt(birthdate.length).put(birthdate);
+		}
+		putCodes(target, medications);
+		putCodes(target, allergies);
+		StoredMedicalrecord stored = new StoredMedicalrecord(medicalrecord.getFirstName(),
+				medicalrecord.getLastName(), new Location(target, offset), length, sequence++);
+		live.add(stored);
+		liveBytes += length;
+		writtenBytes += length;
+		return stored;
+	}
+
+	/**
+	 * Rend la place d'un dossier stocké, supprimé ou remplacé. Le dossier reste
+	 * lisible tant qu'il est référencé. Les dossiers vivants sont compactés
+	 * lorsque la place rendue dépasse la leur et au moins un bloc. Un dossier
+	 * déjà rendu ou non stocké ici est ignoré.
+	 *
+	 * @param medicalrecord le dossier qui n'est plus dans les données
+	 */
+	public synchronized void release(Medicalrecord medicalrecord) {
+		if (!(medicalrecord instanceof StoredMedicalrecord stored) || !live.remove(stored)) {
+			return;
+		}
+		liveBytes -= stored.length;
+		if (writtenBytes - liveBytes > Math.max(CHUNK_SIZE, liveBytes)) {
+			compact();
+		}
+	}
+
+	/**
+	 * Retient la position d'écriture courante, pour annuler les copies suivantes
+	 * par {@link #rewind(Mark)}.
+	 *
+	 * @return la position courante
+	 */
+	public synchronized Mark mark() {
+		return new Mark(chunk, chunk.position(), allocatedBytes, writtenBytes, generation, sequence);
+	}
+
+	/**
+	 * Revient à une position retenue par {@link #mark()} : la place occupée par
+	 * les dossiers copiés depuis est réutilisée, et les blocs alloués depuis sont
+	 * abandonnés. Aucun des dossiers copiés depuis la position ne doit rester
+	 * référencé, et aucun dossier ne doit avoir été rendu depuis.
+	 *
+	 * @param mark la position à rétablir
+	 * @throws IllegalStateException si un compactage a eu lieu depuis la position
+	 */
+	public synchronized void rewind(Mark mark) {
+		if (mark.generation != generation) {
+			throw new IllegalStateException("Le stockage a été compacté depuis la position retenue.");
+		}
+		live.removeIf(stored -> stored.sequence >= mark.sequence);
+		liveBytes -= writtenBytes - mark.writtenBytes;
+		writtenBytes = mark.writtenBytes;
+		chunk = mark.chunk;
+		chunk.position(mark.position);
+		allocatedBytes = mark.allocatedBytes;
+	}
+
+	/**
+	 * Retourne le nombre d'octets de mémoire directe des blocs alloués depuis le
+	 * dernier compactage, y compris ceux que le ramasse-miettes a pu libérer.
+	 *
+	 * @return le nombre d'octets alloués
+	 */
+	public synchronized long allocatedBytes() {
+		return allocatedBytes;
+	}
+
+	/**
+	 * Retourne un bloc où écrire {@code length} octets à sa position, en
+	 * allouant un nouveau bloc si le bloc courant est trop plein.
+	 */
+	private ByteBuffer reserve(int length) {
+		if (chunk.remaining() < length) {
+			chunk = ByteBuffer.allocateDirect(Math.max(CHUNK_SIZE, length));
+			allocatedBytes += chunk.capacity();
+		}
+		return chunk;
+	}
+
+	/**
+	 * Recopie les dossiers vivants dans des blocs neufs, dans leur ordre de
+	 * stockage. Les anciens blocs restent lisibles par les dossiers rendus qui
+	 * les référencent encore.
+	 */
+	private void compact() {
+		StoredMedicalrecord[] records = live.toArray(StoredMedicalrecord[]::new);
+		Arrays.sort(records, (left, right) -> Long.compare(left.sequence, right.sequence));
+		chunk = ByteBuffer.allocateDirect(CHUNK_SIZE);
+		allocatedBytes = CHUNK_SIZE;
+		for (StoredMedicalrecord stored : records) {
+			ByteBuffer target = reserve(stored.length);
+			int offset = target.position();
+			Location location = stored.location;
+			target.put(offset, location.chunk(), location.offset(), stored.length);
+			target.position(offset + stored.length);
+			stored.location = new Location(target, offset);
+		}
+		writtenBytes = liveBytes;
+		generation++;
+	}
+
+	private int[] codes(List<String> values) {
+		if (values == null) {
+			return null;
+		}
+		int[] codes = new int[values.size()];
+		for (int i = 0; i < codes.length; i++) {
+			String value = values.get(i);
+			codes[i] = value == null ? ABSENT : dictionary.code(value);
+		}
+		return codes;
+	}
+
+	private static int length(int[] codes) {
+		return codes == null ? 0 : codes.length;
+	}
+
+	private static void putCodes(ByteBuffer target, int[] codes) {
+		if (codes == null) {
+			target.putInt(ABSENT);
+			return;
+		}
+		target.putInt(codes.length);
+		for (int code : codes) {
+			target.putInt(code);
+		}
+	}
+
+	/**
+	 * Position d'écriture du stockage, retenue par {@link #mark()}.
+	 */
+	public static final class Mark {
+
+		private final ByteBuffer chunk;
+
+		private final int position;
+
+		private final long allocatedBytes;
+
+		private final long writtenBytes;
+
+		private final int generation;
+
+		private final long sequence;
+
+		private Mark(ByteBuffer chunk, int position, long allocatedBytes, long writtenBytes, int generation,
+				long sequence) {
+			this.chunk = chunk;
+			this.position = position;
+			this.allocatedBytes = allocatedBytes;
+			this.writtenBytes = writtenBytes;
+			this.generation = generation;
+			this.sequence = sequence;
+		}
+	}
+
+	/**
+	 * Emplacement du contenu d'un dossier : le bloc et le décalage où il
+	 * commence.
+	 */
+	private record Location(ByteBuffer chunk, int offset) {
+	}
+
+	/**
+	 * Dossier médical dont le contenu est décodé depuis un bloc hors tas. Les
+	 * champs du contenu hérités de {@link Medicalrecord} restent {@code null} ;
+	 * les accesseurs lisent le bloc avec des accès absolus, qui ne modifient pas
+	 * sa position. Un dossier stocké n'est pas modifiable : une mise à jour
+	 * stocke un nouveau dossier. Chaque accesseur lit une seule fois son
+	 * emplacement, que le compactage peut remplacer entre deux lectures.
+	 */
+	private final class StoredMedicalrecord extends Medicalrecord {
+
+		private volatile Location location;
+
+		private final int length;
+
+		private final long sequence;
+
+		StoredMedicalrecord(String firstName, String lastName, Location location, int length, long sequence) {
+			super(firstName, lastName, null, null, null);
+			this.location = location;
+			this.length = length;
+			this.sequence = sequence;
+		}
+
+		@Override
+		public String getBirthdate() {
+			Location location = this.location;
+			ByteBuffer chunk = location.chunk();
+			int length = chunk.getInt(location.offset());
+			if (length == ABSENT) {
+				return null;
+			}
+			byte[] bytes = new byte[length];
+			chunk.get(location.offset() + Integer.BYTES, bytes);
+			return new String(bytes, StandardCharsets.UTF_8);
+		}
+
+		@Override
+		public List<String> getMedications() {
+			Location location = this.location;
+			return decode(location.chunk(), medicationsOffset(location));
+		}
+
+		@Override
+		public List<String> getAllergies() {
+			Location location = this.location;
+			ByteBuffer chunk = location.chunk();
+			int medicationsOffset = medicationsOffset(location);
+			int medications = chunk.getInt(medicationsOffset);
+			return decode(chunk, medicationsOffset + Integer.BYTES * (1 + Math.max(medications, 0)));
+		}
+
+		private static int medicationsOffset(Location location) {
+			int length = location.chunk().getInt(location.offset());
+			return location.offset() + Integer.BYTES + Math.max(length, 0);
+		}
+
+		private List<String> decode(ByteBuffer chunk, int position) {
+			int count = chunk.getInt(position);
+			if (count == ABSENT) {
+				return null;
+			}
+			String[] values = new String[count];
+			for (int i = 0; i < count; i++) {
+				int code = chunk.getInt(position + Integer.BYTES * (i + 1));
+				values[i] = code == ABSENT ? null : dictionary.value(code);
+			}
+			return Collections.unmodifiableList(Arrays.asList(values));
+		}
+
+		@Override
+		public void setFirstName(String firstName) {
+			throw new UnsupportedOperationException("Un dossier médical stocké n'est pas modifiable.");
+		}
+
+		@Override
+		public void setLastName(String lastName) {
+			throw new UnsupportedOperationException("Un dossier médical stocké n'est pas modifiable.");
+		}
+
+		@Override
+		public void setBirthdate(String birthdate) {
+			throw new UnsupportedOperationException("Un dossier médical stocké n'est pas modifiable.");
+		}
+
+		@Override
+		public void setMedications(List<String> medications) {
+			throw new UnsupportedOperationException("Un dossier médical stocké n'est pas modifiable.");
+		}
+
+		@Override
+		public void setAllergies(List<String> allergies) {
+			throw new UnsupportedOperationException("Un dossier médical stocké n'est pas modifiable.");
+		}
+	}
+}
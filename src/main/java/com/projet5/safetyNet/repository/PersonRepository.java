@@ -1,13 +1,32 @@
 package com.projet5.safetyNet.repository;
 
+import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.springframework.stereotype.Repository;
 
+import com.projet5.safetyNet.jfr.IndexBuildEvent;
+import com.projet5.safetyNet.metrics.Untimed;
+import com.projet5.safetyNet.model.BulkItemResult;
+import com.projet5.safetyNet.model.BulkOperation;
+import com.projet5.safetyNet.model.CursorPage;
 import com.projet5.safetyNet.model.DataModel;
 import com.projet5.safetyNet.model.Person;
+import com.projet5.safetyNet.repository.index.AddressIndex;
+import com.projet5.safetyNet.repository.index.HashIndex;
+import com.projet5.safetyNet.repository.index.IdIndex;
+import com.projet5.safetyNet.repository.index.IndexKeys;
+import com.projet5.safetyNet.repository.index.NameSearchIndex;
+import com.projet5.safetyNet.repository.index.OrderedIndex;
+import com.projet5.safetyNet.repository.index.PersonBitmapIndex;
+import com.projet5.safetyNet.repository.index.RegionIndex;
+import com.projet5.safetyNet.repository.index.StringDictionary;
+import com.projet5.safetyNet.repository.index.SurrogateIds;
 
 /**
  * Class Repository pour gérer les opérations liées aux personnes (person).
@@ -31,59 +50,401 @@ public class PersonRepository {
      */
     private static final Logger logger = LogManager.getLogger(PersonRepository.class);
 
+    /**
+     * Nombre maximal d'adresses proposées pour une saisie inconnue.
+     */
+    public static final int MAX_ADDRESS_SUGGESTIONS = 5;
+
     /**
      * Référence au repository global des données pour effectuer les lectures et écritures.
      */
     public DataRepository dataRepository;
 
     /**
-     * Liste des personnes contenues dans les données.
+     * Liste des personnes contenues dans les données. Les lecteurs reçoivent un
+     * instantané immuable, cohérent même pendant une écriture concurrente ; une
+     * écriture ne recopie qu'un bloc de la liste ({@link ChunkedList}) et un
+     * traitement par lot est publié en une seule fois.
      */
-    public List<Person> personsList;
+    private final ChunkedList<Person> personsList = new ChunkedList<>();
 
     /**
      * Modèle de données principal contenant les collections manipulées par ce repository.
      */
-    public DataModel dataModel;
+    public volatile DataModel dataModel;
+
+    /**
+     * Index trié des personnes par nom, prénom puis téléphone, utilisé pour la
+     * pagination par curseur.
+     */
+    private final OrderedIndex<Person> personIndex = new OrderedIndex<>(PersonRepository::personKey);
+
+    /**
+     * Index de hachage des personnes par prénom et nom, utilisé pour valider et
+     * appliquer les lots sans parcourir la liste.
+     */
+    private final HashIndex<Person> nameIndex = new HashIndex<>(PersonRepository::nameKey);
+
+    /**
+     * Index de hachage des personnes par numéro de téléphone réduit à ses
+     * chiffres. La clé est calculée une fois, à l'ajout de la personne.
+     */
+    private final HashIndex<Person> phoneIndex = new HashIndex<>(person -> IndexKeys.phone(person.getPhone()));
+
+    /**
+     * Index de hachage des personnes par adresse email, sans distinction entre
+     * majuscules et minuscules.
+     */
+    private final HashIndex<Person> emailIndex = new HashIndex<>(person -> IndexKeys.email(person.getEmail()));
+
+    /**
+     * Copie des personnes rangée par colonnes, utilisée pour les recherches par
+     * adresse et par ville. Elle est tenue à jour par chaque écriture.
+     */
+    private final ColumnarPersonStore columns;
+
+    /**
+     * Index des personnes par identifiant de personne ({@link SurrogateIds}),
+     * utilisé pour retrouver une personne par son nom sans parcourir la liste.
+     */
+    private final IdIndex<Person> idIndex;
+
+    /**
+     * Index de recherche approchée par prénom et nom (préfixe et Soundex), sur
+     * les identifiants de personnes.
+     */
+    private final NameSearchIndex nameSearch = new NameSearchIndex();
+
+    /**
+     * Index trié des personnes par code postal, avec leurs comptes pré-agrégés,
+     * sur les identifiants de personnes.
+     */
+    private final RegionIndex zipIndex = new RegionIndex("zip");
+
+    /**
+     * Index trié des personnes par ville, avec leurs comptes pré-agrégés, sur les
+     * identifiants de personnes.
+     */
+    private final RegionIndex cityIndex = new RegionIndex("city");
 
 	/**
 	 * Constructeur de la classe {@link PersonRepository}.
 	 * <p>
-	 * Ce constructeur initialise un objet {@link PersonRepository} en utilisant un
-	 * objet {@link DataRepository} pour lire les données. Il charge ensuite ces
-	 * données dans un {@link DataModel}, à partir duquel la liste des personnes est
-	 * extraite pour être utilisée dans la classe {@link PersonRepository}.
-	 * </p>
-	 * <p>
-	 * La méthode {@link DataRepository#readFile()} est appelée pour lire les
-	 * données et initialiser l'objet {@link DataModel}, qui contient la liste des
-	 * personnes à manipuler.
+	 * Le repository est vide tant que {@link #load(DataModel)} n'a pas été appelé :
+	 * les données sont chargées en arrière-plan par
+	 * {@link com.projet5.safetyNet.startup.DataStoreLoader}, en parallèle du
+	 * démarrage de l'application.
 	 * </p>
 	 * 
 	 * @param dataRepository L'objet {@link DataRepository} qui est responsable de
-	 *                       la lecture des données (par exemple, depuis un fichier
+	 *                       l'écriture des données (par exemple, dans un fichier
 	 *                       ou une base de données).
 	 */
 	public PersonRepository(DataRepository dataRepository) {
 		this.dataRepository = dataRepository;
-		this.dataModel = dataRepository.readFile();
-		this.personsList = dataModel.getPersonsList();
+		this.columns = new ColumnarPersonStore(dataRepository.getDictionary());
+		SurrogateIds ids = dataRepository.getIds();
+		this.idIndex = new IdIndex<>(person -> ids.person(person.getFirstName(), person.getLastName()));
 		logger.info("PersonRepository, initialisé avec succès.");
 	}
 
+	/**
+	 * Charge la liste des personnes d'un {@link DataModel} et construit les index.
+	 * <p>
+	 * Le modèle est partagé avec les autres repositories : la liste des personnes
+	 * y est remplacée par celle de ce repository, si bien que chaque écriture du
+	 * fichier contient l'état courant de toutes les données.
+	 * </p>
+	 * 
+	 * @param dataModel le modèle lu par {@link DataRepository#readFile()}
+	 */
+	public void load(DataModel dataModel) {
+		dataModel.getPersonsList().forEach(this::encode);
+		List<Person> loaded = dataModel.getPersonsList();
+		IndexBuildEvent.build("PersonRepository.personIndex", loaded, personIndex::add);
+		IndexBuildEvent.build("PersonRepository.nameIndex", loaded, nameIndex::add);
+		IndexBuildEvent.build("PersonRepository.idIndex", loaded, idIndex::add);
+		IndexBuildEvent.build("PersonRepository.phoneIndex", loaded, phoneIndex::add);
+		IndexBuildEvent.build("PersonRepository.emailIndex", loaded, emailIndex::add);
+		columns.load(loaded);
+		IndexBuildEvent.build("PersonRepository.personIndexes", loaded, this::refreshPersonIndexes);
+		personsList.load(loaded);
+		dataModel.setPersonsList(personsList.view());
+		this.dataModel = dataModel;
+		logger.info("{} personnes chargées.", personsList.size());
+	}
+
+	/**
+	 * Remplace l'adresse, la ville et le code postal d'une personne par leurs
+	 * instances canoniques du dictionnaire des données.
+	 * 
+	 * @param person la personne chargée ou ajoutée
+	 * @return la même personne
+	 */
+	private Person encode(Person person) {
+		StringDictionary dictionary = dataRepository.getDictionary();
+		person.setAddress(dictionary.intern(person.getAddress()));
+		person.setCity(dictionary.intern(person.getCity()));
+		person.setZip(dictionary.intern(person.getZip()));
+		return person;
+	}
+
+	/**
+	 * Met à jour les adresses d'une personne dans l'index bitmap et son nom dans
+	 * l'index de recherche, d'après toutes les personnes portant son prénom et
+	 * son nom, ses codes postaux et ses villes dans les index par région, et
+	 * enregistre leurs adresses dans l'index des adresses.
+	 * 
+	 * @param person la personne ajoutée, modifiée ou supprimée
+	 */
+	private void refreshPersonIndexes(Person person) {
+		SurrogateIds ids = dataRepository.getIds();
+		int id = ids.person(person.getFirstName(), person.getLastName());
+		List<Person> sameName = idIndex.get(id);
+		int[] addressIds = sameName.stream().mapToInt(resident -> ids.address(resident.getAddress())).toArray();
+		dataRepository.getBitmaps().setResidence(id, addressIds);
+		sameName.forEach(resident -> dataRepository.getAddresses().register(resident.getAddress()));
+		zipIndex.set(id, sameName.stream().map(Person::getZip).toList());
+		cityIndex.set(id, sameName.stream().map(Person::getCity).toList());
+		if (sameName.isEmpty()) {
+			nameSearch.remove(id);
+		} else {
+			nameSearch.put(id, sameName.get(0).getFirstName(), sameName.get(0).getLastName());
+		}
+	}
+
+	/**
+	 * Calcule la clé de tri stable d'une personne : nom, prénom puis téléphone.
+	 * 
+	 * @param person la personne
+	 * @return la clé de tri de la personne
+	 */
+	private static String personKey(Person person) {
+		return IndexKeys.key(person.getLastName(), person.getFirstName(), person.getPhone());
+	}
+
+	/**
+	 * Calcule la clé d'identité d'une personne : prénom et nom.
+	 * 
+	 * @param person la personne
+	 * @return la clé d'identité de la personne
+	 */
+	private static String nameKey(Person person) {
+		return IndexKeys.key(person.getFirstName(), person.getLastName());
+	}
+
 	/**
 	 * Récupère la liste de toutes les personnes présentes dans le dépôt.
 	 * 
-	 * Cette méthode renvoie la liste complète des personnes stockées dans `personsList`. 
-	 * Si la liste contient des données, elles sont retournées telles quelles.
+	 * Cette méthode renvoie l'instantané courant de la liste des personnes, sans copie.
+	 * Il n'est pas modifiable et les écritures ultérieures ne le modifient pas.
 	 * Cette méthode peut être utilisée pour obtenir toutes les personnes sans filtrage.
 	 * 
 	 * @return Une liste contenant toutes les personnes présentes dans le dépôt.
 	 */
 	public List<Person> getAllPerson() {
-		logger.info("Liste contenant toutes les perosnnes récupérée.");
-		logger.debug("Le contenu de la liste : {}", personsList);
-		return personsList;
+		List<Person> persons = personsList.view();
+		logger.debug("Liste contenant toutes les personnes récupérée : {} personnes.", persons.size());
+		return persons;
+	}
+
+	/**
+	 * Récupère une page de personnes triées par nom, prénom puis téléphone.
+	 * 
+	 * La page est lue directement dans l'index trié à partir de la position du
+	 * curseur, sans parcourir les personnes des pages précédentes.
+	 * 
+	 * @param cursor Le curseur retourné par la page précédente, ou {@code null} pour la première page.
+	 * @param size Le nombre maximal de personnes dans la page.
+	 * @return La page de personnes et le curseur de la page suivante.
+	 * @throws IllegalArgumentException Si le curseur n'est pas valide.
+	 */
+	public CursorPage<Person> getPersonPage(String cursor, int size) {
+		logger.debug("Lecture d'une page de {} personnes.", size);
+		return personIndex.page(cursor, size);
+	}
+
+	/**
+	 * Récupère les personnes dont l'adresse vérifie un prédicat.
+	 * 
+	 * La recherche parcourt la colonne des codes d'adresse : le prédicat n'est
+	 * évalué qu'une fois par adresse distincte et seules les personnes retenues
+	 * sont reconstruites.
+	 * 
+	 * @param addressFilter Le prédicat sur l'adresse.
+	 * @return Les personnes retenues, dans l'ordre de la liste.
+	 */
+	public List<Person> findByAddress(Predicate<String> addressFilter) {
+		List<Person> persons = columns.findByAddress(addressFilter);
+		logger.debug("Recherche par adresse : {} personnes trouvées.", persons.size());
+		return persons;
+	}
+
+	/**
+	 * Récupère les emails des personnes dont la ville vérifie un prédicat.
+	 * 
+	 * La recherche parcourt la colonne des codes de ville : le prédicat n'est
+	 * évalué qu'une fois par ville distincte.
+	 * 
+	 * @param cityFilter Le prédicat sur la ville.
+	 * @return Les emails retenus, dans l'ordre de la liste.
+	 */
+	public List<String> findEmailsByCity(Predicate<String> cityFilter) {
+		List<String> emails = columns.findEmailsByCity(cityFilter);
+		logger.debug("Recherche par ville : {} emails trouvés.", emails.size());
+		return emails;
+	}
+
+	/**
+	 * Retourne l'index bitmap des personnes par station et par critère
+	 * démographique, partagé avec les autres repositories.
+	 * 
+	 * @return l'index bitmap, indexé par identifiant de personne
+	 */
+	public PersonBitmapIndex getBitmaps() {
+		return dataRepository.getBitmaps();
+	}
+
+	/**
+	 * Retourne l'index trié des personnes par code postal, pour les recherches
+	 * et les comptes par plage de codes postaux.
+	 * 
+	 * @return l'index par code postal, indexé par identifiant de personne
+	 */
+	public RegionIndex getZipIndex() {
+		return zipIndex;
+	}
+
+	/**
+	 * Retourne l'index trié des personnes par ville, pour les recherches et les
+	 * comptes par ville.
+	 * 
+	 * @return l'index par ville, indexé par identifiant de personne
+	 */
+	public RegionIndex getCityIndex() {
+		return cityIndex;
+	}
+
+	/**
+	 * Récupère les identifiants des résidents d'une adresse, sans distinction
+	 * entre majuscules et minuscules.
+	 * 
+	 * @param address L'adresse recherchée.
+	 * @return Un nouveau bitmap d'identifiants de personnes, vide si l'adresse est inconnue.
+	 */
+	public BitSet findIdsByAddress(String address) {
+		return getBitmaps().residentsOfAddress(dataRepository.getIds().findAddress(address));
+	}
+
+	/**
+	 * Résout une adresse saisie librement vers une adresse connue.
+	 * 
+	 * Abréviations, ponctuation, casse et accents sont tolérés :
+	 * {@code 1509 culver street} retrouve {@code 1509 Culver St}. Une faute de
+	 * frappe n'est jamais corrigée d'office, voir
+	 * {@link #suggestAddresses(String)} et {@link AddressIndex}.
+	 * 
+	 * @param address L'adresse saisie.
+	 * @return Les graphies de l'adresse retenue telles qu'elles figurent dans les
+	 *         données, vide si aucune adresse connue n'a la même forme canonique.
+	 */
+	public List<String> resolveAddress(String address) {
+		List<String> resolved = dataRepository.getAddresses().resolve(address);
+		logger.debug("Adresse '{}' résolue en {}.", address, resolved);
+		return resolved;
+	}
+
+	/**
+	 * Propose les adresses connues proches d'une saisie que
+	 * {@link #resolveAddress(String)} ne résout pas : même numéro, même
+	 * direction, même type de voie, nom de rue approchant.
+	 * {@code 1509 Culvr St} propose {@code 1509 Culver St}.
+	 * 
+	 * @param address L'adresse saisie.
+	 * @return Les adresses proposées, de la plus proche à la moins proche, au
+	 *         plus {@value #MAX_ADDRESS_SUGGESTIONS}.
+	 */
+	public List<String> suggestAddresses(String address) {
+		List<String> suggestions = dataRepository.getAddresses().suggest(address, MAX_ADDRESS_SUGGESTIONS);
+		logger.debug("Adresses proposées pour '{}' : {}.", address, suggestions);
+		return suggestions;
+	}
+
+	/**
+	 * Recherche les personnes par prénom et nom approchés.
+	 * 
+	 * Chaque terme de la saisie peut être un prénom ou un nom, complet, tronqué
+	 * ou de même prononciation (Soundex). Voir {@link NameSearchIndex}.
+	 * 
+	 * @param query La saisie libre, par exemple {@code "jon boid"}.
+	 * @param limit Le nombre maximal de personnes distinctes (même prénom et même nom).
+	 * @return Les personnes retenues, de la plus pertinente à la moins pertinente.
+	 */
+	public List<Person> searchByName(String query, int limit) {
+		List<Person> persons = new ArrayList<>();
+		for (int id : nameSearch.search(query, limit)) {
+			persons.addAll(idIndex.get(id));
+		}
+		logger.debug("Recherche par nom '{}' : {} personnes trouvées.", query, persons.size());
+		return persons;
+	}
+
+	/**
+	 * Récupère les personnes joignables à un numéro de téléphone.
+	 * 
+	 * Seuls les chiffres du numéro sont comparés : {@code (841) 874-6512} retrouve
+	 * {@code 841-874-6512}.
+	 * 
+	 * @param phone Le numéro de téléphone recherché.
+	 * @return Les personnes ayant ce numéro, dans l'ordre d'ajout.
+	 */
+	public List<Person> findByPhone(String phone) {
+		return phoneIndex.get(IndexKeys.phone(phone));
+	}
+
+	/**
+	 * Récupère les personnes ayant une adresse email, sans distinction entre
+	 * majuscules et minuscules.
+	 * 
+	 * @param email L'adresse email recherchée.
+	 * @return Les personnes ayant cette adresse email, dans l'ordre d'ajout.
+	 */
+	public List<Person> findByEmail(String email) {
+		return emailIndex.get(IndexKeys.email(email));
+	}
+
+	/**
+	 * Récupère les résidents d'une adresse, sans distinction entre majuscules et
+	 * minuscules.
+	 * 
+	 * Les résidents sont lus dans l'index bitmap puis par identifiant, sans
+	 * parcourir la liste.
+	 * 
+	 * @param address L'adresse recherchée.
+	 * @return Les personnes résidant à cette adresse.
+	 */
+	@Untimed
+	public List<Person> findResidents(String address) {
+		return findByIds(findIdsByAddress(address)).stream()
+				.filter(person -> person.getAddress() != null && person.getAddress().equalsIgnoreCase(address))
+				.toList();
+	}
+
+	/**
+	 * Récupère les personnes dont l'identifiant figure dans un bitmap.
+	 * 
+	 * Chaque bit est résolu par l'index des identifiants, sans parcourir la liste.
+	 * 
+	 * @param personIds Le bitmap d'identifiants, issu de {@link #getBitmaps()}.
+	 * @return Les personnes retenues, par identifiant croissant.
+	 */
+	public List<Person> findByIds(BitSet personIds) {
+		List<Person> persons = new ArrayList<>(personIds.cardinality());
+		for (int id = personIds.nextSetBit(0); id >= 0; id = personIds.nextSetBit(id + 1)) {
+			persons.addAll(idIndex.get(id));
+		}
+		logger.debug("Recherche par identifiant : {} personnes trouvées.", persons.size());
+		return persons;
 	}
 
 	/**
@@ -96,14 +457,22 @@ public class PersonRepository {
 	 * @param lastName Le nom de la personne à supprimer.
 	 * @param phone Le numéro de téléphone de la personne à supprimer.
 	 */
-	public void deletePerson(String firstName, String lastName, String phone) {
+	public synchronized void deletePerson(String firstName, String lastName, String phone) {
 		logger.debug("Entrée dans la méthode deletePerson() de la class PersonRepository.");
 		logger.debug("Vérification et suppression de la personne correspondant aux critères.");
 		logger.debug("La personne prenom: {}, nom: {}, phone: {}", firstName, lastName, phone);
-		personsList.removeIf(person -> person.getFirstName().equalsIgnoreCase(firstName)
-				&& person.getLastName().equalsIgnoreCase(lastName) && person.getPhone().equalsIgnoreCase(phone));
+		List<Person> deletedPersons = idIndex.get(dataRepository.getIds().findPerson(firstName, lastName)).stream()
+				.filter(person -> person.getPhone().equalsIgnoreCase(phone)).toList();
+		personsList.removeAll(deletedPersons);
+		deletedPersons.forEach(personIndex::remove);
+		deletedPersons.forEach(nameIndex::remove);
+		deletedPersons.forEach(idIndex::remove);
+		deletedPersons.forEach(phoneIndex::remove);
+		deletedPersons.forEach(emailIndex::remove);
+		columns.apply(deletedPersons, Map.of(), List.of());
+		deletedPersons.forEach(this::refreshPersonIndexes);
 		logger.debug("La personne a été supprimée. Mise à jour de la liste.");
-		dataModel.setPersonsList(personsList);
+		dataModel.setPersonsList(personsList.view());
 		logger.info("Mise à jour effectuée. Ecriture du document.");
 		dataRepository.writeFile(dataModel);
 	}
@@ -117,13 +486,21 @@ public class PersonRepository {
 	 * 
 	 * @see Person
 	 */
-	public void addPerson(Person newPerson){
+	public synchronized void addPerson(Person newPerson){
 	    logger.debug("Entrée dans la méthode addPerson() de la class PersonRepository.");
 	    logger.debug("Ajout de la nouvelle personne.");
+	    encode(newPerson);
 	    personsList.add(newPerson);
+	    personIndex.add(newPerson);
+	    nameIndex.add(newPerson);
+	    idIndex.add(newPerson);
+	    phoneIndex.add(newPerson);
+	    emailIndex.add(newPerson);
+	    columns.add(newPerson);
+	    refreshPersonIndexes(newPerson);
 	    logger.debug("La nouvelle personne à ajoutée est : {}", newPerson);
 	    logger.info("La personne a été ajoutée. Mise à jour de la liste.");
-	    dataModel.setPersonsList(personsList);
+	    dataModel.setPersonsList(personsList.view());
 	    dataRepository.writeFile(dataModel);
 	}
 
@@ -137,22 +514,173 @@ public class PersonRepository {
 	 * 
 	 * @see Person
 	 */
-	public void updatePerson(Person updatedPerson) {
+	public synchronized void updatePerson(Person updatedPerson) {
 		logger.debug("Entrée dans la méthode updatePerson de la class PersonRepository.");
 		logger.debug("Les données à mettre à jour sont : {}", updatedPerson);
+		encode(updatedPerson);
 
-		for (int i = 0; i < personsList.size(); i++) {
-			Person person = personsList.get(i);
-			if (person.getFirstName().equalsIgnoreCase(updatedPerson.getFirstName())
-					&& person.getLastName().equalsIgnoreCase(updatedPerson.getLastName())) {
-				logger.debug("Mise à jour de la personne à l'index " + i + " : " + updatedPerson);
-				personsList.set(i, updatedPerson);
-				break;
-			}
+		List<Person> sameName = idIndex
+				.get(dataRepository.getIds().findPerson(updatedPerson.getFirstName(), updatedPerson.getLastName()));
+		if (!sameName.isEmpty()) {
+			Person person = sameName.get(0);
+			logger.debug("Mise à jour de la personne : {}", updatedPerson);
+			personsList.replace(person, updatedPerson);
+			personIndex.replace(person, updatedPerson);
+			nameIndex.replace(person, updatedPerson);
+			idIndex.replace(person, updatedPerson);
+			phoneIndex.replace(person, updatedPerson);
+			emailIndex.replace(person, updatedPerson);
+			columns.replace(person, updatedPerson);
+			refreshPersonIndexes(updatedPerson);
 		}
-		dataModel.setPersonsList(personsList);
+		dataModel.setPersonsList(personsList.view());
 		dataRepository.writeFile(dataModel);
 		logger.info("Les données ont été mise à jour avec succès.");
 	}
 
+	/**
+	 * Applique un lot d'opérations d'ajout, de mise à jour et de suppression, puis
+	 * écrit le fichier une seule fois.
+	 * 
+	 * Chaque opération est résolue grâce à l'index de hachage par prénom et nom :
+	 * <ul>
+	 * <li>{@code UPSERT} met à jour la première personne portant ce prénom et ce nom, ou l'ajoute si elle n'existe pas.</li>
+	 * <li>{@code DELETE} supprime les personnes portant ce prénom, ce nom et ce numéro de téléphone.</li>
+	 * </ul>
+	 * Les opérations sont appliquées dans l'ordre du lot : une opération voit le résultat des précédentes.
+	 * Le lot est d'abord préparé à l'écart ({@link BatchPlan}), sans toucher à la liste publiée ni aux
+	 * index, puis écrit dans le fichier depuis une copie du modèle ({@link DataRepository#writeBatch}) :
+	 * le modèle partagé avec les autres repositories ne voit jamais un lot non écrit. Si l'écriture
+	 * échoue, le lot est abandonné et l'exception propagée : rien n'a changé. Sinon la nouvelle liste
+	 * est publiée en une seule affectation et chaque index est mis à jour une fois par personne
+	 * touchée, sous le même verrou.
+	 * 
+	 * @param operations Les opérations à appliquer, déjà validées par le service.
+	 * @return Le résultat de chaque opération, dans l'ordre du lot.
+	 */
+	public synchronized List<BulkItemResult.Status> applyBatch(List<BulkOperation<Person>> operations) {
+		logger.debug("Application d'un lot de {} opérations sur les personnes.", operations.size());
+		BatchPlan<Person> plan = new BatchPlan<>(personsList.edit(), PersonRepository::nameKey, nameIndex::get);
+		List<BulkItemResult.Status> statuses = new ArrayList<>(operations.size());
+
+		for (BulkOperation<Person> operation : operations) {
+			Person person = operation.getData();
+			if (operation.getOp() == BulkOperation.Type.UPSERT) {
+				encode(person);
+			}
+			List<Person> sameName = plan.find(person);
+			if (operation.getOp() == BulkOperation.Type.UPSERT) {
+				if (sameName.isEmpty()) {
+					plan.add(person);
+					statuses.add(BulkItemResult.Status.CREATED);
+				} else {
+					plan.replace(sameName.get(0), person);
+					statuses.add(BulkItemResult.Status.UPDATED);
+				}
+			} else {
+				List<Person> deletedPersons = sameName.stream()
+						.filter(existing -> existing.getPhone().equalsIgnoreCase(person.getPhone())).toList();
+				deletedPersons.forEach(plan::remove);
+				statuses.add(deletedPersons.isEmpty() ? BulkItemResult.Status.NOT_FOUND : BulkItemResult.Status.DELETED);
+			}
+		}
+
+		if (!plan.isEmpty()) {
+			logger.info("Lot préparé. Ecriture du document.");
+			try {
+				dataRepository.writeBatch(dataModel, pending -> pending.setPersonsList(plan.view()), () -> {
+					plan.publish();
+					dataModel.setPersonsList(personsList.view());
+				});
+			} catch (RuntimeException e) {
+				logger.error("Echec de l'écriture du lot, aucune modification appliquée.");
+				throw e;
+			}
+			List<Person> removed = plan.removed();
+			Map<Person, Person> replaced = plan.replaced();
+			for (Person person : removed) {
+				personIndex.remove(person);
+				nameIndex.remove(person);
+				idIndex.remove(person);
+				phoneIndex.remove(person);
+				emailIndex.remove(person);
+			}
+			replaced.forEach((previous, updated) -> {
+				personIndex.replace(previous, updated);
+				nameIndex.replace(previous, updated);
+				idIndex.replace(previous, updated);
+				phoneIndex.replace(previous, updated);
+				emailIndex.replace(previous, updated);
+			});
+			List<Person> created = plan.created();
+			for (Person person : created) {
+				personIndex.add(person);
+				nameIndex.add(person);
+				idIndex.add(person);
+				phoneIndex.add(person);
+				emailIndex.add(person);
+			}
+			columns.apply(removed, replaced, created);
+			plan.touched().forEach(this::refreshPersonIndexes);
+			logger.info("Lot appliqué.");
+		}
+		return statuses;
+	}
+
+	/**
+	 * Importe un lot de personnes sans écrire le fichier.
+	 * 
+	 * Les personnes déjà présentes (même prénom et même nom, dans les données ou
+	 * plus tôt dans l'import) sont ignorées grâce à l'index de hachage. Les
+	 * autres sont ajoutées à la liste en une seule publication, ce qui rend le lot
+	 * visible d'un coup pour les lectures concurrentes. L'écriture du fichier est
+	 * faite une seule fois à la fin de l'import par {@link #persist()}.
+	 * 
+	 * @param persons Les personnes à importer, déjà validées.
+	 * @return Le nombre de personnes effectivement importées.
+	 */
+	public synchronized int importBatch(List<Person> persons) {
+		List<Person> accepted = new ArrayList<>(persons.size());
+		for (Person person : persons) {
+			if (nameIndex.get(nameKey(person)).isEmpty()) {
+				accepted.add(encode(person));
+				personIndex.add(person);
+				nameIndex.add(person);
+				idIndex.add(person);
+				phoneIndex.add(person);
+				emailIndex.add(person);
+			}
+		}
+		personsList.edit().addAll(accepted).publish();
+		columns.addAll(accepted);
+		accepted.forEach(this::refreshPersonIndexes);
+		logger.debug("Lot importé : {} reçus, {} ajoutés.", persons.size(), accepted.size());
+		return accepted.size();
+	}
+
+	/**
+	 * Ecrit l'état courant des personnes dans le fichier de données.
+	 */
+	public synchronized void persist() {
+		dataModel.setPersonsList(personsList.view());
+		dataRepository.writeFile(dataModel);
+		logger.info("Les personnes ont été écrites dans le fichier.");
+	}
+
+	/**
+	 * Retourne un instantané figé de la liste des personnes.
+	 * 
+	 * L'instantané ne prend aucun verrou et n'est pas une copie : les écritures
+	 * concurrentes publient de nouveaux instantanés sans modifier celui-ci. Les
+	 * personnes y apparaissent dans l'état où elles étaient au moment de l'appel.
+	 * Cette méthode est utilisée pour les exports.
+	 * 
+	 * @return Une liste non modifiable des personnes.
+	 */
+	public List<Person> snapshot() {
+		List<Person> snapshot = personsList.view();
+		logger.debug("Instantané de {} personnes.", snapshot.size());
+		return snapshot;
+	}
+
 }
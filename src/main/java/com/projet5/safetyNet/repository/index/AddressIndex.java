@@ -0,0 +1,466 @@
+package com.projet5.safetyNet.repository.index;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.projet5.safetyNet.metrics.SafetyNetMetrics;
+
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Index de résolution des adresses saisies librement.
+ *
+ * <p>
+ * Chaque adresse rencontrée à l'ajout d'une personne ou d'une caserne est mise
+ * sous forme canonique par {@link #canonicalize(String)} : minuscules, sans
+ * accents ni ponctuation, numéro séparé de la rue et types de voie abrégés
+ * ({@code 1509 Culver Street} devient {@code 1509 culver st}). Les graphies
+ * d'une même adresse canonique sont regroupées.
+ * </p>
+ * <p>
+ * {@link #resolve(String)} ne retient qu'une correspondance exacte : graphie
+ * déjà connue ou forme canonique connue. Une saisie qui n'en a pas n'est
+ * jamais attribuée d'office à une adresse voisine : {@link #suggest(String, int)}
+ * propose les adresses proches, à l'appelant de les présenter. Une adresse
+ * proche a le même numéro, la même direction, le même type de voie et les
+ * mêmes ordinaux que la saisie, au même rang ; seul le nom de la rue peut
+ * différer, d'au moins {@link #MIN_SIMILARITY} au sens du coefficient de Dice
+ * sur les trigrammes. {@code 1509 Culvr St} propose ainsi {@code 1509 Culver St},
+ * mais {@code 947 W Rose Dr} ne propose pas {@code 947 E. Rose Dr},
+ * {@code 29 16th St} pas {@code 29 15th St} et {@code 1509 Culver Ave} pas
+ * {@code 1509 Culver St}. Lorsqu'un numéro est trop courant pour comparer
+ * toutes ses adresses, les candidats sont lus dans l'index des trigrammes.
+ * Aucune recherche ne parcourt les personnes.
+ * </p>
+ * <p>
+ * Une graphie est retirée par {@link #unregister(String)} lorsque plus aucune
+ * caserne ni personne ne l'utilise ; l'adresse canonique disparaît avec sa
+ * dernière graphie. Les écritures sont synchronisées ; les lectures ne prennent aucun
+ * verrou : les tables sont concurrentes et leurs valeurs, graphies d'une
+ * adresse et adresses d'un numéro, sont des instantanés immuables remplacés à
+ * chaque écriture. Les recherches sont mesurées par la métrique
+ * {@code safetynet.index.lookup}, tag {@code index=address}.
+ * </p>
+ */
+public class AddressIndex {
+
+	/**
+	 * Similarité minimale entre deux noms de rue pour qu'une adresse soit
+	 * proposée.
+	 */
+	public static final double MIN_SIMILARITY = 0.5;
+
+	/**
+	 * Nombre d'adresses de même numéro au-delà duquel les candidats sont lus dans
+	 * l'index des trigrammes plutôt que tous comparés à la saisie.
+	 */
+	private static final int MAX_SCAN = 1024;
+
+	private static final Map<String, String> ABBREVIATIONS = Map.ofEntries(Map.entry("street", "st"),
+			Map.entry("str", "st"), Map.entry("avenue", "ave"), Map.entry("av", "ave"), Map.entry("drive", "dr"),
+			Map.entry("road", "rd"), Map.entry("court", "ct"), Map.entry("circle", "cir"), Map.entry("place", "pl"),
+			Map.entry("lane", "ln"), Map.entry("boulevard", "blvd"), Map.entry("parkway", "pkwy"),
+			Map.entry("highway", "hwy"), Map.entry("terrace", "ter"), Map.entry("square", "sq"),
+			Map.entry("east", "e"), Map.entry("west", "w"), Map.entry("north", "n"), Map.entry("south", "s"),
+			Map.entry("apartment", "apt"));
+
+	/**
+	 * Mots canoniques qui ne font pas partie du nom de la rue : directions,
+	 * types de voie et appartement. Avec les mots contenant un chiffre, ils
+	 * doivent être identiques pour qu'une adresse soit proposée.
+	 */
+	private static final Set<String> STRUCTURAL_WORDS = Set.of("n", "s", "e", "w", "ne", "nw", "se", "sw", "st", "ave",
+			"dr", "rd", "ct", "cir", "pl", "ln", "blvd", "pkwy", "hwy", "ter", "sq", "apt");
+
+	private static final List<String> ORDINAL_SUFFIXES = List.of("st", "nd", "rd", "th");
+
+	/**
+	 * Marque d'un nom de rue dans le squelette d'une adresse.
+	 */
+	private static final String NAME = "*";
+
+	private static final Timer lookupTimer = SafetyNetMetrics.indexLookup("address");
+
+	/**
+	 * Forme canonique de chaque graphie déjà rencontrée, par clé {@link IndexKeys}.
+	 */
+	private final Map<String, String> spellings = new ConcurrentHashMap<>();
+
+	/**
+	 * Graphies rencontrées de chaque forme canonique, dans l'ordre de leur
+	 * enregistrement.
+	 */
+	private final Map<String, List<String>> canonicals = new ConcurrentHashMap<>();
+
+	/**
+	 * Adresses canoniques par numéro, {@code ""} pour les adresses sans numéro.
+	 */
+	private final Map<String, Bucket> byNumber = new ConcurrentHashMap<>();
+
+	/**
+	 * Enregistre une adresse. Une graphie déjà connue est ignorée sans être
+	 * analysée.
+	 *
+	 * @param address l'adresse telle qu'elle figure dans les données
+	 */
+	public synchronized void register(String address) {
+		if (address == null || spellings.containsKey(IndexKeys.key(address))) {
+			return;
+		}
+		Canonical canonical = parse(address);
+		if (canonical.text().isEmpty()) {
+			return;
+		}
+		List<String> known = canonicals.get(canonical.text());
+		if (known == null) {
+			canonicals.put(canonical.text(), List.of(address));
+			Street street = new Street(canonical.text(), canonical.skeleton(), trigrams(canonical.name()));
+			byNumber.put(canonical.number(), byNumber.getOrDefault(canonical.number(), Bucket.EMPTY).with(street));
+		} else {
+			List<String> updated = new ArrayList<>(known);
+			updated.add(address);
+			canonicals.put(canonical.text(), List.copyOf(updated));
+		}
+		spellings.put(IndexKeys.key(address), canonical.text());
+	}
+
+	/**
+	 * Retire une graphie. L'adresse canonique est retirée avec sa dernière
+	 * graphie, et n'est alors plus ni résolue ni proposée. Une graphie inconnue
+	 * est ignorée.
+	 *
+	 * @param address l'adresse telle qu'elle figure dans les données
+	 */
+	public synchronized void unregister(String address) {
+		String key = address == null ? null : IndexKeys.key(address);
+		String text = key == null ? null : spellings.remove(key);
+		if (text == null) {
+			return;
+		}
+		List<String> remaining = canonicals.get(text).stream()
+				.filter(spelling -> !IndexKeys.key(spelling).equals(key))
+				.toList();
+		if (!remaining.isEmpty()) {
+			canonicals.put(text, remaining);
+			return;
+		}
+		canonicals.remove(text);
+		String number = parse(address).number();
+		Bucket remainingStreets = byNumber.get(number).without(text);
+		if (remainingStreets.streets().length == 0) {
+			byNumber.remove(number);
+		} else {
+			byNumber.put(number, remainingStreets);
+		}
+	}
+
+	/**
+	 * Résout une saisie libre vers une adresse connue, sans correction.
+	 *
+	 * @param input l'adresse saisie
+	 * @return les graphies, telles qu'elles figurent dans les données, de
+	 *         l'adresse de même graphie ou de même forme canonique ; vide sinon
+	 */
+	public List<String> resolve(String input) {
+		long start = System.nanoTime();
+		try {
+			if (input == null) {
+				return List.of();
+			}
+			String text = spellings.get(IndexKeys.key(input));
+			if (text == null) {
+				text = parse(input).text();
+			}
+			return canonicals.getOrDefault(text, List.of());
+		} finally {
+			SafetyNetMetrics.record(lookupTimer, System.nanoTime() - start);
+		}
+	}
+
+	/**
+	 * Propose les adresses connues proches d'une saisie qui n'en désigne aucune :
+	 * même numéro, mêmes directions, types de voie et ordinaux, nom de rue
+	 * approchant.
+	 *
+	 * @param input l'adresse saisie
+	 * @param limit le nombre maximal d'adresses proposées
+	 * @return la première graphie de chaque adresse proposée, de la plus proche
+	 *         à la moins proche ; vide si aucune n'est assez proche
+	 */
+	public List<String> suggest(String input, int limit) {
+		long start = System.nanoTime();
+		try {
+			Canonical canonical = parse(input);
+			Bucket sameNumber = byNumber.get(canonical.number());
+			if (canonical.name().isEmpty() || sameNumber == null) {
+				return List.of();
+			}
+			long[] trigrams = trigrams(canonical.name());
+			List<Suggestion> suggestions = new ArrayList<>();
+			for (int position : sameNumber.candidates(trigrams)) {
+				Street street = sameNumber.streets()[position];
+				if (!street.skeleton().equals(canonical.skeleton())) {
+					continue;
+				}
+				double similarity = dice(trigrams, street.trigrams());
+				List<String> known = canonicals.get(street.text());
+				if (similarity >= MIN_SIMILARITY && known != null) {
+					suggestions.add(new Suggestion(known.get(0), similarity));
+				}
+			}
+			return suggestions.stream()
+					.sorted(Comparator.comparingDouble(Suggestion::similarity).reversed())
+					.limit(limit)
+					.map(Suggestion::address)
+					.toList();
+		} finally {
+			SafetyNetMetrics.record(lookupTimer, System.nanoTime() - start);
+		}
+	}
+
+	/**
+	 * Retourne le nombre d'adresses canoniques distinctes.
+	 *
+	 * @return le nombre d'adresses
+	 */
+	public int size() {
+		return canonicals.size();
+	}
+
+	/**
+	 * Retourne la forme canonique d'une adresse.
+	 *
+	 * @param address l'adresse brute, éventuellement {@code null}
+	 * @return la forme canonique, vide si l'adresse ne contient ni lettre ni
+	 *         chiffre
+	 */
+	public static String canonicalize(String address) {
+		return parse(address).text();
+	}
+
+	/**
+	 * Calcule le coefficient de Dice entre deux ensembles triés de trigrammes.
+	 */
+	private static double dice(long[] left, long[] right) {
+		int common = 0;
+		int i = 0;
+		int j = 0;
+		while (i < left.length && j < right.length) {
+			if (left[i] == right[j]) {
+				common++;
+				i++;
+				j++;
+			} else if (left[i] < right[j]) {
+				i++;
+			} else {
+				j++;
+			}
+		}
+		return 2.0 * common / (left.length + right.length);
+	}
+
+	/**
+	 * Retourne les trigrammes distincts et triés d'un nom de rue, borné par des
+	 * espaces pour que le début et la fin des mots comptent. Chaque trigramme
+	 * est codé sur un {@code long}, trois caractères de 16 bits.
+	 */
+	private static long[] trigrams(String name) {
+		if (name.isEmpty()) {
+			return new long[0];
+		}
+		String padded = " " + name + " ";
+		long[] trigrams = new long[padded.length() - 2];
+		for (int i = 0; i < trigrams.length; i++) {
+			trigrams[i] = ((long) padded.charAt(i) << 32) | ((long) padded.charAt(i + 1) << 16) | padded.charAt(i + 2);
+		}
+		return Arrays.stream(trigrams).sorted().distinct().toArray();
+	}
+
+	/**
+	 * Découpe une adresse en numéro et rue canoniques. Le numéro est le premier
+	 * mot composé de chiffres, où qu'il soit : {@code Culver St 1509} désigne
+	 * {@code 1509 culver st}. Le squelette remplace chaque suite de mots du nom
+	 * de la rue par {@link #NAME} : {@code e rose dr} a pour squelette
+	 * {@code e * dr} et pour nom {@code rose}.
+	 */
+	private static Canonical parse(String address) {
+		if (address == null) {
+			return new Canonical("", "", "", "");
+		}
+		String decomposed = isAscii(address) ? address : Normalizer.normalize(address, Normalizer.Form.NFD);
+		List<String> tokens = new ArrayList<>();
+		StringBuilder token = new StringBuilder();
+		for (int i = 0; i <= decomposed.length(); i++) {
+			char c = i < decomposed.length() ? decomposed.charAt(i) : ' ';
+			if (Character.isLetterOrDigit(c)) {
+				token.append(Character.toLowerCase(c));
+			} else if (Character.getType(c) != Character.NON_SPACING_MARK && token.length() > 0) {
+				splitNumber(token.toString(), tokens);
+				token.setLength(0);
+			}
+		}
+		String number = "";
+		for (int i = 0; i < tokens.size(); i++) {
+			if (tokens.get(i).chars().allMatch(Character::isDigit)) {
+				number = tokens.remove(i);
+				break;
+			}
+		}
+		tokens.replaceAll(word -> ABBREVIATIONS.getOrDefault(word, word));
+		List<String> skeleton = new ArrayList<>();
+		List<String> name = new ArrayList<>();
+		for (String word : tokens) {
+			if (STRUCTURAL_WORDS.contains(word) || word.chars().anyMatch(Character::isDigit)) {
+				skeleton.add(word);
+			} else {
+				if (skeleton.isEmpty() || !skeleton.get(skeleton.size() - 1).equals(NAME)) {
+					skeleton.add(NAME);
+				}
+				name.add(word);
+			}
+		}
+		String street = String.join(" ", tokens);
+		String text = number.isEmpty() ? street : street.isEmpty() ? number : number + " " + street;
+		return new Canonical(number, text, String.join(" ", skeleton), String.join(" ", name));
+	}
+
+	/**
+	 * Indique si une adresse est en ASCII, auquel cas elle n'a pas d'accent à
+	 * décomposer.
+	 */
+	private static boolean isAscii(String value) {
+		for (int i = 0; i < value.length(); i++) {
+			if (value.charAt(i) >= 0x80) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Sépare un numéro collé à des lettres ({@code 1509b} devient {@code 1509 b}),
+	 * sauf pour un ordinal ({@code 73rd}).
+	 */
+	private static void splitNumber(String token, List<String> tokens) {
+		int digits = 0;
+		while (digits < token.length() && Character.isDigit(token.charAt(digits))) {
+			digits++;
+		}
+		if (digits == 0 || digits == token.length() || ORDINAL_SUFFIXES.contains(token.substring(digits))) {
+			tokens.add(token);
+		} else {
+			tokens.add(token.substring(0, digits));
+			tokens.add(token.substring(digits));
+		}
+	}
+
+	/**
+	 * Adresse découpée en numéro, forme canonique complète, squelette et nom de
+	 * rue.
+	 */
+	private record Canonical(String number, String text, String skeleton, String name) {
+	}
+
+	/**
+	 * Adresse canonique d'un numéro, avec les trigrammes de son nom de rue.
+	 */
+	private record Street(String text, String skeleton, long[] trigrams) {
+	}
+
+	/**
+	 * Adresse proposée pour une saisie.
+	 */
+	private record Suggestion(String address, double similarity) {
+	}
+
+	/**
+	 * Instantané immuable des adresses d'un même numéro, remplacé à chaque
+	 * ajout ou retrait. Au-delà de {@link AddressIndex#MAX_SCAN} adresses, les trigrammes
+	 * de leurs noms sont indexés pour ne pas toutes les comparer à la saisie.
+	 */
+	private record Bucket(Street[] streets, Map<Long, int[]> byTrigram) {
+
+		private static final Bucket EMPTY = new Bucket(new Street[0], null);
+
+		/**
+		 * Retourne un nouvel instantané augmenté d'une adresse. Seules les listes
+		 * des trigrammes de la nouvelle adresse sont recopiées.
+		 */
+		private Bucket with(Street street) {
+			Street[] added = Arrays.copyOf(streets, streets.length + 1);
+			added[streets.length] = street;
+			if (added.length <= MAX_SCAN) {
+				return new Bucket(added, null);
+			}
+			if (byTrigram == null) {
+				return new Bucket(added, index(added));
+			}
+			Map<Long, int[]> index = new HashMap<>(byTrigram);
+			for (long trigram : street.trigrams()) {
+				int[] posting = index.getOrDefault(trigram, new int[0]);
+				int[] appended = Arrays.copyOf(posting, posting.length + 1);
+				appended[posting.length] = streets.length;
+				index.put(trigram, appended);
+			}
+			return new Bucket(added, index);
+		}
+
+		/**
+		 * Retourne un nouvel instantané privé d'une adresse. Les positions
+		 * changent : l'index des trigrammes est reconstruit.
+		 */
+		private Bucket without(String text) {
+			Street[] kept = Arrays.stream(streets).filter(street -> !street.text().equals(text)).toArray(Street[]::new);
+			return new Bucket(kept, kept.length <= MAX_SCAN ? null : index(kept));
+		}
+
+		private static Map<Long, int[]> index(Street[] streets) {
+			Map<Long, List<Integer>> positions = new HashMap<>();
+			for (int position = 0; position < streets.length; position++) {
+				for (long trigram : streets[position].trigrams()) {
+					positions.computeIfAbsent(trigram, key -> new ArrayList<>()).add(position);
+				}
+			}
+			Map<Long, int[]> index = new HashMap<>();
+			positions.forEach((trigram, posting) -> index.put(trigram,
+					posting.stream().mapToInt(Integer::intValue).toArray()));
+			return index;
+		}
+
+		/**
+		 * Retourne les positions des adresses à comparer à une saisie : toutes, ou
+		 * celles lues dans l'index des trigrammes. Un nom de similarité au moins
+		 * {@link AddressIndex#MIN_SIMILARITY} avec une saisie de {@code n}
+		 * trigrammes en partage au moins {@code n * s / (2 - s)} : il suffit de
+		 * lire les listes des {@code n - minimum + 1} trigrammes les plus rares.
+		 */
+		private int[] candidates(long[] trigrams) {
+			if (byTrigram == null) {
+				int[] all = new int[streets.length];
+				Arrays.setAll(all, position -> position);
+				return all;
+			}
+			int[][] postings = new int[trigrams.length][];
+			for (int i = 0; i < trigrams.length; i++) {
+				postings[i] = byTrigram.getOrDefault(trigrams[i], new int[0]);
+			}
+			Arrays.sort(postings, Comparator.comparingInt(posting -> posting.length));
+			int minimum = (int) Math.ceil(trigrams.length * MIN_SIMILARITY / (2 - MIN_SIMILARITY));
+			Set<Integer> candidates = new LinkedHashSet<>();
+			for (int i = 0; i < trigrams.length - minimum + 1; i++) {
+				for (int position : postings[i]) {
+					candidates.add(position);
+				}
+			}
+			return candidates.stream().mapToInt(Integer::intValue).toArray();
+		}
+	}
+}
@@ -0,0 +1,118 @@
+package com.projet5.safetyNet.repository.index;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import com.projet5.safetyNet.jfr.IndexMissEvent;
+
+/**
+ * Index de hachage associant une clé à la liste des éléments qui la partagent.
+ *
+ * <p>
+ * La clé est calculée par {@link IndexKeys} à partir des champs de l'élément.
+ * Une recherche coûte O(1) au lieu d'un parcours complet de la liste. Les
+ * listes associées à une clé ne sont jamais modifiées après publication :
+ * chaque ajout ou suppression remplace la liste, ce qui permet une lecture
+ * concurrente sans verrou. Une recherche sans résultat émet un événement JFR
+ * {@link IndexMissEvent}. Les recherches ne sont pas chronométrées une à une :
+ * elles sont appelées en boucle et coûtent moins qu'une mesure ; leur durée
+ * est comprise dans la métrique {@code safetynet.repository} de la méthode
+ * appelante.
+ * </p>
+ *
+ * @param <T> le type des éléments indexés
+ */
+public class HashIndex<T> {
+
+	private final ConcurrentHashMap<String, List<T>> buckets = new ConcurrentHashMap<>();
+
+	private final Function<T, String> keyExtractor;
+
+	/**
+	 * Constructeur de l'index.
+	 *
+	 * @param keyExtractor la fonction calculant la clé d'un élément
+	 */
+	public HashIndex(Function<T, String> keyExtractor) {
+		this.keyExtractor = keyExtractor;
+	}
+
+	/**
+	 * Ajoute un élément à l'index.
+	 *
+	 * @param item l'élément à ajouter
+	 */
+	public void add(T item) {
+		buckets.compute(keyExtractor.apply(item), (key, bucket) -> {
+			List<T> updated = bucket == null ? new ArrayList<>(1) : new ArrayList<>(bucket);
+			updated.add(item);
+			return Collections.unmodifiableList(updated);
+		});
+	}
+
+	/**
+	 * Retire un élément de l'index. L'élément est recherché par identité.
+	 *
+	 * @param item l'élément à retirer
+	 */
+	public void remove(T item) {
+		buckets.computeIfPresent(keyExtractor.apply(item), (key, bucket) -> {
+			List<T> updated = new ArrayList<>(bucket.size());
+			for (T candidate : bucket) {
+				if (candidate != item) {
+					updated.add(candidate);
+				}
+			}
+			return updated.isEmpty() ? null : Collections.unmodifiableList(updated);
+		});
+	}
+
+	/**
+	 * Remplace un élément par un autre dans l'index.
+	 *
+	 * @param previous l'élément à remplacer
+	 * @param updated  le nouvel élément
+	 */
+	public void replace(T previous, T updated) {
+		remove(previous);
+		add(updated);
+	}
+
+	/**
+	 * Retourne les éléments associés à une clé.
+	 *
+	 * @param key la clé recherchée, construite avec {@link IndexKeys#key(String...)}
+	 * @return la liste non modifiable des éléments, vide si aucun élément ne
+	 *         correspond
+	 */
+	public List<T> get(String key) {
+		List<T> items = buckets.getOrDefault(key, Collections.emptyList());
+		if (items.isEmpty()) {
+			IndexMissEvent miss = new IndexMissEvent();
+			if (miss.shouldCommit()) {
+				miss.key = key;
+				miss.commit();
+			}
+		}
+		return items;
+	}
+
+	/**
+	 * Vide l'index.
+	 */
+	public void clear() {
+		buckets.clear();
+	}
+
+	/**
+	 * Retourne le nombre de clés distinctes présentes dans l'index.
+	 *
+	 * @return le nombre de clés
+	 */
+	public int keyCount() {
+		return buckets.size();
+	}
+}
@@ -0,0 +1,184 @@
+package com.projet5.safetyNet.repository.index;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.function.ToIntFunction;
+
+import com.projet5.safetyNet.jfr.IndexMissEvent;
+
+/**
+ * Index associant un identifiant entier dense ({@link SurrogateIds}) à la liste
+ * des éléments qui le partagent.
+ *
+ * <p>
+ * Les listes sont rangées dans un tableau indexé par l'identifiant : une
+ * recherche est un accès au tableau, sans calcul de clé ni comparaison de
+ * chaînes. Comme pour {@link HashIndex}, une liste n'est jamais modifiée après
+ * publication et les lectures ne prennent aucun verrou ; les écritures sont
+ * synchronisées. Les éléments d'une liste restent dans l'ordre d'ajout, un
+ * remplacement garde la position de l'élément remplacé. Comme pour
+ * {@link HashIndex}, les recherches ne sont pas chronométrées une à une.
+ * </p>
+ *
+ * @param <T> le type des éléments indexés
+ */
+public class IdIndex<T> {
+
+	private final ToIntFunction<T> idExtractor;
+
+	private volatile List<?>[] buckets = new List<?>[16];
+
+	/**
+	 * Constructeur de l'index.
+	 *
+	 * @param idExtractor la fonction retournant l'identifiant d'un élément, en
+	 *                    général fournie par {@link SurrogateIds}
+	 */
+	public IdIndex(ToIntFunction<T> idExtractor) {
+		this.idExtractor = idExtractor;
+	}
+
+	/**
+	 * Ajoute un élément à l'index.
+	 *
+	 * @param item l'élément à ajouter
+	 */
+	public synchronized void add(T item) {
+		int id = idExtractor.applyAsInt(item);
+		if (id >= buckets.length) {
+			buckets = Arrays.copyOf(buckets, Math.max(id + 1, buckets.length * 2));
+		}
+		List<T> bucket = bucket(buckets, id);
+		List<T> updated = new ArrayList<>(bucket.size() + 1);
+		updated.addAll(bucket);
+		updated.add(item);
+		publish(id, Collections.unmodifiableList(updated));
+	}
+
+	/**
+	 * Retire un élément de l'index. L'élément est recherché par identité.
+	 *
+	 * @param item l'élément à retirer
+	 */
+	public synchronized void remove(T item) {
+		int id = idExtractor.applyAsInt(item);
+		List<T> bucket = bucket(buckets, id);
+		List<T> updated = new ArrayList<>(bucket.size());
+		for (T candidate : bucket) {
+			if (candidate != item) {
+				updated.add(candidate);
+			}
+		}
+		if (updated.size() != bucket.size()) {
+			publish(id, updated.isEmpty() ? null : Collections.unmodifiableList(updated));
+		}
+	}
+
+	/**
+	 * Remplace un élément par un autre. Si les deux éléments ont le même
+	 * identifiant, le nouvel élément prend la position de l'ancien.
+	 *
+	 * @param previous l'élément à remplacer
+	 * @param updated  le nouvel élément
+	 */
+	public synchronized void replace(T previous, T updated) {
+		int id = idExtractor.applyAsInt(previous);
+		List<T> bucket = bucket(buckets, id);
+		int position = indexOfSame(bucket, previous);
+		if (position < 0 || idExtractor.applyAsInt(updated) != id) {
+			remove(previous);
+			add(updated);
+			return;
+		}
+		List<T> replaced = new ArrayList<>(bucket);
+		replaced.set(position, updated);
+		publish(id, Collections.unmodifiableList(replaced));
+	}
+
+	/**
+	 * Retourne les éléments associés à un identifiant.
+	 *
+	 * @param id l'identifiant recherché, éventuellement {@link SurrogateIds#NONE}
+	 * @return la liste non modifiable des éléments, dans l'ordre d'ajout, vide si
+	 *         aucun élément ne correspond
+	 */
+	public List<T> get(int id) {
+		List<T> items = bucket(buckets, id);
+		if (items.isEmpty()) {
+			IndexMissEvent miss = new IndexMissEvent();
+			if (miss.shouldCommit()) {
+				miss.key = String.valueOf(id);
+				miss.commit();
+			}
+		}
+		return items;
+	}
+
+	/**
+	 * Vide l'index.
+	 */
+	public synchronized void clear() {
+		buckets = new List<?>[16];
+	}
+
+	/**
+	 * Retourne la position d'un élément dans une liste, recherché par identité et
+	 * non par {@link Object#equals(Object)}.
+	 *
+	 * @param <T>  le type des éléments
+	 * @param list la liste
+	 * @param item l'élément recherché
+	 * @return la position de l'élément, -1 s'il est absent
+	 */
+	public static <T> int indexOfSame(List<T> list, T item) {
+		for (int i = 0; i < list.size(); i++) {
+			if (list.get(i) == item) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Retire d'une liste les éléments d'une collection, recherchés par identité et
+	 * non par {@link Object#equals(Object)}. La liste est parcourue une seule fois,
+	 * chaque élément étant cherché dans un ensemble par identité : le coût est
+	 * O(n + m) et aucun élément n'est comparé champ par champ.
+	 *
+	 * @param <T>   le type des éléments
+	 * @param list  la liste à modifier
+	 * @param items les éléments à retirer
+	 * @return {@code true} si au moins un élément a été retiré
+	 */
+	public static <T> boolean removeAllSame(List<T> list, Collection<? extends T> items) {
+		if (items.isEmpty()) {
+			return false;
+		}
+		Set<T> removed = Collections.newSetFromMap(new IdentityHashMap<>(items.size()));
+		removed.addAll(items);
+		return list.removeIf(removed::contains);
+	}
+
+	/**
+	 * Publie la liste d'un identifiant. Le tableau est réaffecté au champ
+	 * volatile pour qu'un lecteur qui le relit voie la nouvelle liste.
+	 */
+	private void publish(int id, List<?> bucket) {
+		List<?>[] current = buckets;
+		current[id] = bucket;
+		buckets = current;
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <T> List<T> bucket(List<?>[] buckets, int id) {
+		if (id < 0 || id >= buckets.length || buckets[id] == null) {
+			return Collections.emptyList();
+		}
+		return (List<T>) buckets[id];
+	}
+}
@@ -0,0 +1,77 @@
+package com.projet5.safetyNet.repository.index;
+
+import java.util.Locale;
+
+/**
+ * Classe utilitaire construisant les clés utilisées par les index des
+ * repositories.
+ *
+ * <p>
+ * Une clé est la concaténation des composants en minuscules, séparés par le
+ * caractère {@code \u0000}. Ce séparateur étant inférieur à tous les autres
+ * caractères, l'ordre lexicographique des clés respecte l'ordre des
+ * composants : la clé convient donc aussi bien à un index de hachage qu'à un
+ * index trié.
+ * </p>
+ */
+public final class IndexKeys {
+
+	/**
+	 * Séparateur placé entre les composants d'une clé.
+	 */
+	public static final char SEPARATOR = '\u0000';
+
+	private IndexKeys() {
+	}
+
+	/**
+	 * Construit une clé à partir de plusieurs composants, sans distinction entre
+	 * majuscules et minuscules.
+	 *
+	 * @param parts les composants de la clé, dans l'ordre de tri
+	 * @return la clé
+	 */
+	public static String key(String... parts) {
+		StringBuilder builder = new StringBuilder();
+		for (int i = 0; i < parts.length; i++) {
+			if (i > 0) {
+				builder.append(SEPARATOR);
+			}
+			if (parts[i] != null) {
+				builder.append(parts[i].toLowerCase(Locale.ROOT));
+			}
+		}
+		return builder.toString();
+	}
+
+	/**
+	 * Construit la clé d'un numéro de téléphone : ses chiffres seulement, si bien
+	 * que {@code 841-874-6512} et {@code (841) 874 6512} partagent la même clé.
+	 *
+	 * @param phone le numéro de téléphone, éventuellement {@code null}
+	 * @return la clé, vide si le numéro ne contient aucun chiffre
+	 */
+	public static String phone(String phone) {
+		if (phone == null) {
+			return "";
+		}
+		StringBuilder builder = new StringBuilder(phone.length());
+		for (int i = 0; i < phone.length(); i++) {
+			if (Character.isDigit(phone.charAt(i))) {
+				builder.append(phone.charAt(i));
+			}
+		}
+		return builder.toString();
+	}
+
+	/**
+	 * Construit la clé d'une adresse email : sans espaces de début et de fin et
+	 * sans distinction entre majuscules et minuscules.
+	 *
+	 * @param email l'adresse email, éventuellement {@code null}
+	 * @return la clé
+	 */
+	public static String email(String email) {
+		return email == null ? "" : key(email.trim());
+	}
+}
@@ -0,0 +1,98 @@
+package com.projet5.safetyNet.repository.index;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Index inversé associant un terme normalisé aux identifiants de personnes
+ * ({@link SurrogateIds}) qui le portent.
+ *
+ * <p>
+ * Les valeurs sont normalisées par {@link #normalize(String)} : un médicament
+ * {@code Aznol:350mg} est indexé sous le terme {@code aznol}, quel que soit son
+ * dosage. Chaque terme pointe vers un {@link BitSet} d'identifiants, que
+ * l'appelant peut croiser avec ceux de {@link PersonBitmapIndex}. Les termes
+ * d'une personne sont conservés pour pouvoir les retirer à la mise à jour
+ * suivante.
+ * </p>
+ * <p>
+ * Les méthodes sont synchronisées et les recherches retournent des copies.
+ * </p>
+ */
+public class InvertedIndex {
+
+	private final Map<String, BitSet> postings = new HashMap<>();
+
+	private String[][] personTerms = new String[16][];
+
+	/**
+	 * Enregistre les valeurs d'une personne, en remplaçant les précédentes.
+	 *
+	 * @param personId l'identifiant de la personne
+	 * @param values   les valeurs brutes, éventuellement {@code null} ou vides
+	 */
+	public synchronized void set(int personId, Collection<String> values) {
+		if (personId >= personTerms.length) {
+			personTerms = Arrays.copyOf(personTerms, Math.max(personId + 1, personTerms.length * 2));
+		}
+		String[] previous = personTerms[personId];
+		if (previous != null) {
+			for (String term : previous) {
+				BitSet posting = postings.get(term);
+				posting.clear(personId);
+				if (posting.isEmpty()) {
+					postings.remove(term);
+				}
+			}
+		}
+		String[] terms = values == null ? new String[0]
+				: values.stream().map(InvertedIndex::normalize).filter(Objects::nonNull).distinct()
+						.toArray(String[]::new);
+		for (String term : terms) {
+			postings.computeIfAbsent(term, key -> new BitSet()).set(personId);
+		}
+		personTerms[personId] = terms.length == 0 ? null : terms;
+	}
+
+	/**
+	 * Retourne les personnes qui portent un terme.
+	 *
+	 * @param value la valeur recherchée, normalisée comme les valeurs indexées
+	 * @return un nouveau bitmap d'identifiants de personnes, vide si le terme est
+	 *         inconnu
+	 */
+	public synchronized BitSet get(String value) {
+		BitSet posting = postings.get(normalize(value));
+		return posting == null ? new BitSet() : (BitSet) posting.clone();
+	}
+
+	/**
+	 * Retourne le nombre de termes distincts de l'index.
+	 *
+	 * @return le nombre de termes
+	 */
+	public synchronized int terms() {
+		return postings.size();
+	}
+
+	/**
+	 * Normalise une valeur : le dosage qui suit {@code :} est retiré, les espaces
+	 * de début et de fin sont supprimés et la casse est ignorée.
+	 *
+	 * @param value la valeur brute
+	 * @return le terme, {@code null} si la valeur est {@code null} ou vide
+	 */
+	public static String normalize(String value) {
+		if (value == null) {
+			return null;
+		}
+		int separator = value.indexOf(':');
+		String term = (separator < 0 ? value : value.substring(0, separator)).trim().toLowerCase(Locale.ROOT);
+		return term.isEmpty() ? null : term;
+	}
+}
@@ -0,0 +1,269 @@
+package com.projet5.safetyNet.repository.index;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+import com.projet5.safetyNet.metrics.SafetyNetMetrics;
+
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Index de recherche approchée des personnes par prénom et nom, sur leurs
+ * identifiants ({@link SurrogateIds}).
+ *
+ * <p>
+ * Les noms sont normalisés (minuscules, sans accents ni ponctuation) et rangés
+ * dans des {@link ConcurrentSkipListMap} triées : une recherche par préfixe est
+ * la lecture d'une sous-table, en O(log n + nombre de candidats). Chaque nom est
+ * aussi rangé sous son code Soundex, ce qui retrouve {@code Boyd} à partir de
+ * {@code Boid} ou {@code Zemiks} à partir de {@code Zemicks}.
+ * </p>
+ * <p>
+ * Chaque terme de la recherche est comparé au prénom et au nom ; son score est
+ * 3 pour une égalité, 2 pour un préfixe et 1 pour un code Soundex identique. Une
+ * personne n'est retenue que si tous les termes la désignent, et les personnes
+ * sont classées par score total décroissant puis par nom et prénom.
+ * </p>
+ * <p>
+ * Le nombre de candidats lus par terme et par source est borné à
+ * {@link #CANDIDATES_PER_RESULT} fois le nombre de résultats demandés : un
+ * préfixe d'une lettre ne parcourt pas un million de noms. Les clés étant
+ * triées par nom, puis par l'autre nom, les candidats lus en premier sont les
+ * égalités, puis les préfixes, chacun dans l'ordre du classement. La borne ne
+ * peut donc écarter qu'un candidat d'une autre source ou d'un autre terme, au
+ * profit de candidats de même score.
+ * </p>
+ * <p>
+ * Les écritures sont synchronisées, les recherches ne prennent aucun verrou et
+ * sont mesurées par la métrique {@code safetynet.index.lookup}, tag
+ * {@code index=name}.
+ * </p>
+ */
+public class NameSearchIndex {
+
+	/**
+	 * Nombre de candidats lus par terme dans chaque source, par résultat
+	 * demandé.
+	 */
+	public static final int CANDIDATES_PER_RESULT = 16;
+
+	private static final int EXACT = 3;
+
+	private static final int PREFIX = 2;
+
+	private static final int PHONETIC = 1;
+
+	private static final String SOUNDEX_CODES = "01230120022455012623010202";
+
+	private static final Comparator<Match> RANKING = Comparator.comparingInt(Match::score).reversed()
+			.thenComparing(Match::lastName).thenComparing(Match::firstName).thenComparingInt(Match::personId);
+
+	private static final Timer lookupTimer = SafetyNetMetrics.indexLookup("name");
+
+	private final ConcurrentSkipListMap<String, Integer> lastNames = new ConcurrentSkipListMap<>();
+
+	private final ConcurrentSkipListMap<String, Integer> firstNames = new ConcurrentSkipListMap<>();
+
+	private final ConcurrentSkipListMap<String, Integer> phonetics = new ConcurrentSkipListMap<>();
+
+	/**
+	 * Prénom, nom et leurs codes Soundex, normalisés, par identifiant.
+	 */
+	private final Map<Integer, String[]> names = new ConcurrentHashMap<>();
+
+	/**
+	 * Enregistre le prénom et le nom d'une personne, en remplaçant les
+	 * précédents.
+	 *
+	 * @param personId  l'identifiant de la personne
+	 * @param firstName le prénom
+	 * @param lastName  le nom
+	 */
+	public synchronized void put(int personId, String firstName, String lastName) {
+		String first = normalize(firstName);
+		String last = normalize(lastName);
+		String[] entry = { first, last, soundex(first), soundex(last) };
+		if (Arrays.equals(entry, names.get(personId))) {
+			return;
+		}
+		remove(personId);
+		firstNames.put(IndexKeys.key(first, last, String.valueOf(personId)), personId);
+		lastNames.put(IndexKeys.key(last, first, String.valueOf(personId)), personId);
+		for (String code : codes(entry)) {
+			phonetics.put(IndexKeys.key(code, last, first, String.valueOf(personId)), personId);
+		}
+		names.put(personId, entry);
+	}
+
+	/**
+	 * Retire une personne de l'index.
+	 *
+	 * @param personId l'identifiant de la personne
+	 */
+	public synchronized void remove(int personId) {
+		String[] entry = names.remove(personId);
+		if (entry == null) {
+			return;
+		}
+		firstNames.remove(IndexKeys.key(entry[0], entry[1], String.valueOf(personId)));
+		lastNames.remove(IndexKeys.key(entry[1], entry[0], String.valueOf(personId)));
+		for (String code : codes(entry)) {
+			phonetics.remove(IndexKeys.key(code, entry[1], entry[0], String.valueOf(personId)));
+		}
+	}
+
+	/**
+	 * Recherche les personnes désignées par une saisie libre, par exemple
+	 * {@code "jon boid"} ou {@code "zem"}.
+	 *
+	 * @param query la saisie, un ou plusieurs termes séparés par des espaces
+	 * @param limit le nombre maximal de résultats
+	 * @return les identifiants des personnes retenues, de la plus pertinente à la
+	 *         moins pertinente
+	 */
+	public List<Integer> search(String query, int limit) {
+		long start = System.nanoTime();
+		String[] terms = Arrays.stream(query.trim().split("\\s+")).map(NameSearchIndex::normalize)
+				.filter(term -> !term.isEmpty()).toArray(String[]::new);
+		String[] codes = Arrays.stream(terms).map(NameSearchIndex::soundex).toArray(String[]::new);
+		int budget = (int) Math.min(Integer.MAX_VALUE, (long) limit * CANDIDATES_PER_RESULT);
+		Set<Integer> candidates = new HashSet<>();
+		for (int i = 0; i < terms.length; i++) {
+			collect(lastNames, terms[i], budget, candidates);
+			collect(firstNames, terms[i], budget, candidates);
+			if (!codes[i].isEmpty()) {
+				collect(phonetics, IndexKeys.key(codes[i], ""), budget, candidates);
+			}
+		}
+		List<Match> matches = new ArrayList<>();
+		for (Integer personId : candidates) {
+			String[] entry = names.get(personId);
+			int score = score(entry, terms, codes);
+			if (score > 0) {
+				matches.add(new Match(personId, score, entry[1], entry[0]));
+			}
+		}
+		matches.sort(RANKING);
+		List<Integer> ranked = matches.stream().limit(limit).map(Match::personId).toList();
+		SafetyNetMetrics.record(lookupTimer, System.nanoTime() - start);
+		return ranked;
+	}
+
+	/**
+	 * Ajoute aux candidats les premiers identifiants dont la clé commence par un
+	 * préfixe.
+	 */
+	private static void collect(ConcurrentSkipListMap<String, Integer> source, String prefix, int budget,
+			Set<Integer> candidates) {
+		int read = 0;
+		for (Integer personId : source.subMap(prefix, prefix + Character.MAX_VALUE).values()) {
+			if (read++ == budget) {
+				return;
+			}
+			candidates.add(personId);
+		}
+	}
+
+	/**
+	 * Calcule le score d'une personne : la somme, pour chaque terme, de sa
+	 * meilleure correspondance avec le prénom ou le nom, ou 0 si un terme ne
+	 * correspond à aucun des deux.
+	 */
+	private static int score(String[] entry, String[] terms, String[] codes) {
+		if (entry == null) {
+			return 0;
+		}
+		int total = 0;
+		for (int i = 0; i < terms.length; i++) {
+			int best = Math.max(match(entry[0], entry[2], terms[i], codes[i]),
+					match(entry[1], entry[3], terms[i], codes[i]));
+			if (best == 0) {
+				return 0;
+			}
+			total += best;
+		}
+		return total;
+	}
+
+	private static int match(String name, String nameCode, String term, String termCode) {
+		if (name.equals(term)) {
+			return EXACT;
+		}
+		if (name.startsWith(term)) {
+			return PREFIX;
+		}
+		return !termCode.isEmpty() && termCode.equals(nameCode) ? PHONETIC : 0;
+	}
+
+	private static String[] codes(String[] entry) {
+		return Arrays.stream(entry, 2, 4).filter(code -> !code.isEmpty()).distinct().toArray(String[]::new);
+	}
+
+	/**
+	 * Normalise un nom : accents retirés, minuscules, lettres et chiffres
+	 * seulement.
+	 *
+	 * @param name le nom brut, éventuellement {@code null}
+	 * @return le nom normalisé, vide si le nom ne contient aucune lettre
+	 */
+	public static String normalize(String name) {
+		if (name == null) {
+			return "";
+		}
+		String decomposed = Normalizer.normalize(name, Normalizer.Form.NFD);
+		StringBuilder builder = new StringBuilder(decomposed.length());
+		for (int i = 0; i < decomposed.length(); i++) {
+			char c = decomposed.charAt(i);
+			if (Character.isLetterOrDigit(c)) {
+				builder.append(Character.toLowerCase(c));
+			}
+		}
+		return builder.toString();
+	}
+
+	/**
+	 * Calcule le code Soundex d'un nom normalisé : la première lettre suivie de
+	 * trois chiffres codant les consonnes suivantes.
+	 *
+	 * @param name le nom normalisé
+	 * @return le code, vide si le nom ne commence pas par une lettre de a à z
+	 */
+	public static String soundex(String name) {
+		if (name.isEmpty() || name.charAt(0) < 'a' || name.charAt(0) > 'z') {
+			return "";
+		}
+		StringBuilder code = new StringBuilder(4).append(Character.toUpperCase(name.charAt(0)));
+		char previous = SOUNDEX_CODES.charAt(name.charAt(0) - 'a');
+		for (int i = 1; i < name.length() && code.length() < 4; i++) {
+			char c = name.charAt(i);
+			if (c < 'a' || c > 'z') {
+				continue;
+			}
+			char digit = SOUNDEX_CODES.charAt(c - 'a');
+			if (digit != '0' && digit != previous) {
+				code.append(digit);
+			}
+			if (c != 'h' && c != 'w') {
+				previous = digit;
+			}
+		}
+		while (code.length() < 4) {
+			code.append('0');
+		}
+		return code.toString();
+	}
+
+	/**
+	 * Personne retenue par une recherche, avec son score et son nom normalisé.
+	 */
+	private record Match(int personId, int score, String lastName, String firstName) {
+	}
+}
@@ -0,0 +1,165 @@
+package com.projet5.safetyNet.repository.index;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Function;
+
+import com.projet5.safetyNet.metrics.SafetyNetMetrics;
+import com.projet5.safetyNet.model.CursorPage;
+
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Index trié sur une clé stable, utilisé pour la pagination par curseur.
+ *
+ * <p>
+ * Les éléments sont rangés dans une {@link ConcurrentSkipListMap} dont la clé
+ * est calculée par {@link IndexKeys} à partir des champs identifiant l'élément. Une
+ * page est lue en se positionnant directement après la clé du curseur, ce qui
+ * coûte O(log n + taille de la page), sans parcourir les pages précédentes.
+ * La lecture d'une page est mesurée par la métrique
+ * {@code safetynet.index.lookup}, tag {@code index=ordered}.
+ * </p>
+ * <p>
+ * Lorsque deux éléments possèdent la même clé (doublons présents dans les
+ * données), un suffixe numérique est ajouté pour que chaque entrée reste
+ * unique et que l'ordre reste stable entre deux appels.
+ * </p>
+ * <p>
+ * Le curseur porte seulement la dernière clé lue : la page suivante reprend
+ * juste après elle, quelles que soient les écritures faites entre deux pages.
+ * Un élément présent pendant tout le parcours et dont la clé ne change pas est
+ * lu exactement une fois ; un élément ajouté ou retiré pendant le parcours est
+ * lu selon que sa clé est avant ou après le curseur. Un remplacement qui garde
+ * la clé garde aussi la position.
+ * </p>
+ *
+ * @param <T> le type des éléments indexés
+ */
+public class OrderedIndex<T> {
+
+	private static final Timer lookupTimer = SafetyNetMetrics.indexLookup("ordered");
+
+	private final ConcurrentSkipListMap<String, T> entries = new ConcurrentSkipListMap<>();
+
+	private final Function<T, String> keyExtractor;
+
+	/**
+	 * Constructeur de l'index.
+	 *
+	 * @param keyExtractor la fonction calculant la clé de tri d'un élément, en
+	 *                     général construite avec {@link IndexKeys#key(String...)}
+	 */
+	public OrderedIndex(Function<T, String> keyExtractor) {
+		this.keyExtractor = keyExtractor;
+	}
+
+	/**
+	 * Ajoute un élément à l'index.
+	 *
+	 * @param item l'élément à ajouter
+	 */
+	public void add(T item) {
+		String key = keyExtractor.apply(item);
+		String candidate = key;
+		int duplicate = 0;
+		while (entries.putIfAbsent(candidate, item) != null) {
+			candidate = key + IndexKeys.SEPARATOR + (++duplicate);
+		}
+	}
+
+	/**
+	 * Retire un élément de l'index. L'élément est recherché par identité parmi
+	 * les entrées partageant sa clé.
+	 *
+	 * @param item l'élément à retirer
+	 * @return {@code true} si l'élément a été retiré
+	 */
+	public boolean remove(T item) {
+		String key = keyExtractor.apply(item);
+		for (Map.Entry<String, T> entry : entries.subMap(key, true, key + '\u0001', false).entrySet()) {
+			if (entry.getValue() == item) {
+				return entries.remove(entry.getKey(), item);
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Remplace un élément par un autre dans l'index. Si la clé ne change pas, le
+	 * nouvel élément prend l'entrée de l'ancien, suffixe de doublon compris : un
+	 * parcours en cours ne le lit ni deux fois ni jamais.
+	 *
+	 * @param previous l'élément à remplacer
+	 * @param updated  le nouvel élément
+	 */
+	public void replace(T previous, T updated) {
+		String key = keyExtractor.apply(previous);
+		if (key.equals(keyExtractor.apply(updated))) {
+			for (Map.Entry<String, T> entry : entries.subMap(key, true, key + '\u0001', false).entrySet()) {
+				if (entry.getValue() == previous && entries.replace(entry.getKey(), previous, updated)) {
+					return;
+				}
+			}
+		}
+		remove(previous);
+		add(updated);
+	}
+
+	/**
+	 * Vide l'index.
+	 */
+	public void clear() {
+		entries.clear();
+	}
+
+	/**
+	 * Retourne le nombre d'éléments indexés.
+	 *
+	 * @return le nombre d'éléments
+	 */
+	public int size() {
+		return entries.size();
+	}
+
+	/**
+	 * Lit une page d'éléments situés après le curseur fourni.
+	 *
+	 * @param cursor le curseur opaque retourné par la page précédente, ou
+	 *               {@code null} pour la première page
+	 * @param limit  le nombre maximal d'éléments de la page
+	 * @return la page lue, avec le curseur de la page suivante
+	 * @throws IllegalArgumentException si le curseur n'est pas valide
+	 */
+	public CursorPage<T> page(String cursor, int limit) {
+		long start = System.nanoTime();
+		NavigableMap<String, T> view = (cursor == null || cursor.isEmpty()) ? entries
+				: entries.tailMap(decodeCursor(cursor), false);
+		List<T> items = new ArrayList<>(limit);
+		String lastKey = null;
+		boolean hasMore = false;
+		for (Map.Entry<String, T> entry : view.entrySet()) {
+			if (items.size() == limit) {
+				hasMore = true;
+				break;
+			}
+			items.add(entry.getValue());
+			lastKey = entry.getKey();
+		}
+		SafetyNetMetrics.record(lookupTimer, System.nanoTime() - start);
+		return new CursorPage<>(items, hasMore ? encodeCursor(lastKey) : null);
+	}
+
+	private static String encodeCursor(String key) {
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(key.getBytes(StandardCharsets.UTF_8));
+	}
+
+	private static String decodeCursor(String cursor) {
+		return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+	}
+}
@@ -0,0 +1,421 @@
+package com.projet5.safetyNet.repository.index;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+import com.projet5.safetyNet.model.Medicalrecord;
+
+/**
+ * Index bitmap des personnes, sur leurs identifiants ({@link SurrogateIds}).
+ *
+ * <p>
+ * Chaque critère est un {@link BitSet} dont le bit {@code n} vaut 1 si la
+ * personne d'identifiant {@code n} le vérifie. Les identifiants étant denses,
+ * un bitmap occupe un bit par personne connue. Une requête multicritère est
+ * une suite de {@link BitSet#and(BitSet)} et {@link BitSet#or(BitSet)}, sans
+ * parcourir les personnes.
+ * </p>
+ * <ul>
+ * <li>Résidents d'une adresse : tenus par {@code PersonRepository}. Un foyer ne
+ * compte que quelques personnes, d'identifiants quelconques : un
+ * {@link BitSet} par adresse coûterait un bit par personne connue. Les
+ * résidents sont donc rangés en tableau d'identifiants, la forme compressée
+ * d'un bitmap peu rempli.</li>
+ * <li>Adresses d'une station : un bitmap d'identifiants d'adresse par numéro de
+ * station, tenu par {@code FirestationRepository}. Les résidents d'une station
+ * sont l'union des résidents de ses adresses : une modification de caserne ne
+ * touche donc qu'un bit.</li>
+ * <li>Enfant, adulte, avec médicaments, avec allergies : tenus par
+ * {@code MedicalrecordRepository}, d'après le premier dossier médical de la
+ * personne. Le bitmap des enfants dépend du jour : il est recalculé à partir
+ * des dates de naissance au premier appel d'un nouveau jour, ou après une
+ * écriture.</li>
+ * </ul>
+ * <p>
+ * Les repositories mettent l'index à jour après chaque écriture, sous le verrou
+ * de l'index. Les requêtes ne prennent pas ce verrou : elles lisent un
+ * instantané immuable publié dans un champ {@code volatile}. Un instantané est
+ * copié de l'état modifié à la première requête qui suit des écritures, une
+ * seule fois pour toute une série d'écritures (un chargement, un lot). Les
+ * bitmaps de la population (enfants, adultes, médicaments, allergies) ne sont
+ * jamais copiés pour une requête : ils restreignent en place le bitmap de
+ * l'appelant ({@code retain...}).
+ * </p>
+ */
+public class PersonBitmapIndex {
+
+	private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+
+	private static final int NO_BIRTHDATE = Integer.MIN_VALUE;
+
+	private static final int[] NO_PERSON = new int[0];
+
+	private int[][] residents = new int[16][];
+
+	private int[][] personAddresses = new int[16][];
+
+	private final Map<String, BitSet> stationAddresses = new HashMap<>();
+
+	private final BitSet withMedications = new BitSet();
+
+	private final BitSet withAllergies = new BitSet();
+
+	private final BitSet withBirthdate = new BitSet();
+
+	private int[] birthdates = new int[16];
+
+	private long medicalrecordVersion;
+
+	/**
+	 * Nombre d'écritures, comparé à celui de l'instantané publié pour savoir s'il
+	 * est à jour.
+	 */
+	private volatile long writes;
+
+	private volatile Snapshot snapshot = new Snapshot(0, new int[0][], Map.of(), new BitSet(), new BitSet(),
+			new BitSet(), new int[0], 0);
+
+	/**
+	 * Enregistre les adresses d'une personne, en remplaçant les précédentes.
+	 *
+	 * @param personId   l'identifiant de la personne
+	 * @param addressIds les identifiants des adresses de toutes les personnes
+	 *                   portant cet identifiant, vide si elle a été supprimée
+	 */
+	public synchronized void setResidence(int personId, int[] addressIds) {
+		if (personId >= personAddresses.length) {
+			personAddresses = Arrays.copyOf(personAddresses, Math.max(personId + 1, personAddresses.length * 2));
+		}
+		int[] previous = personAddresses[personId];
+		if (previous != null) {
+			for (int addressId : previous) {
+				residents[addressId] = without(residents[addressId], personId);
+			}
+		}
+		int[] distinct = Arrays.stream(addressIds).distinct().toArray();
+		for (int addressId : distinct) {
+			if (addressId >= residents.length) {
+				residents = Arrays.copyOf(residents, Math.max(addressId + 1, residents.length * 2));
+			}
+			int[] current = residents[addressId] == null ? NO_PERSON : residents[addressId];
+			int[] updated = Arrays.copyOf(current, current.length + 1);
+			updated[current.length] = personId;
+			residents[addressId] = updated;
+		}
+		personAddresses[personId] = distinct.length == 0 ? null : distinct;
+		writes++;
+	}
+
+	/**
+	 * Enregistre les stations qui desservent une adresse, en remplaçant les
+	 * précédentes.
+	 *
+	 * @param addressId l'identifiant de l'adresse
+	 * @param stations  les numéros des stations, vide si plus aucune ne la dessert
+	 */
+	public synchronized void setStations(int addressId, Collection<String> stations) {
+		stationAddresses.values().forEach(addresses -> addresses.clear(addressId));
+		for (String station : stations) {
+			stationAddresses.computeIfAbsent(station, key -> new BitSet()).set(addressId);
+		}
+		stationAddresses.values().removeIf(BitSet::isEmpty);
+		writes++;
+	}
+
+	/**
+	 * Enregistre le dossier médical d'une personne.
+	 *
+	 * @param personId      l'identifiant de la personne
+	 * @param medicalrecord son premier dossier médical, {@code null} si elle n'en a
+	 *                      plus
+	 */
+	public synchronized void setMedicalrecord(int personId, Medicalrecord medicalrecord) {
+		withMedications.set(personId, medicalrecord != null && isNotEmpty(medicalrecord.getMedications()));
+		withAllergies.set(personId, medicalrecord != null && isNotEmpty(medicalrecord.getAllergies()));
+		if (personId >= birthdates.length) {
+			birthdates = Arrays.copyOf(birthdates, Math.max(personId + 1, birthdates.length * 2));
+		}
+		birthdates[personId] = medicalrecord == null ? NO_BIRTHDATE : epochDay(medicalrecord.getBirthdate());
+		withBirthdate.set(personId, birthdates[personId] != NO_BIRTHDATE);
+		medicalrecordVersion++;
+		writes++;
+	}
+
+	/**
+	 * Retourne le nombre de mises à jour des dossiers médicaux depuis la création
+	 * de l'index. Un compte d'enfants ou d'adultes calculé pour une version et un
+	 * jour reste valable tant qu'ils ne changent pas.
+	 *
+	 * @return la version des dossiers médicaux
+	 */
+	public long medicalrecordVersion() {
+		return current().medicalrecordVersion;
+	}
+
+	/**
+	 * Retourne les résidents des adresses desservies par au moins une des
+	 * stations.
+	 *
+	 * @param stations les numéros des stations
+	 * @return un nouveau bitmap d'identifiants de personnes
+	 */
+	public BitSet residentsOfStations(Collection<String> stations) {
+		Snapshot snapshot = current();
+		BitSet addresses = new BitSet();
+		for (String station : stations) {
+			BitSet stationBitmap = snapshot.stationAddresses.get(station);
+			if (stationBitmap != null) {
+				addresses.or(stationBitmap);
+			}
+		}
+		BitSet persons = new BitSet();
+		for (int addressId = addresses.nextSetBit(0); addressId >= 0; addressId = addresses.nextSetBit(addressId + 1)) {
+			snapshot.addResidents(addressId, persons);
+		}
+		return persons;
+	}
+
+	/**
+	 * Retourne les résidents d'une adresse.
+	 *
+	 * @param addressId l'identifiant de l'adresse, éventuellement
+	 *                  {@link SurrogateIds#NONE}
+	 * @return un nouveau bitmap d'identifiants de personnes
+	 */
+	public BitSet residentsOfAddress(int addressId) {
+		BitSet persons = new BitSet();
+		current().addResidents(addressId, persons);
+		return persons;
+	}
+
+	/**
+	 * Indique si une adresse a au moins un résident.
+	 *
+	 * @param addressId l'identifiant de l'adresse, éventuellement
+	 *                  {@link SurrogateIds#NONE}
+	 * @return {@code true} si une personne habite l'adresse
+	 */
+	public boolean hasResidents(int addressId) {
+		int[][] residents = current().residents;
+		return addressId >= 0 && addressId < residents.length && residents[addressId] != null
+				&& residents[addressId].length > 0;
+	}
+
+	/**
+	 * Restreint des personnes à celles âgées de moins de 18 ans à une date.
+	 *
+	 * @param personIds le bitmap d'identifiants à restreindre, modifié en place
+	 * @param today     la date de référence
+	 */
+	public void retainChildren(BitSet personIds, LocalDate today) {
+		personIds.and(current().childrenAt(today));
+	}
+
+	/**
+	 * Restreint des personnes à celles âgées de 18 ans ou plus à une date. Une
+	 * personne sans date de naissance valide n'est ni enfant ni adulte.
+	 *
+	 * @param personIds le bitmap d'identifiants à restreindre, modifié en place
+	 * @param today     la date de référence
+	 */
+	public void retainAdults(BitSet personIds, LocalDate today) {
+		Snapshot snapshot = current();
+		personIds.and(snapshot.withBirthdate);
+		personIds.andNot(snapshot.childrenAt(today));
+	}
+
+	/**
+	 * Compte les enfants parmi des personnes, sans copier de bitmap.
+	 *
+	 * @param personIds les identifiants des personnes
+	 * @param today     la date de référence
+	 * @return le nombre de personnes âgées de moins de 18 ans
+	 */
+	public int countChildren(int[] personIds, LocalDate today) {
+		BitSet children = current().childrenAt(today);
+		int count = 0;
+		for (int personId : personIds) {
+			if (children.get(personId)) {
+				count++;
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * Compte les adultes parmi des personnes, sans copier de bitmap.
+	 *
+	 * @param personIds les identifiants des personnes
+	 * @param today     la date de référence
+	 * @return le nombre de personnes âgées de 18 ans ou plus
+	 */
+	public int countAdults(int[] personIds, LocalDate today) {
+		Snapshot snapshot = current();
+		BitSet children = snapshot.childrenAt(today);
+		int count = 0;
+		for (int personId : personIds) {
+			if (snapshot.withBirthdate.get(personId) && !children.get(personId)) {
+				count++;
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * Restreint des personnes à celles dont le dossier médical contient, ou non,
+	 * des médicaments.
+	 *
+	 * @param personIds le bitmap d'identifiants à restreindre, modifié en place
+	 * @param expected  {@code true} pour garder les personnes avec médicaments,
+	 *                  {@code false} pour garder les autres
+	 */
+	public void retainWithMedications(BitSet personIds, boolean expected) {
+		retain(personIds, current().withMedications, expected);
+	}
+
+	/**
+	 * Restreint des personnes à celles dont le dossier médical contient, ou non,
+	 * des allergies.
+	 *
+	 * @param personIds le bitmap d'identifiants à restreindre, modifié en place
+	 * @param expected  {@code true} pour garder les personnes avec allergies,
+	 *                  {@code false} pour garder les autres
+	 */
+	public void retainWithAllergies(BitSet personIds, boolean expected) {
+		retain(personIds, current().withAllergies, expected);
+	}
+
+	private static void retain(BitSet personIds, BitSet flag, boolean expected) {
+		if (expected) {
+			personIds.and(flag);
+		} else {
+			personIds.andNot(flag);
+		}
+	}
+
+	/**
+	 * Retourne l'instantané à jour des dernières écritures, sans verrou s'il a
+	 * déjà été publié.
+	 */
+	private Snapshot current() {
+		Snapshot current = snapshot;
+		return current.writes == writes ? current : publish();
+	}
+
+	/**
+	 * Copie l'état modifié dans un nouvel instantané et le publie. Les tableaux de
+	 * résidents ne sont jamais modifiés en place : seul le tableau qui les
+	 * contient est copié.
+	 */
+	private synchronized Snapshot publish() {
+		if (snapshot.writes != writes) {
+			Map<String, BitSet> stations = new HashMap<>();
+			stationAddresses.forEach((station, addresses) -> stations.put(station, (BitSet) addresses.clone()));
+			snapshot = new Snapshot(writes, residents.clone(), stations, (BitSet) withMedications.clone(),
+					(BitSet) withAllergies.clone(), (BitSet) withBirthdate.clone(), birthdates.clone(),
+					medicalrecordVersion);
+		}
+		return snapshot;
+	}
+
+	/**
+	 * État immuable de l'index, lu sans verrou. Seul le bitmap des enfants, qui
+	 * dépend du jour, est calculé à la demande et remplacé en une affectation.
+	 */
+	private static final class Snapshot {
+
+		private final long writes;
+
+		private final int[][] residents;
+
+		private final Map<String, BitSet> stationAddresses;
+
+		private final BitSet withMedications;
+
+		private final BitSet withAllergies;
+
+		private final BitSet withBirthdate;
+
+		private final int[] birthdates;
+
+		private final long medicalrecordVersion;
+
+		private volatile Children children;
+
+		Snapshot(long writes, int[][] residents, Map<String, BitSet> stationAddresses, BitSet withMedications,
+				BitSet withAllergies, BitSet withBirthdate, int[] birthdates, long medicalrecordVersion) {
+			this.writes = writes;
+			this.residents = residents;
+			this.stationAddresses = stationAddresses;
+			this.withMedications = withMedications;
+			this.withAllergies = withAllergies;
+			this.withBirthdate = withBirthdate;
+			this.birthdates = birthdates;
+			this.medicalrecordVersion = medicalrecordVersion;
+		}
+
+		void addResidents(int addressId, BitSet persons) {
+			if (addressId >= 0 && addressId < residents.length && residents[addressId] != null) {
+				for (int personId : residents[addressId]) {
+					persons.set(personId);
+				}
+			}
+		}
+
+		/**
+		 * Retourne le bitmap des enfants à une date, calculé au premier appel d'un
+		 * nouveau jour. Une personne est un enfant si elle est née après le jour de
+		 * ses 18 ans le plus récent possible, ce qui équivaut à un âge inférieur à
+		 * 18 ans.
+		 */
+		BitSet childrenAt(LocalDate today) {
+			Children current = children;
+			if (current == null || !current.date.equals(today)) {
+				long adulthood = today.minusYears(18).toEpochDay();
+				BitSet rebuilt = new BitSet();
+				for (int personId = withBirthdate.nextSetBit(0); personId >= 0; personId = withBirthdate
+						.nextSetBit(personId + 1)) {
+					if (birthdates[personId] > adulthood) {
+						rebuilt.set(personId);
+					}
+				}
+				current = new Children(today, rebuilt);
+				children = current;
+			}
+			return current.bitmap;
+		}
+	}
+
+	private record Children(LocalDate date, BitSet bitmap) {
+	}
+
+	/**
+	 * Retourne une copie du tableau sans l'identifiant, ou {@code null} si le
+	 * tableau devient vide.
+	 */
+	private static int[] without(int[] personIds, int personId) {
+		int[] updated = Arrays.stream(personIds).filter(id -> id != personId).toArray();
+		return updated.length == 0 ? null : updated;
+	}
+
+	private static boolean isNotEmpty(Collection<String> values) {
+		return values != null && !values.isEmpty();
+	}
+
+	private static int epochDay(String birthdate) {
+		if (birthdate == null) {
+			return NO_BIRTHDATE;
+		}
+		try {
+			return Math.toIntExact(LocalDate.parse(birthdate, DATE_FORMATTER).toEpochDay());
+		} catch (DateTimeParseException e) {
+			return NO_BIRTHDATE;
+		}
+	}
+}
@@ -0,0 +1,261 @@
+package com.projet5.safetyNet.repository.index;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+import com.projet5.safetyNet.metrics.SafetyNetMetrics;
+
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Index trié des personnes par région (code postal ou ville), sur leurs
+ * identifiants ({@link SurrogateIds}), avec des comptes pré-agrégés par région.
+ *
+ * <p>
+ * Les régions sont normalisées par {@link IndexKeys} (espaces retirés, casse
+ * ignorée) et comparées comme des chaînes : les codes postaux, de longueur fixe,
+ * sont donc rangés dans l'ordre numérique. Chaque personne est rangée sous la
+ * clé {@code (région, identifiant)} d'une {@link TreeMap} : les résidents d'une
+ * plage de régions sont une sous-table, lue en O(log n + k).
+ * </p>
+ * <p>
+ * Chaque région tient son nombre de résidents, mis à jour à chaque écriture,
+ * ainsi que ses nombres d'enfants et d'adultes. Ces derniers dépendent du jour
+ * et des dossiers médicaux : ils sont recalculés à la première lecture qui
+ * suit un changement de jour, de version des dossiers
+ * ({@link PersonBitmapIndex#medicalrecordVersion()}) ou de résidents. Les comptes
+ * d'une plage de {@code r} régions coûtent donc O(log n + r) tant que rien n'a
+ * changé.
+ * </p>
+ * <p>
+ * Les méthodes sont synchronisées ; les lectures sont mesurées par la métrique
+ * {@code safetynet.index.lookup}, tag {@code index} valant le nom de l'index.
+ * </p>
+ */
+public class RegionIndex {
+
+	private static final int[] NO_PERSON = new int[0];
+
+	private final Timer lookupTimer;
+
+	/**
+	 * Identifiants des personnes par clé {@code (région, identifiant)}.
+	 */
+	private final NavigableMap<String, Integer> members = new TreeMap<>();
+
+	/**
+	 * Comptes de chaque région, par région normalisée.
+	 */
+	private final NavigableMap<String, Region> regions = new TreeMap<>();
+
+	private String[][] personRegions = new String[16][];
+
+	/**
+	 * Constructeur de l'index.
+	 *
+	 * @param name le nom de l'index dans les métriques, par exemple {@code zip}
+	 */
+	public RegionIndex(String name) {
+		this.lookupTimer = SafetyNetMetrics.indexLookup(name);
+	}
+
+	/**
+	 * Enregistre les régions d'une personne, en remplaçant les précédentes.
+	 *
+	 * @param personId l'identifiant de la personne
+	 * @param values   les régions de toutes les personnes portant cet
+	 *                 identifiant, vide si elle a été supprimée
+	 */
+	public synchronized void set(int personId, Collection<String> values) {
+		if (personId >= personRegions.length) {
+			personRegions = Arrays.copyOf(personRegions, Math.max(personId + 1, personRegions.length * 2));
+		}
+		String[] previous = personRegions[personId];
+		if (previous != null) {
+			for (String region : previous) {
+				members.remove(IndexKeys.key(region, String.valueOf(personId)));
+				Region counts = regions.get(region);
+				counts.residents--;
+				counts.invalidate();
+				if (counts.residents == 0) {
+					regions.remove(region);
+				}
+			}
+		}
+		List<String> current = new ArrayList<>();
+		for (String value : values) {
+			String region = normalize(value);
+			if (region == null || current.contains(region)) {
+				continue;
+			}
+			current.add(region);
+			members.put(IndexKeys.key(region, String.valueOf(personId)), personId);
+			Region counts = regions.computeIfAbsent(region, key -> new Region(value.trim()));
+			counts.residents++;
+			counts.invalidate();
+		}
+		personRegions[personId] = current.isEmpty() ? null : current.toArray(String[]::new);
+	}
+
+	/**
+	 * Retourne les comptes des régions d'une plage.
+	 *
+	 * @param from    la première région, incluse, ou {@code null} pour partir du
+	 *                début
+	 * @param to      la dernière région, incluse, ou {@code null} pour aller
+	 *                jusqu'à la fin
+	 * @param bitmaps l'index bitmap, qui classe les personnes en enfants et
+	 *                adultes
+	 * @param today   la date de référence
+	 * @return les comptes de chaque région, dans l'ordre des régions
+	 */
+	public synchronized List<Counts> counts(String from, String to, PersonBitmapIndex bitmaps, LocalDate today) {
+		long start = System.nanoTime();
+		long version = bitmaps.medicalrecordVersion();
+		List<Counts> counts = new ArrayList<>();
+		for (var entry : range(from, to).entrySet()) {
+			Region region = entry.getValue();
+			if (!today.equals(region.date) || version != region.version) {
+				int[] residents = residents(entry.getKey());
+				region.children = bitmaps.countChildren(residents, today);
+				region.adults = bitmaps.countAdults(residents, today);
+				region.date = today;
+				region.version = version;
+			}
+			counts.add(new Counts(region.label, region.residents, region.children, region.adults));
+		}
+		SafetyNetMetrics.record(lookupTimer, System.nanoTime() - start);
+		return counts;
+	}
+
+	/**
+	 * Retourne les régions d'une plage, telles qu'elles ont été enregistrées en
+	 * premier.
+	 *
+	 * @param from la première région, incluse, ou {@code null}
+	 * @param to   la dernière région, incluse, ou {@code null}
+	 * @return les régions, dans l'ordre
+	 */
+	public synchronized List<String> regions(String from, String to) {
+		return range(from, to).values().stream().map(region -> region.label).toList();
+	}
+
+	/**
+	 * Retourne les résidents d'une région.
+	 *
+	 * @param region la région, sans distinction entre majuscules et minuscules
+	 * @return les identifiants des résidents, vide si la région est inconnue
+	 */
+	public synchronized int[] residentsOf(String region) {
+		String key = normalize(region);
+		return key == null ? NO_PERSON : residents(key);
+	}
+
+	/**
+	 * Retourne les résidents des régions d'une plage.
+	 *
+	 * @param from la première région, incluse, ou {@code null}
+	 * @param to   la dernière région, incluse, ou {@code null}
+	 * @return un nouveau bitmap d'identifiants de personnes
+	 */
+	public synchronized BitSet residentsBetween(String from, String to) {
+		long start = System.nanoTime();
+		String lower = normalize(from);
+		String upper = normalize(to);
+		BitSet persons = new BitSet();
+		if (lower != null && upper != null && lower.compareTo(upper) > 0) {
+			return persons;
+		}
+		NavigableMap<String, Integer> view = members;
+		if (lower != null) {
+			view = view.tailMap(lower, true);
+		}
+		if (upper != null) {
+			view = view.headMap(upper + '\u0001', false);
+		}
+		view.values().forEach(persons::set);
+		SafetyNetMetrics.record(lookupTimer, System.nanoTime() - start);
+		return persons;
+	}
+
+	/**
+	 * Normalise une région : espaces de début et de fin retirés, casse ignorée.
+	 *
+	 * @param value la région brute, éventuellement {@code null}
+	 * @return la région normalisée, {@code null} si elle est {@code null} ou vide
+	 */
+	public static String normalize(String value) {
+		if (value == null || value.isBlank()) {
+			return null;
+		}
+		return IndexKeys.key(value.trim());
+	}
+
+	/**
+	 * Retourne les identifiants rangés sous une région normalisée.
+	 */
+	private int[] residents(String region) {
+		return members.subMap(IndexKeys.key(region, ""), true, region + '\u0001', false).values().stream()
+				.mapToInt(Integer::intValue).toArray();
+	}
+
+	private NavigableMap<String, Region> range(String from, String to) {
+		String lower = normalize(from);
+		String upper = normalize(to);
+		if (lower != null && upper != null && lower.compareTo(upper) > 0) {
+			return new TreeMap<>();
+		}
+		NavigableMap<String, Region> view = regions;
+		if (lower != null) {
+			view = view.tailMap(lower, true);
+		}
+		if (upper != null) {
+			view = view.headMap(upper, true);
+		}
+		return view;
+	}
+
+	/**
+	 * Comptes d'une région.
+	 *
+	 * @param region    la région, telle qu'elle a été enregistrée en premier
+	 * @param residents le nombre de résidents
+	 * @param children  le nombre de résidents âgés de moins de 18 ans
+	 * @param adults    le nombre de résidents âgés de 18 ans ou plus
+	 */
+	public record Counts(String region, int residents, int children, int adults) {
+	}
+
+	/**
+	 * Comptes tenus d'une région. Les nombres d'enfants et d'adultes valent pour
+	 * le jour et la version des dossiers médicaux enregistrés.
+	 */
+	private static final class Region {
+
+		private final String label;
+
+		private int residents;
+
+		private int children;
+
+		private int adults;
+
+		private LocalDate date;
+
+		private long version;
+
+		private Region(String label) {
+			this.label = label;
+		}
+
+		private void invalidate() {
+			date = null;
+		}
+	}
+}
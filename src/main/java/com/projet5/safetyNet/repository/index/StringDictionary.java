@@ -0,0 +1,132 @@
+package com.projet5.safetyNet.repository.index;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Dictionnaire des valeurs répétées d'un magasin de données.
+ *
+ * <p>
+ * Les villes, codes postaux, adresses, numéros de station, médicaments et
+ * allergies proviennent de petits vocabulaires, mais Jackson crée une nouvelle
+ * chaîne pour chaque occurrence. Le dictionnaire associe à chaque valeur
+ * distincte une instance canonique et un code entier compact, attribué dans
+ * l'ordre d'arrivée à partir de 0. Les éléments chargés ou ajoutés ne gardent
+ * que l'instance canonique : la mémoire par élément ne contient plus que des
+ * références, et deux valeurs égales sont la même instance, ce qui rend
+ * {@link String#equals(Object)} immédiat. Les codes peuvent servir de clés
+ * d'index.
+ * </p>
+ * <p>
+ * Les lectures ne prennent aucun verrou ; seul l'ajout d'une nouvelle valeur
+ * est synchronisé. Les valeurs ne sont jamais retirées : le dictionnaire ne
+ * grossit qu'avec le vocabulaire.
+ * </p>
+ */
+public class StringDictionary {
+
+	private final ConcurrentHashMap<String, Integer> codes = new ConcurrentHashMap<>();
+
+	private volatile String[] values = new String[64];
+
+	private int size;
+
+	/**
+	 * Retourne l'instance canonique d'une valeur, en l'ajoutant au dictionnaire
+	 * si elle est nouvelle.
+	 *
+	 * @param value la valeur, éventuellement {@code null}
+	 * @return l'instance canonique, {@code null} si la valeur est {@code null}
+	 */
+	public String intern(String value) {
+		if (value == null) {
+			return null;
+		}
+		int code = code(value);
+		return values[code];
+	}
+
+	/**
+	 * Retourne une copie modifiable d'une liste dont chaque valeur est
+	 * remplacée par son instance canonique.
+	 *
+	 * @param list la liste, éventuellement {@code null}
+	 * @return la nouvelle liste, {@code null} si la liste est {@code null}
+	 */
+	public List<String> internAll(List<String> list) {
+		if (list == null) {
+			return null;
+		}
+		List<String> interned = new ArrayList<>(list.size());
+		for (String value : list) {
+			interned.add(intern(value));
+		}
+		return interned;
+	}
+
+	/**
+	 * Retourne le code d'une valeur, en l'ajoutant au dictionnaire si elle est
+	 * nouvelle.
+	 *
+	 * @param value la valeur
+	 * @return le code de la valeur, entre 0 et {@link #size()} exclu
+	 */
+	public int code(String value) {
+		Integer code = codes.get(value);
+		return code != null ? code : add(value);
+	}
+
+	/**
+	 * Retourne le code d'une valeur sans l'ajouter.
+	 *
+	 * @param value la valeur
+	 * @return le code de la valeur, -1 si elle est absente du dictionnaire
+	 */
+	public int find(String value) {
+		Integer code = value == null ? null : codes.get(value);
+		return code != null ? code : -1;
+	}
+
+	/**
+	 * Retourne la valeur associée à un code.
+	 *
+	 * @param code le code
+	 * @return la valeur canonique
+	 * @throws IndexOutOfBoundsException si le code n'a pas été attribué
+	 */
+	public String value(int code) {
+		String[] current = values;
+		if (code < 0 || code >= current.length || current[code] == null) {
+			throw new IndexOutOfBoundsException("Code absent du dictionnaire : " + code);
+		}
+		return current[code];
+	}
+
+	/**
+	 * Retourne le nombre de valeurs distinctes.
+	 *
+	 * @return le nombre de valeurs
+	 */
+	public int size() {
+		return codes.size();
+	}
+
+	/**
+	 * Ajoute une valeur. Le tableau des valeurs est publié avant le code, pour
+	 * qu'un lecteur qui trouve le code trouve aussi la valeur.
+	 */
+	private synchronized int add(String value) {
+		Integer existing = codes.get(value);
+		if (existing != null) {
+			return existing;
+		}
+		if (size == values.length) {
+			values = Arrays.copyOf(values, size * 2);
+		}
+		values[size] = value;
+		codes.put(value, size);
+		return size++;
+	}
+}
@@ -0,0 +1,75 @@
+package com.projet5.safetyNet.repository.index;
+
+/**
+ * Identifiants entiers internes des personnes et des adresses.
+ *
+ * <p>
+ * Une personne est identifiée par son prénom et son nom, une caserne par son
+ * adresse, sans distinction entre majuscules et minuscules : ce sont les clés
+ * des jointures entre personnes, dossiers médicaux et casernes. Chaque clé
+ * distincte reçoit à sa première rencontre un identifiant dense, attribué à
+ * partir de 0. Une personne et son dossier médical partagent donc le même
+ * identifiant, et une jointure devient la lecture d'un tableau indexé par cet
+ * entier ({@link IdIndex}). Les identifiants ne sont pas exposés par l'API, qui
+ * reste fondée sur les noms.
+ * </p>
+ * <p>
+ * Les identifiants ne sont jamais réattribués : une personne supprimée puis
+ * ajoutée de nouveau retrouve le sien.
+ * </p>
+ */
+public class SurrogateIds {
+
+	/**
+	 * Identifiant retourné pour une clé inconnue.
+	 */
+	public static final int NONE = -1;
+
+	private final StringDictionary persons = new StringDictionary();
+
+	private final StringDictionary addresses = new StringDictionary();
+
+	/**
+	 * Retourne l'identifiant d'une personne, en l'attribuant si le nom est
+	 * nouveau.
+	 *
+	 * @param firstName le prénom
+	 * @param lastName  le nom
+	 * @return l'identifiant de la personne
+	 */
+	public int person(String firstName, String lastName) {
+		return persons.code(IndexKeys.key(firstName, lastName));
+	}
+
+	/**
+	 * Retourne l'identifiant d'une personne sans l'attribuer.
+	 *
+	 * @param firstName le prénom
+	 * @param lastName  le nom
+	 * @return l'identifiant de la personne, {@link #NONE} si le nom est inconnu
+	 */
+	public int findPerson(String firstName, String lastName) {
+		return persons.find(IndexKeys.key(firstName, lastName));
+	}
+
+	/**
+	 * Retourne l'identifiant d'une adresse, en l'attribuant si l'adresse est
+	 * nouvelle.
+	 *
+	 * @param address l'adresse
+	 * @return l'identifiant de l'adresse
+	 */
+	public int address(String address) {
+		return addresses.code(IndexKeys.key(address));
+	}
+
+	/**
+	 * Retourne l'identifiant d'une adresse sans l'attribuer.
+	 *
+	 * @param address l'adresse
+	 * @return l'identifiant de l'adresse, {@link #NONE} si l'adresse est inconnue
+	 */
+	public int findAddress(String address) {
+		return addresses.find(IndexKeys.key(address));
+	}
+}
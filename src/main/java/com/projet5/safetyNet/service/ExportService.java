@@ -0,0 +1,242 @@
+package com.projet5.safetyNet.service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Function;
+import java.util.zip.GZIPOutputStream;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.projet5.safetyNet.Exception.InvalidRequestException;
+import com.projet5.safetyNet.model.Firestation;
+import com.projet5.safetyNet.model.Medicalrecord;
+import com.projet5.safetyNet.model.Person;
+import com.projet5.safetyNet.repository.FirestationRepository;
+import com.projet5.safetyNet.repository.MedicalrecordRepository;
+import com.projet5.safetyNet.repository.PersonRepository;
+
+/**
+ * Service d'export des données.
+ *
+ * Un export porte sur un type d'éléments (personnes, dossiers médicaux ou
+ * casernes) et produit du JSON (tableau), du NDJSON (un objet par ligne) ou du
+ * CSV (mêmes colonnes que l'import, listes séparées par {@code |}),
+ * éventuellement compressé en gzip.
+ *
+ * La copie des données est faite au moment de la préparation de l'export avec
+ * les méthodes {@code snapshot()} des repositories : l'export écrit un état
+ * cohérent à cet instant, et les ajouts, mises à jour et suppressions
+ * continuent sans attendre pendant toute la durée de l'écriture.
+ */
+@Service
+public class ExportService {
+
+	private static final Logger logger = LogManager.getLogger(ExportService.class);
+
+	private static final int BUFFER_SIZE = 64 * 1024;
+	private static final DateTimeFormatter FILE_DATE = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss");
+
+	private final PersonRepository personRepository;
+	private final MedicalrecordRepository medicalrecordRepository;
+	private final FirestationRepository firestationRepository;
+	private final ObjectMapper objectMapper;
+
+	/**
+	 * Format des données exportées.
+	 */
+	public enum Format {
+		/**
+		 * Un tableau JSON.
+		 */
+		JSON("json", "application/json"),
+		/**
+		 * Un objet JSON par ligne.
+		 */
+		NDJSON("ndjson", "application/x-ndjson"),
+		/**
+		 * CSV avec une ligne d'en-tête.
+		 */
+		CSV("csv", "text/csv");
+
+		private final String extension;
+		private final String contentType;
+
+		Format(String extension, String contentType) {
+			this.extension = extension;
+			this.contentType = contentType;
+		}
+	}
+
+	/**
+	 * Ecrit le contenu d'un export dans un flux.
+	 */
+	@FunctionalInterface
+	public interface ExportBody {
+
+		/**
+		 * Ecrit le contenu de l'export.
+		 *
+		 * @param output le flux de destination, qui n'est pas fermé
+		 * @throws IOException si l'écriture échoue
+		 */
+		void writeTo(OutputStream output) throws IOException;
+	}
+
+	/**
+	 * Export préparé, prêt à être écrit.
+	 *
+	 * @param fileName    le nom de fichier proposé
+	 * @param contentType le type de contenu de l'export
+	 * @param count       le nombre d'éléments de la copie
+	 * @param body        l'écriture du contenu
+	 */
+	public record Export(String fileName, String contentType, int count, ExportBody body) {
+	}
+
+	/**
+	 * Constructeur du service d'export.
+	 *
+	 * @param personRepository        Le repository des personnes.
+	 * @param medicalrecordRepository Le repository des dossiers médicaux.
+	 * @param firestationRepository   Le repository des casernes.
+	 * @param objectMapper            L'ObjectMapper utilisé pour écrire le JSON.
+	 */
+	public ExportService(PersonRepository personRepository, MedicalrecordRepository medicalrecordRepository,
+			FirestationRepository firestationRepository, ObjectMapper objectMapper) {
+		this.personRepository = personRepository;
+		this.medicalrecordRepository = medicalrecordRepository;
+		this.firestationRepository = firestationRepository;
+		this.objectMapper = objectMapper;
+	}
+
+	/**
+	 * Prépare l'export d'un type d'éléments. La copie des données est faite
+	 * immédiatement ; l'écriture est faite plus tard par {@link Export#body()}.
+	 *
+	 * @param type   Le type d'éléments : persons, medicalrecords ou firestations.
+	 * @param format Le format : json, ndjson ou csv.
+	 * @param gzip   {@code true} pour compresser le contenu en gzip.
+	 * @return L'export préparé.
+	 *
+	 * @throws InvalidRequestException Si le type ou le format est inconnu.
+	 */
+	public Export prepareExport(String type, String format, boolean gzip) {
+		Format exportFormat = parseFormat(format);
+		return switch (type) {
+		case "persons" -> prepare(type, Person.class, personRepository.snapshot(), exportFormat, gzip,
+				List.of("firstName", "lastName", "address", "city", "zip", "phone", "email"),
+				person -> new String[] { person.getFirstName(), person.getLastName(), person.getAddress(),
+						person.getCity(), person.getZip(), person.getPhone(), person.getEmail() });
+		case "medicalrecords" -> prepare(type, Medicalrecord.class, medicalrecordRepository.snapshot(),
+				exportFormat, gzip, List.of("firstName", "lastName", "birthdate", "medications", "allergies"),
+				medicalrecord -> new String[] { medicalrecord.getFirstName(), medicalrecord.getLastName(),
+						medicalrecord.getBirthdate(), joinList(medicalrecord.getMedications()),
+						joinList(medicalrecord.getAllergies()) });
+		case "firestations" -> prepare(type, Firestation.class, firestationRepository.snapshot(), exportFormat,
+				gzip, List.of("address", "station"),
+				firestation -> new String[] { firestation.getAddress(), firestation.getStation() });
+		default -> {
+			logger.error("Type d'export inconnu : {}", type);
+			throw new InvalidRequestException("Type d'export inconnu : " + type);
+		}
+		};
+	}
+
+	private <T> Export prepare(String type, Class<T> elementType, List<T> snapshot, Format format, boolean gzip,
+			List<String> columns, Function<T, String[]> row) {
+		logger.info("Export de {} {} au format {}.", snapshot.size(), type, format);
+		String fileName = type + "-" + LocalDateTime.now().format(FILE_DATE) + "." + format.extension
+				+ (gzip ? ".gz" : "");
+		String contentType = gzip ? "application/gzip" : format.contentType;
+		ExportBody body = output -> {
+			long start = System.nanoTime();
+			OutputStream target = gzip ? new GZIPOutputStream(output, BUFFER_SIZE) : output;
+			switch (format) {
+			case JSON -> writeJson(elementType, snapshot, target, false);
+			case NDJSON -> writeJson(elementType, snapshot, target, true);
+			case CSV -> writeCsv(snapshot, target, columns, row);
+			}
+			if (target instanceof GZIPOutputStream gzipOutput) {
+				gzipOutput.finish();
+			}
+			output.flush();
+			logger.info("Export {} terminé : {} éléments en {} ms.", fileName, snapshot.size(),
+					(System.nanoTime() - start) / 1_000_000);
+		};
+		return new Export(fileName, contentType, snapshot.size(), body);
+	}
+
+	private <T> void writeJson(Class<T> elementType, List<T> snapshot, OutputStream output, boolean ndjson)
+			throws IOException {
+		ObjectWriter writer = objectMapper.writerFor(elementType).without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+		if (ndjson) {
+			writer = writer.withRootValueSeparator("\n");
+		}
+		try (SequenceWriter sequence = ndjson ? writer.writeValues(output) : writer.writeValuesAsArray(output)) {
+			for (T element : snapshot) {
+				sequence.write(element);
+			}
+		}
+		if (ndjson && !snapshot.isEmpty()) {
+			output.write('\n');
+		}
+	}
+
+	private <T> void writeCsv(List<T> snapshot, OutputStream output, List<String> columns,
+			Function<T, String[]> row) throws IOException {
+		Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8), BUFFER_SIZE);
+		writeCsvLine(writer, columns.toArray(new String[0]));
+		for (T element : snapshot) {
+			writeCsvLine(writer, row.apply(element));
+		}
+		writer.flush();
+	}
+
+	private static void writeCsvLine(Writer writer, String[] values) throws IOException {
+		for (int i = 0; i < values.length; i++) {
+			if (i > 0) {
+				writer.write(',');
+			}
+			writer.write(escapeCsv(values[i]));
+		}
+		writer.write('\n');
+	}
+
+	private static String escapeCsv(String value) {
+		if (value == null) {
+			return "";
+		}
+		if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0
+				&& value.indexOf('\r') < 0) {
+			return value;
+		}
+		return '"' + value.replace("\"", "\"\"") + '"';
+	}
+
+	private static String joinList(List<String> values) {
+		return values == null ? null : String.join("|", values);
+	}
+
+	private static Format parseFormat(String format) {
+		try {
+			return Format.valueOf(format.toUpperCase(Locale.ROOT));
+		} catch (IllegalArgumentException | NullPointerException e) {
+			logger.error("Format d'export inconnu : {}", format);
+			throw new InvalidRequestException("Format d'export inconnu : " + format);
+		}
+	}
+}
@@ -5,12 +5,17 @@ import java.time.Period;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
@@ -18,16 +23,21 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.springframework.stereotype.Service;
 
+import com.projet5.safetyNet.Exception.AddressNotFoundException;
 import com.projet5.safetyNet.Exception.FirestationExistingException;
 import com.projet5.safetyNet.Exception.FirestationNotFoundException;
 import com.projet5.safetyNet.Exception.InvalidDateFormatException;
 import com.projet5.safetyNet.Exception.InvalidRequestException;
+import com.projet5.safetyNet.logging.LogPreview;
+import com.projet5.safetyNet.model.CursorPage;
 import com.projet5.safetyNet.model.Firestation;
 import com.projet5.safetyNet.model.Medicalrecord;
 import com.projet5.safetyNet.model.Person;
 import com.projet5.safetyNet.repository.FirestationRepository;
 import com.projet5.safetyNet.repository.MedicalrecordRepository;
 import com.projet5.safetyNet.repository.PersonRepository;
+import com.projet5.safetyNet.repository.index.PersonBitmapIndex;
+import com.projet5.safetyNet.repository.index.RegionIndex;
 
 /**
  * Service pour gérer les opérations liées aux casernes de pompiers.
@@ -123,6 +133,35 @@ public class FirestationService {
 		logger.info("{} firestations récupérées.", firestations.size());
 		return firestations;
 	}
+
+	/**
+	 * Récupère une page de casernes de pompiers.
+	 *
+	 * Les casernes sont triées par numéro de station puis adresse et lues dans
+	 * l'index trié du repository à partir de la position du curseur.
+	 *
+	 * @param cursor le curseur de la page précédente, ou {@code null} pour la
+	 *               première page
+	 * @param size   le nombre de casernes par page, compris entre 1 et
+	 *               {@link CursorPage#MAX_PAGE_SIZE}
+	 * @return la page de casernes et le curseur de la page suivante
+	 * @throws InvalidRequestException si la taille de page ou le curseur est
+	 *                                 invalide
+	 */
+	public CursorPage<Firestation> getFirestationsPage(String cursor, int size) {
+		logger.debug("Récupération d'une page de {} casernes.", size);
+		if (size < 1 || size > CursorPage.MAX_PAGE_SIZE) {
+			logger.error("Taille de page invalide : {}", size);
+			throw new InvalidRequestException(
+					"La taille de page doit être comprise entre 1 et " + CursorPage.MAX_PAGE_SIZE + ".");
+		}
+		try {
+			return firestationRepository.getFirestationPage(cursor, size);
+		} catch (IllegalArgumentException e) {
+			logger.error("Curseur invalide : {}", cursor);
+			throw new InvalidRequestException("Le curseur fourni est invalide.");
+		}
+	}
 	
 	/**
 	 * Récupère une liste de casernes à partir de l'identifiant de station.
@@ -166,7 +205,7 @@ public class FirestationService {
 			throw new InvalidRequestException("Les champs adresse et numéro de station sont obligatoires.");
 		}
 		List<Firestation> firestationList = firestationRepository.getAllFirestations();
-		logger.debug("la liste : " + firestationList);
+		logger.debug("Vérification parmi {} casernes.", firestationList.size());
 		boolean firestationExist = firestationList.stream()
 				.anyMatch(firestation -> firestation.getAddress().equalsIgnoreCase(newFirestation.getAddress())
 						&& firestation.getStation().equalsIgnoreCase(newFirestation.getStation()));
@@ -277,8 +316,6 @@ public class FirestationService {
 		List<String> personFromFirestationList = new ArrayList<>();
 
 		List<Firestation> firestationList = firestationRepository.getAllFirestations();
-		List<Person> personList = personRepository.getAllPerson();
-		List<Medicalrecord> medicalrecordList = medicalrecordRepository.getAllMedicalrecord();
 
 		logger.debug("Filtrage des adresses pour la station : {}", stationNumber);
 		List<String> filteredStationsAddress = firestationList.stream()
@@ -290,9 +327,9 @@ public class FirestationService {
 			throw new FirestationNotFoundException("Il n'existe pas de firestation avec ce numéro.");
 		}
 
-		logger.debug("Filtrage des personnes résidant aux adresses trouvées : {}", filteredStationsAddress);
-		List<Person> personFromFirestation = personList.stream()
-				.filter(person -> filteredStationsAddress.contains(person.getAddress())).collect(Collectors.toList());
+		logger.debug("Filtrage des personnes résidant aux adresses trouvées : {}", LogPreview.of(filteredStationsAddress));
+		Set<String> stationAddresses = new HashSet<>(filteredStationsAddress);
+		List<Person> personFromFirestation = personRepository.findByAddress(stationAddresses::contains);
 
 		if (personFromFirestation.isEmpty()) {
 			logger.error("Aucune personne trouvée pour la station : {}", stationNumber);
@@ -302,9 +339,7 @@ public class FirestationService {
 		AtomicInteger numAdults = new AtomicInteger(0);
 
 		for (Person person : personFromFirestation) {
-			medicalrecordList.stream()
-					.filter(record -> record.getFirstName().equals(person.getFirstName())
-							&& record.getLastName().equalsIgnoreCase(person.getLastName()))
+			medicalrecordRepository.findByName(person.getFirstName(), person.getLastName()).stream()
 					.findFirst().ifPresent(record -> {
 						String personInfo;
 						int age = ageOfPerson(record.getBirthdate());
@@ -358,10 +393,199 @@ public class FirestationService {
 		if (phoneListAlert.isEmpty()) {
 			logger.error("La liste des numéro de téléphone pour la station {} est vide.", station);
 		}
-		logger.info("La liste des numéros de téléphone pour la station : {}  est : {}", station, phoneListAlert);
+		logger.info("La liste des numéros de téléphone pour la station : {}  est : {}", station, LogPreview.of(phoneListAlert));
 		return phoneListAlert;
 	}
 
+	/**
+	 * Récupère les résidents d'un ensemble de stations, filtrés par tranche d'âge
+	 * et par antécédents médicaux.
+	 *
+	 * La recherche combine les bitmaps de l'index des personnes : union des
+	 * résidents des stations, puis intersection avec chaque critère demandé. Les
+	 * personnes ne sont reconstruites qu'à la fin, pour les seuls identifiants
+	 * retenus. Un critère {@code null} n'est pas appliqué, un critère
+	 * {@code false} retient les personnes qui ne le vérifient pas.
+	 *
+	 * @param stations    les numéros des stations, au moins un
+	 * @param ageGroup    {@code child}, {@code adult} ou {@code null} pour tous les
+	 *                    âges
+	 * @param allergies   le critère « avec allergies », ou {@code null}
+	 * @param medications le critère « avec médicaments », ou {@code null}
+	 * @return les résidents retenus, éventuellement aucun
+	 * @throws InvalidRequestException si aucune station n'est fournie ou si la
+	 *                                 tranche d'âge est inconnue
+	 */
+	public List<Person> residentsOfStations(List<String> stations, String ageGroup, Boolean allergies,
+			Boolean medications) {
+		logger.debug("Recherche des résidents des stations {} (âge : {}, allergies : {}, médicaments : {}).",
+				stations, ageGroup, allergies, medications);
+		if (stations == null || stations.stream().allMatch(station -> station == null || station.isBlank())) {
+			logger.error("Aucun numéro de station fourni.");
+			throw new InvalidRequestException("Au moins un numéro de station est obligatoire.");
+		}
+
+		PersonBitmapIndex bitmaps = personRepository.getBitmaps();
+		BitSet residents = bitmaps.residentsOfStations(stations);
+		if (ageGroup != null) {
+			LocalDate today = LocalDate.now();
+			switch (ageGroup.toLowerCase(Locale.ROOT)) {
+			case "child" -> bitmaps.retainChildren(residents, today);
+			case "adult" -> bitmaps.retainAdults(residents, today);
+			default -> {
+				logger.error("Tranche d'âge inconnue : {}", ageGroup);
+				throw new InvalidRequestException("La tranche d'âge doit valoir child ou adult.");
+			}
+			}
+		}
+		if (allergies != null) {
+			bitmaps.retainWithAllergies(residents, allergies);
+		}
+		if (medications != null) {
+			bitmaps.retainWithMedications(residents, medications);
+		}
+
+		List<Person> persons = personRepository.findByIds(residents);
+		logger.info("{} résidents trouvés pour les stations {}.", persons.size(), stations);
+		return persons;
+	}
+
+	/**
+	 * Compte, pour chaque code postal d'une plage, les résidents, les enfants et
+	 * les adultes.
+	 *
+	 * Sans ville ni station, les comptes sont lus tels quels dans l'index trié par
+	 * code postal ({@link RegionIndex}), où ils sont pré-agrégés : le coût est
+	 * O(log n + nombre de codes postaux). Une ville ou des stations restreignent
+	 * les résidents comptés : chaque code postal est alors recompté sur ses seuls
+	 * résidents retenus. Une personne est comptée une fois par prénom et nom.
+	 *
+	 * @param zipFrom  le premier code postal, inclus, ou {@code null}
+	 * @param zipTo    le dernier code postal, inclus, ou {@code null}
+	 * @param city     la ville, sans distinction entre majuscules et minuscules,
+	 *                 ou {@code null}
+	 * @param stations les numéros des stations, ou {@code null}
+	 * @return une map par code postal ayant au moins un résident retenu : zip,
+	 *         residents, children et adults
+	 * @throws InvalidRequestException si {@code zipFrom} suit {@code zipTo}
+	 */
+	public List<Map<String, Object>> regionStatistics(String zipFrom, String zipTo, String city,
+			List<String> stations) {
+		logger.debug("Statistiques des codes postaux {} à {} (ville : {}, stations : {}).", zipFrom, zipTo, city,
+				stations);
+		validateZipRange(zipFrom, zipTo);
+
+		PersonBitmapIndex bitmaps = personRepository.getBitmaps();
+		RegionIndex zipIndex = personRepository.getZipIndex();
+		LocalDate today = LocalDate.now();
+		BitSet filter = regionFilter(null, null, city, stations);
+		List<RegionIndex.Counts> counts;
+		if (filter == null) {
+			counts = zipIndex.counts(zipFrom, zipTo, bitmaps, today);
+		} else {
+			counts = new ArrayList<>();
+			for (String zip : zipIndex.regions(zipFrom, zipTo)) {
+				int[] residents = Arrays.stream(zipIndex.residentsOf(zip)).filter(filter::get).toArray();
+				if (residents.length > 0) {
+					counts.add(new RegionIndex.Counts(zip, residents.length, bitmaps.countChildren(residents, today),
+							bitmaps.countAdults(residents, today)));
+				}
+			}
+		}
+
+		List<Map<String, Object>> statistics = new ArrayList<>();
+		for (RegionIndex.Counts zipCounts : counts) {
+			Map<String, Object> row = new LinkedHashMap<>();
+			row.put("zip", zipCounts.region());
+			row.put("residents", zipCounts.residents());
+			row.put("children", zipCounts.children());
+			row.put("adults", zipCounts.adults());
+			statistics.add(row);
+		}
+		logger.info("Statistiques calculées pour {} codes postaux.", statistics.size());
+		return statistics;
+	}
+
+	/**
+	 * Récupère les résidents d'une plage de codes postaux, d'une ville et d'un
+	 * ensemble de stations.
+	 *
+	 * Les critères sont croisés sur les bitmaps d'identifiants : les résidents
+	 * d'une plage de codes postaux ou d'une ville sont lus dans les index triés
+	 * ({@link RegionIndex}), en O(log n + k). Les personnes ne sont reconstruites
+	 * qu'à la fin. Un critère {@code null} n'est pas appliqué.
+	 *
+	 * @param zipFrom  le premier code postal, inclus, ou {@code null}
+	 * @param zipTo    le dernier code postal, inclus, ou {@code null}
+	 * @param city     la ville, ou {@code null}
+	 * @param stations les numéros des stations, ou {@code null}
+	 * @return les résidents retenus, éventuellement aucun
+	 * @throws InvalidRequestException si aucun critère n'est fourni ou si
+	 *                                 {@code zipFrom} suit {@code zipTo}
+	 */
+	public List<Person> regionResidents(String zipFrom, String zipTo, String city, List<String> stations) {
+		logger.debug("Recherche des résidents des codes postaux {} à {} (ville : {}, stations : {}).", zipFrom, zipTo,
+				city, stations);
+		validateZipRange(zipFrom, zipTo);
+		BitSet filter = regionFilter(zipFrom, zipTo, city, stations);
+		if (filter == null) {
+			logger.error("Aucun critère de région fourni.");
+			throw new InvalidRequestException("Au moins un critère (zipFrom, zipTo, city ou stations) est obligatoire.");
+		}
+
+		String lower = RegionIndex.normalize(zipFrom);
+		String upper = RegionIndex.normalize(zipTo);
+		String cityKey = RegionIndex.normalize(city);
+		List<Person> persons = personRepository.findByIds(filter).stream().filter(person -> {
+			String zip = RegionIndex.normalize(person.getZip());
+			return (lower == null || (zip != null && zip.compareTo(lower) >= 0))
+					&& (upper == null || (zip != null && zip.compareTo(upper) <= 0))
+					&& (cityKey == null || cityKey.equals(RegionIndex.normalize(person.getCity())));
+		}).toList();
+		logger.info("{} résidents trouvés pour les codes postaux {} à {}.", persons.size(), zipFrom, zipTo);
+		return persons;
+	}
+
+	/**
+	 * Vérifie que le premier code postal d'une plage ne suit pas le dernier.
+	 */
+	private static void validateZipRange(String zipFrom, String zipTo) {
+		String lower = RegionIndex.normalize(zipFrom);
+		String upper = RegionIndex.normalize(zipTo);
+		if (lower != null && upper != null && lower.compareTo(upper) > 0) {
+			logger.error("Plage de codes postaux invalide : {} à {}", zipFrom, zipTo);
+			throw new InvalidRequestException("Le code postal zipFrom doit précéder zipTo.");
+		}
+	}
+
+	/**
+	 * Croise les résidents d'une plage de codes postaux, d'une ville et de
+	 * stations.
+	 *
+	 * @return le bitmap des identifiants retenus, {@code null} si aucun critère
+	 *         n'est fourni
+	 */
+	private BitSet regionFilter(String zipFrom, String zipTo, String city, List<String> stations) {
+		BitSet filter = null;
+		if (RegionIndex.normalize(zipFrom) != null || RegionIndex.normalize(zipTo) != null) {
+			filter = personRepository.getZipIndex().residentsBetween(zipFrom, zipTo);
+		}
+		if (RegionIndex.normalize(city) != null) {
+			filter = intersect(filter, personRepository.getCityIndex().residentsBetween(city, city));
+		}
+		if (stations != null && stations.stream().anyMatch(station -> station != null && !station.isBlank())) {
+			filter = intersect(filter, personRepository.getBitmaps().residentsOfStations(stations));
+		}
+		return filter;
+	}
+
+	private static BitSet intersect(BitSet filter, BitSet residents) {
+		if (filter != null) {
+			residents.and(filter);
+		}
+		return residents;
+	}
+
 	/**
 	 * Calcule l'âge d'une personne à partir de sa date de naissance.
 	 *
@@ -377,7 +601,7 @@ public class FirestationService {
 	 *                                    invalide
 	 */
 	public int ageOfPerson(String birthdate) {
-		logger.debug("Tentative de calcul de l'âge pour la date de naissance : {}", birthdate);
+		logger.trace("Tentative de calcul de l'âge pour la date de naissance : {}", birthdate);
 
 		LocalDate birthDate;
 		try {
@@ -389,7 +613,7 @@ public class FirestationService {
 		}
 
 		int age = Period.between(birthDate, LocalDate.now()).getYears();
-		logger.info("Âge calculé avec succès : {} ans pour la date de naissance {}", age, birthdate);
+		logger.trace("Âge calculé avec succès : {} ans pour la date de naissance {}", age, birthdate);
 
 		return age;
 	}
@@ -398,9 +622,18 @@ public class FirestationService {
 	 * Récupère la liste des personnes associées à une adresse, ainsi que les détails sur leur caserne, leurs médicaments et allergies.
 	 * Le résultat est une liste de maps contenant ces informations pour chaque personne.
 	 * 
+	 * L'adresse saisie est d'abord résolue vers une adresse connue
+	 * ({@link PersonRepository#resolveAddress(String)}) : {@code 947 East Rose Drive}
+	 * retrouve {@code 947 E. Rose Dr}. Les casernes et les résidents sont ensuite lus
+	 * par index pour chaque graphie de l'adresse retenue. Une adresse inconnue n'est
+	 * jamais remplacée d'office par une adresse voisine : si des adresses proches
+	 * existent ({@code 1509 Culvr St}), elles sont proposées dans une
+	 * {@link AddressNotFoundException}.
+	 * 
 	 * @param address L'adresse à rechercher dans la base de données pour lier les personnes et leur caserne.
 	 * @return Une liste de maps où chaque map représente les détails d'une personne : prénom, nom, âge, téléphone, médicaments, allergies, et caserne.
 	 * @throws InvalidRequestException Si l'adresse est nulle ou vide.
+	 * @throws AddressNotFoundException Si l'adresse est inconnue mais que des adresses proches existent.
 	 */
 	public List<Map<String, Object>> personAndFirestationFromAddress(String address) {
 	    logger.debug("Début de la méthode personAndFirestationFromAddress avec l'adresse : {}", address);
@@ -411,34 +644,39 @@ public class FirestationService {
 	        throw new InvalidRequestException("Le champ address est obligatoire.");
 	    }
 
-	    List<Firestation> firestationsList = firestationRepository.getAllFirestations();
-	    List<Person> personsList = personRepository.getAllPerson();
-	    List<Medicalrecord> medicalrecordsList = medicalrecordRepository.getAllMedicalrecord();
+	    List<String> resolvedAddresses = personRepository.resolveAddress(address);
+	    logger.debug("Adresse {} résolue en : {}", address, resolvedAddresses);
+	    if (resolvedAddresses.isEmpty()) {
+	        List<String> suggestions = personRepository.suggestAddresses(address);
+	        if (!suggestions.isEmpty()) {
+	            logger.error("Adresse inconnue : {}, adresses proches : {}", address, suggestions);
+	            throw new AddressNotFoundException(
+	                    "Adresse inconnue : " + address + ". Adresses proches : " + String.join(", ", suggestions) + ".");
+	        }
+	    }
 
-	    Firestation firestation = firestationsList.stream()
-	            .filter(f -> f.getAddress().equalsIgnoreCase(address))
+	    Firestation firestation = resolvedAddresses.stream()
+	            .flatMap(resolvedAddress -> firestationRepository.findByAddress(resolvedAddress).stream())
 	            .findFirst()
 	            .orElse(null);
 
 	    if (firestation != null) {
-	        logger.info("Caserne trouvée pour l'adresse {} : Station {}", address, firestation.getStation());
+	        logger.debug("Caserne trouvée pour l'adresse {} : Station {}", address, firestation.getStation());
 	    } else {
 	        logger.warn("Aucune caserne trouvée pour l'adresse {}", address);
 	    }
 
-	    List<Person> filteredPersons = personsList.stream()
-	            .filter(person -> person.getAddress().equalsIgnoreCase(address))
-	            .collect(Collectors.toList());
+	    List<Person> filteredPersons = resolvedAddresses.stream()
+	            .flatMap(resolvedAddress -> personRepository.findResidents(resolvedAddress).stream())
+	            .toList();
 
 	    logger.info("Nombre de personnes trouvées à l'adresse {} : {}", address, filteredPersons.size());
 
 	    List<Map<String, Object>> result = new ArrayList<>();
 
 	    for (Person person : filteredPersons) {
-	        Optional<Medicalrecord> medicalRecordOpt = medicalrecordsList.stream()
-	                .filter(medicalrecord -> 
-	                    medicalrecord.getFirstName().equalsIgnoreCase(person.getFirstName()) &&
-	                    medicalrecord.getLastName().equalsIgnoreCase(person.getLastName()))
+	        Optional<Medicalrecord> medicalRecordOpt = medicalrecordRepository
+	                .findByName(person.getFirstName(), person.getLastName()).stream()
 	                .findFirst();
 
 	        List<String> medications = medicalRecordOpt.map(Medicalrecord::getMedications).orElse(Collections.emptyList());
@@ -468,7 +706,79 @@ public class FirestationService {
 	    
 	    return result;
 	}
+
 	
+	/**
+	 * Récupère le foyer d'un appelant à partir de son numéro de téléphone ou de
+	 * son adresse email.
+	 *
+	 * Les personnes sont retrouvées par les index de hachage du repository : le
+	 * numéro est comparé sur ses seuls chiffres, l'email sans distinction entre
+	 * majuscules et minuscules. Pour chaque adresse de ces personnes, la méthode
+	 * retourne les stations qui la desservent et les résidents avec leur âge,
+	 * leurs médicaments et leurs allergies.
+	 *
+	 * @param phone le numéro de téléphone de l'appelant, ou {@code null}
+	 * @param email l'adresse email de l'appelant, ou {@code null}
+	 * @return une map par adresse, avec les clés {@code address}, {@code city},
+	 *         {@code zip}, {@code stations} et {@code residents} ; vide si aucune
+	 *         personne ne correspond
+	 * @throws InvalidRequestException si ni téléphone ni email n'est fourni
+	 */
+	public List<Map<String, Object>> householdByContact(String phone, String email) {
+		logger.debug("Recherche du foyer pour le téléphone {} ou l'email {}", phone, email);
+		boolean hasPhone = phone != null && !phone.isBlank();
+		boolean hasEmail = email != null && !email.isBlank();
+		if (!hasPhone && !hasEmail) {
+			logger.error("Ni téléphone ni email fourni.");
+			throw new InvalidRequestException("Un numéro de téléphone ou une adresse email est obligatoire.");
+		}
+
+		List<Person> callers = new ArrayList<>();
+		if (hasPhone) {
+			callers.addAll(personRepository.findByPhone(phone));
+		}
+		if (hasEmail) {
+			callers.addAll(personRepository.findByEmail(email));
+		}
+
+		Map<String, Person> addresses = new LinkedHashMap<>();
+		callers.forEach(caller -> addresses.putIfAbsent(caller.getAddress().toLowerCase(Locale.ROOT), caller));
+
+		List<Map<String, Object>> result = new ArrayList<>();
+		for (Person caller : addresses.values()) {
+			List<Map<String, Object>> residents = new ArrayList<>();
+			for (Person resident : personRepository.findResidents(caller.getAddress())) {
+				Optional<Medicalrecord> medicalrecord = medicalrecordRepository
+						.findByName(resident.getFirstName(), resident.getLastName()).stream().findFirst();
+				Map<String, Object> residentDetails = new LinkedHashMap<>();
+				residentDetails.put("firstName", resident.getFirstName());
+				residentDetails.put("lastName", resident.getLastName());
+				residentDetails.put("age", medicalrecord.map(Medicalrecord::getBirthdate).map(this::ageOfPerson)
+						.orElse(null));
+				residentDetails.put("phone", resident.getPhone());
+				residentDetails.put("email", resident.getEmail());
+				residentDetails.put("medications",
+						medicalrecord.map(Medicalrecord::getMedications).orElse(Collections.emptyList()));
+				residentDetails.put("allergies",
+						medicalrecord.map(Medicalrecord::getAllergies).orElse(Collections.emptyList()));
+				residents.add(residentDetails);
+			}
+
+			Map<String, Object> household = new LinkedHashMap<>();
+			household.put("address", caller.getAddress());
+			household.put("city", caller.getCity());
+			household.put("zip", caller.getZip());
+			household.put("stations", firestationRepository.findByAddress(caller.getAddress()).stream()
+					.map(Firestation::getStation).distinct().toList());
+			household.put("residents", residents);
+			result.add(household);
+		}
+
+		logger.info("{} foyers trouvés pour le téléphone {} ou l'email {}.", result.size(), phone, email);
+		return result;
+	}
+
 	/**
 	 * Cette méthode récupère les informations des personnes associées à une station de pompiers,
 	 * en regroupant les personnes par adresse de caserne. Elle retourne une liste de cartes où chaque 
@@ -500,7 +810,7 @@ public class FirestationService {
 	    List<String> allFirestationAddresses = firestationList.stream()
 	            .map(Firestation::getAddress)
 	            .collect(Collectors.toList());
-	    logger.debug("La liste des adresses des casernes : {}", allFirestationAddresses);
+	    logger.debug("La liste des adresses des casernes : {}", LogPreview.of(allFirestationAddresses));
 	    
 	    Map<String, List<Map<String, Object>>> groupedByAddress = new HashMap<>();
 
@@ -508,7 +818,7 @@ public class FirestationService {
 	        List<Map<String, Object>> personsAtAddress = personAndFirestationFromAddress(address);
 	        
 	        groupedByAddress.put(address, personsAtAddress);
-	        logger.debug("Ajouté les personnes de l'adresse : {}", address);
+	        logger.trace("Ajouté les personnes de l'adresse : {}", address);
 	    }
 
 	    for (Map.Entry<String, List<Map<String, Object>>> entry : groupedByAddress.entrySet()) {
@@ -517,7 +827,7 @@ public class FirestationService {
 	        addressInfo.put("people", entry.getValue());
 
 	        result.add(addressInfo);
-	        logger.debug("Ajouté les personnes pour l'adresse {} : {}", entry.getKey(), entry.getValue());
+	        logger.trace("Ajouté les personnes pour l'adresse {} : {}", entry.getKey(), LogPreview.of(entry.getValue()));
 	    }
 
 	    logger.info("Fin de la méthode floodFromFirestation. Nombre total de résultats : {}", result.size());
@@ -0,0 +1,266 @@
+package com.projet5.safetyNet.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.projet5.safetyNet.Exception.InvalidRequestException;
+import com.projet5.safetyNet.model.ImportReport;
+import com.projet5.safetyNet.model.Medicalrecord;
+import com.projet5.safetyNet.model.Person;
+import com.projet5.safetyNet.repository.MedicalrecordRepository;
+import com.projet5.safetyNet.repository.PersonRepository;
+import com.projet5.safetyNet.service.importer.CsvLineParser;
+import com.projet5.safetyNet.service.importer.ImportPipeline;
+import com.projet5.safetyNet.service.importer.ImportProgress;
+
+/**
+ * Service d'import en masse des personnes et des dossiers médicaux.
+ *
+ * Les données sont lues en flux, au format CSV (première ligne = nom des
+ * colonnes) ou NDJSON (un objet JSON par ligne), depuis le corps d'une requête
+ * ou depuis un fichier. Elles traversent un {@link ImportPipeline} : les lignes
+ * sont analysées et validées en parallèle, les éléments déjà présents (même
+ * prénom et même nom) sont ignorés grâce aux index des repositories, puis les
+ * éléments sont ajoutés par lots de {@value #BATCH_SIZE}. Le fichier de données
+ * est écrit une seule fois, à la fin de l'import.
+ *
+ * Les imports en cours peuvent être suivis avec {@link #getRunningImports()}.
+ */
+@Service
+public class ImportService {
+
+	private static final Logger logger = LogManager.getLogger(ImportService.class);
+
+	/**
+	 * Nombre de lignes par bloc transmis aux threads d'analyse.
+	 */
+	public static final int CHUNK_SIZE = 1_000;
+
+	/**
+	 * Nombre d'éléments par lot ajouté au repository.
+	 */
+	public static final int BATCH_SIZE = 20_000;
+
+	/**
+	 * Capacité des files entre les étapes, en blocs.
+	 */
+	public static final int QUEUE_CAPACITY = 16;
+
+	private static final Set<String> PERSON_COLUMNS = Set.of("firstName", "lastName", "address", "city", "zip",
+			"phone", "email");
+	private static final Set<String> MEDICALRECORD_COLUMNS = Set.of("firstName", "lastName", "birthdate",
+			"medications", "allergies");
+
+	private final PersonRepository personRepository;
+	private final MedicalrecordRepository medicalrecordRepository;
+	private final ObjectMapper objectMapper;
+	private final int workers = Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+	private final ConcurrentHashMap<String, ImportProgress> runningImports = new ConcurrentHashMap<>();
+
+	/**
+	 * Format des données importées.
+	 */
+	public enum Format {
+		/**
+		 * CSV avec une ligne d'en-tête.
+		 */
+		CSV,
+		/**
+		 * Un objet JSON par ligne.
+		 */
+		NDJSON
+	}
+
+	/**
+	 * Constructeur du service d'import.
+	 *
+	 * @param personRepository        Le repository des personnes.
+	 * @param medicalrecordRepository Le repository des dossiers médicaux.
+	 * @param objectMapper            L'ObjectMapper utilisé pour lire les lignes NDJSON.
+	 */
+	public ImportService(PersonRepository personRepository, MedicalrecordRepository medicalrecordRepository,
+			ObjectMapper objectMapper) {
+		this.personRepository = personRepository;
+		this.medicalrecordRepository = medicalrecordRepository;
+		this.objectMapper = objectMapper;
+	}
+
+	/**
+	 * Importe des personnes depuis un flux.
+	 *
+	 * @param input  Le flux de données, lu en UTF-8.
+	 * @param format Le format des données.
+	 * @return Le compte rendu de l'import.
+	 *
+	 * @throws InvalidRequestException Si l'en-tête CSV est invalide ou si l'import échoue.
+	 */
+	public ImportReport importPersons(InputStream input, Format format) {
+		return runImport("persons", format, input, personParser(format), this::validatePerson,
+				personRepository::importBatch, personRepository::persist);
+	}
+
+	/**
+	 * Importe des personnes depuis un fichier.
+	 *
+	 * @param file   Le fichier à importer.
+	 * @param format Le format des données.
+	 * @return Le compte rendu de l'import.
+	 * @throws IOException Si le fichier ne peut pas être ouvert.
+	 */
+	public ImportReport importPersons(Path file, Format format) throws IOException {
+		try (InputStream input = Files.newInputStream(file)) {
+			return importPersons(input, format);
+		}
+	}
+
+	/**
+	 * Importe des dossiers médicaux depuis un flux. En CSV, les médicaments et les
+	 * allergies sont séparés par {@code |}.
+	 *
+	 * @param input  Le flux de données, lu en UTF-8.
+	 * @param format Le format des données.
+	 * @return Le compte rendu de l'import.
+	 *
+	 * @throws InvalidRequestException Si l'en-tête CSV est invalide ou si l'import échoue.
+	 */
+	public ImportReport importMedicalrecords(InputStream input, Format format) {
+		return runImport("medicalrecords", format, input, medicalrecordParser(format), this::validateMedicalrecord,
+				medicalrecordRepository::importBatch, medicalrecordRepository::persist);
+	}
+
+	/**
+	 * Importe des dossiers médicaux depuis un fichier.
+	 *
+	 * @param file   Le fichier à importer.
+	 * @param format Le format des données.
+	 * @return Le compte rendu de l'import.
+	 * @throws IOException Si le fichier ne peut pas être ouvert.
+	 */
+	public ImportReport importMedicalrecords(Path file, Format format) throws IOException {
+		try (InputStream input = Files.newInputStream(file)) {
+			return importMedicalrecords(input, format);
+		}
+	}
+
+	/**
+	 * Retourne l'avancement des imports en cours.
+	 *
+	 * @return Un compte rendu par import en cours.
+	 */
+	public List<ImportReport> getRunningImports() {
+		return runningImports.values().stream().map(ImportProgress::toReport).toList();
+	}
+
+	private <T> ImportReport runImport(String type, Format format, InputStream input,
+			Function<BufferedReader, ImportPipeline.LineParser<T>> parserFactory, Function<T, String> validator,
+			ToIntFunction<List<T>> committer, Runnable persist) {
+		ImportProgress progress = new ImportProgress(UUID.randomUUID().toString(), type,
+				format.name().toLowerCase());
+		runningImports.put(progress.getId(), progress);
+		logger.info("Début de l'import {} de {} au format {}.", progress.getId(), type, format);
+		boolean succeeded = false;
+		try {
+			BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+			ImportPipeline.LineParser<T> parser = parserFactory.apply(reader);
+			long firstLineNumber = format == Format.CSV ? 2 : 1;
+			new ImportPipeline<>(parser, validator, committer, progress, workers, CHUNK_SIZE, BATCH_SIZE,
+					QUEUE_CAPACITY).run(reader, firstLineNumber);
+			succeeded = true;
+		} catch (IOException | IllegalStateException e) {
+			logger.error("L'import {} a échoué : {}", progress.getId(), e.getMessage());
+			throw new InvalidRequestException("L'import a échoué : " + e.getMessage());
+		} finally {
+			if (progress.toReport().getImported() > 0) {
+				persist.run();
+			}
+			progress.finish(succeeded);
+			runningImports.remove(progress.getId());
+		}
+		ImportReport report = progress.toReport();
+		logger.info("Import {} terminé : {} lignes lues, {} importées, {} doublons, {} rejetées en {} ms.",
+				report.getId(), report.getLinesRead(), report.getImported(), report.getDuplicates(),
+				report.getRejected(), report.getElapsedMillis());
+		return report;
+	}
+
+	private Function<BufferedReader, ImportPipeline.LineParser<Person>> personParser(Format format) {
+		if (format == Format.NDJSON) {
+			ObjectReader reader = objectMapper.readerFor(Person.class);
+			return input -> reader::readValue;
+		}
+		return input -> {
+			CsvLineParser csv = readHeader(input, PERSON_COLUMNS);
+			return line -> {
+				String[] fields = CsvLineParser.split(line);
+				return new Person(csv.value(fields, "firstName"), csv.value(fields, "lastName"),
+						csv.value(fields, "address"), csv.value(fields, "city"), csv.value(fields, "zip"),
+						csv.value(fields, "phone"), csv.value(fields, "email"));
+			};
+		};
+	}
+
+	private Function<BufferedReader, ImportPipeline.LineParser<Medicalrecord>> medicalrecordParser(Format format) {
+		if (format == Format.NDJSON) {
+			ObjectReader reader = objectMapper.readerFor(Medicalrecord.class);
+			return input -> reader::readValue;
+		}
+		return input -> {
+			CsvLineParser csv = readHeader(input, MEDICALRECORD_COLUMNS);
+			return line -> {
+				String[] fields = CsvLineParser.split(line);
+				return new Medicalrecord(csv.value(fields, "firstName"), csv.value(fields, "lastName"),
+						csv.value(fields, "birthdate"), csv.list(fields, "medications"),
+						csv.list(fields, "allergies"));
+			};
+		};
+	}
+
+	private static CsvLineParser readHeader(BufferedReader input, Set<String> columns) {
+		try {
+			return CsvLineParser.fromHeader(input.readLine(), columns);
+		} catch (IOException e) {
+			throw new IllegalStateException("Impossible de lire l'en-tête : " + e.getMessage(), e);
+		} catch (IllegalArgumentException e) {
+			throw new IllegalStateException("En-tête CSV invalide : " + e.getMessage(), e);
+		}
+	}
+
+	private String validatePerson(Person person) {
+		if (person.getFirstName() == null || person.getFirstName().isEmpty() || person.getLastName() == null
+				|| person.getLastName().isEmpty()) {
+			return "Les champs prénom et nom sont obligatoires.";
+		}
+		if (person.getPhone() == null || person.getPhone().isEmpty()) {
+			return "Le numéro de téléphone est obligatoire.";
+		}
+		return null;
+	}
+
+	private String validateMedicalrecord(Medicalrecord medicalrecord) {
+		if (medicalrecord.getFirstName() == null || medicalrecord.getFirstName().isEmpty()
+				|| medicalrecord.getLastName() == null || medicalrecord.getLastName().isEmpty()) {
+			return "Les champs prénom et nom sont obligatoires.";
+		}
+		if (medicalrecord.getBirthdate() == null) {
+			return "La date de naissance est obligatoire.";
+		}
+		return null;
+	}
+}
@@ -0,0 +1,175 @@
+package com.projet5.safetyNet.service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import com.projet5.safetyNet.Exception.InvalidRequestException;
+import com.projet5.safetyNet.jfr.DataLoadEvent;
+import com.projet5.safetyNet.jfr.DataWriteEvent;
+import com.projet5.safetyNet.jfr.IndexBuildEvent;
+import com.projet5.safetyNet.jfr.IndexMissEvent;
+import com.projet5.safetyNet.jfr.QueryEvent;
+import com.projet5.safetyNet.model.JfrRecordingStatus;
+
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+
+/**
+ * Service de pilotage des enregistrements JFR (Java Flight Recorder).
+ *
+ * Un seul enregistrement peut être actif à la fois. Il utilise la configuration
+ * JFR {@code default} (surcoût inférieur à 1 %) et active tous les événements
+ * de l'application, y compris {@link IndexMissEvent} qui est désactivé hors
+ * enregistrement. L'enregistrement est borné en durée
+ * ({@code safetynet.jfr.max-duration}) et en taille
+ * ({@code safetynet.jfr.max-size}) : il s'arrête seul à l'échéance et est alors
+ * écrit dans un fichier du répertoire {@code safetynet.jfr.directory}.
+ */
+@Service
+public class JfrRecordingService {
+
+	private static final Logger logger = LogManager.getLogger(JfrRecordingService.class);
+
+	private static final DateTimeFormatter FILE_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+	private final Path directory;
+	private final Duration maxDuration;
+	private final DataSize maxSize;
+
+	private Recording recording;
+	private Path file;
+
+	/**
+	 * Constructeur du service.
+	 *
+	 * @param directory   le répertoire des fichiers d'enregistrement
+	 * @param maxDuration la durée maximale d'un enregistrement
+	 * @param maxSize     la taille maximale d'un enregistrement
+	 */
+	public JfrRecordingService(@Value("${safetynet.jfr.directory:recordings}") String directory,
+			@Value("${safetynet.jfr.max-duration:10m}") Duration maxDuration,
+			@Value("${safetynet.jfr.max-size:100MB}") DataSize maxSize) {
+		this.directory = Path.of(directory);
+		this.maxDuration = maxDuration;
+		this.maxSize = maxSize;
+	}
+
+	/**
+	 * Démarre un enregistrement.
+	 *
+	 * @param duration la durée de l'enregistrement, bornée par
+	 *                 {@code safetynet.jfr.max-duration} ; la durée maximale si
+	 *                 {@code null}
+	 * @return l'état de l'enregistrement démarré
+	 * @throws InvalidRequestException si un enregistrement est déjà en cours ou si
+	 *                                 la durée n'est pas positive
+	 */
+	public synchronized JfrRecordingStatus start(Duration duration) {
+		if (isRunning()) {
+			throw new InvalidRequestException("Un enregistrement JFR est déjà en cours : " + file);
+		}
+		if (duration != null && (duration.isNegative() || duration.isZero())) {
+			throw new InvalidRequestException("La durée de l'enregistrement doit être positive.");
+		}
+		Duration bounded = duration == null || duration.compareTo(maxDuration) > 0 ? maxDuration : duration;
+		closeRecording();
+		try {
+			Files.createDirectories(directory);
+			Path destination = directory.resolve("safetynet-" + LocalDateTime.now().format(FILE_TIMESTAMP) + ".jfr");
+			Recording created = new Recording(Configuration.getConfiguration("default"));
+			created.setName("safetynet");
+			created.enable(DataLoadEvent.class);
+			created.enable(DataWriteEvent.class);
+			created.enable(IndexBuildEvent.class);
+			created.enable(IndexMissEvent.class);
+			created.enable(QueryEvent.class);
+			created.setToDisk(true);
+			created.setMaxSize(maxSize.toBytes());
+			created.setDuration(bounded);
+			created.setDestination(destination);
+			created.start();
+			recording = created;
+			file = destination;
+		} catch (IOException e) {
+			logger.error("Impossible de créer l'enregistrement JFR dans {}", directory, e);
+			throw new UncheckedIOException("Impossible de créer l'enregistrement JFR", e);
+		} catch (ParseException e) {
+			throw new IllegalStateException("Configuration JFR 'default' illisible", e);
+		}
+		logger.info("Enregistrement JFR démarré pour {} s dans {}", bounded.toSeconds(), file);
+		return status();
+	}
+
+	/**
+	 * Arrête l'enregistrement en cours et l'écrit dans son fichier.
+	 *
+	 * @return l'état de l'enregistrement arrêté
+	 * @throws InvalidRequestException si aucun enregistrement n'est en cours
+	 */
+	public synchronized JfrRecordingStatus stop() {
+		if (!isRunning()) {
+			throw new InvalidRequestException("Aucun enregistrement JFR en cours.");
+		}
+		recording.stop();
+		logger.info("Enregistrement JFR arrêté, écrit dans {}", file);
+		return status();
+	}
+
+	/**
+	 * Retourne l'état du dernier enregistrement.
+	 *
+	 * Un enregistrement doté d'un fichier de destination est écrit puis fermé par
+	 * JFR dès son arrêt, manuel ou à l'échéance : les états JFR {@code STOPPED} et
+	 * {@code CLOSED} sont donc tous deux rapportés comme {@code STOPPED}.
+	 *
+	 * @return l'état de l'enregistrement, {@code NONE} si aucun n'a été démarré
+	 */
+	public synchronized JfrRecordingStatus status() {
+		if (recording == null) {
+			return new JfrRecordingStatus("NONE", null, null, maxDuration.toSeconds(), maxSize.toBytes());
+		}
+		Duration duration = recording.getDuration();
+		return new JfrRecordingStatus(stateOf(recording.getState()), file.toString(),
+				recording.getStartTime() == null ? null : recording.getStartTime().toString(),
+				duration == null ? 0 : duration.toSeconds(), recording.getMaxSize());
+	}
+
+	/**
+	 * Arrête et écrit l'enregistrement en cours à l'arrêt de l'application.
+	 */
+	@PreDestroy
+	public synchronized void shutdown() {
+		if (isRunning()) {
+			recording.stop();
+		}
+		closeRecording();
+	}
+
+	private static String stateOf(RecordingState state) {
+		return state == RecordingState.CLOSED ? RecordingState.STOPPED.name() : state.name();
+	}
+
+	private boolean isRunning() {
+		return recording != null && recording.getState() == RecordingState.RUNNING;
+	}
+
+	private void closeRecording() {
+		if (recording != null) {
+			recording.close();
+		}
+	}
+}
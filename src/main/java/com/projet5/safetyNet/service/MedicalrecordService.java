@@ -1,5 +1,7 @@
 package com.projet5.safetyNet.service;
 
+import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.List;
 
 import org.apache.logging.log4j.LogManager;
@@ -9,8 +11,13 @@ import org.springframework.stereotype.Service;
 import com.projet5.safetyNet.Exception.InvalidRequestException;
 import com.projet5.safetyNet.Exception.MedicalRecordExistException;
 import com.projet5.safetyNet.Exception.MedicalrecordNotFoundException;
+import com.projet5.safetyNet.model.BulkItemResult;
+import com.projet5.safetyNet.model.BulkOperation;
+import com.projet5.safetyNet.model.BulkReport;
+import com.projet5.safetyNet.model.CursorPage;
 import com.projet5.safetyNet.model.Medicalrecord;
 import com.projet5.safetyNet.repository.MedicalrecordRepository;
+import com.projet5.safetyNet.repository.PersonRepository;
 
 /**
  * Service pour gérer les opérations liées aux dossiers médicaux.
@@ -36,14 +43,19 @@ public class MedicalrecordService {
 
 	private Logger logger = LogManager.getLogger(MedicalrecordService.class);
 	private final MedicalrecordRepository medicalrecordRepository;
+	private final PersonRepository personRepository;
 
 	/**
-	 * Constructeur du service pour initialiser le repository nécessaire.
+	 * Constructeur du service pour initialiser les repositories nécessaires.
 	 * 
 	 * @param medicalrecordRepository Le repository pour les dossiers médicaux.
+	 * @param personRepository        Le repository pour les personnes, utilisé
+	 *                                pour restreindre une recherche à une station
+	 *                                ou à une adresse.
 	 */
-	public MedicalrecordService(MedicalrecordRepository medicalrecordRepository) {
+	public MedicalrecordService(MedicalrecordRepository medicalrecordRepository, PersonRepository personRepository) {
 		this.medicalrecordRepository = medicalrecordRepository;
+		this.personRepository = personRepository;
 		logger.info("MedicalrecordService, initialisé avec succès.");
 	}
 
@@ -67,6 +79,99 @@ public class MedicalrecordService {
 		return medicalrecords;
 	}
 
+	/**
+	 * Récupération des dossiers médicaux d'une personne.
+	 *
+	 * Le prénom et le nom sont comparés sans distinction entre majuscules et
+	 * minuscules. La recherche passe par l'identifiant entier de la personne et
+	 * ne parcourt pas la liste des dossiers.
+	 *
+	 * @param firstName le prénom de la personne
+	 * @param lastName  le nom de la personne
+	 * @return les dossiers médicaux de la personne, vide si elle n'en a aucun
+	 * @see MedicalrecordRepository#findByName(String, String)
+	 */
+	public List<Medicalrecord> getMedicalrecordsByName(String firstName, String lastName) {
+		List<Medicalrecord> medicalrecords = medicalrecordRepository.findByName(firstName, lastName);
+		logger.debug("{} dossiers médicaux trouvés pour {} {}.", medicalrecords.size(), firstName, lastName);
+		return medicalrecords;
+	}
+
+	/**
+	 * Recherche des dossiers médicaux par médicament et par allergie.
+	 *
+	 * La recherche passe par les index inversés du repository : un médicament est
+	 * comparé sans son dosage et sans distinction entre majuscules et minuscules.
+	 * Les critères fournis sont croisés entre eux, puis avec les résidents de la
+	 * station et de l'adresse si elles sont fournies. Seuls les dossiers retenus
+	 * sont lus.
+	 *
+	 * @param medication le médicament recherché, ou {@code null}
+	 * @param allergy    l'allergie recherchée, ou {@code null}
+	 * @param station    le numéro de station auquel restreindre la recherche, ou
+	 *                   {@code null}
+	 * @param address    l'adresse à laquelle restreindre la recherche, ou
+	 *                   {@code null}
+	 * @return les dossiers médicaux retenus, éventuellement aucun
+	 * @throws InvalidRequestException si ni médicament ni allergie n'est fourni
+	 */
+	public List<Medicalrecord> searchMedicalrecords(String medication, String allergy, String station,
+			String address) {
+		logger.debug("Recherche des dossiers médicaux (médicament : {}, allergie : {}, station : {}, adresse : {}).",
+				medication, allergy, station, address);
+		boolean hasMedication = medication != null && !medication.isBlank();
+		boolean hasAllergy = allergy != null && !allergy.isBlank();
+		if (!hasMedication && !hasAllergy) {
+			logger.error("Recherche sans médicament ni allergie.");
+			throw new InvalidRequestException("Un médicament ou une allergie est obligatoire.");
+		}
+
+		BitSet personIds = hasMedication ? medicalrecordRepository.findByMedication(medication)
+				: medicalrecordRepository.findByAllergy(allergy);
+		if (hasMedication && hasAllergy) {
+			personIds.and(medicalrecordRepository.findByAllergy(allergy));
+		}
+		if (station != null && !station.isBlank()) {
+			personIds.and(personRepository.getBitmaps().residentsOfStations(List.of(station)));
+		}
+		if (address != null && !address.isBlank()) {
+			personIds.and(personRepository.findIdsByAddress(address));
+		}
+
+		List<Medicalrecord> medicalrecords = medicalrecordRepository.findByIds(personIds);
+		logger.info("{} dossiers médicaux trouvés.", medicalrecords.size());
+		return medicalrecords;
+	}
+
+	/**
+	 * Récupération d'une page de dossiers médicaux.
+	 *
+	 * Les dossiers sont triés par nom, prénom puis date de naissance et lus dans
+	 * l'index trié du repository à partir de la position du curseur.
+	 *
+	 * @param cursor le curseur de la page précédente, ou {@code null} pour la
+	 *               première page
+	 * @param size   le nombre de dossiers par page, compris entre 1 et
+	 *               {@link CursorPage#MAX_PAGE_SIZE}
+	 * @return la page de dossiers médicaux et le curseur de la page suivante
+	 * @throws InvalidRequestException si la taille de page ou le curseur est
+	 *                                 invalide
+	 */
+	public CursorPage<Medicalrecord> getMedicalrecordsPage(String cursor, int size) {
+		logger.debug("Récupération d'une page de {} dossiers médicaux.", size);
+		if (size < 1 || size > CursorPage.MAX_PAGE_SIZE) {
+			logger.error("Taille de page invalide : {}", size);
+			throw new InvalidRequestException(
+					"La taille de page doit être comprise entre 1 et " + CursorPage.MAX_PAGE_SIZE + ".");
+		}
+		try {
+			return medicalrecordRepository.getMedicalrecordPage(cursor, size);
+		} catch (IllegalArgumentException e) {
+			logger.error("Curseur invalide : {}", cursor);
+			throw new InvalidRequestException("Le curseur fourni est invalide.");
+		}
+	}
+
 	/**
 	 * Ajoute un nouveau dossier médical.
 	 *
@@ -184,4 +289,73 @@ public class MedicalrecordService {
 				updatedMedicalrecord.getLastName());
 	}
 
+	/**
+	 * Applique un lot d'opérations d'ajout, de mise à jour et de suppression de
+	 * dossiers médicaux.
+	 *
+	 * Chaque opération est d'abord validée individuellement : le prénom et le nom
+	 * sont obligatoires, ainsi que la date de naissance pour un ajout ou une mise
+	 * à jour. Les opérations invalides sont rejetées avec le statut
+	 * {@code INVALID}. Les opérations valides sont appliquées ensemble par le
+	 * repository, qui n'écrit le fichier qu'une seule fois.
+	 *
+	 * @param operations les opérations du lot, dans l'ordre d'application
+	 * @return le compte rendu du lot, avec le résultat de chaque opération
+	 * @throws InvalidRequestException si le lot est nul ou vide
+	 */
+	public BulkReport applyBatch(List<BulkOperation<Medicalrecord>> operations) {
+		if (operations == null || operations.isEmpty()) {
+			logger.error("Le lot d'opérations est nul ou vide.");
+			throw new InvalidRequestException("Le lot d'opérations ne peut pas être vide.");
+		}
+
+		BulkItemResult[] results = new BulkItemResult[operations.size()];
+		List<BulkOperation<Medicalrecord>> validOperations = new ArrayList<>(operations.size());
+		List<Integer> validPositions = new ArrayList<>(operations.size());
+		for (int i = 0; i < operations.size(); i++) {
+			BulkOperation<Medicalrecord> operation = operations.get(i);
+			String error = validateBatchOperation(operation);
+			if (error != null) {
+				results[i] = new BulkItemResult(i, operation == null ? null : operation.getOp(),
+						BulkItemResult.Status.INVALID, error);
+			} else {
+				validOperations.add(operation);
+				validPositions.add(i);
+			}
+		}
+
+		List<BulkItemResult.Status> statuses = validOperations.isEmpty() ? List.of()
+				: medicalrecordRepository.applyBatch(validOperations);
+		for (int j = 0; j < statuses.size(); j++) {
+			int position = validPositions.get(j);
+			results[position] = new BulkItemResult(position, validOperations.get(j).getOp(), statuses.get(j), null);
+		}
+
+		BulkReport report = BulkReport.of(List.of(results));
+		logger.info("Lot de dossiers médicaux traité : {} opérations, {} appliquées, {} rejetées.",
+				report.getTotal(), report.getApplied(), report.getRejected());
+		return report;
+	}
+
+	/**
+	 * Valide une opération d'un lot de dossiers médicaux.
+	 *
+	 * @param operation l'opération à valider
+	 * @return le message d'erreur, ou {@code null} si l'opération est valide
+	 */
+	private String validateBatchOperation(BulkOperation<Medicalrecord> operation) {
+		if (operation == null || operation.getOp() == null || operation.getData() == null) {
+			return "Les champs 'op' et 'data' sont obligatoires.";
+		}
+		Medicalrecord medicalrecord = operation.getData();
+		if (medicalrecord.getFirstName() == null || medicalrecord.getFirstName().isEmpty()
+				|| medicalrecord.getLastName() == null || medicalrecord.getLastName().isEmpty()) {
+			return "Les champs prénom et nom sont obligatoires.";
+		}
+		if (operation.getOp() == BulkOperation.Type.UPSERT && medicalrecord.getBirthdate() == null) {
+			return "La date de naissance est obligatoire pour un ajout ou une mise à jour.";
+		}
+		return null;
+	}
+
 }
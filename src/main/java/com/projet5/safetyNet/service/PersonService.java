@@ -1,8 +1,14 @@
 package com.projet5.safetyNet.service;
 
+import com.projet5.safetyNet.Exception.AddressNotFoundException;
 import com.projet5.safetyNet.Exception.InvalidRequestException;
 import com.projet5.safetyNet.Exception.PersonExistingException;
 import com.projet5.safetyNet.Exception.PersonNotFoundException;
+import com.projet5.safetyNet.logging.LogPreview;
+import com.projet5.safetyNet.model.BulkItemResult;
+import com.projet5.safetyNet.model.BulkOperation;
+import com.projet5.safetyNet.model.BulkReport;
+import com.projet5.safetyNet.model.CursorPage;
 import com.projet5.safetyNet.model.Medicalrecord;
 import com.projet5.safetyNet.model.Person;
 import com.projet5.safetyNet.repository.PersonRepository;
@@ -115,6 +121,34 @@ public class PersonService {
 		return personList;
 	}
 
+	/**
+	 * Récupère une page de personnes triées par nom, prénom puis téléphone.
+	 * 
+	 * Le curseur est opaque : il s'agit de la valeur {@code nextCursor} retournée
+	 * par la page précédente. La lecture est effectuée dans l'index trié du
+	 * repository, son coût dépend de la taille de la page et non du nombre total
+	 * de personnes.
+	 * 
+	 * @param cursor Le curseur de la page précédente, ou {@code null} pour la première page.
+	 * @param size Le nombre de personnes par page, compris entre 1 et {@link CursorPage#MAX_PAGE_SIZE}.
+	 * @return La page de personnes et le curseur de la page suivante.
+	 * 
+	 * @throws InvalidRequestException Si la taille de page ou le curseur est invalide.
+	 */
+	public CursorPage<Person> getPersonsPage(String cursor, int size) {
+		logger.debug("Récupération d'une page de {} personnes.", size);
+		if (size < 1 || size > CursorPage.MAX_PAGE_SIZE) {
+			logger.error("Taille de page invalide : {}", size);
+			throw new InvalidRequestException("La taille de page doit être comprise entre 1 et " + CursorPage.MAX_PAGE_SIZE + ".");
+		}
+		try {
+			return personRepository.getPersonPage(cursor, size);
+		} catch (IllegalArgumentException e) {
+			logger.error("Curseur invalide : {}", cursor);
+			throw new InvalidRequestException("Le curseur fourni est invalide.");
+		}
+	}
+
 	/**
 	 * Supprime une personne de la base de données en utilisant son prénom, nom et téléphone.
 	 * 
@@ -134,7 +168,7 @@ public class PersonService {
 	public void deletePerson(String firstName, String lastName, String phone) {
 		logger.debug("Entrée dans la méthode deletePerson() de PersonService");
 		logger.debug("Vérification si la personne existe bien en base de données.");
-		logger.debug("La personne à vérifier est : " + firstName + " " + lastName + " " + phone);
+		logger.debug("La personne à vérifier est : {} {} {}", firstName, lastName, phone);
 		boolean personExists = personRepository.getAllPerson().stream()
 				.anyMatch(person -> person.getFirstName().equalsIgnoreCase(firstName)
 						&& person.getLastName().equalsIgnoreCase(lastName)
@@ -172,7 +206,7 @@ public class PersonService {
 		logger.debug("Entrée dans la méthode addPerson de la classe PersonService.");
 		logger.debug(
 				"Vérification des champs 'firstName', 'lastName' et 'phone' pour s'assurer qu'ils ne sont pas nuls ou vides.");
-		logger.debug("La personne à vérifier est : " + newPerson);
+		logger.debug("La personne à vérifier est : {}", newPerson);
 		
 		if (newPerson.getFirstName() == null || newPerson.getFirstName().isEmpty()
 				|| newPerson.getLastName() == null || newPerson.getLastName().isEmpty()
@@ -232,6 +266,75 @@ public class PersonService {
 		logger.info("Personne mise à jour avec succès : {}", updatedPerson);
 	}
 
+	/**
+	 * Applique un lot d'opérations d'ajout, de mise à jour et de suppression de personnes.
+	 * 
+	 * <p>
+	 * Chaque opération est d'abord validée individuellement : les champs 'firstName', 'lastName'
+	 * et 'phone' sont obligatoires. Les opérations invalides sont rejetées avec le statut
+	 * {@code INVALID} sans interrompre le lot. Les opérations valides sont ensuite appliquées
+	 * ensemble par le repository, qui vérifie l'existence des personnes grâce à ses index
+	 * et n'écrit le fichier qu'une seule fois.
+	 * </p>
+	 * 
+	 * @param operations Les opérations du lot, dans l'ordre où elles doivent être appliquées.
+	 * @return Le compte rendu du lot, avec le résultat de chaque opération.
+	 * @throws InvalidRequestException Si le lot est nul ou vide.
+	 */
+	public BulkReport applyBatch(List<BulkOperation<Person>> operations) {
+		logger.debug("Entrée dans la méthode applyBatch() de la classe PersonService.");
+		if (operations == null || operations.isEmpty()) {
+			logger.error("Le lot d'opérations est nul ou vide.");
+			throw new InvalidRequestException("Le lot d'opérations ne peut pas être vide.");
+		}
+
+		BulkItemResult[] results = new BulkItemResult[operations.size()];
+		List<BulkOperation<Person>> validOperations = new ArrayList<>(operations.size());
+		List<Integer> validPositions = new ArrayList<>(operations.size());
+		for (int i = 0; i < operations.size(); i++) {
+			BulkOperation<Person> operation = operations.get(i);
+			String error = validateBatchOperation(operation);
+			if (error != null) {
+				results[i] = new BulkItemResult(i, operation == null ? null : operation.getOp(),
+						BulkItemResult.Status.INVALID, error);
+			} else {
+				validOperations.add(operation);
+				validPositions.add(i);
+			}
+		}
+
+		List<BulkItemResult.Status> statuses = validOperations.isEmpty() ? List.of()
+				: personRepository.applyBatch(validOperations);
+		for (int j = 0; j < statuses.size(); j++) {
+			int position = validPositions.get(j);
+			results[position] = new BulkItemResult(position, validOperations.get(j).getOp(), statuses.get(j), null);
+		}
+
+		BulkReport report = BulkReport.of(List.of(results));
+		logger.info("Lot de personnes traité : {} opérations, {} appliquées, {} rejetées.", report.getTotal(),
+				report.getApplied(), report.getRejected());
+		return report;
+	}
+
+	/**
+	 * Valide une opération d'un lot de personnes.
+	 * 
+	 * @param operation L'opération à valider.
+	 * @return Le message d'erreur, ou {@code null} si l'opération est valide.
+	 */
+	private String validateBatchOperation(BulkOperation<Person> operation) {
+		if (operation == null || operation.getOp() == null || operation.getData() == null) {
+			return "Les champs 'op' et 'data' sont obligatoires.";
+		}
+		Person person = operation.getData();
+		if (person.getFirstName() == null || person.getFirstName().isEmpty()
+				|| person.getLastName() == null || person.getLastName().isEmpty()
+				|| person.getPhone() == null || person.getPhone().isEmpty()) {
+			return "Les champs 'firstName', 'lastName' et 'phone' sont obligatoires et ne peuvent être nuls ou vides.";
+		}
+		return null;
+	}
+
 	/**
 	 * Récupère la liste des adresses email des personnes d'une ville donnée.
 	 * 
@@ -255,10 +358,7 @@ public class PersonService {
 			throw new InvalidRequestException("Le champ 'city' ne peut pas être nul ou vide." + city);
 		}
 
-		List<Person> personList = personRepository.getAllPerson();
-		logger.debug("Récupération des personnes terminée, traitement des données...");
-		List<String> communityEmail = personList.stream().filter(person -> person.getCity().equalsIgnoreCase(city))
-				.map(person -> person.getEmail()).collect(Collectors.toList());
+		List<String> communityEmail = personRepository.findEmailsByCity(city::equalsIgnoreCase);
 		if (communityEmail.isEmpty()) {
 			logger.warn("Aucune personne trouvée pour la ville : {}", city);
 			throw new PersonNotFoundException("Aucune personne trouvée pour cette ville." + city);
@@ -294,32 +394,27 @@ public class PersonService {
 			String normalizedAddress = normalizeAddress(address);
 			logger.debug("Adresse normalisée pour la comparaison : {}", normalizedAddress);
 
-			List<Medicalrecord> medicalRecords = medicalrecordService.getAllMedicalrecord();
-			logger.info("Nombre de dossiers médicaux récupérés : {}", medicalRecords.size());
-
 			List<Person> personsAtAddress = listPersonByAddress(address);
 
 			List<String> childrenAtAddress = personsAtAddress.stream().filter(person -> {
-				Medicalrecord dossier = medicalRecords.stream()
-						.filter(medical -> medical.getFirstName().equalsIgnoreCase(person.getFirstName())
-								&& medical.getLastName().equalsIgnoreCase(person.getLastName()))
-						.findFirst().orElse(null);
+				Medicalrecord dossier = medicalrecordService
+						.getMedicalrecordsByName(person.getFirstName(), person.getLastName()).stream().findFirst()
+						.orElse(null);
 
 				if (dossier == null) {
-					logger.debug("Aucun dossier médical trouvé pour {} {}", person.getFirstName(),
+					logger.trace("Aucun dossier médical trouvé pour {} {}", person.getFirstName(),
 							person.getLastName());
 					return false;
 				}
 	
 				LocalDate birthDate = LocalDate.parse(dossier.getBirthdate(), DATE_FORMATTER);
 				int age = Period.between(birthDate, LocalDate.now()).getYears();
-				logger.debug("Âge calculé pour {} {} : {}", person.getFirstName(), person.getLastName(), age);
+				logger.trace("Âge calculé pour {} {} : {}", person.getFirstName(), person.getLastName(), age);
 				return age < 18;
 				
-				}).map(person -> { Medicalrecord dossier = medicalRecords.stream()
-							.filter(medical -> medical.getFirstName().equalsIgnoreCase(person.getFirstName())
-									&& medical.getLastName().equalsIgnoreCase(person.getLastName()))
-							.findFirst().orElse(null);
+				}).map(person -> { Medicalrecord dossier = medicalrecordService
+							.getMedicalrecordsByName(person.getFirstName(), person.getLastName()).stream().findFirst()
+							.orElse(null);
 					if (dossier != null) {
 						LocalDate birthDate = LocalDate.parse(dossier.getBirthdate(), DATE_FORMATTER);
 						int age = Period.between(birthDate, LocalDate.now()).getYears();
@@ -342,31 +437,36 @@ public class PersonService {
 	 * Récupère la liste des personnes vivant à une adresse donnée.
 	 * 
 	 * <p>
-	 * Cette méthode prend une adresse en entrée, normalise l'adresse fournie, puis 
-	 * cherche dans le répertoire des personnes celles dont l'adresse correspond 
-	 * à celle fournie. Si l'adresse est {@code null} ou vide, une exception est levée.
-	 * Les adresses sont comparées après normalisation (mise en minuscules et suppression
-	 * des espaces superflus) pour assurer des comparaisons cohérentes.
+	 * Cette méthode résout l'adresse saisie vers une adresse connue
+	 * ({@link PersonRepository#resolveAddress(String)}) : abréviations, ponctuation
+	 * et casse sont tolérées. Les résidents de chaque graphie de l'adresse retenue
+	 * sont ensuite lus dans l'index bitmap, sans parcourir les personnes. Une faute
+	 * de frappe n'est jamais corrigée d'office : les adresses proches sont
+	 * proposées dans une {@link AddressNotFoundException}.
 	 * </p>
 	 * 
 	 * @param address L'adresse de la personne à rechercher.
 	 * @return Une liste de personnes vivant à l'adresse spécifiée.
 	 * @throws InvalidRequestException Si l'adresse fournie est {@code null} ou vide.
+	 * @throws AddressNotFoundException Si l'adresse est inconnue mais que des adresses proches existent.
 	 */
 	public List<Person> listPersonByAddress(String address) {		
-		String normalizedAddress = normalizeAddress(address);
-		logger.debug("Adresse normalisée pour la comparaison : {}", normalizedAddress);
+		List<String> resolvedAddresses = personRepository.resolveAddress(address);
+		logger.debug("Adresse '{}' résolue pour la comparaison : {}", address, resolvedAddresses);
+		if (resolvedAddresses.isEmpty()) {
+			List<String> suggestions = personRepository.suggestAddresses(address);
+			if (!suggestions.isEmpty()) {
+				logger.error("Adresse inconnue : {}, adresses proches : {}", address, suggestions);
+				throw new AddressNotFoundException(
+						"Adresse inconnue : " + address + ". Adresses proches : " + String.join(", ", suggestions) + ".");
+			}
+		}
 		
-		List<Person> persons = personRepository.getAllPerson();
-
-		List<Person> personsAtAddress = persons.stream().filter(person -> {
-			String normalizedPersonAddress = normalizeAddress(person.getAddress());
-			logger.debug("Adresse de la personne {} {} : {}", person.getFirstName(), person.getLastName(),
-					normalizedPersonAddress);
-			return normalizedPersonAddress.equalsIgnoreCase(normalizedAddress);})
+		List<Person> personsAtAddress = resolvedAddresses.stream()
+				.flatMap(resolvedAddress -> personRepository.findResidents(resolvedAddress).stream())
 				.collect(Collectors.toList());
 		
-		logger.info("Liste des personnes trouvées à l'adresse {} : {}", normalizedAddress, personsAtAddress);
+		logger.info("Liste des personnes trouvées à l'adresse {} : {}", resolvedAddresses, LogPreview.of(personsAtAddress));
 		
 		return personsAtAddress;
 	}
@@ -391,7 +491,7 @@ public class PersonService {
 			return "";
 		}
 		String normalizedAddress = address.trim().toLowerCase();
-		logger.info("Adresse normalisée avec succès : {}", normalizedAddress);
+		logger.trace("Adresse normalisée avec succès : {}", normalizedAddress);
 		return normalizedAddress;
 	}
 
@@ -408,11 +508,10 @@ public class PersonService {
 	 * @return {@code true} si la personne a moins de 18 ans, {@code false} sinon.
 	fgvr */
 	public Boolean isChild(String birthdate) {
-		logger.debug("Début du parsing de la date de naissance.");
+		logger.trace("Début du parsing de la date de naissance.");
 		LocalDate birthDate = LocalDate.parse(birthdate, DATE_FORMATTER);
-		logger.info("Parsing effectué, calcul de l'âge.", birthDate);
 		int age = Period.between(birthDate, LocalDate.now()).getYears();
-		logger.info("Âge calculé pour la date de naissance {} obtenu avec succès : {}", birthdate, age);
+		logger.trace("Âge calculé pour la date de naissance {} obtenu avec succès : {}", birthdate, age);
 		return age < 18;
 	}
 
@@ -447,12 +546,9 @@ public class PersonService {
 
 			List<Map<String, Object>> personInfo = new ArrayList<>();
 			List<Person> filteredPerson = listPersonByLastName(lastName);
-			List<Medicalrecord> medicalrecordList = medicalrecordService.getAllMedicalrecord();
 
 			for (Person person : filteredPerson) {
-				medicalrecordList.stream()
-						.filter(record -> record.getFirstName().equalsIgnoreCase(person.getFirstName())
-								&& record.getLastName().equalsIgnoreCase(person.getLastName()))
+				medicalrecordService.getMedicalrecordsByName(person.getFirstName(), person.getLastName())
 						.forEach(record -> {
 							Map<String, Object> info = new LinkedHashMap<>();
 							info.put("firstName", person.getFirstName());
@@ -474,7 +570,7 @@ public class PersonService {
 			result.put("count", count);
 			result.put("personInfo", personInfo);
 
-			logger.info("Récupération des informations avec succès : {}", result);
+			logger.info("Récupération des informations avec succès : {}", LogPreview.of(personInfo));
 			return result;
 	}
 	
@@ -497,8 +593,37 @@ public class PersonService {
 	    List<Person> filteredPerson = personList.stream()
 	            .filter(person -> person.getLastName().equalsIgnoreCase(lastName))
 	            .collect(Collectors.toList());
-	    logger.info("Liste des personnes filtrées pour le nom de famille '{}': {}", lastName, filteredPerson);
+	    logger.info("Liste des personnes filtrées pour le nom de famille '{}': {}", lastName, LogPreview.of(filteredPerson));
 	    return filteredPerson; // Correction ici, car tu retournais `personList` au lieu de `filteredPerson`
 	}
 
+	/**
+	 * Recherche approchée des personnes par prénom et nom.
+	 *
+	 * <p>Contrairement à {@link #listPersonByLastName(String)}, la saisie peut être
+	 * incomplète ou mal orthographiée : chaque terme est comparé au prénom et au nom
+	 * par égalité, par préfixe puis par prononciation (Soundex). Les résultats sont
+	 * classés du plus pertinent au moins pertinent.
+	 * </p>
+	 *
+	 * @param name La saisie libre, un ou plusieurs termes, par exemple {@code "jon boid"}.
+	 * @param limit Le nombre maximal de personnes distinctes, compris entre 1 et {@link CursorPage#MAX_PAGE_SIZE}.
+	 * @return Les personnes retenues, éventuellement aucune.
+	 * @throws InvalidRequestException Si la saisie est vide ou si la limite est invalide.
+	 */
+	public List<Person> searchPersonsByName(String name, int limit) {
+		logger.debug("Recherche approchée des personnes pour '{}', limite {}.", name, limit);
+		if (name == null || name.isBlank()) {
+			logger.error("Saisie de recherche vide.");
+			throw new InvalidRequestException("Le nom recherché est obligatoire.");
+		}
+		if (limit < 1 || limit > CursorPage.MAX_PAGE_SIZE) {
+			logger.error("Limite de recherche invalide : {}", limit);
+			throw new InvalidRequestException("La limite doit être comprise entre 1 et " + CursorPage.MAX_PAGE_SIZE + ".");
+		}
+		List<Person> persons = personRepository.searchByName(name, limit);
+		logger.info("{} personnes trouvées pour la recherche '{}'.", persons.size(), name);
+		return persons;
+	}
+
 }
@@ -0,0 +1,137 @@
+package com.projet5.safetyNet.service.importer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Découpe les lignes d'un fichier CSV dont la première ligne contient le nom
+ * des colonnes.
+ *
+ * <p>
+ * Le séparateur est la virgule. Une valeur peut être entourée de guillemets
+ * doubles pour contenir une virgule, un guillemet étant alors doublé
+ * ({@code ""}). Une valeur ne peut pas contenir de retour à la ligne. Les
+ * colonnes de type liste (par exemple les médicaments) séparent leurs éléments
+ * par {@code |}.
+ * </p>
+ * <p>
+ * Une instance ne conserve que la position des colonnes : elle peut être
+ * partagée entre plusieurs threads.
+ * </p>
+ */
+public final class CsvLineParser {
+
+	private static final char SEPARATOR = ',';
+	private static final char QUOTE = '"';
+	private static final String LIST_SEPARATOR = "\\|";
+
+	private final Map<String, Integer> columns;
+
+	private CsvLineParser(Map<String, Integer> columns) {
+		this.columns = columns;
+	}
+
+	/**
+	 * Construit un parseur à partir de la ligne d'en-tête.
+	 *
+	 * @param header         la première ligne du fichier
+	 * @param allowedColumns les noms de colonnes acceptés
+	 * @return le parseur correspondant à l'en-tête
+	 * @throws IllegalArgumentException si l'en-tête est vide, contient une
+	 *                                  colonne inconnue ou une colonne en double
+	 */
+	public static CsvLineParser fromHeader(String header, Set<String> allowedColumns) {
+		if (header == null || header.isBlank()) {
+			throw new IllegalArgumentException("La ligne d'en-tête est vide.");
+		}
+		String[] names = split(header.startsWith("\uFEFF") ? header.substring(1) : header);
+		Map<String, Integer> columns = new HashMap<>();
+		for (int i = 0; i < names.length; i++) {
+			String name = names[i].trim();
+			if (!allowedColumns.contains(name)) {
+				throw new IllegalArgumentException("Colonne inconnue : " + name);
+			}
+			if (columns.putIfAbsent(name, i) != null) {
+				throw new IllegalArgumentException("Colonne en double : " + name);
+			}
+		}
+		return new CsvLineParser(columns);
+	}
+
+	/**
+	 * Découpe une ligne en valeurs.
+	 *
+	 * @param line la ligne à découper
+	 * @return les valeurs de la ligne, dans l'ordre des colonnes
+	 * @throws IllegalArgumentException si un guillemet n'est pas refermé
+	 */
+	public static String[] split(String line) {
+		List<String> fields = new ArrayList<>();
+		StringBuilder current = new StringBuilder();
+		boolean quoted = false;
+		for (int i = 0; i < line.length(); i++) {
+			char c = line.charAt(i);
+			if (quoted) {
+				if (c == QUOTE) {
+					if (i + 1 < line.length() && line.charAt(i + 1) == QUOTE) {
+						current.append(QUOTE);
+						i++;
+					} else {
+						quoted = false;
+					}
+				} else {
+					current.append(c);
+				}
+			} else if (c == QUOTE) {
+				quoted = true;
+			} else if (c == SEPARATOR) {
+				fields.add(current.toString());
+				current.setLength(0);
+			} else {
+				current.append(c);
+			}
+		}
+		if (quoted) {
+			throw new IllegalArgumentException("Guillemet non refermé.");
+		}
+		fields.add(current.toString());
+		return fields.toArray(new String[0]);
+	}
+
+	/**
+	 * Retourne la valeur d'une colonne.
+	 *
+	 * @param fields les valeurs de la ligne
+	 * @param column le nom de la colonne
+	 * @return la valeur sans espaces superflus, ou {@code null} si la colonne est
+	 *         absente ou vide
+	 */
+	public String value(String[] fields, String column) {
+		Integer position = columns.get(column);
+		if (position == null || position >= fields.length) {
+			return null;
+		}
+		String value = fields[position].trim();
+		return value.isEmpty() ? null : value;
+	}
+
+	/**
+	 * Retourne la valeur d'une colonne de type liste.
+	 *
+	 * @param fields les valeurs de la ligne
+	 * @param column le nom de la colonne
+	 * @return les éléments de la liste, vide si la colonne est absente ou vide
+	 */
+	public List<String> list(String[] fields, String column) {
+		String value = value(fields, column);
+		if (value == null) {
+			return new ArrayList<>();
+		}
+		return new ArrayList<>(Arrays.stream(value.split(LIST_SEPARATOR)).map(String::trim)
+				.filter(element -> !element.isEmpty()).toList());
+	}
+}
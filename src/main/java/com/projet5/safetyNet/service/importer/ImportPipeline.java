@@ -0,0 +1,282 @@
+package com.projet5.safetyNet.service.importer;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.projet5.safetyNet.model.ImportReport;
+
+/**
+ * Pipeline d'import en trois étapes reliées par des files bornées.
+ *
+ * <ol>
+ * <li>Lecture : le thread appelant lit les lignes et les regroupe en blocs.</li>
+ * <li>Analyse : plusieurs threads transforment et valident les lignes de
+ * chaque bloc. Les lignes invalides sont comptées et ignorées.</li>
+ * <li>Validation : un seul thread regroupe les éléments valides en grands lots
+ * et les transmet au repository.</li>
+ * </ol>
+ *
+ * <p>
+ * Les files entre les étapes ont une capacité fixe : lorsqu'une étape est plus
+ * lente que la précédente, la précédente attend. La mémoire utilisée ne dépend
+ * donc pas de la taille du fichier. L'ordre des éléments n'est pas conservé
+ * entre les threads d'analyse.
+ * </p>
+ * <p>
+ * Si une étape échoue, les autres s'arrêtent et l'exception est relancée par
+ * {@link #run(BufferedReader, long)}. Les lots déjà validés restent en place.
+ * </p>
+ *
+ * @param <T> le type des éléments importés
+ */
+public class ImportPipeline<T> {
+
+	private static final Logger logger = LogManager.getLogger(ImportPipeline.class);
+
+	private static final long POLL_MILLIS = 100;
+
+	/**
+	 * Transforme une ligne en élément.
+	 *
+	 * @param <T> le type des éléments produits
+	 */
+	@FunctionalInterface
+	public interface LineParser<T> {
+
+		/**
+		 * Transforme une ligne en élément.
+		 *
+		 * @param line la ligne à transformer
+		 * @return l'élément lu
+		 * @throws Exception si la ligne ne peut pas être lue
+		 */
+		T parse(String line) throws Exception;
+	}
+
+	/**
+	 * Bloc de lignes consécutives transmis aux threads d'analyse.
+	 */
+	private record Chunk(long firstLineNumber, List<String> lines) {
+	}
+
+	private final Chunk endOfInput = new Chunk(-1, List.of());
+	private final List<T> endOfRecords = new ArrayList<>(0);
+
+	private final LineParser<T> parser;
+	private final Function<T, String> validator;
+	private final ToIntFunction<List<T>> committer;
+	private final ImportProgress progress;
+	private final int workers;
+	private final int chunkSize;
+	private final int batchSize;
+
+	private final BlockingQueue<Chunk> chunkQueue;
+	private final BlockingQueue<List<T>> recordQueue;
+	private final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+	/**
+	 * Constructeur du pipeline.
+	 *
+	 * @param parser        la transformation d'une ligne en élément
+	 * @param validator     la validation d'un élément, qui retourne le message
+	 *                      d'erreur ou {@code null} si l'élément est valide
+	 * @param committer     la validation d'un lot, qui retourne le nombre
+	 *                      d'éléments réellement importés
+	 * @param progress      les compteurs d'avancement de l'import
+	 * @param workers       le nombre de threads d'analyse
+	 * @param chunkSize     le nombre de lignes par bloc
+	 * @param batchSize     le nombre d'éléments par lot validé
+	 * @param queueCapacity la capacité de chaque file
+	 */
+	public ImportPipeline(LineParser<T> parser, Function<T, String> validator, ToIntFunction<List<T>> committer,
+			ImportProgress progress, int workers, int chunkSize, int batchSize, int queueCapacity) {
+		this.parser = parser;
+		this.validator = validator;
+		this.committer = committer;
+		this.progress = progress;
+		this.workers = workers;
+		this.chunkSize = chunkSize;
+		this.batchSize = batchSize;
+		this.chunkQueue = new ArrayBlockingQueue<>(queueCapacity);
+		this.recordQueue = new ArrayBlockingQueue<>(queueCapacity);
+	}
+
+	/**
+	 * Exécute le pipeline jusqu'à la fin du flux.
+	 *
+	 * @param reader          le flux de lignes à importer
+	 * @param firstLineNumber le numéro de la première ligne lue, utilisé dans les
+	 *                        messages d'erreur
+	 * @throws IOException si le flux ne peut pas être lu
+	 */
+	public void run(BufferedReader reader, long firstLineNumber) throws IOException {
+		ExecutorService executor = Executors.newFixedThreadPool(workers + 1,
+				Thread.ofPlatform().name("import-", 0).daemon().factory());
+		try {
+			List<Future<?>> stages = new ArrayList<>(workers + 1);
+			for (int i = 0; i < workers; i++) {
+				stages.add(executor.submit(() -> guard(this::parseStage)));
+			}
+			stages.add(executor.submit(() -> guard(this::commitStage)));
+			try {
+				readStage(reader, firstLineNumber);
+			} catch (IOException | RuntimeException e) {
+				failure.compareAndSet(null, e);
+				throw e;
+			}
+			for (Future<?> stage : stages) {
+				stage.get();
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("L'import a été interrompu.", e);
+		} catch (ExecutionException e) {
+			Throwable cause = failure.get() != null ? failure.get() : e.getCause();
+			throw new IllegalStateException("L'import a échoué : " + cause.getMessage(), cause);
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	private void readStage(BufferedReader reader, long firstLineNumber) throws IOException, InterruptedException {
+		long lineNumber = firstLineNumber;
+		List<String> lines = new ArrayList<>(chunkSize);
+		long chunkStart = lineNumber;
+		String line;
+		while ((line = reader.readLine()) != null) {
+			lines.add(line);
+			lineNumber++;
+			if (lines.size() == chunkSize) {
+				put(chunkQueue, new Chunk(chunkStart, lines));
+				lines = new ArrayList<>(chunkSize);
+				chunkStart = lineNumber;
+			}
+		}
+		if (!lines.isEmpty()) {
+			put(chunkQueue, new Chunk(chunkStart, lines));
+		}
+		for (int i = 0; i < workers; i++) {
+			put(chunkQueue, endOfInput);
+		}
+	}
+
+	private void parseStage() throws InterruptedException {
+		while (true) {
+			Chunk chunk = take(chunkQueue);
+			if (chunk == endOfInput) {
+				put(recordQueue, endOfRecords);
+				return;
+			}
+			List<T> records = new ArrayList<>(chunk.lines().size());
+			long lineNumber = chunk.firstLineNumber();
+			int dataLines = 0;
+			for (String line : chunk.lines()) {
+				if (!line.isBlank()) {
+					dataLines++;
+					parseLine(line, lineNumber, records);
+				}
+				lineNumber++;
+			}
+			progress.linesRead(dataLines);
+			if (!records.isEmpty()) {
+				put(recordQueue, records);
+			}
+		}
+	}
+
+	private void parseLine(String line, long lineNumber, List<T> records) {
+		try {
+			T record = parser.parse(line);
+			String error = record == null ? "Ligne vide." : validator.apply(record);
+			if (error == null) {
+				records.add(record);
+			} else {
+				progress.reject(lineNumber, error);
+			}
+		} catch (Exception e) {
+			progress.reject(lineNumber, e.getMessage());
+		}
+	}
+
+	private void commitStage() throws InterruptedException {
+		List<T> pending = new ArrayList<>(batchSize);
+		int finishedWorkers = 0;
+		while (finishedWorkers < workers) {
+			List<T> records = take(recordQueue);
+			if (records == endOfRecords) {
+				finishedWorkers++;
+				continue;
+			}
+			pending.addAll(records);
+			if (pending.size() >= batchSize) {
+				commit(pending);
+				pending = new ArrayList<>(batchSize);
+			}
+		}
+		if (!pending.isEmpty()) {
+			commit(pending);
+		}
+	}
+
+	private void commit(List<T> batch) {
+		int accepted = committer.applyAsInt(batch);
+		progress.committed(batch.size(), accepted);
+		if (logger.isInfoEnabled()) {
+			ImportReport report = progress.toReport();
+			logger.info("Import {} : {} lignes lues, {} importées, {} doublons, {} rejetées ({} lignes/s).",
+					report.getId(), report.getLinesRead(), report.getImported(), report.getDuplicates(),
+					report.getRejected(), report.getLinesPerSecond());
+		}
+	}
+
+	@FunctionalInterface
+	private interface Stage {
+		void run() throws Exception;
+	}
+
+	private Void guard(Stage stage) throws Exception {
+		try {
+			stage.run();
+			return null;
+		} catch (Exception | Error e) {
+			failure.compareAndSet(null, e);
+			throw e;
+		}
+	}
+
+	private <E> void put(BlockingQueue<E> queue, E element) throws InterruptedException {
+		while (!queue.offer(element, POLL_MILLIS, TimeUnit.MILLISECONDS)) {
+			checkFailure();
+		}
+	}
+
+	private <E> E take(BlockingQueue<E> queue) throws InterruptedException {
+		E element;
+		while ((element = queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS)) == null) {
+			checkFailure();
+		}
+		return element;
+	}
+
+	private void checkFailure() {
+		Throwable cause = failure.get();
+		if (cause != null) {
+			throw new IllegalStateException("Arrêt de l'import suite à une erreur dans une autre étape.", cause);
+		}
+	}
+}
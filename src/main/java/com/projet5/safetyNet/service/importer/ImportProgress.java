@@ -0,0 +1,125 @@
+package com.projet5.safetyNet.service.importer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.projet5.safetyNet.model.ImportReport;
+
+/**
+ * Compteurs d'avancement d'un import, mis à jour par les étapes du pipeline.
+ *
+ * <p>
+ * Les compteurs peuvent être lus à tout moment depuis un autre thread pour
+ * suivre un import en cours. Seules les premières erreurs sont conservées afin
+ * que la mémoire reste bornée même pour un fichier entièrement invalide.
+ * </p>
+ */
+public class ImportProgress {
+
+	/**
+	 * Nombre maximal de messages d'erreur conservés.
+	 */
+	public static final int MAX_ERRORS = 100;
+
+	private final String id;
+	private final String type;
+	private final String format;
+	private final long startNanos = System.nanoTime();
+
+	private final AtomicLong linesRead = new AtomicLong();
+	private final AtomicLong rejected = new AtomicLong();
+	private final AtomicLong duplicates = new AtomicLong();
+	private final AtomicLong imported = new AtomicLong();
+	private final AtomicLong batches = new AtomicLong();
+	private final List<String> errors = new ArrayList<>();
+
+	private volatile long endNanos;
+	private volatile String status = "RUNNING";
+
+	/**
+	 * Constructeur des compteurs d'un import.
+	 *
+	 * @param id     l'identifiant de l'import
+	 * @param type   le type d'éléments importés
+	 * @param format le format des données
+	 */
+	public ImportProgress(String id, String type, String format) {
+		this.id = id;
+		this.type = type;
+		this.format = format;
+	}
+
+	/**
+	 * Comptabilise des lignes lues.
+	 *
+	 * @param count le nombre de lignes
+	 */
+	public void linesRead(long count) {
+		linesRead.addAndGet(count);
+	}
+
+	/**
+	 * Comptabilise une ligne rejetée et conserve le message si la limite n'est
+	 * pas atteinte.
+	 *
+	 * @param lineNumber le numéro de la ligne dans le fichier
+	 * @param message    la raison du rejet
+	 */
+	public void reject(long lineNumber, String message) {
+		rejected.incrementAndGet();
+		synchronized (errors) {
+			if (errors.size() < MAX_ERRORS) {
+				errors.add("Ligne " + lineNumber + " : " + message);
+			}
+		}
+	}
+
+	/**
+	 * Comptabilise un lot validé.
+	 *
+	 * @param received le nombre d'éléments du lot
+	 * @param accepted le nombre d'éléments réellement importés
+	 */
+	public void committed(int received, int accepted) {
+		imported.addAndGet(accepted);
+		duplicates.addAndGet(received - accepted);
+		batches.incrementAndGet();
+	}
+
+	/**
+	 * Marque l'import comme terminé.
+	 *
+	 * @param succeeded {@code true} si l'import s'est terminé sans erreur
+	 */
+	public void finish(boolean succeeded) {
+		endNanos = System.nanoTime();
+		status = succeeded ? "COMPLETED" : "FAILED";
+	}
+
+	/**
+	 * Retourne l'identifiant de l'import.
+	 *
+	 * @return l'identifiant
+	 */
+	public String getId() {
+		return id;
+	}
+
+	/**
+	 * Construit un compte rendu à partir de l'état courant des compteurs.
+	 *
+	 * @return le compte rendu de l'import
+	 */
+	public ImportReport toReport() {
+		long end = endNanos == 0 ? System.nanoTime() : endNanos;
+		long elapsedMillis = Math.max(1, (end - startNanos) / 1_000_000);
+		long read = linesRead.get();
+		List<String> errorSample;
+		synchronized (errors) {
+			errorSample = List.copyOf(errors);
+		}
+		return new ImportReport(id, type, format, status, read, imported.get(), duplicates.get(), rejected.get(),
+				batches.get(), elapsedMillis, read * 1000 / elapsedMillis, errorSample);
+	}
+}
@@ -0,0 +1,139 @@
+package com.projet5.safetyNet.startup;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import com.projet5.safetyNet.model.DataModel;
+import com.projet5.safetyNet.repository.DataRepository;
+import com.projet5.safetyNet.repository.FirestationRepository;
+import com.projet5.safetyNet.repository.MedicalrecordRepository;
+import com.projet5.safetyNet.repository.PersonRepository;
+
+/**
+ * Chargement des données en arrière-plan au démarrage de l'application.
+ *
+ * <p>
+ * Le fichier de données est lu une seule fois, sur un thread dédié lancé par
+ * {@link #start()} : la création du composant n'a aucun effet de bord, et un
+ * contexte qui échoue avant le démarrage des composants ne lit pas le fichier.
+ * Le modèle lu est partagé par les trois repositories, qui construisent leurs
+ * index en parallèle, puis le {@link QueryWarmup} préchauffe les requêtes les
+ * plus fréquentes.
+ * </p>
+ * <p>
+ * Ce composant est démarré en dernier ({@link SmartLifecycle#DEFAULT_PHASE}),
+ * après le serveur web : {@link #start()} lance le chargement et attend sa
+ * fin, si bien que Spring Boot ne passe l'application à l'état
+ * {@code ACCEPTING_TRAFFIC} (sonde {@code /actuator/health/readiness})
+ * qu'une fois les données, les index et le préchauffage terminés. Entre-temps,
+ * {@link DataStoreReadinessFilter} répond 503 aux requêtes métier. Un échec ou
+ * un dépassement de {@code safetynet.store.load-timeout} arrête le démarrage.
+ * </p>
+ */
+@Component
+public class DataStoreLoader implements SmartLifecycle {
+
+	private static final Logger logger = LogManager.getLogger(DataStoreLoader.class);
+
+	private final DataRepository dataRepository;
+	private final PersonRepository personRepository;
+	private final MedicalrecordRepository medicalrecordRepository;
+	private final FirestationRepository firestationRepository;
+	private final QueryWarmup queryWarmup;
+	private final Duration timeout;
+
+	private volatile CompletableFuture<Void> loading;
+
+	private volatile boolean running;
+
+	/**
+	 * Constructeur du chargeur ; le chargement est lancé par {@link #start()}.
+	 *
+	 * @param dataRepository          le repository lisant le fichier de données
+	 * @param personRepository        le repository des personnes
+	 * @param medicalrecordRepository le repository des dossiers médicaux
+	 * @param firestationRepository   le repository des casernes
+	 * @param queryWarmup             le préchauffage des requêtes
+	 * @param timeout                 la durée maximale du chargement
+	 */
+	public DataStoreLoader(DataRepository dataRepository, PersonRepository personRepository,
+			MedicalrecordRepository medicalrecordRepository, FirestationRepository firestationRepository,
+			QueryWarmup queryWarmup, @Value("${safetynet.store.load-timeout:5m}") Duration timeout) {
+		this.dataRepository = dataRepository;
+		this.personRepository = personRepository;
+		this.medicalrecordRepository = medicalrecordRepository;
+		this.firestationRepository = firestationRepository;
+		this.queryWarmup = queryWarmup;
+		this.timeout = timeout;
+	}
+
+	private void load() {
+		long start = System.nanoTime();
+		DataModel dataModel = dataRepository.readFile();
+		CompletableFuture.allOf(CompletableFuture.runAsync(() -> personRepository.load(dataModel)),
+				CompletableFuture.runAsync(() -> medicalrecordRepository.load(dataModel)),
+				CompletableFuture.runAsync(() -> firestationRepository.load(dataModel))).join();
+		logger.info("Données chargées et indexées en {} ms", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+		queryWarmup.run();
+	}
+
+	/**
+	 * Indique si les données sont chargées et préchauffées.
+	 *
+	 * @return {@code true} si le chargement s'est terminé sans erreur
+	 */
+	public boolean isReady() {
+		CompletableFuture<Void> loading = this.loading;
+		return loading != null && loading.isDone() && !loading.isCompletedExceptionally();
+	}
+
+	/**
+	 * Lance le chargement sur un thread dédié, au premier démarrage seulement, et
+	 * attend sa fin.
+	 *
+	 * @throws IllegalStateException si le chargement échoue ou dépasse le délai
+	 *                               configuré
+	 */
+	@Override
+	public void start() {
+		CompletableFuture<Void> loading = this.loading;
+		if (loading == null) {
+			loading = CompletableFuture.runAsync(this::load, task -> {
+				Thread thread = new Thread(task, "safetynet-store-loader");
+				thread.setDaemon(true);
+				thread.start();
+			});
+			this.loading = loading;
+		}
+		try {
+			loading.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Chargement des données interrompu", e);
+		} catch (ExecutionException e) {
+			throw new IllegalStateException("Échec du chargement des données", e.getCause());
+		} catch (TimeoutException e) {
+			throw new IllegalStateException("Chargement des données non terminé après " + timeout, e);
+		}
+		running = true;
+	}
+
+	@Override
+	public void stop() {
+		running = false;
+	}
+
+	@Override
+	public boolean isRunning() {
+		return running;
+	}
+}
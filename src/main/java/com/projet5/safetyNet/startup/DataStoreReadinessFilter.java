@@ -0,0 +1,54 @@
+package com.projet5.safetyNet.startup;
+
+import java.io.IOException;
+import java.util.function.BooleanSupplier;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Filtre qui répond 503 (service indisponible) aux requêtes métier tant que
+ * les données ne sont pas chargées, plutôt que de répondre à partir de
+ * repositories vides. Les endpoints d'Actuator restent accessibles pour les
+ * sondes de disponibilité.
+ */
+public class DataStoreReadinessFilter extends OncePerRequestFilter {
+
+	/**
+	 * Délai suggéré au client avant une nouvelle tentative, en secondes.
+	 */
+	static final String RETRY_AFTER_SECONDS = "5";
+
+	private final BooleanSupplier ready;
+
+	/**
+	 * Constructeur du filtre.
+	 *
+	 * @param ready indique si les données sont chargées
+	 */
+	public DataStoreReadinessFilter(BooleanSupplier ready) {
+		this.ready = ready;
+	}
+
+	@Override
+	protected boolean shouldNotFilter(HttpServletRequest request) {
+		return ready.getAsBoolean() || request.getRequestURI().startsWith(request.getContextPath() + "/actuator");
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+			throws ServletException, IOException {
+		response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+		response.setHeader(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS);
+		response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+		response.setCharacterEncoding("UTF-8");
+		response.getWriter().write("Chargement des données en cours.");
+	}
+}
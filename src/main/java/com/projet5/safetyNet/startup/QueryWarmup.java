@@ -0,0 +1,130 @@
+package com.projet5.safetyNet.startup;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.projet5.safetyNet.metrics.SafetyNetMetrics;
+import com.projet5.safetyNet.model.Firestation;
+import com.projet5.safetyNet.model.Person;
+import com.projet5.safetyNet.repository.FirestationRepository;
+import com.projet5.safetyNet.repository.PersonRepository;
+import com.projet5.safetyNet.service.FirestationService;
+import com.projet5.safetyNet.service.PersonService;
+
+/**
+ * Préchauffage des requêtes d'urgence avant l'ouverture au trafic.
+ *
+ * <p>
+ * Exécute {@code safetynet.store.warm-up.iterations} fois les requêtes de
+ * lecture ({@code /fire}, {@code /flood/station}, {@code /firestation},
+ * {@code /phoneAlert}, {@code /childAlert}, {@code /personInfolastName},
+ * {@code /communityEmail}) sur un échantillon des données chargées, pour que
+ * le JIT compile leur code avant la première vraie requête. Les appels passent
+ * par les proxies des services, pour préchauffer aussi les aspects de mesure,
+ * mais dans {@link SafetyNetMetrics#warmUp(Runnable)} : aucune durée n'est
+ * ajoutée aux timers {@code safetynet.*}, qui ne mesurent que le trafic réel.
+ * Le préchauffage s'arrête au bout de
+ * {@code safetynet.store.warm-up.max-duration}. Désactivé par défaut
+ * (0 itération).
+ * </p>
+ */
+@Component
+public class QueryWarmup {
+
+	private static final Logger logger = LogManager.getLogger(QueryWarmup.class);
+
+	private static final int SAMPLE_SIZE = 16;
+
+	private final PersonRepository personRepository;
+	private final FirestationRepository firestationRepository;
+	private final PersonService personService;
+	private final FirestationService firestationService;
+	private final int iterations;
+	private final Duration maxDuration;
+
+	/**
+	 * Constructeur du préchauffage.
+	 *
+	 * @param personRepository      le repository des personnes, pour
+	 *                              l'échantillon
+	 * @param firestationRepository le repository des casernes, pour
+	 *                              l'échantillon
+	 * @param personService         le service des personnes
+	 * @param firestationService    le service des casernes
+	 * @param iterations            le nombre d'itérations, 0 pour désactiver
+	 * @param maxDuration           la durée maximale du préchauffage
+	 */
+	public QueryWarmup(PersonRepository personRepository, FirestationRepository firestationRepository,
+			PersonService personService, FirestationService firestationService,
+			@Value("${safetynet.store.warm-up.iterations:0}") int iterations,
+			@Value("${safetynet.store.warm-up.max-duration:30s}") Duration maxDuration) {
+		this.personRepository = personRepository;
+		this.firestationRepository = firestationRepository;
+		this.personService = personService;
+		this.firestationService = firestationService;
+		this.iterations = iterations;
+		this.maxDuration = maxDuration;
+	}
+
+	/**
+	 * Exécute le préchauffage, sans enregistrer de durée. Les erreurs des
+	 * requêtes (élément introuvable) sont ignorées : seul le chemin d'exécution
+	 * compte.
+	 */
+	public void run() {
+		if (iterations > 0) {
+			SafetyNetMetrics.warmUp(this::replay);
+		}
+	}
+
+	private void replay() {
+		List<Person> persons = sample(personRepository.getAllPerson());
+		List<Firestation> firestations = sample(firestationRepository.getAllFirestations());
+		if (persons.isEmpty() || firestations.isEmpty()) {
+			return;
+		}
+		long start = System.nanoTime();
+		long deadline = start + maxDuration.toNanos();
+		int done = 0;
+		int failures = 0;
+		while (done < iterations && System.nanoTime() < deadline) {
+			Person person = persons.get(done % persons.size());
+			String station = firestations.get(done % firestations.size()).getStation();
+			failures += call(() -> firestationService.personAndFirestationFromAddress(person.getAddress()));
+			failures += call(() -> firestationService.floodFromFirestation(station));
+			failures += call(() -> firestationService.personFromStationNumber(station));
+			failures += call(() -> firestationService.phoneAlert(station));
+			failures += call(() -> personService.getChildListFromAddress(person.getAddress()));
+			failures += call(() -> personService.personInfo(person.getLastName()));
+			failures += call(() -> personService.getCommunityEmail(person.getCity()));
+			done++;
+		}
+		logger.info("Préchauffage : {} itérations en {} ms ({} requêtes en erreur)", done,
+				TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), failures);
+	}
+
+	private static <T> List<T> sample(List<T> items) {
+		int step = Math.max(1, items.size() / SAMPLE_SIZE);
+		List<T> sample = new ArrayList<>(SAMPLE_SIZE);
+		for (int i = 0; i < items.size() && sample.size() < SAMPLE_SIZE; i += step) {
+			sample.add(items.get(i));
+		}
+		return sample;
+	}
+
+	private static int call(Runnable query) {
+		try {
+			query.run();
+			return 0;
+		} catch (RuntimeException e) {
+			return 1;
+		}
+	}
+}
@@ -0,0 +1,34 @@
+package com.projet5.safetyNet.startup;
+
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Configuration du démarrage de l'application.
+ *
+ * <p>
+ * Place {@link DataStoreReadinessFilter} en tête de la chaîne de filtres, pour
+ * qu'aucune requête métier n'atteigne les repositories avant la fin du
+ * chargement effectué par {@link DataStoreLoader}.
+ * </p>
+ */
+@Configuration
+public class StartupConfiguration {
+
+	/**
+	 * Déclare le filtre de disponibilité des données.
+	 *
+	 * @param dataStoreLoader le chargeur des données
+	 * @return l'enregistrement du filtre
+	 */
+	@Bean
+	public FilterRegistrationBean<DataStoreReadinessFilter> dataStoreReadinessFilter(DataStoreLoader dataStoreLoader) {
+		FilterRegistrationBean<DataStoreReadinessFilter> registration = new FilterRegistrationBean<>(
+				new DataStoreReadinessFilter(dataStoreLoader::isReady));
+		registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+		registration.setName("dataStoreReadinessFilter");
+		return registration;
+	}
+}
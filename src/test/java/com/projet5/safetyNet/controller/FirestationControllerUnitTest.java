@@ -8,6 +8,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -22,6 +23,7 @@ import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.projet5.safetyNet.model.Firestation;
+import com.projet5.safetyNet.model.Person;
 import com.projet5.safetyNet.repository.FirestationRepository;
 import com.projet5.safetyNet.service.FirestationService;
 
@@ -186,5 +188,56 @@ public class FirestationControllerUnitTest {
     			.andReturn();
     }
 
+    @Test
+    void testResidentsOfStations() throws Exception {
+    	Person child = new Person("Tenley", "Boyd", "1509 Culver St", "Culver", "97451", "841-874-6512",
+    			"tenz@email.com");
+    	when(firestationService.residentsOfStations(List.of("1", "3"), "child", true, null)).thenReturn(List.of(child));
+
+    	mockMvc.perform(MockMvcRequestBuilders.get("/firestation/residents")
+    			.param("stations", "1,3")
+    			.param("ageGroup", "child")
+    			.param("allergies", "true"))
+    			.andExpect(status().isOk())
+    			.andExpect(jsonPath("$[0].firstName").value("Tenley"));
+    }
+
+    @Test
+    void testHouseholdByContact() throws Exception {
+    	Map<String, Object> household = Map.of("address", "947 E. Rose Dr", "stations", List.of("1"));
+    	when(firestationService.householdByContact("(841) 874-7784", null)).thenReturn(List.of(household));
+
+    	mockMvc.perform(MockMvcRequestBuilders.get("/household")
+    			.param("phone", "(841) 874-7784"))
+    			.andExpect(status().isOk())
+    			.andExpect(jsonPath("$[0].address").value("947 E. Rose Dr"))
+    			.andExpect(jsonPath("$[0].stations[0]").value("1"));
+    }
+
+    @Test
+    void testRegionStatistics() throws Exception {
+    	Map<String, Object> row = Map.of("zip", "97451", "residents", 23, "children", 5, "adults", 18);
+    	when(firestationService.regionStatistics("97451", "97460", null, null)).thenReturn(List.of(row));
+
+    	mockMvc.perform(MockMvcRequestBuilders.get("/region/statistics")
+    			.param("zipFrom", "97451")
+    			.param("zipTo", "97460"))
+    			.andExpect(status().isOk())
+    			.andExpect(jsonPath("$[0].zip").value("97451"))
+    			.andExpect(jsonPath("$[0].residents").value(23));
+    }
+
+    @Test
+    void testRegionResidents() throws Exception {
+    	Person resident = new Person("Tenley", "Boyd", "1509 Culver St", "Culver", "97451", "841-874-6512",
+    			"tenz@email.com");
+    	when(firestationService.regionResidents(null, null, "Culver", List.of("3"))).thenReturn(List.of(resident));
+
+    	mockMvc.perform(MockMvcRequestBuilders.get("/region/residents")
+    			.param("city", "Culver")
+    			.param("stations", "3"))
+    			.andExpect(status().isOk())
+    			.andExpect(jsonPath("$[0].firstName").value("Tenley"));
+    }
 
 }
@@ -117,4 +117,15 @@ public class MedicalrecordControllerUnitTest {
 		assertEquals(expectedResult, actualResult);
 	}
 
+	@Test
+	void testControllerSearchMedicalrecords() throws Exception {
+		Medicalrecord medicalrecord = new Medicalrecord("Brian", "Stelzer", "12/06/1975",
+				List.of("ibupurin:200mg", "hydrapermazol:400mg"), List.of("nillacilan"));
+		when(medicalrecordService.searchMedicalrecords("hydrapermazol", null, "1", null))
+				.thenReturn(List.of(medicalrecord));
+
+		mockMvc.perform(get("/medicalrecords/search").param("medication", "hydrapermazol").param("station", "1"))
+				.andExpect(status().isOk()).andExpect(jsonPath("$[0].lastName").value("Stelzer"));
+	}
+
 }
@@ -3,7 +3,9 @@ package com.projet5.safetyNet.controller;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 
@@ -24,6 +26,7 @@ import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.projet5.safetyNet.model.CursorPage;
 import com.projet5.safetyNet.model.Person;
 import com.projet5.safetyNet.repository.DataRepository;
 import com.projet5.safetyNet.service.PersonService;
@@ -189,5 +192,57 @@ public class PersonControllerUnitTest {
 
 		assertEquals(mapTest, actualMap);
 	}
-    
+
+	@Test
+	void testControllerStreamAllPersonsNdjson() throws Exception {
+		Person person1 = new Person("Nicolas", "Brunet", "addressTest", "cityTest", "zipTest", "123456789",
+				"email@test.fr");
+		Person person2 = new Person("Sarah", "Piet", "addressTest2", "cityTest2", "zipTest2", "987654321",
+				"emailSarah@test.fr");
+
+		when(personService.getAllPersons()).thenReturn(List.of(person1, person2));
+
+		MvcResult asyncResult = mockMvc.perform(get("/persons").accept(MediaType.APPLICATION_NDJSON))
+				.andExpect(request().asyncStarted()).andReturn();
+
+		MvcResult result = mockMvc.perform(asyncDispatch(asyncResult)).andExpect(status().isOk()).andReturn();
+
+		String[] lines = result.getResponse().getContentAsString().split("\n");
+		ObjectMapper objectMapper = new ObjectMapper();
+		assertEquals(2, lines.length);
+		Map<String, Object> firstLine = objectMapper.readValue(lines[0], new TypeReference<>() {
+		});
+		Map<String, Object> secondLine = objectMapper.readValue(lines[1], new TypeReference<>() {
+		});
+		assertEquals("Nicolas", firstLine.get("firstName"));
+		assertEquals("Sarah", secondLine.get("firstName"));
+	}
+
+	@Test
+	void testControllerGetPersonsPageWithFields() throws Exception {
+		Person person1 = new Person("Nicolas", "Brunet", "addressTest", "cityTest", "zipTest", "123456789",
+				"email@test.fr");
+
+		when(personService.getPersonsPage(null, 1)).thenReturn(new CursorPage<>(List.of(person1), "nextCursorTest"));
+
+		mockMvc.perform(get("/persons").param("size", "1").param("fields", "firstName,phone"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.items[0].firstName").value("Nicolas"))
+				.andExpect(jsonPath("$.items[0].phone").value("123456789"))
+				.andExpect(jsonPath("$.items[0].email").doesNotExist())
+				.andExpect(jsonPath("$.nextCursor").value("nextCursorTest"));
+	}
+
+	@Test
+	void testControllerSearchPersons() throws Exception {
+		Person person1 = new Person("John", "Boyd", "1509 Culver St", "Culver", "97451", "841-874-6512",
+				"jaboyd@email.com");
+
+		when(personService.searchPersonsByName("jon boid", 10)).thenReturn(List.of(person1));
+
+		mockMvc.perform(get("/persons/search").param("name", "jon boid"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$[0].firstName").value("John"));
+	}
+
 }
@@ -0,0 +1,45 @@
+package com.projet5.safetyNet.logging;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+public class LogPreviewUnitTest {
+
+	@Test
+	void testSmallCollectionIsShownEntirely() {
+		assertThat(LogPreview.of(List.of("a", "b")).toString()).isEqualTo("2 éléments [a, b]");
+	}
+
+	@Test
+	void testLargeCollectionShowsSizeAndFirstItems() {
+		List<Integer> values = IntStream.range(0, 10_000).boxed().toList();
+
+		assertThat(LogPreview.of(values).toString()).isEqualTo("10000 éléments [0, 1, 2, 3, 4, ...]");
+	}
+
+	@Test
+	void testMapShowsSizeAndEntries() {
+		assertThat(LogPreview.of(Map.of("count", 1)).toString()).isEqualTo("1 entrées {count=1}");
+	}
+
+	@Test
+	void testOutputIsBounded() {
+		String preview = LogPreview.of(List.of("x".repeat(10_000), "y")).toString();
+
+		assertThat(preview).hasSizeLessThanOrEqualTo(LogPreview.MAX_CHARS + 1).startsWith("2 éléments [xxx");
+		assertThat(LogPreview.of("z".repeat(10_000)).toString()).hasSize(LogPreview.MAX_CHARS);
+	}
+
+	@Test
+	void testFormatsIntoExistingBuffer() {
+		StringBuilder buffer = new StringBuilder("Enfants : ");
+		LogPreview.of(List.of("John")).formatTo(buffer);
+
+		assertThat(buffer.toString()).isEqualTo("Enfants : 1 éléments [John]");
+	}
+}
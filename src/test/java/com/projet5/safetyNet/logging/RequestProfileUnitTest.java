@@ -0,0 +1,58 @@
+package com.projet5.safetyNet.logging;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+
+import com.projet5.safetyNet.logging.RequestProfile.Layer;
+
+public class RequestProfileUnitTest {
+
+	@AfterEach
+	void tearDown() {
+		RequestProfile.end();
+	}
+
+	@Test
+	void testOnlyOutermostCallOfALayerIsCounted() {
+		RequestProfile profile = RequestProfile.start();
+
+		RequestProfile.enter(Layer.SERVICE);
+		RequestProfile.enter(Layer.SERVICE);
+		RequestProfile.exit(Layer.SERVICE, 40);
+		RequestProfile.enter(Layer.REPOSITORY);
+		RequestProfile.exit(Layer.REPOSITORY, 30);
+		RequestProfile.exit(Layer.SERVICE, 100);
+
+		assertThat(profile.nanos(Layer.SERVICE)).isEqualTo(100);
+		assertThat(profile.nanos(Layer.REPOSITORY)).isEqualTo(30);
+		assertThat(profile.nanos(Layer.SERIALIZATION)).isZero();
+	}
+
+	@Test
+	void testResultCardinality() {
+		RequestProfile profile = RequestProfile.start();
+
+		RequestProfile.result(ResponseEntity.ok(List.of("a", "b", "c")));
+		assertThat(profile.resultSize()).isEqualTo(3);
+
+		RequestProfile.result(Map.of("count", 7, "personInfo", List.of()));
+		assertThat(profile.resultSize()).isEqualTo(7);
+	}
+
+	@Test
+	void testCallsOutsideAProfileAreIgnored() {
+		RequestProfile.enter(Layer.SERVICE);
+		RequestProfile.exit(Layer.SERVICE, 100);
+		RequestProfile.result(List.of("a"));
+
+		RequestProfile profile = RequestProfile.start();
+		assertThat(profile.nanos(Layer.SERVICE)).isZero();
+		assertThat(profile.resultSize()).isEqualTo(-1);
+	}
+}
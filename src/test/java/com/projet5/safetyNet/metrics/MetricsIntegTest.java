@@ -0,0 +1,79 @@
+package com.projet5.safetyNet.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.projet5.safetyNet.Exception.PersonNotFoundException;
+import com.projet5.safetyNet.model.Person;
+import com.projet5.safetyNet.service.FirestationService;
+import com.projet5.safetyNet.service.PersonService;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+@SpringBootTest
+public class MetricsIntegTest {
+
+	@Autowired
+	PersonService personService;
+
+	@Autowired
+	FirestationService firestationService;
+
+	@Autowired
+	MeterRegistry meterRegistry;
+
+	@Test
+	void testServiceAndRepositoryCallsAreTimed() {
+		personService.getAllPersons();
+
+		Timer service = meterRegistry.find(SafetyNetMetrics.SERVICE).tag("class", "PersonService")
+				.tag("method", "getAllPersons").tag("exception", SafetyNetMetrics.NO_EXCEPTION).timer();
+		Timer repository = meterRegistry.find(SafetyNetMetrics.REPOSITORY).tag("class", "PersonRepository")
+				.tag("method", "getAllPerson").timer();
+		assertThat(service).isNotNull();
+		assertThat(service.count()).isPositive();
+		assertThat(repository).isNotNull();
+		assertThat(repository.count()).isPositive();
+	}
+
+	@Test
+	void testExceptionTypeIsTagged() {
+		assertThrows(PersonNotFoundException.class,
+				() -> personService.updatePerson(new Person("Unknown", "Person", "address", "city", "00000",
+						"000-000-0000", "unknown@email.com")));
+
+		Timer service = meterRegistry.find(SafetyNetMetrics.SERVICE).tag("method", "updatePerson")
+				.tag("exception", "PersonNotFoundException").timer();
+		assertThat(service).isNotNull();
+		assertThat(service.count()).isPositive();
+	}
+
+	@Test
+	void testPerRowLookupsAreNotTimed() {
+		firestationService.personFromStationNumber("1");
+
+		assertThat(meterRegistry.find(SafetyNetMetrics.REPOSITORY).tag("method", "findByName").timer()).isNull();
+		Timer service = meterRegistry.find(SafetyNetMetrics.SERVICE).tag("method", "personFromStationNumber").timer();
+		assertThat(service).isNotNull();
+		assertThat(service.takeSnapshot().histogramCounts()).isEmpty();
+	}
+
+	@Test
+	void testWarmUpCallsAreNotRecorded() {
+		personService.getAllPersons();
+		Timer service = meterRegistry.find(SafetyNetMetrics.SERVICE).tag("method", "getAllPersons").timer();
+		Timer repository = meterRegistry.find(SafetyNetMetrics.REPOSITORY).tag("method", "getAllPerson").timer();
+		long serviceCount = service.count();
+		long repositoryCount = repository.count();
+
+		SafetyNetMetrics.warmUp(personService::getAllPersons);
+
+		assertThat(service.count()).isEqualTo(serviceCount);
+		assertThat(repository.count()).isEqualTo(repositoryCount);
+	}
+}
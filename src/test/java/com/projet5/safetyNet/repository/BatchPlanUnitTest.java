@@ -0,0 +1,82 @@
+package com.projet5.safetyNet.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.projet5.safetyNet.repository.index.HashIndex;
+
+public class BatchPlanUnitTest {
+
+	private static String key(String value) {
+		return value.substring(0, 1);
+	}
+
+	@Test
+	void testPlanIsInvisibleUntilPublished() {
+		ChunkedList<String> list = new ChunkedList<>();
+		HashIndex<String> index = new HashIndex<>(BatchPlanUnitTest::key);
+		String a1 = new String("a1");
+		list.load(List.of(a1));
+		index.add(a1);
+
+		BatchPlan<String> plan = new BatchPlan<>(list.edit(), BatchPlanUnitTest::key, index::get);
+		plan.add("b1");
+		plan.replace(a1, "a2");
+
+		assertThat(plan.find("a")).containsExactly("a2");
+		assertThat(plan.find("b")).containsExactly("b1");
+		assertThat(plan.view()).containsExactly("a2", "b1");
+		assertThat(list.view()).containsExactly("a1");
+		assertThat(index.get("a")).containsExactly(a1);
+
+		plan.publish();
+		assertThat(list.view()).containsExactly("a2", "b1");
+	}
+
+	@Test
+	void testPlanKeepsOnlyTheNetChanges() {
+		ChunkedList<String> list = new ChunkedList<>();
+		HashIndex<String> index = new HashIndex<>(BatchPlanUnitTest::key);
+		String a1 = new String("a1");
+		String b1 = new String("b1");
+		String c1 = new String("c1");
+		list.load(List.of(a1, b1, c1));
+		List.of(a1, b1, c1).forEach(index::add);
+		BatchPlan<String> plan = new BatchPlan<>(list.edit(), BatchPlanUnitTest::key, index::get);
+
+		String a2 = new String("a2");
+		String a3 = new String("a3");
+		plan.replace(a1, a2);
+		plan.replace(a2, a3);
+		String b2 = new String("b2");
+		plan.replace(b1, b2);
+		plan.remove(b2);
+		plan.remove(c1);
+		String d1 = new String("d1");
+		String d2 = new String("d2");
+		plan.add(d1);
+		plan.replace(d1, d2);
+		String e1 = new String("e1");
+		plan.add(e1);
+		plan.remove(e1);
+
+		assertThat(plan.removed()).containsExactlyInAnyOrder(b1, c1);
+		assertThat(plan.replaced()).containsOnlyKeys(a1).containsEntry(a1, a3);
+		assertThat(plan.created()).containsExactly(d2);
+		assertThat(plan.touched()).extracting(BatchPlanUnitTest::key).containsExactly("a", "b", "c", "d", "e");
+		assertThat(plan.view()).containsExactly("a3", "d2");
+	}
+
+	@Test
+	void testEmptyPlan() {
+		ChunkedList<String> list = new ChunkedList<>();
+		HashIndex<String> index = new HashIndex<>(BatchPlanUnitTest::key);
+		BatchPlan<String> plan = new BatchPlan<>(list.edit(), BatchPlanUnitTest::key, index::get);
+
+		assertThat(plan.find("a")).isEmpty();
+		assertThat(plan.isEmpty()).isTrue();
+	}
+}
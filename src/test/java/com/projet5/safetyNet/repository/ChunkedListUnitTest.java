@@ -0,0 +1,87 @@
+package com.projet5.safetyNet.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+public class ChunkedListUnitTest {
+
+	private static List<String> values(int from, int to) {
+		return IntStream.range(from, to).mapToObj(i -> new String("v" + i)).toList();
+	}
+
+	@Test
+	void testWritesKeepOrderAndPublishedViews() {
+		ChunkedList<String> list = new ChunkedList<>();
+		List<String> values = values(0, 3 * ChunkedList.CHUNK_SIZE + 10);
+		list.load(values);
+		List<String> before = list.view();
+
+		String replaced = values.get(ChunkedList.CHUNK_SIZE + 5);
+		list.replace(replaced, "updated");
+		list.removeAll(List.of(values.get(0), values.get(2 * ChunkedList.CHUNK_SIZE)));
+		list.add("added");
+
+		List<String> expected = new ArrayList<>(values);
+		expected.set(ChunkedList.CHUNK_SIZE + 5, "updated");
+		expected.remove(2 * ChunkedList.CHUNK_SIZE);
+		expected.remove(0);
+		expected.add("added");
+		assertThat(list.view()).containsExactlyElementsOf(expected);
+		assertThat(list.view().get(ChunkedList.CHUNK_SIZE + 4)).isEqualTo("updated");
+		assertThat(list.view().stream().count()).isEqualTo(expected.size());
+		assertThat(before).containsExactlyElementsOf(values);
+	}
+
+	@Test
+	void testRemovalIsByIdentity() {
+		ChunkedList<String> list = new ChunkedList<>();
+		String first = new String("same");
+		String second = new String("same");
+		list.load(List.of(first, second));
+
+		list.removeAll(List.of(second, new String("same")));
+
+		assertThat(list.view()).hasSize(1);
+		assertThat(list.view().get(0)).isSameAs(first);
+	}
+
+	@Test
+	void testUnpublishedEditIsInvisible() {
+		ChunkedList<String> list = new ChunkedList<>();
+		List<String> values = values(0, 10);
+		list.load(values);
+
+		ChunkedList<String>.Edit edit = list.edit();
+		edit.remove(values.get(3));
+		edit.replace(values.get(4), "updated");
+		edit.add("added");
+
+		assertThat(edit.view()).hasSize(10).contains("updated", "added").doesNotContain("v3", "v4");
+		assertThat(list.view()).containsExactlyElementsOf(values);
+
+		edit.publish();
+		assertThat(list.view()).containsExactlyElementsOf(edit.view());
+		assertThat(list.edit().contains(values.get(4))).isFalse();
+	}
+
+	@Test
+	void testEmptiedChunksAreCompacted() {
+		ChunkedList<String> list = new ChunkedList<>();
+		List<String> values = values(0, 4 * ChunkedList.CHUNK_SIZE);
+		list.load(values);
+
+		list.removeAll(values.subList(0, 3 * ChunkedList.CHUNK_SIZE));
+		list.removeAll(values.subList(3 * ChunkedList.CHUNK_SIZE, 3 * ChunkedList.CHUNK_SIZE + 1));
+
+		assertThat(list.size()).isEqualTo(ChunkedList.CHUNK_SIZE - 1);
+		assertThat(list.view()).containsExactlyElementsOf(values.subList(3 * ChunkedList.CHUNK_SIZE + 1,
+				values.size()));
+		list.replace(values.get(values.size() - 1), "last");
+		assertThat(list.view().get(ChunkedList.CHUNK_SIZE - 2)).isEqualTo("last");
+	}
+}
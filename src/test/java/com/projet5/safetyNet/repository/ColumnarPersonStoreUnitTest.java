@@ -0,0 +1,101 @@
+package com.projet5.safetyNet.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import com.projet5.safetyNet.model.Person;
+import com.projet5.safetyNet.repository.index.StringDictionary;
+
+public class ColumnarPersonStoreUnitTest {
+
+	private static Person person(String firstName, String address, String city) {
+		return new Person(firstName, "Boyd", address, city, "97451", "841-874-6512", firstName + "@email.com");
+	}
+
+	@Test
+	void testScansEvaluateThePredicateOncePerDistinctValue() {
+		ColumnarPersonStore store = new ColumnarPersonStore(new StringDictionary());
+		store.load(List.of(person("John", "1509 Culver St", "Culver"), person("Jacob", "1509 Culver St", "Culver"),
+				person("Tenley", "29 15th St", "Paris")));
+		AtomicInteger calls = new AtomicInteger();
+
+		List<Person> residents = store.findByAddress(address -> {
+			calls.incrementAndGet();
+			return address.equals("1509 Culver St");
+		});
+
+		assertThat(residents).extracting(Person::getFirstName).containsExactly("John", "Jacob");
+		assertThat(residents.get(0)).isEqualTo(person("John", "1509 Culver St", "Culver"));
+		assertThat(calls).hasValue(2);
+		assertThat(store.findEmailsByCity("culver"::equalsIgnoreCase)).containsExactly("John@email.com",
+				"Jacob@email.com");
+	}
+
+	@Test
+	void testWritesAreVisibleToLaterScans() {
+		ColumnarPersonStore store = new ColumnarPersonStore(new StringDictionary());
+		Person john = person("John", "1509 Culver St", "Culver");
+		Person jacob = person("Jacob", "1509 Culver St", "Culver");
+		store.load(List.of(john, jacob));
+
+		store.add(person("Tenley", "1509 Culver St", "Culver"));
+		assertThat(store.remove(john)).isTrue();
+		store.replace(jacob, person("Jacob", "29 15th St", "Culver"));
+		store.addAll(List.of(person("Eric", null, null)));
+
+		assertThat(store.size()).isEqualTo(3);
+		assertThat(store.findByAddress("1509 Culver St"::equals)).extracting(Person::getFirstName)
+				.containsExactly("Tenley");
+		assertThat(store.findByAddress("29 15th St"::equals)).extracting(Person::getFirstName)
+				.containsExactly("Jacob");
+		assertThat(store.toList()).extracting(Person::getFirstName).containsExactly("Jacob", "Tenley", "Eric");
+		assertThat(store.remove(john)).isFalse();
+	}
+
+	@Test
+	void testRemoveAndReplaceFindTheMatchingRowAmongSameName() {
+		ColumnarPersonStore store = new ColumnarPersonStore(new StringDictionary());
+		Person first = person("John", "1509 Culver St", "Culver");
+		Person second = person("John", "29 15th St", "Culver");
+		store.load(List.of(first, second, person("Jacob", "1509 Culver St", "Culver")));
+
+		assertThat(store.remove(person("John", "29 15th St", "Paris"))).isFalse();
+		assertThat(store.remove(person("John", "29 15th St", "Culver"))).isTrue();
+		store.replace(first, person("John", "947 E. Rose Dr", "Culver"));
+
+		assertThat(store.toList()).extracting(Person::getAddress).containsExactly("947 E. Rose Dr",
+				"1509 Culver St");
+		assertThat(store.findByAddress("29 15th St"::equals)).isEmpty();
+	}
+
+	@Test
+	void testBatchAcrossChunksThenCompaction() {
+		ColumnarPersonStore store = new ColumnarPersonStore(new StringDictionary());
+		List<Person> persons = new ArrayList<>();
+		for (int i = 0; i < 5000; i++) {
+			persons.add(person("First" + i, i + " Culver St", "Culver"));
+		}
+		store.load(persons);
+
+		int removed = store.apply(persons.subList(0, 2600),
+				Map.of(persons.get(4999), person("First4999", "1 Rose Dr", "Paris")),
+				List.of(person("Tenley", "29 15th St", "Culver")));
+
+		assertThat(removed).isEqualTo(2600);
+		assertThat(store.size()).isEqualTo(2401);
+		List<Person> remaining = store.toList();
+		assertThat(remaining.get(0).getFirstName()).isEqualTo("First2600");
+		assertThat(remaining.get(2399).getAddress()).isEqualTo("1 Rose Dr");
+		assertThat(remaining.get(2400).getFirstName()).isEqualTo("Tenley");
+		assertThat(store.findEmailsByCity("paris"::equalsIgnoreCase)).containsExactly("First4999@email.com");
+		assertThat(store.remove(persons.get(2600))).isTrue();
+		assertThat(store.remove(persons.get(0))).isFalse();
+		assertThat(store.findByAddress(address -> address.endsWith("Culver St"))).hasSize(2398);
+	}
+}
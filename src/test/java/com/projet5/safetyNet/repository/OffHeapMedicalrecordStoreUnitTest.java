@@ -0,0 +1,113 @@
+package com.projet5.safetyNet.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.projet5.safetyNet.model.Medicalrecord;
+import com.projet5.safetyNet.repository.index.StringDictionary;
+
+public class OffHeapMedicalrecordStoreUnitTest {
+
+	@Test
+	void testStoredRecordDecodesTheSameContent() throws Exception {
+		OffHeapMedicalrecordStore store = new OffHeapMedicalrecordStore(new StringDictionary());
+		Medicalrecord medicalrecord = new Medicalrecord("John", "Boyd", "03/06/1984",
+				List.of("aznol:350mg", "hydrapermazol:100mg"), List.of("nillacilan"));
+
+		Medicalrecord stored = store.store(medicalrecord);
+
+		assertThat(stored).isNotSameAs(medicalrecord).isEqualTo(medicalrecord);
+		assertThat(stored.getBirthdate()).isEqualTo("03/06/1984");
+		assertThat(stored.getMedications()).containsExactly("aznol:350mg", "hydrapermazol:100mg");
+		assertThat(stored.getAllergies()).containsExactly("nillacilan");
+		ObjectMapper objectMapper = new ObjectMapper();
+		assertThat(objectMapper.writeValueAsString(stored)).isEqualTo(objectMapper.writeValueAsString(medicalrecord));
+	}
+
+	@Test
+	void testNullValuesAndLargeVolumesSurviveStorage() {
+		OffHeapMedicalrecordStore store = new OffHeapMedicalrecordStore(new StringDictionary());
+		Medicalrecord empty = store.store(new Medicalrecord("Eric", "Cadigan", null, null, Arrays.asList("peanut", null)));
+		Medicalrecord last = null;
+		for (int i = 0; i < 20000; i++) {
+			last = store.store(new Medicalrecord("First" + i, "Last", "01/01/2000", List.of("med" + (i % 50)), List.of()));
+		}
+
+		assertThat(empty.getBirthdate()).isNull();
+		assertThat(empty.getMedications()).isNull();
+		assertThat(empty.getAllergies()).containsExactly("peanut", null);
+		assertThat(last.getFirstName()).isEqualTo("First19999");
+		assertThat(last.getMedications()).containsExactly("med49");
+		assertThat(store.allocatedBytes()).isGreaterThan(64 * 1024);
+	}
+
+	@Test
+	void testRewindReusesTheSpaceOfAbandonedRecords() {
+		OffHeapMedicalrecordStore store = new OffHeapMedicalrecordStore(new StringDictionary());
+		Medicalrecord kept = store.store(new Medicalrecord("John", "Boyd", "03/06/1984", List.of("aznol:350mg"), List.of()));
+		long allocated = store.allocatedBytes();
+		OffHeapMedicalrecordStore.Mark mark = store.mark();
+		for (int i = 0; i < 20000; i++) {
+			store.store(new Medicalrecord("First" + i, "Last", "01/01/2000", List.of("med" + (i % 50)), List.of()));
+		}
+
+		store.rewind(mark);
+		Medicalrecord next = store.store(new Medicalrecord("Eric", "Cadigan", "06/08/1945", List.of(), List.of()));
+
+		assertThat(store.allocatedBytes()).isEqualTo(allocated);
+		assertThat(kept.getMedications()).containsExactly("aznol:350mg");
+		assertThat(next.getBirthdate()).isEqualTo("06/08/1945");
+	}
+
+	@Test
+	void testRepeatedUpdatesKeepAllocatedBytesBounded() {
+		OffHeapMedicalrecordStore store = new OffHeapMedicalrecordStore(new StringDictionary());
+		Medicalrecord[] records = new Medicalrecord[100];
+		for (int i = 0; i < records.length; i++) {
+			records[i] = store.store(new Medicalrecord("First" + i, "Last", "01/01/2000", List.of("med0"), List.of()));
+		}
+		Medicalrecord released = records[0];
+
+		for (int round = 1; round <= 2000; round++) {
+			for (int i = 0; i < records.length; i++) {
+				Medicalrecord updated = store.store(new Medicalrecord("First" + i, "Last", "01/01/2000",
+						List.of("med" + round % 50), List.of("peanut")));
+				store.release(records[i]);
+				records[i] = updated;
+			}
+			assertThat(store.allocatedBytes()).isLessThanOrEqualTo(3 * 64 * 1024);
+		}
+
+		assertThat(records[99].getMedications()).containsExactly("med0");
+		assertThat(records[99].getAllergies()).containsExactly("peanut");
+		assertThat(released.getMedications()).containsExactly("med0");
+		assertThat(released.getAllergies()).isEmpty();
+	}
+
+	@Test
+	void testRewindIsRefusedAfterCompaction() {
+		OffHeapMedicalrecordStore store = new OffHeapMedicalrecordStore(new StringDictionary());
+		OffHeapMedicalrecordStore.Mark mark = store.mark();
+		for (int i = 0; i < 20000; i++) {
+			store.release(store.store(new Medicalrecord("First" + i, "Last", "01/01/2000", List.of(), List.of())));
+		}
+
+		assertThatThrownBy(() -> store.rewind(mark)).isInstanceOf(IllegalStateException.class);
+	}
+
+	@Test
+	void testStoredRecordIsReadOnly() {
+		OffHeapMedicalrecordStore store = new OffHeapMedicalrecordStore(new StringDictionary());
+		Medicalrecord stored = store.store(new Medicalrecord("John", "Boyd", "03/06/1984", List.of(), List.of()));
+
+		assertThatThrownBy(() -> stored.setBirthdate("01/01/2000")).isInstanceOf(UnsupportedOperationException.class);
+		assertThatThrownBy(() -> stored.getMedications().add("aznol:350mg"))
+				.isInstanceOf(UnsupportedOperationException.class);
+	}
+}
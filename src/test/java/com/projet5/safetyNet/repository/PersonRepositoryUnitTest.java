@@ -0,0 +1,135 @@
+package com.projet5.safetyNet.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.projet5.safetyNet.model.BulkItemResult;
+import com.projet5.safetyNet.model.BulkOperation;
+import com.projet5.safetyNet.model.DataModel;
+import com.projet5.safetyNet.model.Firestation;
+import com.projet5.safetyNet.model.Person;
+
+public class PersonRepositoryUnitTest {
+
+	@TempDir
+	Path directory;
+
+	private PersonRepository repository(Path file, Person... persons) {
+		DataModel dataModel = new DataModel();
+		dataModel.setPersonsList(new ArrayList<>(List.of(persons)));
+		dataModel.setFireStations(new ArrayList<>());
+		dataModel.setMedicalrecords(new ArrayList<>());
+		PersonRepository repository = new PersonRepository(new DataRepository(new ObjectMapper(), file.toString()));
+		repository.load(dataModel);
+		repository.dataModel = dataModel;
+		return repository;
+	}
+
+	@Test
+	void testApplyBatchChangesNothingWhenWriteFails() {
+		Person john = new Person("John", "Boyd", "1509 Culver St", "Culver", "97451", "841-874-6512", "jaboyd@email.com");
+		PersonRepository repository = repository(directory.resolve("missing").resolve("data.json"), john);
+
+		Person jacob = new Person("Jacob", "Boyd", "1509 Culver St", "Culver", "97451", "841-874-6513", "drk@email.com");
+		Person moved = new Person("John", "Boyd", "29 15th St", "Culver", "97451", "841-874-6512", "jaboyd@email.com");
+		assertThrows(RuntimeException.class, () -> repository.applyBatch(
+				List.of(new BulkOperation<>(BulkOperation.Type.UPSERT, jacob),
+						new BulkOperation<>(BulkOperation.Type.UPSERT, moved))));
+
+		assertThat(repository.getAllPerson()).containsExactly(john);
+		assertThat(repository.getAllPerson().get(0)).isSameAs(john);
+		assertThat(repository.dataModel.getPersonsList()).containsExactly(john);
+		assertThat(repository.findByPhone("841-874-6513")).isEmpty();
+		assertThat(repository.findResidents("29 15th St")).isEmpty();
+		assertThat(repository.findResidents("1509 Culver St")).containsExactly(john);
+		assertThat(repository.searchByName("jacob boyd", 10)).doesNotContain(jacob);
+	}
+
+	@Test
+	void testFailedBatchIsNeverWrittenByAnotherRepository() throws Exception {
+		Path file = directory.resolve("data.json");
+		CountDownLatch writing = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		DataRepository dataRepository = new DataRepository(new ObjectMapper(), file.toString()) {
+			@Override
+			public synchronized void writeFile(DataModel updatedData) {
+				if (updatedData.getPersonsList().stream().anyMatch(person -> person.getFirstName().equals("Jacob"))) {
+					writing.countDown();
+					try {
+						release.await(10, TimeUnit.SECONDS);
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+					}
+					throw new RuntimeException("Ecriture impossible");
+				}
+				super.writeFile(updatedData);
+			}
+		};
+		Person john = new Person("John", "Boyd", "1509 Culver St", "Culver", "97451", "841-874-6512", "jaboyd@email.com");
+		DataModel dataModel = new DataModel();
+		dataModel.setPersonsList(new ArrayList<>(List.of(john)));
+		dataModel.setFireStations(new ArrayList<>());
+		dataModel.setMedicalrecords(new ArrayList<>());
+		PersonRepository persons = new PersonRepository(dataRepository);
+		persons.load(dataModel);
+		FirestationRepository firestations = new FirestationRepository(dataRepository);
+		firestations.load(dataModel);
+
+		Person jacob = new Person("Jacob", "Boyd", "1509 Culver St", "Culver", "97451", "841-874-6513", "drk@email.com");
+		CompletableFuture<?> batch = CompletableFuture.runAsync(
+				() -> persons.applyBatch(List.of(new BulkOperation<>(BulkOperation.Type.UPSERT, jacob))));
+		assertThat(writing.await(10, TimeUnit.SECONDS)).isTrue();
+		assertThat(dataModel.getPersonsList()).containsExactly(john);
+		CompletableFuture<?> other = CompletableFuture
+				.runAsync(() -> firestations.addFirestation(new Firestation("1509 Culver St", "3")));
+		release.countDown();
+
+		assertThatThrownBy(batch::join).hasRootCauseMessage("Ecriture impossible");
+		other.join();
+		JsonNode written = new ObjectMapper().readTree(file.toFile());
+		assertThat(written.get("persons").findValuesAsText("firstName")).containsExactly("John");
+		assertThat(written.get("firestations").findValuesAsText("station")).containsExactly("3");
+		assertThat(persons.getAllPerson()).containsExactly(john);
+	}
+
+	@Test
+	void testApplyBatchPublishesAndIndexesTheNetChanges() {
+		Person john = new Person("John", "Boyd", "1509 Culver St", "Culver", "97451", "841-874-6512", "jaboyd@email.com");
+		Person tenley = new Person("Tenley", "Boyd", "1509 Culver St", "Culver", "97451", "841-874-6512",
+				"tenz@email.com");
+		PersonRepository repository = repository(directory.resolve("data.json"), john, tenley);
+
+		Person jacob = new Person("Jacob", "Boyd", "1509 Culver St", "Culver", "97451", "841-874-6513", "drk@email.com");
+		Person movedJacob = new Person("Jacob", "Boyd", "29 15th St", "Culver", "97451", "841-874-6513", "drk@email.com");
+		Person movedJohn = new Person("John", "Boyd", "29 15th St", "Culver", "97451", "841-874-6512",
+				"jaboyd@email.com");
+		List<BulkItemResult.Status> statuses = repository.applyBatch(List.of(
+				new BulkOperation<>(BulkOperation.Type.UPSERT, jacob),
+				new BulkOperation<>(BulkOperation.Type.UPSERT, movedJacob),
+				new BulkOperation<>(BulkOperation.Type.UPSERT, movedJohn),
+				new BulkOperation<>(BulkOperation.Type.DELETE, tenley)));
+
+		assertThat(statuses).containsExactly(BulkItemResult.Status.CREATED, BulkItemResult.Status.UPDATED,
+				BulkItemResult.Status.UPDATED, BulkItemResult.Status.DELETED);
+		assertThat(repository.getAllPerson()).containsExactly(movedJohn, movedJacob);
+		assertThat(repository.dataModel.getPersonsList()).containsExactly(movedJohn, movedJacob);
+		assertThat(repository.findResidents("29 15th St")).containsExactlyInAnyOrder(movedJohn, movedJacob);
+		assertThat(repository.findResidents("1509 Culver St")).isEmpty();
+		assertThat(repository.findByPhone("841-874-6513")).containsExactly(movedJacob);
+		assertThat(repository.findByEmail("tenz@email.com")).isEmpty();
+		assertThat(repository.findByAddress(address -> address.equals("29 15th St"))).hasSize(2);
+	}
+}
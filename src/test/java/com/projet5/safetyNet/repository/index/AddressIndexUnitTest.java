@@ -0,0 +1,138 @@
+package com.projet5.safetyNet.repository.index;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+public class AddressIndexUnitTest {
+
+	@Test
+	void testCanonicalizeAbbreviatesAndSplitsNumber() {
+		assertThat(AddressIndex.canonicalize("1509 Culver Street")).isEqualTo("1509 culver st");
+		assertThat(AddressIndex.canonicalize(" 947 East Rose Drive. ")).isEqualTo("947 e rose dr");
+		assertThat(AddressIndex.canonicalize("947 E. Rose Dr")).isEqualTo("947 e rose dr");
+		assertThat(AddressIndex.canonicalize("Culver St 1509")).isEqualTo("1509 culver st");
+		assertThat(AddressIndex.canonicalize("12b Allée des Érables")).isEqualTo("12 b allee des erables");
+		assertThat(AddressIndex.canonicalize("29 15th St")).isEqualTo("29 15th st");
+		assertThat(AddressIndex.canonicalize(null)).isEmpty();
+	}
+
+	@Test
+	void testResolveExactSpellingOrCanonical() {
+		AddressIndex index = new AddressIndex();
+		index.register("1509 Culver St");
+		index.register("1509 culver street");
+		index.register("947 E. Rose Dr");
+		index.register("29 15th St");
+		index.register("addressTest");
+
+		assertThat(index.size()).isEqualTo(4);
+		assertThat(index.resolve("1509 CULVER ST")).containsExactly("1509 Culver St", "1509 culver street");
+		assertThat(index.resolve("947 East Rose Drive")).containsExactly("947 E. Rose Dr");
+		assertThat(index.resolve("1509 Culvr St")).isEmpty();
+		assertThat(index.resolve("address test")).isEmpty();
+	}
+
+	@Test
+	void testSuggestCorrectsOnlyTheStreetName() {
+		AddressIndex index = new AddressIndex();
+		index.register("1509 Culver St");
+		index.register("947 E. Rose Dr");
+		index.register("29 15th St");
+		index.register("addressTest");
+
+		assertThat(index.suggest("1509 Culvr St", 5)).containsExactly("1509 Culver St");
+		assertThat(index.suggest("947 East Rosse Drive", 5)).containsExactly("947 E. Rose Dr");
+		assertThat(index.suggest("address test", 5)).containsExactly("addressTest");
+		assertThat(index.suggest("947 W Rose Dr", 5)).isEmpty();
+		assertThat(index.suggest("947 Rose Dr", 5)).isEmpty();
+		assertThat(index.suggest("947 Est Rose Dr", 5)).isEmpty();
+		assertThat(index.suggest("29 16th St", 5)).isEmpty();
+		assertThat(index.suggest("1509 Culver Ave", 5)).isEmpty();
+		assertThat(index.suggest("1509 Culver Rd", 5)).isEmpty();
+	}
+
+	@Test
+	void testSuggestOrdersByDecreasingSimilarity() {
+		AddressIndex index = new AddressIndex();
+		index.register("1 Culvert St");
+		index.register("1 Culver St");
+		index.register("1 Cul St");
+
+		assertThat(index.suggest("1 Culver St", 5)).first().isEqualTo("1 Culver St");
+		assertThat(index.suggest("1 Culvers St", 1)).containsExactly("1 Culver St");
+	}
+
+	@Test
+	void testResolveNeverChangesHouseNumber() {
+		AddressIndex index = new AddressIndex();
+		index.register("1509 Culver St");
+		index.register("29 15th St");
+
+		assertThat(index.resolve("1510 Culver St")).isEmpty();
+		assertThat(index.suggest("1510 Culver St", 5)).isEmpty();
+		assertThat(index.suggest("Culver St", 5)).isEmpty();
+		assertThat(index.suggest("1509 Rose Dr", 5)).isEmpty();
+		assertThat(index.resolve("")).isEmpty();
+		assertThat(index.suggest("", 5)).isEmpty();
+		assertThat(index.resolve(null)).isEmpty();
+		assertThat(index.suggest(null, 5)).isEmpty();
+	}
+
+	@Test
+	void testUnregisterRemovesSpellingThenAddress() {
+		AddressIndex index = new AddressIndex();
+		index.register("1509 Culver St");
+		index.register("1509 culver street");
+		index.register("1509 Culver Ave");
+
+		index.unregister("1509 CULVER ST");
+		assertThat(index.resolve("1509 Culver St")).containsExactly("1509 culver street");
+
+		index.unregister("1509 culver street");
+		index.unregister("unknown");
+		assertThat(index.size()).isEqualTo(1);
+		assertThat(index.resolve("1509 Culver St")).isEmpty();
+		assertThat(index.suggest("1509 Culvr St", 5)).isEmpty();
+		assertThat(index.suggest("1509 Culvr Ave", 5)).containsExactly("1509 Culver Ave");
+	}
+
+	@Test
+	void testUnregisterAmongManyAddressesOfSameNumber() {
+		AddressIndex index = new AddressIndex();
+		for (int i = 0; i < 2000; i++) {
+			index.register("1 " + name(i) + " Ave");
+		}
+		index.register("1 Culver St");
+
+		index.unregister("1 " + name(0) + " Ave");
+		assertThat(index.suggest("1 Culvre Street", 5)).containsExactly("1 Culver St");
+		index.unregister("1 Culver St");
+		assertThat(index.suggest("1 Culvre Street", 5)).isEmpty();
+		assertThat(index.size()).isEqualTo(1999);
+	}
+
+	@Test
+	void testSuggestAmongManyAddressesOfSameNumber() {
+		AddressIndex index = new AddressIndex();
+		for (int i = 0; i < 2000; i++) {
+			index.register("1 " + name(i) + " Ave");
+		}
+		index.register("1 Culver St");
+
+		assertThat(index.suggest("1 Culvre Street", 5)).containsExactly("1 Culver St");
+		assertThat(index.suggest("1 " + name(1999) + "x avenue", 1)).containsExactly("1 " + name(1999) + " Ave");
+		assertThat(index.resolve("1 " + name(1999).toLowerCase() + " avenue")).containsExactly("1 " + name(1999) + " Ave");
+	}
+
+	/**
+	 * Nom de rue sans chiffre, distinct pour chaque entier.
+	 */
+	private static String name(int i) {
+		StringBuilder name = new StringBuilder("Street");
+		for (int rest = i; rest > 0; rest /= 26) {
+			name.append((char) ('a' + rest % 26));
+		}
+		return name.toString();
+	}
+}
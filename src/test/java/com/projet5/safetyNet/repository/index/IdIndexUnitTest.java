@@ -0,0 +1,70 @@
+package com.projet5.safetyNet.repository.index;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.junit.jupiter.api.Test;
+
+import com.projet5.safetyNet.model.Medicalrecord;
+
+public class IdIndexUnitTest {
+
+	private static Medicalrecord medicalrecord(String firstName, String lastName, String birthdate) {
+		return new Medicalrecord(firstName, lastName, birthdate, List.of(), List.of());
+	}
+
+	@Test
+	void testPersonIdsAreDenseAndIgnoreCase() {
+		SurrogateIds ids = new SurrogateIds();
+
+		assertThat(ids.person("John", "Boyd")).isZero();
+		assertThat(ids.person("Jacob", "Boyd")).isEqualTo(1);
+		assertThat(ids.person("JOHN", "boyd")).isZero();
+		assertThat(ids.findPerson("john", "BOYD")).isZero();
+		assertThat(ids.findPerson("Tenley", "Boyd")).isEqualTo(SurrogateIds.NONE);
+		assertThat(ids.address("1509 Culver St")).isZero();
+		assertThat(ids.findAddress("1509 CULVER ST")).isZero();
+	}
+
+	@Test
+	void testLookupByIdKeepsOrderAndIdentity() {
+		SurrogateIds ids = new SurrogateIds();
+		IdIndex<Medicalrecord> index = new IdIndex<>(
+				medicalrecord -> ids.person(medicalrecord.getFirstName(), medicalrecord.getLastName()));
+		Medicalrecord first = medicalrecord("John", "Boyd", "03/06/1984");
+		Medicalrecord second = medicalrecord("john", "boyd", "03/06/1984");
+		Medicalrecord updated = medicalrecord("John", "Boyd", "01/01/1990");
+		index.add(first);
+		index.add(second);
+		for (int i = 0; i < 100; i++) {
+			index.add(medicalrecord("First" + i, "Last", "01/01/2000"));
+		}
+
+		index.replace(first, updated);
+		index.remove(medicalrecord("john", "boyd", "03/06/1984"));
+
+		assertThat(index.get(ids.findPerson("JOHN", "BOYD"))).containsExactly(updated, second);
+		assertThat(index.get(ids.findPerson("First99", "Last"))).hasSize(1);
+		assertThat(index.get(SurrogateIds.NONE)).isEmpty();
+
+		index.remove(second);
+		assertThat(index.get(ids.findPerson("John", "Boyd"))).containsExactly(updated);
+		assertThat(IdIndex.indexOfSame(List.of(first, updated), updated)).isEqualTo(1);
+	}
+
+	@Test
+	void testRemoveAllSameRemovesByIdentity() {
+		Medicalrecord first = medicalrecord("John", "Boyd", "03/06/1984");
+		Medicalrecord copy = medicalrecord("John", "Boyd", "03/06/1984");
+		Medicalrecord other = medicalrecord("Jacob", "Boyd", "03/06/1989");
+		List<Medicalrecord> list = new CopyOnWriteArrayList<>(List.of(first, other, copy));
+
+		assertThat(IdIndex.removeAllSame(list, List.of(first))).isTrue();
+		assertThat(list).hasSize(2);
+		assertThat(list.get(0)).isSameAs(other);
+		assertThat(list.get(1)).isSameAs(copy);
+		assertThat(IdIndex.removeAllSame(list, List.of())).isFalse();
+	}
+}
@@ -0,0 +1,38 @@
+package com.projet5.safetyNet.repository.index;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+public class InvertedIndexUnitTest {
+
+	@Test
+	void testTermsIgnoreDosageAndCase() {
+		InvertedIndex index = new InvertedIndex();
+		index.set(0, List.of("aznol:350mg", "hydrapermazol:100mg"));
+		index.set(1, Arrays.asList("Aznol:60mg", " AZNOL ", null, ""));
+
+		assertThat(index.get("AZNOL").stream()).containsExactly(0, 1);
+		assertThat(index.get("hydrapermazol:900mg").stream()).containsExactly(0);
+		assertThat(index.get("terazine").stream()).isEmpty();
+		assertThat(index.get(null).stream()).isEmpty();
+		assertThat(index.terms()).isEqualTo(2);
+	}
+
+	@Test
+	void testSetReplacesPreviousTerms() {
+		InvertedIndex index = new InvertedIndex();
+		index.set(0, List.of("peanut"));
+		index.set(70, List.of("peanut", "shellfish"));
+
+		index.set(0, List.of("shellfish"));
+		index.set(70, null);
+
+		assertThat(index.get("peanut").stream()).isEmpty();
+		assertThat(index.get("shellfish").stream()).containsExactly(0);
+		assertThat(index.terms()).isEqualTo(1);
+	}
+}
@@ -0,0 +1,46 @@
+package com.projet5.safetyNet.repository.index;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+public class NameSearchIndexUnitTest {
+
+	@Test
+	void testSoundexAndNormalization() {
+		assertThat(NameSearchIndex.soundex("robert")).isEqualTo("R163");
+		assertThat(NameSearchIndex.soundex("rupert")).isEqualTo("R163");
+		assertThat(NameSearchIndex.soundex("ashcraft")).isEqualTo("A261");
+		assertThat(NameSearchIndex.soundex("tymczak")).isEqualTo("T522");
+		assertThat(NameSearchIndex.soundex("lee")).isEqualTo("L000");
+		assertThat(NameSearchIndex.soundex("")).isEmpty();
+		assertThat(NameSearchIndex.normalize(" Hélène O'Brien")).isEqualTo("heleneobrien");
+	}
+
+	@Test
+	void testSearchRanksExactThenPrefixThenPhonetic() {
+		NameSearchIndex index = new NameSearchIndex();
+		index.put(0, "John", "Boyd");
+		index.put(1, "Jacob", "Boyden");
+		index.put(2, "Tenley", "Boid");
+		index.put(3, "Peter", "Duncan");
+
+		assertThat(index.search("boyd", 10)).containsExactly(0, 1, 2);
+		assertThat(index.search("boyd", 2)).containsExactly(0, 1);
+		assertThat(index.search("jon BOYD", 10)).containsExactly(0);
+		assertThat(index.search("   ", 10)).isEmpty();
+	}
+
+	@Test
+	void testPutAndRemoveKeepIndexInSync() {
+		NameSearchIndex index = new NameSearchIndex();
+		index.put(0, "John", "Boyd");
+		index.put(0, "John", "Duncan");
+
+		assertThat(index.search("boyd", 10)).isEmpty();
+		assertThat(index.search("dunkan", 10)).containsExactly(0);
+
+		index.remove(0);
+		assertThat(index.search("john", 10)).isEmpty();
+	}
+}
@@ -0,0 +1,54 @@
+package com.projet5.safetyNet.repository.index;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.projet5.safetyNet.model.CursorPage;
+
+public class OrderedIndexUnitTest {
+
+	private static String key(String value) {
+		return value.substring(0, 1);
+	}
+
+	@Test
+	void testCursorResumesAfterTheLastKeyDespiteWrites() {
+		OrderedIndex<String> index = new OrderedIndex<>(OrderedIndexUnitTest::key);
+		List.of("a", "b", "c", "d").forEach(index::add);
+
+		CursorPage<String> first = index.page(null, 2);
+		index.add("e");
+		index.remove("a");
+		index.add("0");
+		CursorPage<String> second = index.page(first.getNextCursor(), 2);
+		CursorPage<String> third = index.page(second.getNextCursor(), 2);
+
+		assertThat(first.getItems()).containsExactly("a", "b");
+		assertThat(second.getItems()).containsExactly("c", "d");
+		assertThat(third.getItems()).containsExactly("e");
+		assertThat(third.getNextCursor()).isNull();
+	}
+
+	@Test
+	void testReplaceWithTheSameKeyKeepsTheDuplicatePosition() {
+		OrderedIndex<String> index = new OrderedIndex<>(OrderedIndexUnitTest::key);
+		String first = new String("a1");
+		String second = new String("a2");
+		index.add(first);
+		index.add(second);
+
+		CursorPage<String> page = index.page(null, 1);
+		index.remove(first);
+		String updated = new String("a3");
+		index.replace(second, updated);
+		List<String> rest = new ArrayList<>(index.page(page.getNextCursor(), 10).getItems());
+
+		assertThat(page.getItems()).containsExactly("a1");
+		assertThat(rest).containsExactly("a3");
+		assertThat(rest.get(0)).isSameAs(updated);
+	}
+}
@@ -0,0 +1,87 @@
+package com.projet5.safetyNet.repository.index;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+import java.util.BitSet;
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.Test;
+
+import com.projet5.safetyNet.model.Medicalrecord;
+
+public class PersonBitmapIndexUnitTest {
+
+	private static final LocalDate TODAY = LocalDate.of(2026, 1, 1);
+
+	private static BitSet everyone(Consumer<BitSet> filter) {
+		BitSet persons = new BitSet();
+		persons.set(0, 64);
+		filter.accept(persons);
+		return persons;
+	}
+
+	@Test
+	void testResidentsFollowAddressAndStationChanges() {
+		PersonBitmapIndex index = new PersonBitmapIndex();
+		index.setResidence(0, new int[] { 0 });
+		index.setResidence(1, new int[] { 0, 0 });
+		index.setResidence(2, new int[] { 1 });
+		index.setStations(0, List.of("1"));
+		index.setStations(1, List.of("2", "3"));
+
+		assertThat(index.residentsOfStations(List.of("1")).stream()).containsExactly(0, 1);
+		assertThat(index.residentsOfStations(List.of("1", "3")).stream()).containsExactly(0, 1, 2);
+
+		index.setResidence(1, new int[] { 1 });
+		index.setResidence(0, new int[0]);
+		index.setStations(1, List.of("3"));
+
+		assertThat(index.residentsOfStations(List.of("1")).stream()).isEmpty();
+		assertThat(index.residentsOfStations(List.of("2")).stream()).isEmpty();
+		assertThat(index.residentsOfStations(List.of("3")).stream()).containsExactly(1, 2);
+	}
+
+	@Test
+	void testDemographicFlagsFollowMedicalrecords() {
+		PersonBitmapIndex index = new PersonBitmapIndex();
+		index.setMedicalrecord(0, new Medicalrecord("John", "Boyd", "06/03/1984", List.of("aznol:350mg"), List.of()));
+		index.setMedicalrecord(1, new Medicalrecord("Tenley", "Boyd", "18/02/2012", List.of(), List.of("peanut")));
+		index.setMedicalrecord(40, new Medicalrecord("Eric", "Cadigan", "invalid", null, null));
+
+		assertThat(everyone(persons -> index.retainChildren(persons, TODAY)).stream()).containsExactly(1);
+		assertThat(everyone(persons -> index.retainAdults(persons, TODAY)).stream()).containsExactly(0);
+		assertThat(everyone(persons -> index.retainWithMedications(persons, true)).stream()).containsExactly(0);
+		assertThat(everyone(persons -> index.retainWithAllergies(persons, true)).stream()).containsExactly(1);
+
+		index.setMedicalrecord(0, new Medicalrecord("John", "Boyd", "06/03/2010", List.of(), List.of()));
+		index.setMedicalrecord(1, null);
+
+		assertThat(everyone(persons -> index.retainChildren(persons, TODAY)).stream()).containsExactly(0);
+		assertThat(everyone(persons -> index.retainAdults(persons, TODAY)).stream()).isEmpty();
+		assertThat(everyone(persons -> index.retainWithMedications(persons, true)).stream()).isEmpty();
+		assertThat(everyone(persons -> index.retainChildren(persons, TODAY.plusYears(20))).stream()).isEmpty();
+	}
+
+	@Test
+	void testQueriesSeeEachWriteAndNeverShareTheIndexBitmaps() {
+		PersonBitmapIndex index = new PersonBitmapIndex();
+		index.setMedicalrecord(0, new Medicalrecord("John", "Boyd", "06/03/1984", List.of("aznol:350mg"), List.of()));
+		BitSet persons = everyone(filter -> index.retainWithMedications(filter, true));
+		persons.set(5);
+
+		assertThat(everyone(filter -> index.retainWithMedications(filter, true)).stream()).containsExactly(0);
+		assertThat(everyone(filter -> index.retainWithMedications(filter, false)).stream()).doesNotContain(0)
+				.hasSize(63);
+
+		index.setMedicalrecord(1, new Medicalrecord("Tenley", "Boyd", "18/02/2012", List.of("tetracyclaz:650mg"),
+				List.of()));
+		index.setResidence(1, new int[] { 3 });
+
+		assertThat(everyone(filter -> index.retainWithMedications(filter, true)).stream()).containsExactly(0, 1);
+		assertThat(everyone(filter -> index.retainChildren(filter, TODAY)).stream()).containsExactly(1);
+		assertThat(index.hasResidents(3)).isTrue();
+		assertThat(index.countAdults(new int[] { 0, 1 }, TODAY)).isEqualTo(1);
+	}
+}
@@ -0,0 +1,64 @@
+package com.projet5.safetyNet.repository.index;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.projet5.safetyNet.model.Medicalrecord;
+
+public class RegionIndexUnitTest {
+
+	private static final LocalDate TODAY = LocalDate.of(2025, 1, 1);
+
+	private static Medicalrecord medicalrecord(String birthdate) {
+		return new Medicalrecord("First", "Last", birthdate, List.of(), List.of());
+	}
+
+	@Test
+	void testRangeScanAndPreAggregatedCounts() {
+		PersonBitmapIndex bitmaps = new PersonBitmapIndex();
+		RegionIndex zips = new RegionIndex("zip");
+		zips.set(0, List.of("97451"));
+		zips.set(1, List.of(" 97451 "));
+		zips.set(2, List.of("97455"));
+		zips.set(3, List.of("97470"));
+		zips.set(4, List.of("9745"));
+		bitmaps.setMedicalrecord(0, medicalrecord("01/01/1980"));
+		bitmaps.setMedicalrecord(1, medicalrecord("01/01/2015"));
+		bitmaps.setMedicalrecord(2, medicalrecord("01/01/2010"));
+
+		assertThat(zips.regions("97451", "97460")).containsExactly("97451", "97455");
+		assertThat(zips.residentsBetween("97451", "97460").stream()).containsExactly(0, 1, 2);
+		assertThat(zips.residentsBetween(null, "97455").stream()).containsExactly(0, 1, 2, 4);
+		assertThat(zips.counts("97451", "97460", bitmaps, TODAY)).containsExactly(
+				new RegionIndex.Counts("97451", 2, 1, 1), new RegionIndex.Counts("97455", 1, 1, 0));
+
+		bitmaps.setMedicalrecord(2, medicalrecord("01/01/1990"));
+		zips.set(1, List.of());
+
+		assertThat(zips.counts("97451", "97460", bitmaps, TODAY)).containsExactly(
+				new RegionIndex.Counts("97451", 1, 0, 1), new RegionIndex.Counts("97455", 1, 0, 1));
+		assertThat(zips.residentsOf("97451")).containsExactly(0);
+		assertThat(zips.counts("97460", "97451", bitmaps, TODAY)).isEmpty();
+		assertThat(zips.residentsBetween("97460", "97451").isEmpty()).isTrue();
+	}
+
+	@Test
+	void testRegionsIgnoreCaseAndAreRemovedWhenEmpty() {
+		RegionIndex cities = new RegionIndex("city");
+		cities.set(0, List.of("Culver"));
+		cities.set(1, List.of("CULVER", "Springfield"));
+		cities.set(2, Arrays.asList((String) null, " "));
+
+		assertThat(cities.regions(null, null)).containsExactly("Culver", "Springfield");
+		assertThat(cities.residentsBetween("culver", "culver").stream()).containsExactly(0, 1);
+
+		cities.set(1, List.of("Culver"));
+
+		assertThat(cities.regions(null, null)).containsExactly("Culver");
+	}
+}
@@ -0,0 +1,52 @@
+package com.projet5.safetyNet.repository.index;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+public class StringDictionaryUnitTest {
+
+	@Test
+	void testEqualValuesShareOneInstanceAndOneCode() {
+		StringDictionary dictionary = new StringDictionary();
+		String first = new String("Culver");
+		String second = new String("Culver");
+
+		assertThat(dictionary.intern(first)).isSameAs(first);
+		assertThat(dictionary.intern(second)).isSameAs(first);
+		assertThat(dictionary.code(second)).isEqualTo(dictionary.code(first)).isZero();
+		assertThat(dictionary.code("Paris")).isEqualTo(1);
+		assertThat(dictionary.value(1)).isEqualTo("Paris");
+		assertThat(dictionary.size()).isEqualTo(2);
+	}
+
+	@Test
+	void testCodesSurviveGrowth() {
+		StringDictionary dictionary = new StringDictionary();
+		for (int i = 0; i < 1000; i++) {
+			assertThat(dictionary.code("value" + i)).isEqualTo(i);
+		}
+
+		assertThat(dictionary.value(999)).isEqualTo("value999");
+		assertThat(dictionary.intern("value500")).isEqualTo("value500");
+		assertThat(dictionary.find("absent")).isEqualTo(-1);
+		assertThatThrownBy(() -> dictionary.value(1000)).isInstanceOf(IndexOutOfBoundsException.class);
+	}
+
+	@Test
+	void testInternAllReturnsAModifiableCanonicalCopy() {
+		StringDictionary dictionary = new StringDictionary();
+		String peanut = dictionary.intern("peanut");
+
+		List<String> interned = dictionary.internAll(List.of(new String("peanut"), "pollen"));
+		interned.add("latex");
+
+		assertThat(interned.get(0)).isSameAs(peanut);
+		assertThat(interned).containsExactly("peanut", "pollen", "latex");
+		assertThat(dictionary.internAll(null)).isNull();
+		assertThat(dictionary.intern(null)).isNull();
+	}
+}
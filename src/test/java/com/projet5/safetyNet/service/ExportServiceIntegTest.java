@@ -0,0 +1,73 @@
+package com.projet5.safetyNet.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.projet5.safetyNet.Exception.InvalidRequestException;
+import com.projet5.safetyNet.model.Person;
+
+@SpringBootTest
+public class ExportServiceIntegTest {
+
+	@Autowired
+	ExportService exportService;
+
+	@Autowired
+	PersonService personService;
+
+	@Test
+	void testExportPersonsCsvIsSnapshot() throws Exception {
+		int personCount = personService.getAllPersons().size();
+		ExportService.Export export = exportService.prepareExport("persons", "csv", false);
+
+		Person person = new Person("Export", "Snapshot", "addressTest", "villeTest", "22630", "0123456780",
+				"emailTest");
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		personService.addPerson(person);
+		try {
+			export.body().writeTo(output);
+		} finally {
+			personService.deletePerson("Export", "Snapshot", "0123456780");
+		}
+
+		String[] lines = output.toString(StandardCharsets.UTF_8).split("\n");
+		assertThat(export.fileName()).startsWith("persons-").endsWith(".csv");
+		assertThat(lines[0]).isEqualTo("firstName,lastName,address,city,zip,phone,email");
+		assertThat(lines).hasSize(personCount + 1);
+		assertThat(lines).noneMatch(line -> line.startsWith("Export,Snapshot,"));
+	}
+
+	@Test
+	void testExportMedicalrecordsNdjsonGzip() throws Exception {
+		ExportService.Export export = exportService.prepareExport("medicalrecords", "ndjson", true);
+
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		export.body().writeTo(output);
+
+		try (GZIPInputStream input = new GZIPInputStream(new ByteArrayInputStream(output.toByteArray()))) {
+			String content = new String(input.readAllBytes(), StandardCharsets.UTF_8);
+			assertThat(content.split("\n")).hasSize(export.count());
+		}
+		assertThat(export.contentType()).isEqualTo("application/gzip");
+		assertThat(export.fileName()).endsWith(".ndjson.gz");
+	}
+
+	@Test
+	void testExportUnknownType() {
+		assertThrows(InvalidRequestException.class, () -> exportService.prepareExport("unknown", "json", false));
+	}
+
+	@Test
+	void testExportUnknownFormat() {
+		assertThrows(InvalidRequestException.class, () -> exportService.prepareExport("persons", "xml", false));
+	}
+}
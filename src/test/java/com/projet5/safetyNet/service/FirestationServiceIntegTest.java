@@ -1,15 +1,23 @@
 package com.projet5.safetyNet.service;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
+import java.time.LocalDate;
+import java.time.Period;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 
+import com.projet5.safetyNet.Exception.AddressNotFoundException;
+import com.projet5.safetyNet.Exception.InvalidRequestException;
 import com.projet5.safetyNet.model.Firestation;
+import com.projet5.safetyNet.model.Medicalrecord;
+import com.projet5.safetyNet.model.Person;
 import com.projet5.safetyNet.repository.FirestationRepository;
 import com.projet5.safetyNet.repository.PersonRepository;
 
@@ -25,6 +33,12 @@ public class FirestationServiceIntegTest {
 	@Autowired
 	PersonRepository personRepository;
 
+	@Autowired
+	PersonService personService;
+
+	@Autowired
+	MedicalrecordService medicalrecordService;
+
 	@Test
 	void testGetAllFirestation() {
 		List<Firestation> result = firestationService.getAllFireStations();
@@ -66,6 +80,18 @@ public class FirestationServiceIntegTest {
 				.noneMatch(f -> f.getAddress().equals("addressTest") && f.getStation().equals("7"));
 	}
 
+	@Test
+	void testDeleteLastFirestationUnregistersAddress() throws Exception {
+		Firestation firestation = new Firestation("12 Retired Station Rd", "8");
+		firestationService.addFirestation(firestation);
+		assertThat(personRepository.resolveAddress("12 Retired Station Road")).containsExactly("12 Retired Station Rd");
+
+		firestationService.deleteFirestation(firestation);
+		assertThat(personRepository.resolveAddress("12 Retired Station Rd")).isEmpty();
+		assertThat(personRepository.suggestAddresses("12 Retired Statoin Rd")).isEmpty();
+		assertThat(personRepository.resolveAddress("1509 Culver St")).containsExactly("1509 Culver St");
+	}
+
 	@Test
 	void testUpdateFirestation() throws Exception {
 		Firestation firestation = new Firestation("addressTest", "7");
@@ -96,6 +122,108 @@ public class FirestationServiceIntegTest {
 
 	}
 
+	@Test
+	void testResidentsOfStations() {
+		List<Person> children = firestationService.residentsOfStations(List.of("1"), "child", null, null);
+		List<Person> adultsWithAllergies = firestationService.residentsOfStations(List.of("1"), "ADULT", true, null);
+
+		assertThat(children).extracting(Person::getFirstName).containsExactly("Kendrik");
+		assertThat(adultsWithAllergies).extracting(Person::getFirstName)
+				.containsExactlyInAnyOrder("Peter", "Reginold", "Brian");
+		assertThatThrownBy(() -> firestationService.residentsOfStations(List.of("1"), "senior", null, null))
+				.isInstanceOf(InvalidRequestException.class);
+	}
+
+	@Test
+	void testPersonAndFirestationFromFuzzyAddress() {
+		List<Map<String, Object>> residents = firestationService.personAndFirestationFromAddress("947 East Rose Drive");
+
+		assertThat(residents).extracting(resident -> resident.get("firstName"))
+				.containsExactlyInAnyOrder("Brian", "Shawna", "Kendrik");
+		assertThat(residents).allSatisfy(resident -> assertThat(resident).containsEntry("address", "947 E. Rose Dr")
+				.containsEntry("firestation", "1"));
+		assertThat(firestationService.personAndFirestationFromAddress("948 E. Rose Dr")).isEmpty();
+		assertThat(firestationService.personAndFirestationFromAddress("947 W Rose Dr")).isEmpty();
+		assertThatThrownBy(() -> firestationService.personAndFirestationFromAddress("1509 Culvr St"))
+				.isInstanceOf(AddressNotFoundException.class).hasMessageContaining("1509 Culver St");
+		assertThatThrownBy(() -> personService.getChildListFromAddress("1509 Culvr St"))
+				.isInstanceOf(AddressNotFoundException.class).hasMessageContaining("1509 Culver St");
+	}
+
+	@Test
+	void testRegionStatistics() throws Exception {
+		addRegionFixtures();
+		try {
+			List<Map<String, Object>> all = firestationService.regionStatistics(null, null, null, null);
+			List<Map<String, Object>> range = firestationService.regionStatistics("99901", "99909", null, null);
+			List<Map<String, Object>> station = firestationService.regionStatistics("99901", "99909", "regionville",
+					List.of("99"));
+
+			assertThat(all).extracting(row -> (String) row.get("zip")).contains("97451", "99901", "99902")
+					.isSorted();
+			assertThat(range).hasSize(2);
+			assertThat(range.get(0)).containsEntry("zip", "99901").containsEntry("residents", 2)
+					.containsEntry("children", 1).containsEntry("adults", 1);
+			assertThat(range.get(1)).containsEntry("zip", "99902").containsEntry("residents", 1)
+					.containsEntry("children", 0).containsEntry("adults", 1);
+			assertThat(station).hasSize(1);
+			assertThat(station.get(0)).containsEntry("zip", "99901").containsEntry("residents", 2);
+			assertThat(firestationService.regionStatistics("99903", "99909", null, null)).isEmpty();
+			assertThatThrownBy(() -> firestationService.regionStatistics("99909", "99901", null, null))
+					.isInstanceOf(InvalidRequestException.class);
+		} finally {
+			deleteRegionFixtures();
+		}
+	}
+
+	@Test
+	void testRegionResidents() throws Exception {
+		addRegionFixtures();
+		try {
+			List<Person> zipRange = firestationService.regionResidents("99901", "99909", null, null);
+			List<Person> city = firestationService.regionResidents(null, null, "REGIONVILLE", null);
+
+			assertThat(zipRange).extracting(Person::getLastName).containsExactlyInAnyOrder("Child", "Parent",
+					"Neighbour");
+			assertThat(city).extracting(Person::getLastName).containsExactlyInAnyOrder("Child", "Parent");
+			assertThat(firestationService.regionResidents("99901", null, null, List.of("99")))
+					.extracting(Person::getLastName).containsExactlyInAnyOrder("Child", "Parent");
+			assertThatThrownBy(() -> firestationService.regionResidents(" ", null, null, List.of()))
+					.isInstanceOf(InvalidRequestException.class);
+		} finally {
+			deleteRegionFixtures();
+		}
+	}
+
+	/**
+	 * Ajoute un foyer (un enfant, un adulte) au code postal 99901, desservi par la
+	 * station 99, et un adulte au code postal 99902.
+	 */
+	private void addRegionFixtures() throws Exception {
+		personService.addPerson(new Person("Region", "Child", "1 Region St", "Regionville", "99901", "0100000001",
+				"regionTest"));
+		personService.addPerson(new Person("Region", "Parent", "1 Region St", "Regionville", "99901", "0100000002",
+				"regionTest"));
+		personService.addPerson(new Person("Region", "Neighbour", "2 Region St", "Othertown", "99902", "0100000003",
+				"regionTest"));
+		medicalrecordService.addMedicalrecord(new Medicalrecord("Region", "Child", "01/01/2020", List.of(), List.of()));
+		medicalrecordService
+				.addMedicalrecord(new Medicalrecord("Region", "Parent", "01/01/1980", List.of(), List.of()));
+		medicalrecordService
+				.addMedicalrecord(new Medicalrecord("Region", "Neighbour", "01/01/1970", List.of(), List.of()));
+		firestationService.addFirestation(new Firestation("1 Region St", "99"));
+	}
+
+	private void deleteRegionFixtures() throws Exception {
+		firestationService.deleteFirestation(new Firestation("1 Region St", "99"));
+		for (String lastName : List.of("Child", "Parent", "Neighbour")) {
+			medicalrecordService.deleteMedicalrecord(new Medicalrecord("Region", lastName, null, null, null));
+		}
+		personService.deletePerson("Region", "Child", "0100000001");
+		personService.deletePerson("Region", "Parent", "0100000002");
+		personService.deletePerson("Region", "Neighbour", "0100000003");
+	}
+
 	@Test
 	void testPhoneAlert() throws Exception {
 		String stationNumberTest = "2";
@@ -109,7 +237,7 @@ public class FirestationServiceIntegTest {
 	@Test
 	void testAgeOfPerson() throws Exception {
 		String birthdateTested = "24/09/1991";
-		int age = 33;
+		int age = Period.between(LocalDate.of(1991, 9, 24), LocalDate.now()).getYears();
 
 		int ageTested = firestationService.ageOfPerson(birthdateTested);
 
@@ -118,4 +246,23 @@ public class FirestationServiceIntegTest {
 
 	}
 
+	@Test
+	@SuppressWarnings("unchecked")
+	void testHouseholdByContact() {
+		List<Map<String, Object>> byPhone = firestationService.householdByContact("(841) 874 7784", null);
+		List<Map<String, Object>> byEmail = firestationService.householdByContact(null, " TCOOP@ymail.com ");
+
+		assertThat(byPhone).hasSize(1);
+		assertThat(byPhone.get(0)).containsEntry("address", "947 E. Rose Dr").containsEntry("stations", List.of("1"));
+		assertThat((List<Map<String, Object>>) byPhone.get(0).get("residents"))
+				.extracting(resident -> resident.get("firstName")).containsExactlyInAnyOrder("Brian", "Shawna", "Kendrik");
+		assertThat(byEmail).hasSize(1);
+		assertThat(byEmail.get(0)).containsEntry("stations", List.of("3", "4"));
+		assertThat((List<Map<String, Object>>) byEmail.get(0).get("residents"))
+				.extracting(resident -> resident.get("firstName")).containsExactlyInAnyOrder("Tony", "Ron", "Allison");
+		assertThat(firestationService.householdByContact("000", null)).isEmpty();
+		assertThatThrownBy(() -> firestationService.householdByContact(" ", null))
+				.isInstanceOf(InvalidRequestException.class);
+	}
+
 }
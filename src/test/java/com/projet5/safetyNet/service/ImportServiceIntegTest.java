@@ -0,0 +1,79 @@
+package com.projet5.safetyNet.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.projet5.safetyNet.Exception.InvalidRequestException;
+import com.projet5.safetyNet.model.ImportReport;
+import com.projet5.safetyNet.service.importer.CsvLineParser;
+
+@SpringBootTest
+public class ImportServiceIntegTest {
+
+	@Autowired
+	ImportService importService;
+
+	@Autowired
+	PersonService personService;
+
+	private static InputStream body(String content) {
+		return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+	}
+
+	@Test
+	void testImportPersonsCsv() throws Exception {
+		String csv = """
+				firstName,lastName,address,city,zip,phone,email
+				Import,Test,"1 rue du Test, bat A",villeTest,22630,0123456789,import@test.com
+				John,Boyd,1509 Culver St,Culver,97451,841-874-6512,jaboyd@email.com
+				Sans,Telephone,addressTest,villeTest,22630,,
+				""";
+
+		ImportReport report = importService.importPersons(body(csv), ImportService.Format.CSV);
+
+		assertThat(report.getStatus()).isEqualTo("COMPLETED");
+		assertThat(report.getLinesRead()).isEqualTo(3);
+		assertThat(report.getImported()).isEqualTo(1);
+		assertThat(report.getDuplicates()).isEqualTo(1);
+		assertThat(report.getRejected()).isEqualTo(1);
+		assertThat(report.getErrors()).singleElement().asString().startsWith("Ligne 4");
+		assertThat(personService.getAllPersons()).anyMatch(p -> p.getFirstName().equals("Import")
+				&& p.getLastName().equals("Test") && p.getAddress().equals("1 rue du Test, bat A"));
+
+		personService.deletePerson("Import", "Test", "0123456789");
+	}
+
+	@Test
+	void testImportPersonsNdjson() throws Exception {
+		String ndjson = """
+				{"firstName":"Import","lastName":"Ndjson","address":"addressTest","city":"villeTest","zip":"22630","phone":"0123456789","email":"emailTest"}
+				{"firstName":"Import"
+				""";
+
+		ImportReport report = importService.importPersons(body(ndjson), ImportService.Format.NDJSON);
+
+		assertThat(report.getImported()).isEqualTo(1);
+		assertThat(report.getRejected()).isEqualTo(1);
+
+		personService.deletePerson("Import", "Ndjson", "0123456789");
+	}
+
+	@Test
+	void testImportPersonsCsvUnknownColumn() {
+		assertThrows(InvalidRequestException.class,
+				() -> importService.importPersons(body("firstName,unknown\n"), ImportService.Format.CSV));
+	}
+
+	@Test
+	void testCsvSplitQuotedFields() {
+		assertThat(CsvLineParser.split("a,\"b,c\",\"d\"\"e\",")).containsExactly("a", "b,c", "d\"e", "");
+	}
+}
@@ -0,0 +1,76 @@
+package com.projet5.safetyNet.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import com.projet5.safetyNet.Exception.InvalidRequestException;
+import com.projet5.safetyNet.jfr.IndexBuildEvent;
+import com.projet5.safetyNet.jfr.QueryEvent;
+import com.projet5.safetyNet.model.JfrRecordingStatus;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+public class JfrRecordingServiceUnitTest {
+
+	@TempDir
+	Path directory;
+
+	private JfrRecordingService service;
+
+	@AfterEach
+	void tearDown() {
+		if (service != null) {
+			service.shutdown();
+		}
+	}
+
+	@Test
+	void testRecordingIsBoundedAndWritesApplicationEvents() throws Exception {
+		service = new JfrRecordingService(directory.toString(), Duration.ofMinutes(1), DataSize.ofMegabytes(10));
+
+		JfrRecordingStatus started = service.start(Duration.ofHours(1));
+		assertThat(started.getState()).isEqualTo("RUNNING");
+		assertThat(started.getMaxDurationSeconds()).isEqualTo(60);
+
+		IndexBuildEvent.build("test.index", List.of("a", "b", "c"), item -> {
+		});
+		QueryEvent query = QueryEvent.begin("/fire", "1509 Culver St");
+		QueryEvent.scanned(List.of("a", "b"));
+		QueryEvent.end(query, List.of("a"));
+
+		JfrRecordingStatus stopped = service.stop();
+		assertThat(stopped.getState()).isEqualTo("STOPPED");
+		assertThat(service.status().getState()).isEqualTo("STOPPED");
+		assertThat(Path.of(stopped.getFile())).exists();
+
+		List<RecordedEvent> events = RecordingFile.readAllEvents(Path.of(stopped.getFile()));
+		RecordedEvent build = events.stream()
+				.filter(event -> event.getEventType().getName().equals("safetynet.IndexBuild")).findFirst().orElseThrow();
+		assertThat(build.getString("index")).isEqualTo("test.index");
+		assertThat(build.getLong("entries")).isEqualTo(3);
+		RecordedEvent recordedQuery = events.stream()
+				.filter(event -> event.getEventType().getName().equals("safetynet.Query")).findFirst().orElseThrow();
+		assertThat(recordedQuery.getString("endpoint")).isEqualTo("/fire");
+		assertThat(recordedQuery.getLong("rowsScanned")).isEqualTo(2);
+		assertThat(recordedQuery.getLong("rowsReturned")).isEqualTo(1);
+	}
+
+	@Test
+	void testOnlyOneRecordingAtATime() {
+		service = new JfrRecordingService(directory.toString(), Duration.ofMinutes(1), DataSize.ofMegabytes(10));
+
+		assertThatThrownBy(service::stop).isInstanceOf(InvalidRequestException.class);
+		service.start(null);
+		assertThatThrownBy(() -> service.start(null)).isInstanceOf(InvalidRequestException.class);
+	}
+}
@@ -1,6 +1,7 @@
 package com.projet5.safetyNet.service;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import java.util.Arrays;
 import java.util.List;
@@ -9,6 +10,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 
+import com.projet5.safetyNet.Exception.InvalidRequestException;
 import com.projet5.safetyNet.model.Medicalrecord;
 
 @SpringBootTest
@@ -84,4 +86,18 @@ public class MedicalrecordServiceIntegTest {
 				&& m.getLastName().equals("Doe") && m.getBirthdate().equals("24/09/1991"));
 	}
 
+	@Test
+	void testSearchMedicalrecords() {
+		List<Medicalrecord> atStation = medicalrecordService.searchMedicalrecords("Hydrapermazol:1mg", null, "1", null);
+		List<Medicalrecord> atAddress = medicalrecordService.searchMedicalrecords(null, "SHELLFISH", null,
+				"892 downing ct");
+
+		assertThat(atStation).extracting(Medicalrecord::getFirstName).containsExactly("Brian");
+		assertThat(atAddress).extracting(Medicalrecord::getFirstName).containsExactly("Sophia");
+		assertThat(medicalrecordService.searchMedicalrecords("aznol", "nillacilan", null, null))
+				.extracting(Medicalrecord::getFirstName).containsExactlyInAnyOrder("John", "Allison");
+		assertThatThrownBy(() -> medicalrecordService.searchMedicalrecords(" ", null, "1", null))
+				.isInstanceOf(InvalidRequestException.class);
+	}
+
 }
@@ -3,9 +3,14 @@ package com.projet5.safetyNet.service;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.time.LocalDate;
+import java.time.Period;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
 
@@ -13,6 +18,11 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 
+import com.projet5.safetyNet.Exception.InvalidRequestException;
+import com.projet5.safetyNet.model.BulkItemResult;
+import com.projet5.safetyNet.model.BulkOperation;
+import com.projet5.safetyNet.model.BulkReport;
+import com.projet5.safetyNet.model.CursorPage;
 import com.projet5.safetyNet.model.Medicalrecord;
 import com.projet5.safetyNet.model.Person;
 
@@ -120,12 +130,21 @@ public class PersonServiceIntegTest {
 
 		assertThat(listOfChildTested).isNotNull();
 
-		assertThat(listOfChildTested).contains("John Doe, 14 ans");
+		int age = Period.between(LocalDate.of(2010, 9, 24), LocalDate.now()).getYears();
+		assertThat(listOfChildTested).contains("John Doe, " + age + " ans");
 
 		personService.deletePerson("John", "Doe", "0123456789");
 		medicalrecordService.deleteMedicalrecord(newMedicalrecordChild);
 	}
 
+	@Test
+	void testGetChildListFromFuzzyAddress() {
+		List<String> children = personService.getChildListFromAddress("1509, culver street");
+
+		assertThat(children).extracting(child -> child.substring(0, child.indexOf(',')))
+				.containsExactlyInAnyOrder("Tenley Boyd", "Roger Boyd");
+	}
+
 	@SuppressWarnings("unchecked")
 	@Test
 	void testPersonInfo() throws Exception {
@@ -178,6 +197,85 @@ public class PersonServiceIntegTest {
 	}
 
 
+	@Test
+	void testGetPersonsPage() throws Exception {
+		List<Person> allPersons = personService.getAllPersons();
+		List<Person> pagedPersons = new ArrayList<>();
+
+		CursorPage<Person> page = personService.getPersonsPage(null, 5);
+		pagedPersons.addAll(page.getItems());
+		while (page.getNextCursor() != null) {
+			assertThat(page.getItems()).hasSize(5);
+			page = personService.getPersonsPage(page.getNextCursor(), 5);
+			pagedPersons.addAll(page.getItems());
+		}
+
+		assertThat(pagedPersons).hasSameSizeAs(allPersons);
+		assertThat(pagedPersons).containsExactlyInAnyOrderElementsOf(allPersons);
+		assertThat(pagedPersons).isSortedAccordingTo(
+				Comparator.comparing((Person p) -> p.getLastName().toLowerCase())
+						.thenComparing(p -> p.getFirstName().toLowerCase()));
+	}
+
+	@Test
+	void testGetPersonsPageInvalidSize() {
+		assertThrows(InvalidRequestException.class, () -> personService.getPersonsPage(null, 0));
+	}
+
+	@Test
+	void testGetPersonsPageCursorSurvivesWrites() throws Exception {
+		List<Person> allPersons = personService.getAllPersons();
+		Person added = new Person("Keyset", "Zcursor", "addressTest", "villeTest", "22630", "0123456782", "emailTest");
+		List<Person> pagedPersons = new ArrayList<>();
+
+		CursorPage<Person> page = personService.getPersonsPage(null, 5);
+		pagedPersons.addAll(page.getItems());
+		personService.addPerson(added);
+		try {
+			while (page.getNextCursor() != null) {
+				page = personService.getPersonsPage(page.getNextCursor(), 5);
+				pagedPersons.addAll(page.getItems());
+			}
+		} finally {
+			personService.deletePerson("Keyset", "Zcursor", "0123456782");
+		}
+
+		assertThat(pagedPersons).doesNotHaveDuplicates().containsAll(allPersons).contains(added)
+				.hasSize(allPersons.size() + 1);
+	}
+
+	@Test
+	void testApplyBatch() throws Exception {
+		Person person = new Person("Batch", "Upsert", "addressTest", "villeTest", "22630", "0123456781", "emailTest");
+		Person updatedPerson = new Person("Batch", "Upsert", "addressUpdated", "villeTest", "22630", "0123456781",
+				"emailTest");
+		Person invalidPerson = new Person(null, "Upsert", "addressTest", "villeTest", "22630", "0123456781",
+				"emailTest");
+
+		try {
+			BulkReport report = personService.applyBatch(List.of(new BulkOperation<>(BulkOperation.Type.UPSERT, person),
+					new BulkOperation<>(BulkOperation.Type.UPSERT, updatedPerson),
+					new BulkOperation<>(BulkOperation.Type.UPSERT, invalidPerson),
+					new BulkOperation<>(BulkOperation.Type.DELETE, person)));
+
+			assertThat(report.getTotal()).isEqualTo(4);
+			assertThat(report.getApplied()).isEqualTo(3);
+			assertThat(report.getRejected()).isEqualTo(1);
+			assertThat(report.getResults()).extracting(BulkItemResult::getStatus).containsExactly(
+					BulkItemResult.Status.CREATED, BulkItemResult.Status.UPDATED, BulkItemResult.Status.INVALID,
+					BulkItemResult.Status.DELETED);
+			assertThat(personService.getAllPersons()).noneMatch(
+					p -> p.getFirstName().equals("Batch") && p.getLastName().equals("Upsert"));
+		} finally {
+			personService.applyBatch(List.of(new BulkOperation<>(BulkOperation.Type.DELETE, person)));
+		}
+	}
+
+	@Test
+	void testApplyEmptyBatch() {
+		assertThrows(InvalidRequestException.class, () -> personService.applyBatch(List.of()));
+	}
+
 	@Test
 	void testIsChild() {
 		String birthdate = "24/09/2010";
@@ -195,4 +293,16 @@ public class PersonServiceIntegTest {
 		assertFalse(testIsChild);
 	}
 
+	@Test
+	void testSearchPersonsByName() {
+		List<Person> misheard = personService.searchPersonsByName("jon boid", 10);
+		List<Person> prefix = personService.searchPersonsByName("ZEM", 10);
+
+		assertThat(misheard).extracting(Person::getFirstName).containsExactly("John");
+		assertThat(prefix).extracting(Person::getFirstName).containsExactly("Sophia", "Warren", "Zach");
+		assertThat(personService.searchPersonsByName("boid", 2)).hasSize(2);
+		assertThat(personService.searchPersonsByName("tenley boyd", 10).get(0).getFirstName()).isEqualTo("Tenley");
+		assertThrows(InvalidRequestException.class, () -> personService.searchPersonsByName(" ", 10));
+	}
+
 }
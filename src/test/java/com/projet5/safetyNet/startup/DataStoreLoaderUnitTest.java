@@ -0,0 +1,50 @@
+package com.projet5.safetyNet.startup;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+
+import com.projet5.safetyNet.model.DataModel;
+import com.projet5.safetyNet.repository.DataRepository;
+import com.projet5.safetyNet.repository.FirestationRepository;
+import com.projet5.safetyNet.repository.MedicalrecordRepository;
+import com.projet5.safetyNet.repository.PersonRepository;
+
+public class DataStoreLoaderUnitTest {
+
+	private final DataRepository dataRepository = mock(DataRepository.class);
+	private final PersonRepository personRepository = mock(PersonRepository.class);
+	private final QueryWarmup queryWarmup = mock(QueryWarmup.class);
+
+	private final DataStoreLoader loader = new DataStoreLoader(dataRepository, personRepository,
+			mock(MedicalrecordRepository.class), mock(FirestationRepository.class), queryWarmup, Duration.ofSeconds(10));
+
+	@Test
+	void testNothingIsLoadedBeforeStart() {
+		assertThat(loader.isReady()).isFalse();
+		verify(dataRepository, never()).readFile();
+	}
+
+	@Test
+	void testStartLoadsOnceAndWaits() {
+		DataModel dataModel = new DataModel();
+		when(dataRepository.readFile()).thenReturn(dataModel);
+
+		loader.start();
+		loader.stop();
+		loader.start();
+
+		assertThat(loader.isReady()).isTrue();
+		assertThat(loader.isRunning()).isTrue();
+		verify(dataRepository, times(1)).readFile();
+		verify(personRepository).load(dataModel);
+		verify(queryWarmup).run();
+	}
+}
@@ -0,0 +1,51 @@
+package com.projet5.safetyNet.startup;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+public class DataStoreReadinessFilterUnitTest {
+
+	private final AtomicBoolean ready = new AtomicBoolean();
+	private final DataStoreReadinessFilter filter = new DataStoreReadinessFilter(ready::get);
+
+	@Test
+	void testRequestsAreRejectedWhileLoading() throws Exception {
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		MockFilterChain chain = new MockFilterChain();
+
+		filter.doFilter(new MockHttpServletRequest("GET", "/fire"), response, chain);
+
+		assertThat(response.getStatus()).isEqualTo(503);
+		assertThat(response.getHeader("Retry-After")).isEqualTo(DataStoreReadinessFilter.RETRY_AFTER_SECONDS);
+		assertThat(chain.getRequest()).isNull();
+	}
+
+	@Test
+	void testActuatorIsReachableWhileLoading() throws Exception {
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		MockFilterChain chain = new MockFilterChain();
+
+		filter.doFilter(new MockHttpServletRequest("GET", "/actuator/health/readiness"), response, chain);
+
+		assertThat(response.getStatus()).isEqualTo(200);
+		assertThat(chain.getRequest()).isNotNull();
+	}
+
+	@Test
+	void testRequestsPassOnceLoaded() throws Exception {
+		ready.set(true);
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		MockFilterChain chain = new MockFilterChain();
+
+		filter.doFilter(new MockHttpServletRequest("GET", "/fire"), response, chain);
+
+		assertThat(response.getStatus()).isEqualTo(200);
+		assertThat(chain.getRequest()).isNotNull();
+	}
+}